@@ -0,0 +1,55 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceBatchUtils;
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the batch methods of {@link CharSequenceBatchUtils} against a loop over the single char sequence
+ * methods of {@link CharSequenceUtils}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmarks {
+
+    @Benchmark
+    public BitSet loopContainsUnattachedSurrogates(final BatchState state) {
+        final CharSequence[] seqs = state.seqs;
+        final BitSet res = new BitSet(seqs.length);
+
+        for (int i = 0; i < seqs.length; i++) {
+            if (CharSequenceUtils.containsUnattachedSurrogates(seqs[i])) {
+                res.set(i);
+            }
+        }
+
+        return res;
+    }
+
+    @Benchmark
+    public BitSet batchContainsUnattachedSurrogates(final BatchState state) {
+        return CharSequenceBatchUtils.containsUnattachedSurrogates(state.seqs);
+    }
+
+    @Benchmark
+    public BitSet parallelBatchContainsUnattachedSurrogates(final BatchState state) {
+        return CharSequenceBatchUtils.parallelContainsUnattachedSurrogates(state.seqs);
+    }
+
+}
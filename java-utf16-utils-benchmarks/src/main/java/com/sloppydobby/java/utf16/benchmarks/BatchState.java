@@ -0,0 +1,50 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Benchmark state holding a batch of short rows cut from a generated corpus text.
+ * The rows take the input types in turn, like records of different sources, so the row types are mixed.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@State(Scope.Benchmark)
+public class BatchState {
+
+    @Param({ "ASCII", "CYRILLIC", "EMOJI_CHAT", "MALFORMED_MIDDLE" })
+    public Corpus corpus;
+
+    @Param({ "10000", "100000" })
+    public int rows;
+
+    @Param({ "64" })
+    public int rowLength;
+
+    public CharSequence[] seqs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final InputType[] types = InputType.values();
+        final Random rnd = new Random(CorpusState.SEED);
+        final char[] chars = corpus.generate(rowLength * 16, CorpusState.SEED);
+
+        seqs = new CharSequence[rows];
+
+        for (int i = 0; i < rows; i++) {
+            final int from = rnd.nextInt(chars.length - rowLength);
+            final char[] row = new char[1 + rnd.nextInt(rowLength)];
+
+            System.arraycopy(chars, from, row, 0, row.length);
+            seqs[i] = types[i % types.length].wrap(row);
+        }
+    }
+
+}
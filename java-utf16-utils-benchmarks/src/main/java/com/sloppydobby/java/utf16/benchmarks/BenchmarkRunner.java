@@ -0,0 +1,38 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks entry point.
+ * Accepts the usual JMH command line options and always adds the GC profiler, so every result contains allocation
+ * figures next to throughput and sample time percentiles.
+ * Results are written to <code>jmh-result.json</code> unless another file is given with <code>-rff</code>.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class BenchmarkRunner {
+
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        final CommandLineOptions cmd = new CommandLineOptions(args);
+
+        final Options options = new OptionsBuilder()
+                .parent(cmd)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+
+        new Runner(options).run();
+    }
+
+    private BenchmarkRunner() {}
+
+}
@@ -0,0 +1,55 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the <code>char[]</code> overloads of the <code>contains*</code> methods of {@link CharSequenceUtils},
+ * which read the chars of the array directly.
+ * The input type parameter does not affect these benchmarks, the same chars are used for all types.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharArrayContainsBenchmarks {
+
+    @Benchmark
+    public boolean containsSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsSurrogates(state.chars, 0, state.chars.length);
+    }
+
+    @Benchmark
+    public boolean containsHighSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsHighSurrogates(state.chars, 0, state.chars.length);
+    }
+
+    @Benchmark
+    public boolean containsLowSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsLowSurrogates(state.chars, 0, state.chars.length);
+    }
+
+    @Benchmark
+    public boolean containsSurrogatePairs(final CorpusState state) {
+        return CharSequenceUtils.containsSurrogatePairs(state.chars, 0, state.chars.length);
+    }
+
+    @Benchmark
+    public boolean containsUnattachedSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsUnattachedSurrogates(state.chars, 0, state.chars.length);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CodePointCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of walking the code points of a text by a reused {@link CodePointCursor}, by
+ * {@link String#codePoints()} and by a {@link Character#codePointAt(CharSequence, int)} loop.
+ * Run with <code>-prof gc</code> to compare the allocations.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodePointCursorBenchmarks {
+
+    @Benchmark
+    public int cursor(final CursorState state) {
+        final CodePointCursor cursor = state.cursor.reset(state.str);
+
+        int res = 0;
+
+        for (int cp = cursor.next(); cp != CodePointCursor.DONE; cp = cursor.next()) {
+            res += cp;
+        }
+
+        return res;
+    }
+
+    @Benchmark
+    public int codePoints(final CursorState state) {
+        return state.str.codePoints().sum();
+    }
+
+    @Benchmark
+    public int codePointAt(final CursorState state) {
+        final String str = state.str;
+
+        int res = 0;
+        int cp;
+
+        for (int i = 0; i < str.length(); i += Character.charCount(cp)) {
+            cp = Character.codePointAt(str, i);
+            res += cp;
+        }
+
+        return res;
+    }
+
+    /**
+     * Benchmark state holding a corpus text as a string and a cursor reused by all calls.
+     *
+     * @since Added in 0.0.2
+     */
+    @State(Scope.Thread)
+    public static class CursorState {
+
+        public String str;
+
+        public CodePointCursor cursor;
+
+        @Setup(Level.Trial)
+        public void setup(final CorpusState corpus) {
+            str = corpus.seq.toString();
+            cursor = CodePointCursor.of(str);
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import com.sloppydobby.java.utf16.SurrogateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the <code>contains*</code> methods of {@link CharSequenceUtils}.
+ * The methods read a char sequence from the beginning to the middle and then from the end back to the middle, the
+ * <code>*Forward</code> benchmarks are plain forward loops over the chars, to compare the orders on the same corpora
+ * (for example, the malformed corpora with a surrogate at the start, in the middle and at the end).
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainsBenchmarks {
+
+    @Benchmark
+    public boolean containsSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsSurrogates(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsSurrogatesOnly(final CorpusState state) {
+        return CharSequenceUtils.containsSurrogatesOnly(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsHighSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsHighSurrogates(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsHighSurrogatesOnly(final CorpusState state) {
+        return CharSequenceUtils.containsHighSurrogatesOnly(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsLowSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsLowSurrogates(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsLowSurrogatesOnly(final CorpusState state) {
+        return CharSequenceUtils.containsLowSurrogatesOnly(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsSurrogatePairs(final CorpusState state) {
+        return CharSequenceUtils.containsSurrogatePairs(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsSurrogatePairsOnly(final CorpusState state) {
+        return CharSequenceUtils.containsSurrogatePairsOnly(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsUnattachedSurrogates(final CorpusState state) {
+        return CharSequenceUtils.containsUnattachedSurrogates(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsSurrogatesForward(final CorpusState state) {
+        final CharSequence seq = state.seq;
+        final int len = seq.length();
+
+        for (int i = 0; i < len; i++) {
+            if (SurrogateUtils.isSurrogate(seq.charAt(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Benchmark
+    public boolean containsUnattachedSurrogatesForward(final CorpusState state) {
+        final CharSequence seq = state.seq;
+        final int len = seq.length();
+
+        char ch;
+
+        for (int i = 0; i < len; i++) {
+            ch = seq.charAt(i);
+
+            if (SurrogateUtils.isHighSurrogate(ch)) {
+                if (i + 1 == len || !SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                    return true;
+                }
+
+                i++;
+            } else if (SurrogateUtils.isLowSurrogate(ch)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
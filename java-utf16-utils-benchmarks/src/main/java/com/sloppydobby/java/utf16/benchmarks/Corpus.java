@@ -0,0 +1,154 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Seeded generators of benchmark texts.
+ * The same corpus, length and seed always give the same text, so the results of different runs can be compared.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public enum Corpus {
+
+    /**
+     * Printable ASCII words separated by spaces, without surrogates.
+     *
+     * @since Added in 0.0.2
+     */
+    ASCII {
+        @Override
+        void fill(final char[] buf, final Random rnd) {
+            fillWords(buf, 0, buf.length, rnd, 'a', 'z');
+        }
+    },
+
+    /**
+     * Cyrillic words separated by spaces, without surrogates.
+     *
+     * @since Added in 0.0.2
+     */
+    CYRILLIC {
+        @Override
+        void fill(final char[] buf, final Random rnd) {
+            fillWords(buf, 0, buf.length, rnd, '\u0410', '\u044F');
+        }
+    },
+
+    /**
+     * CJK unified ideographs with occasional ideographic spaces, without surrogates.
+     *
+     * @since Added in 0.0.2
+     */
+    CJK {
+        @Override
+        void fill(final char[] buf, final Random rnd) {
+            for (int i = 0; i < buf.length; i++) {
+                if (rnd.nextInt(24) == 0) {
+                    buf[i] = '\u3000';
+                } else {
+                    buf[i] = (char) ('\u4E00' + rnd.nextInt('\u9FFF' - '\u4E00' + 1));
+                }
+            }
+        }
+    },
+
+    /**
+     * Chat-like ASCII text where about every 16th char starts an emoji encoded as a surrogate pair.
+     *
+     * @since Added in 0.0.2
+     */
+    EMOJI_CHAT {
+        @Override
+        void fill(final char[] buf, final Random rnd) {
+            fillWords(buf, 0, buf.length, rnd, 'a', 'z');
+
+            for (int i = 0; i < buf.length - 1; i++) {
+                if (rnd.nextInt(16) == 0) {
+                    final int codePoint = 0x1F600 + rnd.nextInt(0x50);
+
+                    buf[i] = Character.highSurrogate(codePoint);
+                    buf[i + 1] = Character.lowSurrogate(codePoint);
+
+                    i++;
+                }
+            }
+        }
+    },
+
+    /**
+     * ASCII text with one unattached high surrogate at the first position.
+     *
+     * @since Added in 0.0.2
+     */
+    MALFORMED_START {
+        @Override
+        void fill(final char[] buf, final Random rnd) {
+            fillWords(buf, 0, buf.length, rnd, 'a', 'z');
+            buf[0] = '\uD800';
+        }
+    },
+
+    /**
+     * ASCII text with one unattached high surrogate in the middle.
+     *
+     * @since Added in 0.0.2
+     */
+    MALFORMED_MIDDLE {
+        @Override
+        void fill(final char[] buf, final Random rnd) {
+            fillWords(buf, 0, buf.length, rnd, 'a', 'z');
+            buf[buf.length / 2] = '\uD800';
+        }
+    },
+
+    /**
+     * ASCII text with one unattached high surrogate at the last position.
+     *
+     * @since Added in 0.0.2
+     */
+    MALFORMED_END {
+        @Override
+        void fill(final char[] buf, final Random rnd) {
+            fillWords(buf, 0, buf.length, rnd, 'a', 'z');
+            buf[buf.length - 1] = '\uD800';
+        }
+    };
+
+    /**
+     * This method can be used to generate a corpus text of the given length.
+     *
+     * @param len Text length in chars
+     * @param seed Random generator seed
+     *
+     * @return Generated chars
+     *
+     * @since Added in 0.0.2
+     */
+    public char[] generate(final int len, final long seed) {
+        final char[] buf = new char[len];
+
+        if (len > 0) {
+            fill(buf, new Random(seed));
+        }
+
+        return buf;
+    }
+
+    abstract void fill(char[] buf, Random rnd);
+
+    private static void fillWords(final char[] buf, final int from, final int to, final Random rnd, final char min,
+                                  final char max) {
+        final int range = max - min + 1;
+
+        for (int i = from; i < to; i++) {
+            if (rnd.nextInt(8) == 0) {
+                buf[i] = ' ';
+            } else {
+                buf[i] = (char) (min + rnd.nextInt(range));
+            }
+        }
+    }
+
+}
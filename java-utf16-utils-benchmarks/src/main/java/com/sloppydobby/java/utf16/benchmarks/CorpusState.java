@@ -0,0 +1,46 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state holding a generated corpus text.
+ * Text size is given in bytes of UTF-16, so the text length in chars is a half of the size.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+    /**
+     * Seed of the corpus generator, the same for all runs.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final long SEED = 0x5EED_0016L;
+
+    @Param({ "ASCII", "CYRILLIC", "CJK", "EMOJI_CHAT", "MALFORMED_START", "MALFORMED_MIDDLE", "MALFORMED_END" })
+    public Corpus corpus;
+
+    @Param({ "STRING", "STRING_BUILDER", "CHAR_BUFFER" })
+    public InputType type;
+
+    @Param({ "16", "1024", "65536", "1048576", "67108864" })
+    public int size;
+
+    public CharSequence seq;
+
+    public char[] chars;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        chars = corpus.generate(size / 2, SEED);
+        seq = type.wrap(chars);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import java.nio.CharBuffer;
+
+/**
+ * Char sequence implementations passed to the benchmarked methods.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public enum InputType {
+
+    /**
+     * {@link String} input.
+     *
+     * @since Added in 0.0.2
+     */
+    STRING {
+        @Override
+        public CharSequence wrap(final char[] chars) {
+            return new String(chars);
+        }
+    },
+
+    /**
+     * {@link StringBuilder} input.
+     *
+     * @since Added in 0.0.2
+     */
+    STRING_BUILDER {
+        @Override
+        public CharSequence wrap(final char[] chars) {
+            return new StringBuilder(chars.length).append(chars);
+        }
+    },
+
+    /**
+     * Array-backed {@link CharBuffer} input.
+     *
+     * @since Added in 0.0.2
+     */
+    CHAR_BUFFER {
+        @Override
+        public CharSequence wrap(final char[] chars) {
+            return CharBuffer.wrap(chars);
+        }
+    };
+
+    /**
+     * This method can be used to create a char sequence of the given chars.
+     *
+     * @param chars Chars
+     *
+     * @return Char sequence
+     *
+     * @since Added in 0.0.2
+     */
+    public abstract CharSequence wrap(char[] chars);
+
+}
@@ -0,0 +1,46 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the <code>contains*</code> methods of {@link CharSequenceUtils} on large malformed texts.
+ * Strings and builders of this size are copied in chunks, and the chunks are read from both ends to the middle, so
+ * a surrogate at the start or at the end is found after the first chunk or two, and only a surrogate in the middle
+ * costs a pass over the whole text.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeContainsBenchmarks {
+
+    @Benchmark
+    public boolean containsSurrogates(final LargeCorpusState state) {
+        return CharSequenceUtils.containsSurrogates(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsHighSurrogates(final LargeCorpusState state) {
+        return CharSequenceUtils.containsHighSurrogates(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsUnattachedSurrogates(final LargeCorpusState state) {
+        return CharSequenceUtils.containsUnattachedSurrogates(state.seq);
+    }
+
+}
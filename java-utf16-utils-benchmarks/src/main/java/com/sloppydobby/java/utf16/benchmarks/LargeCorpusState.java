@@ -0,0 +1,37 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state holding a large generated malformed corpus text, with an unattached surrogate at the start, in the
+ * middle or at the end.
+ * Text size is given in bytes of UTF-16, the same way as in {@link CorpusState}, and the default size is 4M chars.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@State(Scope.Benchmark)
+public class LargeCorpusState {
+
+    @Param({ "MALFORMED_START", "MALFORMED_MIDDLE", "MALFORMED_END" })
+    public Corpus corpus;
+
+    @Param({ "STRING", "STRING_BUILDER", "CHAR_BUFFER" })
+    public InputType type;
+
+    @Param({ "8388608" })
+    public int size;
+
+    public CharSequence seq;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        seq = type.wrap(corpus.generate(size / 2, CorpusState.SEED));
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import com.sloppydobby.java.utf16.SurrogateProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a single pass {@link SurrogateProfile} against several <code>contains*</code> questions asked one by
+ * one about the same char sequence.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileBenchmarks {
+
+    @Benchmark
+    public void questions(final CorpusState state, final Blackhole bh) {
+        bh.consume(CharSequenceUtils.containsSurrogates(state.seq));
+        bh.consume(CharSequenceUtils.containsUnattachedSurrogates(state.seq));
+        bh.consume(CharSequenceUtils.containsSurrogatePairsOnly(state.seq));
+    }
+
+    @Benchmark
+    public void profile(final CorpusState state, final Blackhole bh) {
+        final SurrogateProfile profile = CharSequenceUtils.profileSurrogates(state.seq);
+
+        bh.consume(profile.containsSurrogates());
+        bh.consume(profile.containsUnattachedSurrogates());
+        bh.consume(profile.containsSurrogatePairsOnly());
+    }
+
+    @Benchmark
+    public void charArrayQuestions(final CorpusState state, final Blackhole bh) {
+        final char[] buf = state.chars;
+
+        bh.consume(CharSequenceUtils.containsSurrogates(buf, 0, buf.length));
+        bh.consume(CharSequenceUtils.containsUnattachedSurrogates(buf, 0, buf.length));
+        bh.consume(CharSequenceUtils.containsSurrogatePairsOnly(buf, 0, buf.length));
+    }
+
+    @Benchmark
+    public void charArrayProfile(final CorpusState state, final Blackhole bh) {
+        final char[] buf = state.chars;
+        final SurrogateProfile profile = CharSequenceUtils.profileSurrogates(buf, 0, buf.length);
+
+        bh.consume(profile.containsSurrogates());
+        bh.consume(profile.containsUnattachedSurrogates());
+        bh.consume(profile.containsSurrogatePairsOnly());
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.ScanOrder;
+import com.sloppydobby.java.utf16.SurrogateScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the scan orders of {@link SurrogateScanner}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanOrderBenchmarks {
+
+    @Benchmark
+    public boolean containsSurrogates(final ScannerState scanner, final CorpusState state) {
+        return scanner.scanner.containsSurrogates(state.seq);
+    }
+
+    @Benchmark
+    public boolean containsUnattachedSurrogates(final ScannerState scanner, final CorpusState state) {
+        return scanner.scanner.containsUnattachedSurrogates(state.seq);
+    }
+
+    /**
+     * Benchmark state holding a scanner of a scan order or an adaptive scanner.
+     *
+     * @since Added in 0.0.2
+     */
+    @State(Scope.Benchmark)
+    public static class ScannerState {
+
+        @Param({ "ENDS_TO_MIDDLE", "FORWARD", "INTERLEAVED", "ADAPTIVE" })
+        public String order;
+
+        public SurrogateScanner scanner;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            scanner = "ADAPTIVE".equals(order)
+                    ? SurrogateScanner.adaptive()
+                    : SurrogateScanner.of(ScanOrder.valueOf(order));
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharMatcher;
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the <code>trim</code> methods of {@link CharSequenceUtils}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrimBenchmarks {
+
+    private static final int DEFAULT_TARGETS = CharSequenceUtils.TARGET_SPACE_CHAR
+            | CharSequenceUtils.TARGET_TAB_CHAR
+            | CharSequenceUtils.TARGET_LINE_BREAK_CHAR
+            | CharSequenceUtils.TARGET_RETURN_CARET_CHAR;
+
+    private static final int ALL_TARGETS = CharSequenceUtils.TARGET_SPACE_CHAR
+            | CharSequenceUtils.TARGET_TAB_CHAR
+            | CharSequenceUtils.TARGET_LINE_BREAK_CHAR
+            | CharSequenceUtils.TARGET_RETURN_CARET_CHAR
+            | CharSequenceUtils.TARGET_SURROGATE_CHAR;
+
+    @Benchmark
+    public CharSequence trim(final TrimState state) {
+        return CharSequenceUtils.trim(state.seq);
+    }
+
+    @Benchmark
+    public CharSequence trimAllTargets(final TrimState state) {
+        return CharSequenceUtils.trim(state.seq, ALL_TARGETS);
+    }
+
+    @Benchmark
+    public CharSequence trimUnicodeWhitespace(final TrimState state) {
+        return CharSequenceUtils.trim(state.seq, CharMatcher.UNICODE_WHITESPACE);
+    }
+
+    @Benchmark
+    public CharSequence trimToSlice(final TrimState state) {
+        return CharSequenceUtils.trimToSlice(state.seq);
+    }
+
+    @Benchmark
+    public long trimBounds(final TrimState state) {
+        return CharSequenceUtils.trimBounds(state.seq, DEFAULT_TARGETS);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state holding a generated corpus text padded with trimmed chars from both sides.
+ * The padding takes an eighth of the text (but at least one char) on each side, and is added around the text, so the
+ * unattached surrogates of the malformed corpora at the ends of the text stay in place.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@State(Scope.Benchmark)
+public class TrimState {
+
+    private static final char[] PADDING = { ' ', '\t', '\n', '\r' };
+
+    @Param({ "ASCII", "CYRILLIC", "CJK", "EMOJI_CHAT", "MALFORMED_START", "MALFORMED_MIDDLE", "MALFORMED_END" })
+    public Corpus corpus;
+
+    @Param({ "STRING", "STRING_BUILDER", "CHAR_BUFFER" })
+    public InputType type;
+
+    @Param({ "16", "1024", "65536", "1048576", "67108864" })
+    public int size;
+
+    public CharSequence seq;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final char[] text = corpus.generate(size / 2, CorpusState.SEED);
+        final int pad = Math.max(1, text.length / 8);
+        final char[] chars = new char[text.length + 2 * pad];
+
+        for (int i = 0; i < pad; i++) {
+            chars[i] = PADDING[i % PADDING.length];
+            chars[chars.length - 1 - i] = PADDING[i % PADDING.length];
+        }
+
+        System.arraycopy(text, 0, chars, pad, text.length);
+
+        seq = type.wrap(chars);
+    }
+
+}
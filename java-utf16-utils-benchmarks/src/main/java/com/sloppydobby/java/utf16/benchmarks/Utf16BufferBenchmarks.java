@@ -0,0 +1,81 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import com.sloppydobby.java.utf16.Utf16BufferUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of checking UTF-16LE bytes for unattached surrogates in place and by decoding them to a string first.
+ * The input type of the corpus is not used, the bytes are always in a heap and in a direct byte buffer.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf16BufferBenchmarks {
+
+    @Benchmark
+    public boolean heap(final BufferState state) {
+        return Utf16BufferUtils.containsUnattachedSurrogates(state.heap, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Benchmark
+    public boolean direct(final BufferState state) {
+        return Utf16BufferUtils.containsUnattachedSurrogates(state.direct, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Benchmark
+    public boolean decode(final BufferState state) {
+        // The decoder replaces unattached surrogates, so the string only shows the cost of the decoding
+        return CharSequenceUtils.containsUnattachedSurrogates(
+                new String(state.bytes, StandardCharsets.UTF_16LE));
+    }
+
+    /**
+     * Benchmark state holding a corpus text encoded in UTF-16LE.
+     *
+     * @since Added in 0.0.2
+     */
+    @State(Scope.Benchmark)
+    public static class BufferState {
+
+        public byte[] bytes;
+
+        public ByteBuffer heap;
+
+        public ByteBuffer direct;
+
+        @Setup(Level.Trial)
+        public void setup(final CorpusState corpus) {
+            bytes = new byte[corpus.chars.length * 2];
+
+            heap = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            heap.asCharBuffer().put(corpus.chars);
+
+            direct = ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+            direct.asCharBuffer().put(corpus.chars);
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import com.sloppydobby.java.utf16.Utf16Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a message checked by several layers, as a string and as a {@link Utf16Text}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf16TextBenchmarks {
+
+    /**
+     * Count of layers that check the same message.
+     */
+    private static final int LAYERS = 5;
+
+    @Benchmark
+    public int string(final TextState state) {
+        return checkLayers(state.str);
+    }
+
+    @Benchmark
+    public int text(final TextState state) {
+        // A new text for each message, so the first layer classifies it and the others read the cached flags
+        return checkLayers(Utf16Text.of(state.str));
+    }
+
+    private static int checkLayers(final CharSequence seq) {
+        int res = 0;
+
+        for (int i = 0; i < LAYERS; i++) {
+            res += CharSequenceUtils.containsUnattachedSurrogates(seq) ? 1 : 0;
+        }
+
+        return res;
+    }
+
+    /**
+     * Benchmark state holding a corpus text as a string.
+     *
+     * @since Added in 0.0.2
+     */
+    @State(Scope.Benchmark)
+    public static class TextState {
+
+        public String str;
+
+        @Setup(Level.Trial)
+        public void setup(final CorpusState corpus) {
+            str = corpus.seq.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.UnattachedSurrogatePolicy;
+import com.sloppydobby.java.utf16.Utf8Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Utf8Utils#encode(CharSequence, ByteBuffer, UnattachedSurrogatePolicy)} against
+ * {@link String#getBytes(java.nio.charset.Charset)} and a reused {@link CharsetEncoder}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8EncodeBenchmarks {
+
+    @Benchmark
+    public byte[] getBytes(final CorpusState state) {
+        return state.seq.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ByteBuffer charsetEncoder(final CorpusState state, final BufferState buffers) {
+        final ByteBuffer dst = buffers.direct;
+        dst.clear();
+
+        buffers.encoder.reset();
+        buffers.encoder.encode(CharBuffer.wrap(state.seq), dst, true);
+        buffers.encoder.flush(dst);
+
+        return dst;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeDirect(final CorpusState state, final BufferState buffers) {
+        final ByteBuffer dst = buffers.direct;
+        dst.clear();
+
+        Utf8Utils.encode(state.seq, dst, UnattachedSurrogatePolicy.REPLACE);
+
+        return dst;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeHeap(final CorpusState state, final BufferState buffers) {
+        final ByteBuffer dst = buffers.heap;
+        dst.clear();
+
+        Utf8Utils.encode(state.seq, dst, UnattachedSurrogatePolicy.REPLACE);
+
+        return dst;
+    }
+
+    /**
+     * Reused output buffers that fit any corpus of the largest size.
+     */
+    @State(Scope.Thread)
+    public static class BufferState {
+
+        public ByteBuffer direct;
+
+        public ByteBuffer heap;
+
+        public CharsetEncoder encoder;
+
+        @Setup(Level.Trial)
+        public void setup(final CorpusState state) {
+            direct = ByteBuffer.allocateDirect(state.seq.length() * 3);
+            heap = ByteBuffer.allocate(state.seq.length() * 3);
+            encoder = StandardCharsets.UTF_8.newEncoder();
+        }
+
+    }
+
+}
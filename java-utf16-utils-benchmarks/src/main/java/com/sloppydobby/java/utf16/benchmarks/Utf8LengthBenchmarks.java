@@ -0,0 +1,45 @@
+package com.sloppydobby.java.utf16.benchmarks;
+
+import com.sloppydobby.java.utf16.CharSequenceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link CharSequenceUtils#utf8Length(CharSequence)} against the length of the encoded bytes.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8LengthBenchmarks {
+
+    @Benchmark
+    public long getBytes(final CorpusState state) {
+        return state.seq.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public long utf8Length(final CorpusState state) {
+        return CharSequenceUtils.utf8Length(state.seq);
+    }
+
+    @Benchmark
+    public long charArrayUtf8Length(final CorpusState state) {
+        final char[] buf = state.chars;
+        return CharSequenceUtils.utf8Length(buf, 0, buf.length);
+    }
+
+}
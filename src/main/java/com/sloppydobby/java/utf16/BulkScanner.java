@@ -0,0 +1,231 @@
+package com.sloppydobby.java.utf16;
+
+import java.nio.CharBuffer;
+
+/**
+ * Bulk scanner of char sequences, used by the range <code>contains*</code> methods of {@link CharSequenceUtils} for
+ * the char sequences of known concrete types.
+ * The loops over a char sequence call {@link CharSequence#charAt(int)} through the interface for each char, which is
+ * a virtual call with a bounds check as soon as a call site sees more than a couple of types. Instead, the chars of
+ * strings, string builders and string buffers are copied in chunks by their <code>getChars</code> methods to a
+ * scratch array (see {@link ScratchBuffers}), and an array-backed char buffer is read from its array directly, so
+ * the chars are checked by the char array methods of {@link CharSequenceUtils}, by SIMD vectors where the JVM
+ * supports them.
+ * The chunks are read in the same order as the chars of the char by char loops - the first chunk, the last chunk,
+ * the second chunk, the last but one chunk and so on to the middle, so a surrogate near either end of a long range
+ * is found after a chunk or two.
+ * A surrogate pair is never split between chunks: a chunk from the beginning leaves its last char to the next chunks
+ * if it is a high surrogate, and a chunk from the end leaves its first char if it is a low surrogate, so each chunk
+ * is checked on its own.
+ * As soon as a chunk answers the question, the rest of the chunks are not copied.
+ * Short ranges, and the checks that are not faster on char arrays, are left to the char by char loops.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class BulkScanner {
+
+    /**
+     * Minimal length of a range of an array-backed char buffer that is worth reading from the array.
+     */
+    private static final int MIN_ARRAY_LENGTH = 16;
+
+    /**
+     * Minimal length of a range that is worth copying, the copy of a shorter range costs more than it saves.
+     */
+    private static final int MIN_COPY_LENGTH = 512;
+
+    // Kinds of the checks, the odd kinds are the "only" checks.
+
+    static final int SURROGATES = 0;
+    static final int SURROGATES_ONLY = 1;
+    static final int HIGH_SURROGATES = 2;
+    static final int HIGH_SURROGATES_ONLY = 3;
+    static final int LOW_SURROGATES = 4;
+    static final int LOW_SURROGATES_ONLY = 5;
+    static final int SURROGATE_PAIRS = 6;
+    static final int SURROGATE_PAIRS_ONLY = 7;
+    static final int UNATTACHED_SURROGATES = 8;
+
+    /**
+     * This method checks whether a range of a char sequence is worth reading in bulk.
+     *
+     * @param seq Char sequence
+     * @param len Range length
+     * @param kind Kind of the check
+     *
+     * @return <code>true</code> if a range is worth reading in bulk or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean supports(final CharSequence seq, final int len, final int kind) {
+        if (seq instanceof CharBuffer) {
+            return len >= MIN_ARRAY_LENGTH && ((CharBuffer) seq).hasArray();
+        }
+
+        if (len < MIN_COPY_LENGTH || !(seq instanceof String || seq instanceof StringBuilder
+                || seq instanceof StringBuffer)) {
+            return false;
+        }
+
+        // The char array checks of surrogate pairs are char by char, and so is the check of unattached surrogates
+        // without vectors, so a copy would only add to their cost.
+
+        return kind < SURROGATE_PAIRS || kind == UNATTACHED_SURROGATES && VectorScanner.SUPPORTED;
+    }
+
+    /**
+     * This method scans a range of a char sequence of a supported type.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param kind Kind of the check
+     *
+     * @return Index in the char sequence where the scan exits early (a hit of a "contains" check or a miss of an
+     *         "only" check), or <code>-1</code> if the whole range is read
+     *
+     * @since Added in 0.0.2
+     */
+    static int scan(final CharSequence seq, final int from, final int to, final int kind) {
+        if (seq instanceof CharBuffer) {
+            final CharBuffer buf = (CharBuffer) seq;
+            final int base = buf.arrayOffset() + buf.position();
+            final int exit = scan(buf.array(), base + from, to - from, kind);
+
+            return exit < 0 ? -1 : exit - base;
+        }
+
+        final char[] scratch = ScratchBuffers.acquire();
+
+        try {
+            int head = from;
+            int tail = to;
+            boolean fromHead = true;
+            int begin;
+            int end;
+            int off;
+            int len;
+            int exit;
+
+            while (head < tail) {
+                if (fromHead) {
+                    begin = head;
+                    end = Math.min(head + scratch.length, tail);
+                    off = 0;
+                    len = end - begin;
+
+                    getChars(seq, begin, end, scratch);
+
+                    if (end < tail && SurrogateUtils.isHighSurrogate(scratch[len - 1])) {
+                        // The high surrogate is left to the next chunks together with the char after it
+                        len--;
+                    }
+
+                    head = begin + len;
+                } else {
+                    begin = Math.max(tail - scratch.length, head);
+                    end = tail;
+                    off = 0;
+                    len = end - begin;
+
+                    getChars(seq, begin, end, scratch);
+
+                    if (begin > head && SurrogateUtils.isLowSurrogate(scratch[0])) {
+                        // The low surrogate is left to the next chunks together with the char before it
+                        off = 1;
+                        len--;
+                    }
+
+                    tail = begin + off;
+                }
+
+                // A hit answers a "contains" check, a miss answers an "only" check, so the rest is not read
+
+                exit = scan(scratch, off, len, kind);
+
+                if (exit >= 0) {
+                    return begin + exit;
+                }
+
+                fromHead = !fromHead;
+            }
+        } finally {
+            ScratchBuffers.release(scratch);
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method scans a range of a char array, without reporting the scan to the scan listener.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param kind Kind of the check
+     *
+     * @return Index in the char array where the scan exits early or <code>-1</code>
+     */
+    private static int scan(final char[] buf, final int off, final int len, final int kind) {
+        switch (kind) {
+            case SURROGATES:
+                return CharSequenceUtils.scanSurrogates(buf, off, len);
+
+            case SURROGATES_ONLY:
+                return CharSequenceUtils.scanSurrogatesOnly(buf, off, len);
+
+            case HIGH_SURROGATES:
+                return CharSequenceUtils.scanHighSurrogates(buf, off, len);
+
+            case HIGH_SURROGATES_ONLY:
+                return CharSequenceUtils.scanHighSurrogatesOnly(buf, off, len);
+
+            case LOW_SURROGATES:
+                return CharSequenceUtils.scanLowSurrogates(buf, off, len);
+
+            case LOW_SURROGATES_ONLY:
+                return CharSequenceUtils.scanLowSurrogatesOnly(buf, off, len);
+
+            case SURROGATE_PAIRS:
+                return CharSequenceUtils.scanSurrogatePairs(buf, off, len);
+
+            case SURROGATE_PAIRS_ONLY:
+                return CharSequenceUtils.scanSurrogatePairsOnly(buf, off, len);
+
+            case UNATTACHED_SURROGATES:
+                return CharSequenceUtils.scanUnattachedSurrogates(buf, off, len);
+
+            default:
+                throw new IllegalStateException("Unknown kind " + kind);
+        }
+    }
+
+    /**
+     * This method copies a range of a char sequence of a supported type to a char array.
+     *
+     * @param seq String, string builder or string buffer
+     * @param begin Range begin index, inclusive
+     * @param end Range end index, exclusive
+     * @param dst Destination char array
+     */
+    private static void getChars(final CharSequence seq, final int begin, final int end, final char[] dst) {
+        if (seq instanceof String) {
+            ((String) seq).getChars(begin, end, dst, 0);
+        } else if (seq instanceof StringBuilder) {
+            ((StringBuilder) seq).getChars(begin, end, dst, 0);
+        } else {
+            ((StringBuffer) seq).getChars(begin, end, dst, 0);
+        }
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private BulkScanner() {}
+
+}
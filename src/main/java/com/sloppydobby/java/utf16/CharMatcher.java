@@ -0,0 +1,325 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compiled matcher of chars, used by <code>trim</code>, <code>containsAny</code> and
+ * <code>indexOfAny</code> methods of {@link CharSequenceUtils}.
+ * A matcher is a bit table with a bit for each char up to the greatest matched char, so each char costs a single
+ * table lookup, whatever the count of matched chars and ranges is.
+ * The table is only as long as the greatest matched char needs, for example, a matcher of ASCII chars takes two
+ * 64-bit words.
+ * A matcher tests single UTF-16 chars, so a surrogate pair is matched by its high and low surrogates, not by its code
+ * point.
+ * Only the code points of the Basic Multilingual Plane can be matched, {@link #anyOfCodePoints(int...)} rejects the
+ * supplementary ones.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class CharMatcher {
+
+    /**
+     * Matcher of chars that have the Unicode <code>White_Space</code> property: <code>U+0009..U+000D</code>,
+     * <code>U+0020</code>, <code>U+0085</code>, <code>U+00A0</code>, <code>U+1680</code>,
+     * <code>U+2000..U+200A</code>, <code>U+2028</code>, <code>U+2029</code>, <code>U+202F</code>,
+     * <code>U+205F</code> and <code>U+3000</code>.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final CharMatcher UNICODE_WHITESPACE = inRange('\t', '\r')
+            .or(anyOf(' ', '\u0085', '\u00A0', '\u1680', '\u2028', '\u2029', '\u202F', '\u205F', '\u3000'))
+            .or(inRange('\u2000', '\u200A'));
+
+    /**
+     * Count of all combinations of the <code>TARGET_*</code> constants of {@link CharSequenceUtils}.
+     */
+    private static final int TARGETS = 32;
+
+    /**
+     * Compiled matchers of the <code>TARGET_*</code> bitmasks, made on demand.
+     * A matcher is immutable, so a race can only make the same matcher twice.
+     */
+    private static final CharMatcher[] TARGET_MATCHERS = new CharMatcher[TARGETS];
+
+    private static final long[] EMPTY_TABLE = new long[0];
+
+    /**
+     * Bit table, the bit <code>ch &amp; 63</code> of the word <code>ch &gt;&gt;&gt; 6</code> is set if the char
+     * <code>ch</code> is matched.
+     */
+    private final long[] table;
+
+    /**
+     * This method makes a matcher of the chars of a <code>TARGET_*</code> bitmask of {@link CharSequenceUtils}, the
+     * same chars that <code>trim</code> methods remove for the bitmask.
+     * The matchers are made once for each bitmask and reused.
+     *
+     * @param target Target characters bitmask constant
+     *
+     * @return Matcher of the target chars
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharMatcher ofTarget(final int target) {
+        final int idx = target & TARGETS - 1;
+
+        CharMatcher matcher = TARGET_MATCHERS[idx];
+
+        if (matcher == null) {
+            matcher = compileTarget(idx);
+            TARGET_MATCHERS[idx] = matcher;
+        }
+
+        return matcher;
+    }
+
+    /**
+     * This method makes a matcher of the given chars.
+     *
+     * @param chars Chars to match
+     *
+     * @return Matcher of the chars
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharMatcher anyOf(final char... chars) {
+        int max = -1;
+
+        for (final char ch : chars) {
+            max = Math.max(max, ch);
+        }
+
+        final long[] table = newTable(max);
+
+        for (final char ch : chars) {
+            table[ch >>> 6] |= 1L << ch;
+        }
+
+        return new CharMatcher(table);
+    }
+
+    /**
+     * This method makes a matcher of the chars of a char sequence.
+     *
+     * @param chars Chars to match
+     *
+     * @return Matcher of the chars
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharMatcher anyOf(final CharSequence chars) {
+        final char[] buf = new char[chars.length()];
+
+        for (int i = 0; i < buf.length; i++) {
+            buf[i] = chars.charAt(i);
+        }
+
+        return anyOf(buf);
+    }
+
+    /**
+     * This method makes a matcher of the given code points of the Basic Multilingual Plane, each of them is a single
+     * UTF-16 char.
+     *
+     * @param codePoints Code points to match
+     *
+     * @return Matcher of the code points
+     *
+     * @throws IllegalArgumentException If a code point is not in the Basic Multilingual Plane
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharMatcher anyOfCodePoints(final int... codePoints) {
+        final char[] buf = new char[codePoints.length];
+
+        for (int i = 0; i < buf.length; i++) {
+            if (!Character.isBmpCodePoint(codePoints[i])) {
+                throw new IllegalArgumentException("Code point " + codePoints[i] + " is not in the BMP");
+            }
+
+            buf[i] = (char) codePoints[i];
+        }
+
+        return anyOf(buf);
+    }
+
+    /**
+     * This method makes a matcher of a range of chars.
+     *
+     * @param first First char of the range, inclusive
+     * @param last Last char of the range, inclusive
+     *
+     * @return Matcher of the chars
+     *
+     * @throws IllegalArgumentException If the first char is greater than the last char
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharMatcher inRange(final char first, final char last) {
+        if (first > last) {
+            throw new IllegalArgumentException("Range [" + (int) first + ", " + (int) last + "] is empty");
+        }
+
+        final long[] table = newTable(last);
+
+        for (int ch = first; ch <= last; ch++) {
+            table[ch >>> 6] |= 1L << ch;
+        }
+
+        return new CharMatcher(table);
+    }
+
+    /**
+     * Private constructor, use the static factory methods to make a matcher.
+     *
+     * @param table Bit table
+     *
+     * @since Added in 0.0.2
+     */
+    private CharMatcher(final long[] table) {
+        this.table = table;
+    }
+
+    /**
+     * This method checks whether a char is matched.
+     *
+     * @param ch Char
+     *
+     * @return <code>true</code> if a char is matched or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean matches(final char ch) {
+        final int idx = ch >>> 6;
+        return idx < table.length && (table[idx] & 1L << ch) != 0;
+    }
+
+    /**
+     * This method makes a matcher of the chars matched by this matcher or by another matcher.
+     *
+     * @param other Other matcher
+     *
+     * @return Matcher of the chars of both matchers
+     *
+     * @since Added in 0.0.2
+     */
+    public CharMatcher or(final CharMatcher other) {
+        final long[] longer = table.length >= other.table.length ? table : other.table;
+        final long[] shorter = longer == table ? other.table : table;
+        final long[] res = longer.clone();
+
+        for (int i = 0; i < shorter.length; i++) {
+            res[i] |= shorter[i];
+        }
+
+        return new CharMatcher(res);
+    }
+
+    /**
+     * This method makes a matcher of the chars that are not matched by this matcher.
+     * The table of a negated matcher covers all the chars, so it takes 8 KB.
+     *
+     * @return Negated matcher
+     *
+     * @since Added in 0.0.2
+     */
+    public CharMatcher negate() {
+        final long[] res = Arrays.copyOf(table, (Character.MAX_VALUE >>> 6) + 1);
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = ~res[i];
+        }
+
+        return new CharMatcher(res);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof CharMatcher)) {
+            return false;
+        }
+
+        final long[] other = ((CharMatcher) obj).table;
+        final int len = Math.max(table.length, other.length);
+
+        for (int i = 0; i < len; i++) {
+            if ((i < table.length ? table[i] : 0) != (i < other.length ? other[i] : 0)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int res = 1;
+
+        // Trailing zero words do not change the matched chars, so they are not hashed.
+
+        int len = table.length;
+
+        while (len > 0 && table[len - 1] == 0) {
+            len--;
+        }
+
+        for (int i = 0; i < len; i++) {
+            res = 31 * res + Long.hashCode(table[i]);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method compiles a matcher of a <code>TARGET_*</code> bitmask.
+     *
+     * @param target Target characters bitmask constant without unknown bits
+     *
+     * @return Matcher of the target chars
+     */
+    private static CharMatcher compileTarget(final int target) {
+        final StringBuilder chars = new StringBuilder(4);
+
+        if ((target & CharSequenceUtils.TARGET_SPACE_CHAR) != 0) {
+            chars.append(' ');
+        }
+
+        if ((target & CharSequenceUtils.TARGET_TAB_CHAR) != 0) {
+            chars.append('\t');
+        }
+
+        if ((target & CharSequenceUtils.TARGET_LINE_BREAK_CHAR) != 0) {
+            chars.append('\n');
+        }
+
+        if ((target & CharSequenceUtils.TARGET_RETURN_CARET_CHAR) != 0) {
+            chars.append('\r');
+        }
+
+        final CharMatcher matcher = anyOf(chars);
+
+        if ((target & CharSequenceUtils.TARGET_SURROGATE_CHAR) != 0) {
+            return matcher.or(inRange(Character.MIN_SURROGATE, Character.MAX_SURROGATE));
+        }
+
+        return matcher;
+    }
+
+    /**
+     * This method makes a bit table that covers the chars up to a char.
+     *
+     * @param max Greatest char to cover, <code>-1</code> for an empty table
+     *
+     * @return Bit table
+     */
+    private static long[] newTable(final int max) {
+        return max < 0 ? EMPTY_TABLE : new long[(max >>> 6) + 1];
+    }
+
+}
@@ -0,0 +1,478 @@
+package com.sloppydobby.java.utf16;
+
+import java.nio.CharBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Char sequence utils class for batches of char sequences (rows).
+ * The methods check all the rows of a batch at once and return a {@link BitSet} of the indexes of the rows that hit.
+ * Each row is dispatched by its concrete type once, so a batch of mixed types does not make <code>charAt</code> calls
+ * megamorphic.
+ * A Latin-1 {@link String} row never hits. Short {@link String} and {@link StringBuilder} rows are read by loops of
+ * their own, long ones in chunks (see {@link BulkScanner}). {@link StringBuffer} rows are always read in chunks, so
+ * the lock of a row is taken once per chunk instead of once per char. Rows of array-backed {@link CharBuffer} are
+ * read from their arrays directly.
+ * The rows are checked by the same scans as by the <code>contains*</code> methods of {@link CharSequenceUtils}, but
+ * no row of any type is reported to its scan listener (see {@link CharSequenceUtils#setScanListener(ScanListener)}).
+ * A <code>null</code> row never hits.
+ * Batches of at least the threshold rows can be checked by a fork-join pool, each task checks a segment of rows.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class CharSequenceBatchUtils {
+
+    /**
+     * Default minimal count of rows of a batch to check it in parallel, using for <code>parallelContains*</code>
+     * methods without the threshold argument.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    /**
+     * Row hits if it contains surrogates.
+     */
+    private static final int SURROGATES = BulkScanner.SURROGATES;
+
+    /**
+     * Row hits if it contains unattached surrogates.
+     */
+    private static final int UNATTACHED_SURROGATES = BulkScanner.UNATTACHED_SURROGATES;
+
+    /**
+     * Minimal count of rows of a segment, a multiple of <code>64</code> so that the segments never share a word of
+     * the result bits.
+     */
+    private static final int MIN_SEGMENT_ROWS = 1 << 10;
+
+    /**
+     * Count of segments per pool thread, more segments than threads balance the load if the threads are busy.
+     */
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    /**
+     * This method can be used to find the rows of a batch that contain UTF-16 surrogates.
+     *
+     * @param seqs Rows
+     *
+     * @return Indexes of the rows that contain surrogates, empty if a batch is <code>null</code>
+     *
+     * @see CharSequenceUtils#containsSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet containsSurrogates(final CharSequence[] seqs) {
+        return scan(seqs, SURROGATES, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * This method can be used to find the rows of a batch that contain UTF-16 surrogates.
+     * The rows are copied to an array before the check, the same way as by {@link List#toArray(Object[])}.
+     *
+     * @param seqs Rows
+     *
+     * @return Indexes of the rows that contain surrogates, empty if a batch is <code>null</code>
+     *
+     * @see CharSequenceUtils#containsSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet containsSurrogates(final List<? extends CharSequence> seqs) {
+        return containsSurrogates(toArray(seqs));
+    }
+
+    /**
+     * This method can be used to find the rows of a batch that contain unattached UTF-16 surrogates.
+     *
+     * @param seqs Rows
+     *
+     * @return Indexes of the rows that contain unattached surrogates, empty if a batch is <code>null</code>
+     *
+     * @see CharSequenceUtils#containsUnattachedSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet containsUnattachedSurrogates(final CharSequence[] seqs) {
+        return scan(seqs, UNATTACHED_SURROGATES, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * This method can be used to find the rows of a batch that contain unattached UTF-16 surrogates.
+     * The rows are copied to an array before the check, the same way as by {@link List#toArray(Object[])}.
+     *
+     * @param seqs Rows
+     *
+     * @return Indexes of the rows that contain unattached surrogates, empty if a batch is <code>null</code>
+     *
+     * @see CharSequenceUtils#containsUnattachedSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet containsUnattachedSurrogates(final List<? extends CharSequence> seqs) {
+        return containsUnattachedSurrogates(toArray(seqs));
+    }
+
+    /**
+     * This method works the same way as {@link #parallelContainsSurrogates(CharSequence[], ForkJoinPool, int)} with
+     * the common pool and the {@link #PARALLEL_THRESHOLD} threshold.
+     *
+     * @param seqs Rows
+     *
+     * @return Indexes of the rows that contain surrogates, empty if a batch is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet parallelContainsSurrogates(final CharSequence[] seqs) {
+        return parallelContainsSurrogates(seqs, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * This method can be used to find the rows of a batch that contain UTF-16 surrogates, using a fork-join pool for
+     * large batches.
+     * A batch of fewer rows than the threshold is checked by {@link #containsSurrogates(CharSequence[])} in the
+     * calling thread.
+     * The rows must not be changed during the check.
+     *
+     * @param seqs Rows
+     * @param pool Fork-join pool
+     * @param threshold Minimal count of rows of a batch to check it in parallel
+     *
+     * @return Indexes of the rows that contain surrogates, empty if a batch is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet parallelContainsSurrogates(final CharSequence[] seqs, final ForkJoinPool pool,
+                                                    final int threshold) {
+        return scan(seqs, SURROGATES, pool, threshold);
+    }
+
+    /**
+     * This method works the same way as {@link #parallelContainsSurrogates(CharSequence[], ForkJoinPool, int)} for a
+     * list of rows.
+     *
+     * @param seqs Rows
+     * @param pool Fork-join pool
+     * @param threshold Minimal count of rows of a batch to check it in parallel
+     *
+     * @return Indexes of the rows that contain surrogates, empty if a batch is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet parallelContainsSurrogates(final List<? extends CharSequence> seqs, final ForkJoinPool pool,
+                                                    final int threshold) {
+        return scan(toArray(seqs), SURROGATES, pool, threshold);
+    }
+
+    /**
+     * This method works the same way as
+     * {@link #parallelContainsUnattachedSurrogates(CharSequence[], ForkJoinPool, int)} with the common pool and the
+     * {@link #PARALLEL_THRESHOLD} threshold.
+     *
+     * @param seqs Rows
+     *
+     * @return Indexes of the rows that contain unattached surrogates, empty if a batch is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet parallelContainsUnattachedSurrogates(final CharSequence[] seqs) {
+        return parallelContainsUnattachedSurrogates(seqs, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * This method can be used to find the rows of a batch that contain unattached UTF-16 surrogates, using a
+     * fork-join pool for large batches.
+     * A batch of fewer rows than the threshold is checked by {@link #containsUnattachedSurrogates(CharSequence[])}
+     * in the calling thread.
+     * The rows must not be changed during the check.
+     *
+     * @param seqs Rows
+     * @param pool Fork-join pool
+     * @param threshold Minimal count of rows of a batch to check it in parallel
+     *
+     * @return Indexes of the rows that contain unattached surrogates, empty if a batch is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet parallelContainsUnattachedSurrogates(final CharSequence[] seqs, final ForkJoinPool pool,
+                                                              final int threshold) {
+        return scan(seqs, UNATTACHED_SURROGATES, pool, threshold);
+    }
+
+    /**
+     * This method works the same way as
+     * {@link #parallelContainsUnattachedSurrogates(CharSequence[], ForkJoinPool, int)} for a list of rows.
+     *
+     * @param seqs Rows
+     * @param pool Fork-join pool
+     * @param threshold Minimal count of rows of a batch to check it in parallel
+     *
+     * @return Indexes of the rows that contain unattached surrogates, empty if a batch is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static BitSet parallelContainsUnattachedSurrogates(final List<? extends CharSequence> seqs,
+                                                              final ForkJoinPool pool, final int threshold) {
+        return scan(toArray(seqs), UNATTACHED_SURROGATES, pool, threshold);
+    }
+
+    /**
+     * This method checks the rows of a batch.
+     *
+     * @param seqs Rows
+     * @param kind Kind of the check, {@link #SURROGATES} or {@link #UNATTACHED_SURROGATES}
+     * @param pool Fork-join pool or <code>null</code> to check the rows in the calling thread
+     * @param threshold Minimal count of rows of a batch to check it in parallel
+     *
+     * @return Indexes of the rows that hit
+     */
+    private static BitSet scan(final CharSequence[] seqs, final int kind, final ForkJoinPool pool,
+                               final int threshold) {
+        if (seqs == null || seqs.length == 0) {
+            return new BitSet();
+        }
+
+        final long[] words = new long[(seqs.length + 63) >>> 6];
+
+        if (pool == null || seqs.length < threshold) {
+            scan(seqs, kind, words, 0, seqs.length);
+        } else {
+            final int segments = pool.getParallelism() * SEGMENTS_PER_THREAD;
+            final int segmentRows = Math.max(MIN_SEGMENT_ROWS, (seqs.length / segments + 63) & ~63);
+
+            pool.invoke(new SegmentTask(seqs, kind, words, segmentRows, 0, seqs.length));
+        }
+
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * This method checks a range of rows, setting the bits of the rows that hit.
+     *
+     * @param seqs Rows
+     * @param kind Kind of the check
+     * @param words Result bits
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     */
+    private static void scan(final CharSequence[] seqs, final int kind, final long[] words, final int from,
+                             final int to) {
+        for (int i = from; i < to; i++) {
+            if (hits(seqs[i], kind)) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * This method checks a row, dispatching it by its concrete type.
+     *
+     * @param seq Row
+     * @param kind Kind of the check
+     *
+     * @return <code>true</code> if a row hits or <code>false</code> if not
+     */
+    private static boolean hits(final CharSequence seq, final int kind) {
+        if (seq == null) {
+            return false;
+        }
+
+        final int len = seq.length();
+
+        if (seq instanceof String) {
+            final String str = (String) seq;
+
+            if (CompactStrings.isLatin1(str)) {
+                return false;
+            }
+
+            if (!BulkScanner.supports(str, len, kind)) {
+                return kind == SURROGATES ? containsSurrogates(str) : containsUnattachedSurrogates(str);
+            }
+        } else if (seq instanceof StringBuilder) {
+            final StringBuilder builder = (StringBuilder) seq;
+
+            if (!BulkScanner.supports(builder, len, kind)) {
+                return kind == SURROGATES ? containsSurrogates(builder) : containsUnattachedSurrogates(builder);
+            }
+        } else if (seq instanceof StringBuffer) {
+            return BulkScanner.scan(seq, 0, len, kind) >= 0;
+        } else if (seq instanceof CharBuffer && ((CharBuffer) seq).hasArray()) {
+            final CharBuffer buf = (CharBuffer) seq;
+            final char[] arr = buf.array();
+            final int off = buf.arrayOffset() + buf.position();
+
+            return kind == SURROGATES
+                    ? CharSequenceUtils.scanSurrogates(arr, off, len) >= 0
+                    : CharSequenceUtils.scanUnattachedSurrogates(arr, off, len) >= 0;
+        }
+
+        return kind == SURROGATES
+                ? CharSequenceUtils.scanSurrogates(seq, 0, len) >= 0
+                : CharSequenceUtils.scanUnattachedSurrogates(seq, 0, len) >= 0;
+    }
+
+    /**
+     * This method checks whether a string row contains UTF-16 surrogates.
+     * {@link String} is a final class, so the <code>charAt</code> calls are bound statically.
+     *
+     * @param str Row
+     *
+     * @return <code>true</code> if a row contains UTF-16 surrogates or <code>false</code> if not
+     */
+    private static boolean containsSurrogates(final String str) {
+        final int len = str.length();
+
+        for (int i = 0; i < len; i++) {
+            if (SurrogateUtils.isSurrogate(str.charAt(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * This method checks whether a string builder row contains UTF-16 surrogates.
+     * {@link StringBuilder} is a final class, so the <code>charAt</code> calls are bound statically.
+     *
+     * @param builder Row
+     *
+     * @return <code>true</code> if a row contains UTF-16 surrogates or <code>false</code> if not
+     */
+    private static boolean containsSurrogates(final StringBuilder builder) {
+        final int len = builder.length();
+
+        for (int i = 0; i < len; i++) {
+            if (SurrogateUtils.isSurrogate(builder.charAt(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * This method checks whether a string row contains unattached UTF-16 surrogates.
+     * {@link String} is a final class, so the <code>charAt</code> calls are bound statically.
+     *
+     * @param str Row
+     *
+     * @return <code>true</code> if a row contains unattached UTF-16 surrogates or <code>false</code> if not
+     */
+    private static boolean containsUnattachedSurrogates(final String str) {
+        final int len = str.length();
+
+        char ch;
+
+        for (int i = 0; i < len; i++) {
+            ch = str.charAt(i);
+
+            if (SurrogateUtils.isSurrogate(ch)) {
+                if (i + 1 < len && SurrogatePairUtils.isSurrogatePair(ch, str.charAt(i + 1))) {
+                    i++;
+                } else {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * This method checks whether a string builder row contains unattached UTF-16 surrogates.
+     * {@link StringBuilder} is a final class, so the <code>charAt</code> calls are bound statically.
+     *
+     * @param builder Row
+     *
+     * @return <code>true</code> if a row contains unattached UTF-16 surrogates or <code>false</code> if not
+     */
+    private static boolean containsUnattachedSurrogates(final StringBuilder builder) {
+        final int len = builder.length();
+
+        char ch;
+
+        for (int i = 0; i < len; i++) {
+            ch = builder.charAt(i);
+
+            if (SurrogateUtils.isSurrogate(ch)) {
+                if (i + 1 < len && SurrogatePairUtils.isSurrogatePair(ch, builder.charAt(i + 1))) {
+                    i++;
+                } else {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * This method copies a list of rows to an array.
+     *
+     * @param seqs Rows
+     *
+     * @return Array of the rows or <code>null</code> if a list is <code>null</code>
+     */
+    private static CharSequence[] toArray(final List<? extends CharSequence> seqs) {
+        return seqs == null ? null : seqs.toArray(new CharSequence[0]);
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     */
+    private CharSequenceBatchUtils() {}
+
+    /**
+     * Fork-join task that checks a range of rows, splitting it in halves down to segments.
+     * The halves are split at multiples of <code>64</code> rows, so the tasks never write the same word of the
+     * result bits.
+     *
+     * @since Added in 0.0.2
+     */
+    private static final class SegmentTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient CharSequence[] seqs;
+
+        private final int kind;
+
+        private final long[] words;
+
+        private final int segmentRows;
+
+        private final int from;
+
+        private final int to;
+
+        private SegmentTask(final CharSequence[] seqs, final int kind, final long[] words, final int segmentRows,
+                            final int from, final int to) {
+            this.seqs = seqs;
+            this.kind = kind;
+            this.words = words;
+            this.segmentRows = segmentRows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > segmentRows) {
+                final int mid = from + (((to - from) >>> 1) + 63 & ~63);
+
+                invokeAll(new SegmentTask(seqs, kind, words, segmentRows, from, mid),
+                        new SegmentTask(seqs, kind, words, segmentRows, mid, to));
+            } else {
+                scan(seqs, kind, words, from, to);
+            }
+        }
+
+    }
+
+}
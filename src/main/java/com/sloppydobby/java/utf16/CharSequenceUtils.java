@@ -1,5 +1,11 @@
 package com.sloppydobby.java.utf16;
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * UTF-16 utils for char sequence.
  *
@@ -44,12 +50,45 @@ public final class CharSequenceUtils {
      */
     public static final int TARGET_SURROGATE_CHAR = 0b10000; // 16
 
+    /**
+     * Unicode replacement char <code>U+FFFD</code>, using for <code>sanitize</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    /**
+     * Default minimal length of a char sequence to check it in parallel, using for <code>parallelContains*</code>
+     * methods.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    /**
+     * Default targets of <code>trim</code> method - space, tab, line break and return caret chars.
+     */
+    private static final int DEFAULT_TARGET = TARGET_SPACE_CHAR | TARGET_TAB_CHAR | TARGET_LINE_BREAK_CHAR
+            | TARGET_RETURN_CARET_CHAR;
+
+    /**
+     * Listener of the scans of the instrumented methods, <code>null</code> while the instrumentation is off.
+     */
+    private static volatile ScanListener scanListener;
+
     /**
      * This method can be used to check whether a char sequence contains UTF-16 surrogates.
      * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
      * then from the end to the middle.
      * As soon as the first surrogate is found, the method returns the <code>true</code>.
      *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
+     *
      * @param seq Char sequence
      *
      * @return <code>true</code> if a char sequence contains UTF-16 surrogates or <code>false</code> if not
@@ -59,32 +98,103 @@ public final class CharSequenceUtils {
      * @since Added in 0.0.1
      */
     public static boolean containsSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_SURROGATES, seq, ((Utf16Text) seq).containsSurrogates());
+        }
+
         if (seq == null || seq.length() == 0) {
             return false;
         }
 
-        final int len = seq.length();
+        return containsSurrogates(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to check whether a range of a char sequence contains UTF-16 surrogates.
+     * This method works the same way as {@link #containsSurrogates(CharSequence)}, but checks only the chars in the
+     * given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanSurrogates(seq, from, to);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATES, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for UTF-16 surrogates, the same way as
+     * {@link #containsSurrogates(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    static int scanSurrogates(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so the scan would read the whole range without a hit
+
+        if (isLatin1(seq)) {
+            return -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.SURROGATES)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.SURROGATES);
+        }
+
+        final int len = to - from;
 
         // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
         switch (len) {
+            case 0:
+                return -1;
+
             case 1:
-                final char ch = seq.charAt(0);
-                return SurrogateUtils.isSurrogate(ch);
+                final char ch = seq.charAt(from);
+                return SurrogateUtils.isSurrogate(ch) ? from : -1;
 
             case 2:
-                final char ch0 = seq.charAt(0);
-                final char ch1 = seq.charAt(1);
+                final char ch0 = seq.charAt(from);
+                final char ch1 = seq.charAt(from + 1);
 
-                return SurrogateUtils.isSurrogate(ch0) || SurrogateUtils.isSurrogate(ch1);
+                return SurrogateUtils.isSurrogate(ch0) ? from : SurrogateUtils.isSurrogate(ch1) ? from + 1 : -1;
 
             default:
                 break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
 
         char ch;
         boolean res;
@@ -92,12 +202,12 @@ public final class CharSequenceUtils {
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
+        for (int i = from; i < midIdx; i++) {
             ch = seq.charAt(i);
             res = SurrogateUtils.isSurrogate(ch);
 
             if (res) {
-                return true;
+                return i;
             }
         }
 
@@ -106,54 +216,108 @@ public final class CharSequenceUtils {
             res = SurrogateUtils.isSurrogate(ch);
 
             if (res) {
-                return true;
+                return i;
             }
         }
 
-        return false;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains only UTF-16 surrogates.
-     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
-     * then from the end to the middle.
-     * As soon as the first non-surrogate char is found, the method returns the <code>false</code>.
+     * This method can be used to check whether a range of a char array contains UTF-16 surrogates.
+     * This method works the same way as {@link #containsSurrogates(CharSequence)}, but reads the chars directly from
+     * the array, so there is no need to wrap the array in a char sequence.
      *
-     * @param seq Char sequence
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
      *
-     * @return <code>true</code> if a char sequence contains only UTF-16 surrogates or <code>false</code> if not
+     * @return <code>true</code> if a range contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
      *
      * @see SurrogateUtils
      *
-     * @since Added in 0.0.1
+     * @since Added in 0.0.2
      */
-    public static boolean containsSurrogatesOnly(final CharSequence seq) {
-        if (seq == null || seq.length() == 0) {
+    public static boolean containsSurrogates(final char[] buf, final int off, final int len) {
+        if (buf == null) {
             return false;
         }
 
-        final int len = seq.length();
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanSurrogates(buf, off, len);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATES, off, off + len, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for UTF-16 surrogates, the same way as
+     * {@link #containsSurrogates(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    static int scanSurrogates(final char[] buf, final int off, final int len) {
+        // Long ranges are checked by SIMD vectors if the JVM supports them, see VectorScanner.
 
+        if (len >= VectorScanner.MIN_LENGTH && VectorScanner.SUPPORTED) {
+            return VectorScanner.scanSurrogates(buf, off, len);
+        }
+
+        return scanSurrogatesScalar(buf, off, len);
+    }
+
+    /**
+     * This method scans a range of a char array the same way as
+     * {@link #scanSurrogates(char[], int, int)}, but without vectors - char by char, so
+     * the Java 8 version of {@link VectorScanner} delegates to it.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return The same as {@link #scanSurrogates(char[], int, int)}
+     */
+    static int scanSurrogatesScalar(final char[] buf, final int off, final int len) {
         // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
         switch (len) {
+            case 0:
+                return -1;
+
             case 1:
-                final char ch = seq.charAt(0);
-                return SurrogateUtils.isSurrogate(ch);
+                final char ch = buf[off];
+                return SurrogateUtils.isSurrogate(ch) ? off : -1;
 
             case 2:
-                final char ch0 = seq.charAt(0);
-                final char ch1 = seq.charAt(1);
+                final char ch0 = buf[off];
+                final char ch1 = buf[off + 1];
 
-                return SurrogateUtils.isSurrogate(ch0) && SurrogateUtils.isSurrogate(ch1);
+                return SurrogateUtils.isSurrogate(ch0) ? off : SurrogateUtils.isSurrogate(ch1) ? off + 1 : -1;
 
             default:
                 break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
 
         char ch;
         boolean res;
@@ -161,68 +325,146 @@ public final class CharSequenceUtils {
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
-            ch = seq.charAt(i);
+        for (int i = off; i < midIdx; i++) {
+            ch = buf[i];
             res = SurrogateUtils.isSurrogate(ch);
 
-            if (!res) {
-                return false;
+            if (res) {
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
-            ch = seq.charAt(i);
+            ch = buf[i];
             res = SurrogateUtils.isSurrogate(ch);
 
-            if (!res) {
-                return false;
+            if (res) {
+                return i;
             }
         }
 
-        return true;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains UTF-16 high surrogates.
+     * This method can be used to check whether a char sequence contains only UTF-16 surrogates.
      * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
      * then from the end to the middle.
-     * As soon as the first high surrogate is found, the method returns the <code>true</code>.
+     * As soon as the first non-surrogate char is found, the method returns the <code>false</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
      *
      * @param seq Char sequence
      *
-     * @return <code>true</code> if a char sequence contains UTF-16 high surrogates or <code>false</code> if not
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogates or <code>false</code> if not
      *
      * @see SurrogateUtils
      *
      * @since Added in 0.0.1
      */
-    public static boolean containsHighSurrogates(final CharSequence seq) {
+    public static boolean containsSurrogatesOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_SURROGATES_ONLY, seq, ((Utf16Text) seq).containsSurrogatesOnly());
+        }
+
         if (seq == null || seq.length() == 0) {
             return false;
         }
 
-        final int len = seq.length();
+        return containsSurrogatesOnly(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to check whether a range of a char sequence contains only UTF-16 surrogates.
+     * This method works the same way as {@link #containsSurrogatesOnly(CharSequence)}, but checks only the chars in
+     * the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanSurrogatesOnly(seq, from, to);
+        final boolean res = exit < 0 && to - from > 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATES_ONLY, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for only UTF-16 surrogates, the same way as
+     * {@link #containsSurrogatesOnly(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first char in the order of the scan that is not a surrogate, where the scan exits
+     *         early, or <code>-1</code> if the scan reads the whole range
+     */
+    private static int scanSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so its first char is where the scan would exit
+
+        if (isLatin1(seq)) {
+            return to > from ? from : -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.SURROGATES_ONLY)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.SURROGATES_ONLY);
+        }
+
+        final int len = to - from;
 
         // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
         switch (len) {
+            case 0:
+                return -1;
+
             case 1:
-                final char ch = seq.charAt(0);
-                return SurrogateUtils.isHighSurrogate(ch);
+                final char ch = seq.charAt(from);
+                return SurrogateUtils.isSurrogate(ch) ? -1 : from;
 
             case 2:
-                final char ch0 = seq.charAt(0);
-                final char ch1 = seq.charAt(1);
+                final char ch0 = seq.charAt(from);
+                final char ch1 = seq.charAt(from + 1);
 
-                return SurrogateUtils.isHighSurrogate(ch0) || SurrogateUtils.isHighSurrogate(ch1);
+                return !SurrogateUtils.isSurrogate(ch0) ? from : !SurrogateUtils.isSurrogate(ch1) ? from + 1 : -1;
 
             default:
                 break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
 
         char ch;
         boolean res;
@@ -230,68 +472,122 @@ public final class CharSequenceUtils {
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
+        for (int i = from; i < midIdx; i++) {
             ch = seq.charAt(i);
-            res = SurrogateUtils.isHighSurrogate(ch);
+            res = SurrogateUtils.isSurrogate(ch);
 
-            if (res) {
-                return true;
+            if (!res) {
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
             ch = seq.charAt(i);
-            res = SurrogateUtils.isHighSurrogate(ch);
+            res = SurrogateUtils.isSurrogate(ch);
 
-            if (res) {
-                return true;
+            if (!res) {
+                return i;
             }
         }
 
-        return false;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains only UTF-16 high surrogates.
-     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
-     * then from the end to the middle.
-     * As soon as the first non-high-surrogate char is found, the method returns the <code>false</code>.
+     * This method can be used to check whether a range of a char array contains only UTF-16 surrogates.
+     * This method works the same way as {@link #containsSurrogatesOnly(CharSequence)}, but reads the chars directly
+     * from the array, so there is no need to wrap the array in a char sequence.
      *
-     * @param seq Char sequence
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
      *
-     * @return <code>true</code> if a char sequence contains only UTF-16 high surrogates or <code>false</code> if not
+     * @return <code>true</code> if a range contains only UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
      *
      * @see SurrogateUtils
      *
-     * @since Added in 0.0.1
+     * @since Added in 0.0.2
      */
-    public static boolean containsHighSurrogatesOnly(final CharSequence seq) {
-        if (seq == null || seq.length() == 0) {
+    public static boolean containsSurrogatesOnly(final char[] buf, final int off, final int len) {
+        if (buf == null) {
             return false;
         }
 
-        final int len = seq.length();
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanSurrogatesOnly(buf, off, len);
+        final boolean res = exit < 0 && len > 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATES_ONLY, off, off + len, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for only UTF-16 surrogates, the same way as
+     * {@link #containsSurrogatesOnly(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char in the order of the scan that is not a surrogate, where the scan exits
+     *         early, or <code>-1</code> if the scan reads the whole range
+     */
+    static int scanSurrogatesOnly(final char[] buf, final int off, final int len) {
+        // Long ranges are checked by SIMD vectors if the JVM supports them, see VectorScanner.
 
+        if (len >= VectorScanner.MIN_LENGTH && VectorScanner.SUPPORTED) {
+            return VectorScanner.scanSurrogatesOnly(buf, off, len);
+        }
+
+        return scanSurrogatesOnlyScalar(buf, off, len);
+    }
+
+    /**
+     * This method scans a range of a char array the same way as
+     * {@link #scanSurrogatesOnly(char[], int, int)}, but without vectors - char by char, so
+     * the Java 8 version of {@link VectorScanner} delegates to it.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return The same as {@link #scanSurrogatesOnly(char[], int, int)}
+     */
+    static int scanSurrogatesOnlyScalar(final char[] buf, final int off, final int len) {
         // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
         switch (len) {
+            case 0:
+                return -1;
+
             case 1:
-                final char ch = seq.charAt(0);
-                return SurrogateUtils.isHighSurrogate(ch);
+                final char ch = buf[off];
+                return SurrogateUtils.isSurrogate(ch) ? -1 : off;
 
             case 2:
-                final char ch0 = seq.charAt(0);
-                final char ch1 = seq.charAt(1);
+                final char ch0 = buf[off];
+                final char ch1 = buf[off + 1];
 
-                return SurrogateUtils.isHighSurrogate(ch0) && SurrogateUtils.isHighSurrogate(ch1);
+                return !SurrogateUtils.isSurrogate(ch0) ? off : !SurrogateUtils.isSurrogate(ch1) ? off + 1 : -1;
 
             default:
                 break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
 
         char ch;
         boolean res;
@@ -299,68 +595,147 @@ public final class CharSequenceUtils {
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
-            ch = seq.charAt(i);
-            res = SurrogateUtils.isHighSurrogate(ch);
+        for (int i = off; i < midIdx; i++) {
+            ch = buf[i];
+            res = SurrogateUtils.isSurrogate(ch);
 
             if (!res) {
-                return false;
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
-            ch = seq.charAt(i);
-            res = SurrogateUtils.isHighSurrogate(ch);
+            ch = buf[i];
+            res = SurrogateUtils.isSurrogate(ch);
 
             if (!res) {
-                return false;
+                return i;
             }
         }
 
-        return true;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains UTF-16 low surrogates.
+     * This method can be used to check whether a char sequence contains UTF-16 high surrogates.
      * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
      * then from the end to the middle.
-     * As soon as the first low surrogate is found, the method returns the <code>true</code>.
+     * As soon as the first high surrogate is found, the method returns the <code>true</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
      *
      * @param seq Char sequence
      *
-     * @return <code>true</code> if a char sequence contains UTF-16 low surrogates or <code>false</code> if not
+     * @return <code>true</code> if a char sequence contains UTF-16 high surrogates or <code>false</code> if not
      *
      * @see SurrogateUtils
      *
      * @since Added in 0.0.1
      */
-    public static boolean containsLowSurrogates(final CharSequence seq) {
+    public static boolean containsHighSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_HIGH_SURROGATES, seq, ((Utf16Text) seq).containsHighSurrogates());
+        }
+
         if (seq == null || seq.length() == 0) {
             return false;
         }
 
-        final int len = seq.length();
+        return containsHighSurrogates(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to check whether a range of a char sequence contains UTF-16 high surrogates.
+     * This method works the same way as {@link #containsHighSurrogates(CharSequence)}, but checks only the chars in
+     * the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsHighSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanHighSurrogates(seq, from, to);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_HIGH_SURROGATES, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for UTF-16 high surrogates, the same way as
+     * {@link #containsHighSurrogates(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first high surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    private static int scanHighSurrogates(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so the scan would read the whole range without a hit
+
+        if (isLatin1(seq)) {
+            return -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.HIGH_SURROGATES)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.HIGH_SURROGATES);
+        }
+
+        final int len = to - from;
 
         // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
         switch (len) {
+            case 0:
+                return -1;
+
             case 1:
-                final char ch = seq.charAt(0);
-                return SurrogateUtils.isLowSurrogate(ch);
+                final char ch = seq.charAt(from);
+                return SurrogateUtils.isHighSurrogate(ch) ? from : -1;
 
             case 2:
-                final char ch0 = seq.charAt(0);
-                final char ch1 = seq.charAt(1);
+                final char ch0 = seq.charAt(from);
+                final char ch1 = seq.charAt(from + 1);
 
-                return SurrogateUtils.isLowSurrogate(ch0) || SurrogateUtils.isLowSurrogate(ch1);
+                return SurrogateUtils.isHighSurrogate(ch0) ? from
+                        : SurrogateUtils.isHighSurrogate(ch1) ? from + 1 : -1;
 
             default:
                 break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
 
         char ch;
         boolean res;
@@ -368,68 +743,122 @@ public final class CharSequenceUtils {
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
+        for (int i = from; i < midIdx; i++) {
             ch = seq.charAt(i);
-            res = SurrogateUtils.isLowSurrogate(ch);
+            res = SurrogateUtils.isHighSurrogate(ch);
 
             if (res) {
-                return true;
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
             ch = seq.charAt(i);
-            res = SurrogateUtils.isLowSurrogate(ch);
+            res = SurrogateUtils.isHighSurrogate(ch);
 
             if (res) {
-                return true;
+                return i;
             }
         }
 
-        return false;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains only UTF-16 low surrogates.
-     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
-     * then from the end to the middle.
-     * As soon as the first non-low-surrogate char is found, the method returns the <code>false</code>.
+     * This method can be used to check whether a range of a char array contains UTF-16 high surrogates.
+     * This method works the same way as {@link #containsHighSurrogates(CharSequence)}, but reads the chars directly
+     * from the array, so there is no need to wrap the array in a char sequence.
      *
-     * @param seq Char sequence
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
      *
-     * @return <code>true</code> if a char sequence contains only UTF-16 low surrogates or <code>false</code> if not
+     * @return <code>true</code> if a range contains UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
      *
      * @see SurrogateUtils
      *
-     * @since Added in 0.0.1
+     * @since Added in 0.0.2
      */
-    public static boolean containsLowSurrogatesOnly(final CharSequence seq) {
-        if (seq == null || seq.length() == 0) {
+    public static boolean containsHighSurrogates(final char[] buf, final int off, final int len) {
+        if (buf == null) {
             return false;
         }
 
-        final int len = seq.length();
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanHighSurrogates(buf, off, len);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_HIGH_SURROGATES, off, off + len, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for UTF-16 high surrogates, the same way as
+     * {@link #containsHighSurrogates(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first high surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    static int scanHighSurrogates(final char[] buf, final int off, final int len) {
+        // Long ranges are checked by SIMD vectors if the JVM supports them, see VectorScanner.
+
+        if (len >= VectorScanner.MIN_LENGTH && VectorScanner.SUPPORTED) {
+            return VectorScanner.scanHighSurrogates(buf, off, len);
+        }
+
+        return scanHighSurrogatesScalar(buf, off, len);
+    }
 
+    /**
+     * This method scans a range of a char array the same way as
+     * {@link #scanHighSurrogates(char[], int, int)}, but without vectors - char by char, so
+     * the Java 8 version of {@link VectorScanner} delegates to it.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return The same as {@link #scanHighSurrogates(char[], int, int)}
+     */
+    static int scanHighSurrogatesScalar(final char[] buf, final int off, final int len) {
         // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
         switch (len) {
+            case 0:
+                return -1;
+
             case 1:
-                final char ch = seq.charAt(0);
-                return SurrogateUtils.isLowSurrogate(ch);
+                final char ch = buf[off];
+                return SurrogateUtils.isHighSurrogate(ch) ? off : -1;
 
             case 2:
-                final char ch0 = seq.charAt(0);
-                final char ch1 = seq.charAt(1);
+                final char ch0 = buf[off];
+                final char ch1 = buf[off + 1];
 
-                return SurrogateUtils.isLowSurrogate(ch0) && SurrogateUtils.isLowSurrogate(ch1);
+                return SurrogateUtils.isHighSurrogate(ch0) ? off : SurrogateUtils.isHighSurrogate(ch1) ? off + 1 : -1;
 
             default:
                 break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
 
         char ch;
         boolean res;
@@ -437,419 +866,3634 @@ public final class CharSequenceUtils {
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
-            ch = seq.charAt(i);
-            res = SurrogateUtils.isLowSurrogate(ch);
+        for (int i = off; i < midIdx; i++) {
+            ch = buf[i];
+            res = SurrogateUtils.isHighSurrogate(ch);
 
-            if (!res) {
-                return false;
+            if (res) {
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
-            ch = seq.charAt(i);
-            res = SurrogateUtils.isLowSurrogate(ch);
+            ch = buf[i];
+            res = SurrogateUtils.isHighSurrogate(ch);
 
-            if (!res) {
-                return false;
+            if (res) {
+                return i;
             }
         }
 
-        return true;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains UTF-16 surrogate pairs.
+     * This method can be used to check whether a char sequence contains only UTF-16 high surrogates.
      * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
      * then from the end to the middle.
-     * As soon as the first surrogate pair is found, the method returns the <code>true</code>.
+     * As soon as the first non-high-surrogate char is found, the method returns the <code>false</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
      *
      * @param seq Char sequence
      *
-     * @return <code>true</code> if a char sequence contains UTF-16 surrogate pairs or <code>false</code> if not
+     * @return <code>true</code> if a char sequence contains only UTF-16 high surrogates or <code>false</code> if not
      *
      * @see SurrogateUtils
      *
      * @since Added in 0.0.1
      */
-    public static boolean containsSurrogatePairs(final CharSequence seq) {
-        if (seq == null || seq.length() < 2) {
+    public static boolean containsHighSurrogatesOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_HIGH_SURROGATES_ONLY, seq,
+                    ((Utf16Text) seq).containsHighSurrogatesOnly());
+        }
+
+        if (seq == null || seq.length() == 0) {
             return false;
         }
 
-        final int len = seq.length();
+        return containsHighSurrogatesOnly(seq, 0, seq.length());
+    }
 
-        char high;
-        char low;
+    /**
+     * This method can be used to check whether a range of a char sequence contains only UTF-16 high surrogates.
+     * This method works the same way as {@link #containsHighSurrogatesOnly(CharSequence)}, but checks only the chars
+     * in the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsHighSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
 
-        // Checking for 2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanHighSurrogatesOnly(seq, from, to);
+        final boolean res = exit < 0 && to - from > 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_HIGH_SURROGATES_ONLY, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for only UTF-16 high surrogates, the same way as
+     * {@link #containsHighSurrogatesOnly(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first char in the order of the scan that is not a high surrogate, where the scan exits
+     *         early, or <code>-1</code> if the scan reads the whole range
+     */
+    private static int scanHighSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so its first char is where the scan would exit
+
+        if (isLatin1(seq)) {
+            return to > from ? from : -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.HIGH_SURROGATES_ONLY)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.HIGH_SURROGATES_ONLY);
+        }
+
+        final int len = to - from;
+
+        // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
-        if (len == 2) {
-            high = seq.charAt(0);
-            low = seq.charAt(1);
+        switch (len) {
+            case 0:
+                return -1;
+
+            case 1:
+                final char ch = seq.charAt(from);
+                return SurrogateUtils.isHighSurrogate(ch) ? -1 : from;
+
+            case 2:
+                final char ch0 = seq.charAt(from);
+                final char ch1 = seq.charAt(from + 1);
+
+                return !SurrogateUtils.isHighSurrogate(ch0) ? from
+                        : !SurrogateUtils.isHighSurrogate(ch1) ? from + 1 : -1;
 
-            return SurrogatePairUtils.isSurrogatePair(high, low);
+            default:
+                break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
 
+        char ch;
         boolean res;
 
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
-            high = seq.charAt(i);
-            res = SurrogateUtils.isHighSurrogate(high);
-
-            if (res) {
-                low = seq.charAt(i + 1);
-                res = SurrogatePairUtils.isSurrogatePair(high, low);
+        for (int i = from; i < midIdx; i++) {
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isHighSurrogate(ch);
 
-                if (res) {
-                    return true;
-                }
+            if (!res) {
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
-            low = seq.charAt(i);
-            res = SurrogateUtils.isLowSurrogate(low);
-
-            if (res) {
-                high = seq.charAt(i - 1);
-                res = SurrogatePairUtils.isSurrogatePair(high, low);
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isHighSurrogate(ch);
 
-                if (res) {
-                    return true;
-                }
+            if (!res) {
+                return i;
             }
         }
 
-        return false;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains only UTF-16 surrogate pairs.
-     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
-     * then from the end to the middle.
-     * As soon as the first non-surrogate or alone surrogate char is found, the method returns the <code>false</code>.
+     * This method can be used to check whether a range of a char array contains only UTF-16 high surrogates.
+     * This method works the same way as {@link #containsHighSurrogatesOnly(CharSequence)}, but reads the chars
+     * directly from the array, so there is no need to wrap the array in a char sequence.
      *
-     * @param seq Char sequence
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
      *
-     * @return <code>true</code> if a char sequence contains only UTF-16 surrogate pairs or <code>false</code> if not
+     * @return <code>true</code> if a range contains only UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
      *
      * @see SurrogateUtils
      *
-     * @since Added in 0.0.1
+     * @since Added in 0.0.2
      */
-    public static boolean containsSurrogatePairsOnly(final CharSequence seq) {
-        if (seq == null || seq.length() < 2) {
+    public static boolean containsHighSurrogatesOnly(final char[] buf, final int off, final int len) {
+        if (buf == null) {
             return false;
         }
 
-        final int len = seq.length();
+        checkRange(buf, off, len);
 
-        char high;
-        char low;
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanHighSurrogatesOnly(buf, off, len);
+        final boolean res = exit < 0 && len > 0;
 
-        // Checking for 2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_HIGH_SURROGATES_ONLY, off, off + len, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for only UTF-16 high surrogates, the same way as
+     * {@link #containsHighSurrogatesOnly(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char in the order of the scan that is not a high surrogate, where the scan exits
+     *         early, or <code>-1</code> if the scan reads the whole range
+     */
+    static int scanHighSurrogatesOnly(final char[] buf, final int off, final int len) {
+        // Long ranges are checked by SIMD vectors if the JVM supports them, see VectorScanner.
+
+        if (len >= VectorScanner.MIN_LENGTH && VectorScanner.SUPPORTED) {
+            return VectorScanner.scanHighSurrogatesOnly(buf, off, len);
+        }
+
+        return scanHighSurrogatesOnlyScalar(buf, off, len);
+    }
+
+    /**
+     * This method scans a range of a char array the same way as
+     * {@link #scanHighSurrogatesOnly(char[], int, int)}, but without vectors - char by char, so
+     * the Java 8 version of {@link VectorScanner} delegates to it.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return The same as {@link #scanHighSurrogatesOnly(char[], int, int)}
+     */
+    static int scanHighSurrogatesOnlyScalar(final char[] buf, final int off, final int len) {
+        // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
-        if (len == 2) {
-            high = seq.charAt(0);
-            low = seq.charAt(1);
+        switch (len) {
+            case 0:
+                return -1;
+
+            case 1:
+                final char ch = buf[off];
+                return SurrogateUtils.isHighSurrogate(ch) ? -1 : off;
+
+            case 2:
+                final char ch0 = buf[off];
+                final char ch1 = buf[off + 1];
+
+                return !SurrogateUtils.isHighSurrogate(ch0) ? off
+                        : !SurrogateUtils.isHighSurrogate(ch1) ? off + 1 : -1;
 
-            return SurrogatePairUtils.isSurrogatePair(high, low);
+            default:
+                break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
 
+        char ch;
         boolean res;
 
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
-            high = seq.charAt(i);
-            res = SurrogateUtils.isSurrogate(high);
-
-            if (res) {
-                low = seq.charAt(i + 1);
-                res = SurrogatePairUtils.isSurrogatePair(high, low);
+        for (int i = off; i < midIdx; i++) {
+            ch = buf[i];
+            res = SurrogateUtils.isHighSurrogate(ch);
 
-                if (res) {
-                    i++;
-                } else {
-                    return false;
-                }
-            } else {
-                return false;
+            if (!res) {
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
-            low = seq.charAt(i);
-            res = SurrogateUtils.isSurrogate(low);
-
-            if (res) {
-                high = seq.charAt(i - 1);
-                res = SurrogatePairUtils.isSurrogatePair(high, low);
+            ch = buf[i];
+            res = SurrogateUtils.isHighSurrogate(ch);
 
-                if (res) {
-                    i--;
-                } else {
-                    return false;
-                }
-            } else {
-                return false;
+            if (!res) {
+                return i;
             }
         }
 
-        return true;
+        return -1;
     }
 
     /**
-     * This method can be used to check whether a char sequence contains unattached UTF-16 surrogates.
-     * Unattached surrogates here are surrogates who are not a part of the surrogate pair.
+     * This method can be used to check whether a char sequence contains UTF-16 low surrogates.
      * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
      * then from the end to the middle.
-     * As soon as the first unattached surrogate char is found, the method returns the <code>true</code>.
+     * As soon as the first low surrogate is found, the method returns the <code>true</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
      *
      * @param seq Char sequence
      *
-     * @return <code>true</code> if a char sequence contains unattached UTF-16 surrogates or <code>false</code> if not
+     * @return <code>true</code> if a char sequence contains UTF-16 low surrogates or <code>false</code> if not
      *
      * @see SurrogateUtils
      *
      * @since Added in 0.0.1
      */
-    public static boolean containsUnattachedSurrogates(final CharSequence seq) {
+    public static boolean containsLowSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_LOW_SURROGATES, seq, ((Utf16Text) seq).containsLowSurrogates());
+        }
+
         if (seq == null || seq.length() == 0) {
             return false;
         }
 
-        final int len = seq.length();
+        return containsLowSurrogates(seq, 0, seq.length());
+    }
 
-        boolean res;
+    /**
+     * This method can be used to check whether a range of a char sequence contains UTF-16 low surrogates.
+     * This method works the same way as {@link #containsLowSurrogates(CharSequence)}, but checks only the chars in
+     * the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsLowSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanLowSurrogates(seq, from, to);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_LOW_SURROGATES, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for UTF-16 low surrogates, the same way as
+     * {@link #containsLowSurrogates(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first low surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    private static int scanLowSurrogates(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so the scan would read the whole range without a hit
+
+        if (isLatin1(seq)) {
+            return -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.LOW_SURROGATES)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.LOW_SURROGATES);
+        }
+
+        final int len = to - from;
 
         // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
         // It will also avoid possible problems when calculating the middle index.
 
         switch (len) {
+            case 0:
+                return -1;
+
             case 1:
-                final char ch = seq.charAt(0);
-                return SurrogateUtils.isSurrogate(ch);
+                final char ch = seq.charAt(from);
+                return SurrogateUtils.isLowSurrogate(ch) ? from : -1;
 
             case 2:
-                final char ch0 = seq.charAt(0);
-                final char ch1 = seq.charAt(1);
+                final char ch0 = seq.charAt(from);
+                final char ch1 = seq.charAt(from + 1);
 
-                res = SurrogatePairUtils.isSurrogatePair(ch0, ch1);
-
-                if (res) {
-                    return false;
-                } else {
-                    return SurrogateUtils.isSurrogate(ch0) || SurrogateUtils.isSurrogate(ch1);
-                }
+                return SurrogateUtils.isLowSurrogate(ch0) ? from : SurrogateUtils.isLowSurrogate(ch1) ? from + 1 : -1;
 
             default:
                 break;
         }
 
-        final int maxIdx = len - 1;
-        final int midIdx = maxIdx / 2;
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
 
-        char high;
-        char low;
+        char ch;
+        boolean res;
 
         // Since surrogates are most often found at the beginning or end of a line (or closer to them),
         // it makes sense to expand the reading of the line after the middle.
 
-        for (int i = 0; i < midIdx; i++) {
-            high = seq.charAt(i);
-            res = SurrogateUtils.isSurrogate(high);
+        for (int i = from; i < midIdx; i++) {
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isLowSurrogate(ch);
 
             if (res) {
-                low = seq.charAt(i + 1);
-                res = SurrogatePairUtils.isSurrogatePair(high, low);
-
-                if (res) {
-                    i++;
-                } else {
-                    return true;
-                }
+                return i;
             }
         }
 
         for (int i = maxIdx; i >= midIdx; i--) {
-            low = seq.charAt(i);
-            res = SurrogateUtils.isSurrogate(low);
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isLowSurrogate(ch);
 
             if (res) {
-                high = seq.charAt(i - 1);
-                res = SurrogatePairUtils.isSurrogatePair(high, low);
-
-                if (res) {
-                    i--;
-                } else {
-                    return true;
-                }
+                return i;
             }
         }
 
-        return false;
+        return -1;
     }
 
     /**
-     * This method is used to trim the char sequence for specified target chars.
-     * You can set target characters using constants with the <code>TARGET_*</code> prefix.
-     * Target constants can be combined using a bitwise <code>OR</code> (<code>|</code>).
-     * The method runs from the beginning of the sequence of characters to the first character that does not match the
-     * target characters.
-     * After that, the reading of the sequence of characters unfolds - the characters begin to iterate from the end of
-     * the sequence to the beginning also to the first non-matching character.
+     * This method can be used to check whether a range of a char array contains UTF-16 low surrogates.
+     * This method works the same way as {@link #containsLowSurrogates(CharSequence)}, but reads the chars directly
+     * from the array, so there is no need to wrap the array in a char sequence.
      *
-     * @param seq Char sequence
-     * @param target Target characters bitmask constant
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
      *
-     * @return Trimmed char sequence
+     * @return <code>true</code> if a range contains UTF-16 low surrogates or <code>false</code> if not
      *
-     * @since Added in 0.0.1
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
      */
-    public static CharSequence trim(final CharSequence seq, final int target) {
-        if (seq == null || seq.length() == 0) {
-            return seq;
+    public static boolean containsLowSurrogates(final char[] buf, final int off, final int len) {
+        if (buf == null) {
+            return false;
         }
 
-        final int len = seq.length();
+        checkRange(buf, off, len);
 
-        int begIdx = 0;
-        int endIdx = len - 1;
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanLowSurrogates(buf, off, len);
+        final boolean res = exit >= 0;
 
-        char ch;
-        boolean res;
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_LOW_SURROGATES, off, off + len, res, exit);
+        }
 
-        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
-        // it makes sense to expand the reading of the line after the middle.
+        return res;
+    }
 
-        for (int i = 0; i < endIdx ; i++) {
-            ch = seq.charAt(i);
+    /**
+     * This method scans a range of a char array for UTF-16 low surrogates, the same way as
+     * {@link #containsLowSurrogates(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first low surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    static int scanLowSurrogates(final char[] buf, final int off, final int len) {
+        // Long ranges are checked by SIMD vectors if the JVM supports them, see VectorScanner.
 
-            res = (target & TARGET_SPACE_CHAR) != 0 && ch == ' ';
+        if (len >= VectorScanner.MIN_LENGTH && VectorScanner.SUPPORTED) {
+            return VectorScanner.scanLowSurrogates(buf, off, len);
+        }
 
-            if (res) {
-                begIdx++;
-                continue;
-            }
+        return scanLowSurrogatesScalar(buf, off, len);
+    }
 
-            res = (target & TARGET_TAB_CHAR) != 0 && ch == '\t';
+    /**
+     * This method scans a range of a char array the same way as
+     * {@link #scanLowSurrogates(char[], int, int)}, but without vectors - char by char, so
+     * the Java 8 version of {@link VectorScanner} delegates to it.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return The same as {@link #scanLowSurrogates(char[], int, int)}
+     */
+    static int scanLowSurrogatesScalar(final char[] buf, final int off, final int len) {
+        // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
 
-            if (res) {
-                begIdx++;
-                continue;
-            }
+        switch (len) {
+            case 0:
+                return -1;
 
-            res = (target & TARGET_LINE_BREAK_CHAR) != 0 && ch == '\n';
+            case 1:
+                final char ch = buf[off];
+                return SurrogateUtils.isLowSurrogate(ch) ? off : -1;
 
-            if (res) {
-                begIdx++;
-                continue;
-            }
+            case 2:
+                final char ch0 = buf[off];
+                final char ch1 = buf[off + 1];
+
+                return SurrogateUtils.isLowSurrogate(ch0) ? off : SurrogateUtils.isLowSurrogate(ch1) ? off + 1 : -1;
+
+            default:
+                break;
+        }
+
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
+
+        char ch;
+        boolean res;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
 
-            res = (target & TARGET_RETURN_CARET_CHAR) != 0 && ch == '\r';
+        for (int i = off; i < midIdx; i++) {
+            ch = buf[i];
+            res = SurrogateUtils.isLowSurrogate(ch);
 
             if (res) {
-                begIdx++;
-                continue;
+                return i;
             }
+        }
 
-            res = (target & TARGET_SURROGATE_CHAR) != 0 && SurrogateUtils.isSurrogate(ch);
+        for (int i = maxIdx; i >= midIdx; i--) {
+            ch = buf[i];
+            res = SurrogateUtils.isLowSurrogate(ch);
 
             if (res) {
-                begIdx++;
-                continue;
+                return i;
             }
+        }
+
+        return -1;
+    }
 
-            break;
+    /**
+     * This method can be used to check whether a char sequence contains only UTF-16 low surrogates.
+     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
+     * then from the end to the middle.
+     * As soon as the first non-low-surrogate char is found, the method returns the <code>false</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.1
+     */
+    public static boolean containsLowSurrogatesOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_LOW_SURROGATES_ONLY, seq,
+                    ((Utf16Text) seq).containsLowSurrogatesOnly());
         }
 
-        if (begIdx == endIdx) {
-            return "";
+        if (seq == null || seq.length() == 0) {
+            return false;
         }
 
-        for (int i = endIdx; i >= 0; i--) {
-            ch = seq.charAt(i);
+        return containsLowSurrogatesOnly(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to check whether a range of a char sequence contains only UTF-16 low surrogates.
+     * This method works the same way as {@link #containsLowSurrogatesOnly(CharSequence)}, but checks only the chars
+     * in the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsLowSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
 
-            res = (target & TARGET_SPACE_CHAR) != 0 && ch == ' ';
+        checkRange(seq.length(), from, to);
 
-            if (res) {
-                endIdx--;
-                continue;
-            }
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanLowSurrogatesOnly(seq, from, to);
+        final boolean res = exit < 0 && to - from > 0;
 
-            res = (target & TARGET_TAB_CHAR) != 0 && ch == '\t';
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_LOW_SURROGATES_ONLY, from, to, res, exit);
+        }
 
-            if (res) {
-                endIdx--;
-                continue;
-            }
+        return res;
+    }
 
-            res = (target & TARGET_LINE_BREAK_CHAR) != 0 && ch == '\n';
+    /**
+     * This method scans a range of a char sequence for only UTF-16 low surrogates, the same way as
+     * {@link #containsLowSurrogatesOnly(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first char in the order of the scan that is not a low surrogate, where the scan exits
+     *         early, or <code>-1</code> if the scan reads the whole range
+     */
+    private static int scanLowSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so its first char is where the scan would exit
 
-            if (res) {
-                endIdx--;
-                continue;
-            }
+        if (isLatin1(seq)) {
+            return to > from ? from : -1;
+        }
 
-            res = (target & TARGET_RETURN_CARET_CHAR) != 0 && ch == '\r';
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
 
-            if (res) {
-                endIdx--;
-                continue;
+        if (BulkScanner.supports(seq, to - from, BulkScanner.LOW_SURROGATES_ONLY)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.LOW_SURROGATES_ONLY);
+        }
+
+        final int len = to - from;
+
+        // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        switch (len) {
+            case 0:
+                return -1;
+
+            case 1:
+                final char ch = seq.charAt(from);
+                return SurrogateUtils.isLowSurrogate(ch) ? -1 : from;
+
+            case 2:
+                final char ch0 = seq.charAt(from);
+                final char ch1 = seq.charAt(from + 1);
+
+                return !SurrogateUtils.isLowSurrogate(ch0) ? from
+                        : !SurrogateUtils.isLowSurrogate(ch1) ? from + 1 : -1;
+
+            default:
+                break;
+        }
+
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
+
+        char ch;
+        boolean res;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = from; i < midIdx; i++) {
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isLowSurrogate(ch);
+
+            if (!res) {
+                return i;
             }
+        }
 
-            res = (target & TARGET_SURROGATE_CHAR) != 0 && SurrogateUtils.isSurrogate(ch);
+        for (int i = maxIdx; i >= midIdx; i--) {
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isLowSurrogate(ch);
 
-            if (res) {
-                endIdx--;
-                continue;
+            if (!res) {
+                return i;
             }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to check whether a range of a char array contains only UTF-16 low surrogates.
+     * This method works the same way as {@link #containsLowSurrogatesOnly(CharSequence)}, but reads the chars
+     * directly from the array, so there is no need to wrap the array in a char sequence.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return <code>true</code> if a range contains only UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsLowSurrogatesOnly(final char[] buf, final int off, final int len) {
+        if (buf == null) {
+            return false;
+        }
+
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanLowSurrogatesOnly(buf, off, len);
+        final boolean res = exit < 0 && len > 0;
 
-            break;
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_LOW_SURROGATES_ONLY, off, off + len, res, exit);
         }
 
-        if (begIdx >= endIdx) {
-            return "";
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for only UTF-16 low surrogates, the same way as
+     * {@link #containsLowSurrogatesOnly(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char in the order of the scan that is not a low surrogate, where the scan exits
+     *         early, or <code>-1</code> if the scan reads the whole range
+     */
+    static int scanLowSurrogatesOnly(final char[] buf, final int off, final int len) {
+        // Long ranges are checked by SIMD vectors if the JVM supports them, see VectorScanner.
+
+        if (len >= VectorScanner.MIN_LENGTH && VectorScanner.SUPPORTED) {
+            return VectorScanner.scanLowSurrogatesOnly(buf, off, len);
         }
 
-        if (begIdx == 0 && endIdx == len -1) {
-            return seq;
+        return scanLowSurrogatesOnlyScalar(buf, off, len);
+    }
+
+    /**
+     * This method scans a range of a char array the same way as
+     * {@link #scanLowSurrogatesOnly(char[], int, int)}, but without vectors - char by char, so
+     * the Java 8 version of {@link VectorScanner} delegates to it.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return The same as {@link #scanLowSurrogatesOnly(char[], int, int)}
+     */
+    static int scanLowSurrogatesOnlyScalar(final char[] buf, final int off, final int len) {
+        // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        switch (len) {
+            case 0:
+                return -1;
+
+            case 1:
+                final char ch = buf[off];
+                return SurrogateUtils.isLowSurrogate(ch) ? -1 : off;
+
+            case 2:
+                final char ch0 = buf[off];
+                final char ch1 = buf[off + 1];
+
+                return !SurrogateUtils.isLowSurrogate(ch0) ? off : !SurrogateUtils.isLowSurrogate(ch1) ? off + 1 : -1;
+
+            default:
+                break;
+        }
+
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
+
+        char ch;
+        boolean res;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = off; i < midIdx; i++) {
+            ch = buf[i];
+            res = SurrogateUtils.isLowSurrogate(ch);
+
+            if (!res) {
+                return i;
+            }
+        }
+
+        for (int i = maxIdx; i >= midIdx; i--) {
+            ch = buf[i];
+            res = SurrogateUtils.isLowSurrogate(ch);
+
+            if (!res) {
+                return i;
+            }
         }
 
-        return seq.subSequence(begIdx, endIdx + 1);
+        return -1;
     }
 
     /**
-     * This method is used to trim the char sequence for space, tabulation, line break and return caret chars.
-     * You can set target characters using constants with the <code>TARGET_*</code> prefix.
-     * Target constants can be combined using a bitwise <code>OR</code> (<code>|</code>).
-     * The method runs from the beginning of the sequence of characters to the first character that does not match the
-     * target characters.
-     * After that, the reading of the sequence of characters unfolds - the characters begin to iterate from the end of
-     * the sequence to the beginning also to the first non-matching character.
+     * This method can be used to check whether a char sequence contains UTF-16 surrogate pairs.
+     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
+     * then from the end to the middle.
+     * As soon as the first surrogate pair is found, the method returns the <code>true</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
      *
      * @param seq Char sequence
      *
-     * @return Trimmed char sequence
+     * @return <code>true</code> if a char sequence contains UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @see SurrogateUtils
      *
      * @since Added in 0.0.1
      */
-    public static CharSequence trim(final CharSequence seq) {
-        return trim(seq, TARGET_SPACE_CHAR | TARGET_TAB_CHAR | TARGET_LINE_BREAK_CHAR | TARGET_RETURN_CARET_CHAR);
+    public static boolean containsSurrogatePairs(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_SURROGATE_PAIRS, seq, ((Utf16Text) seq).containsSurrogatePairs());
+        }
+
+        if (seq == null || seq.length() < 2) {
+            return false;
+        }
+
+        return containsSurrogatePairs(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to check whether a range of a char sequence contains UTF-16 surrogate pairs.
+     * This method works the same way as {@link #containsSurrogatePairs(CharSequence)}, but checks only the chars in
+     * the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsSurrogatePairs(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanSurrogatePairs(seq, from, to);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATE_PAIRS, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for UTF-16 surrogate pairs, the same way as
+     * {@link #containsSurrogatePairs(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the high surrogate of the first surrogate pair in the order of the scan, where the scan
+     *         exits early, or <code>-1</code> if there are none
+     */
+    private static int scanSurrogatePairs(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so the scan would read the whole range without a hit
+
+        if (isLatin1(seq)) {
+            return -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.SURROGATE_PAIRS)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.SURROGATE_PAIRS);
+        }
+
+        final int len = to - from;
+
+        if (len < 2) {
+            return -1;
+        }
+
+        char high;
+        char low;
+
+        // Checking for 2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        if (len == 2) {
+            high = seq.charAt(from);
+            low = seq.charAt(from + 1);
+
+            return SurrogatePairUtils.isSurrogatePair(high, low) ? from : -1;
+        }
+
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
+
+        boolean res;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = from; i < midIdx; i++) {
+            high = seq.charAt(i);
+            res = SurrogateUtils.isHighSurrogate(high);
+
+            if (res) {
+                low = seq.charAt(i + 1);
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    return i;
+                }
+            }
+        }
+
+        for (int i = maxIdx; i >= midIdx; i--) {
+            low = seq.charAt(i);
+            res = SurrogateUtils.isLowSurrogate(low);
+
+            if (res) {
+                high = seq.charAt(i - 1);
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    return i - 1;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to check whether a range of a char array contains UTF-16 surrogate pairs.
+     * This method works the same way as {@link #containsSurrogatePairs(CharSequence)}, but reads the chars directly
+     * from the array, so there is no need to wrap the array in a char sequence.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return <code>true</code> if a range contains UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsSurrogatePairs(final char[] buf, final int off, final int len) {
+        if (buf == null) {
+            return false;
+        }
+
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanSurrogatePairs(buf, off, len);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATE_PAIRS, off, off + len, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for UTF-16 surrogate pairs, the same way as
+     * {@link #containsSurrogatePairs(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the high surrogate of the first surrogate pair in the order of the scan, where the scan
+     *         exits early, or <code>-1</code> if there are none
+     */
+    static int scanSurrogatePairs(final char[] buf, final int off, final int len) {
+        if (len < 2) {
+            return -1;
+        }
+
+        char high;
+        char low;
+
+        // Checking for 2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        if (len == 2) {
+            high = buf[off];
+            low = buf[off + 1];
+
+            return SurrogatePairUtils.isSurrogatePair(high, low) ? off : -1;
+        }
+
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
+
+        boolean res;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = off; i < midIdx; i++) {
+            high = buf[i];
+            res = SurrogateUtils.isHighSurrogate(high);
+
+            if (res) {
+                low = buf[i + 1];
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    return i;
+                }
+            }
+        }
+
+        for (int i = maxIdx; i >= midIdx; i--) {
+            low = buf[i];
+            res = SurrogateUtils.isLowSurrogate(low);
+
+            if (res) {
+                high = buf[i - 1];
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    return i - 1;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains only UTF-16 surrogate pairs.
+     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
+     * then from the end to the middle.
+     * As soon as the first non-surrogate or alone surrogate char is found, the method returns the <code>false</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.1
+     */
+    public static boolean containsSurrogatePairsOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_SURROGATE_PAIRS_ONLY, seq,
+                    ((Utf16Text) seq).containsSurrogatePairsOnly());
+        }
+
+        if (seq == null || seq.length() < 2) {
+            return false;
+        }
+
+        return containsSurrogatePairsOnly(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to check whether a range of a char sequence contains only UTF-16 surrogate pairs.
+     * This method works the same way as {@link #containsSurrogatePairsOnly(CharSequence)}, but checks only the chars
+     * in the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsSurrogatePairsOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanSurrogatePairsOnly(seq, from, to);
+        final boolean res = exit < 0 && to - from > 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATE_PAIRS_ONLY, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for only UTF-16 surrogate pairs, the same way as
+     * {@link #containsSurrogatePairsOnly(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first char in the order of the scan that is not a char of a surrogate pair, where
+     *         the scan exits early, or <code>-1</code> if the scan reads the whole range
+     */
+    static int scanSurrogatePairsOnly(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so its first char is where the scan would exit
+
+        if (isLatin1(seq)) {
+            return to > from ? from : -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.SURROGATE_PAIRS_ONLY)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.SURROGATE_PAIRS_ONLY);
+        }
+
+        final int len = to - from;
+
+        if (len < 2) {
+            return len == 0 ? -1 : from;
+        }
+
+        char high;
+        char low;
+
+        // Checking for 2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        if (len == 2) {
+            high = seq.charAt(from);
+            low = seq.charAt(from + 1);
+
+            return SurrogatePairUtils.isSurrogatePair(high, low) ? -1 : from;
+        }
+
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
+
+        boolean res;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = from; i < midIdx; i++) {
+            high = seq.charAt(i);
+            res = SurrogateUtils.isSurrogate(high);
+
+            if (res) {
+                low = seq.charAt(i + 1);
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i++;
+                } else {
+                    return i;
+                }
+            } else {
+                return i;
+            }
+        }
+
+        for (int i = maxIdx; i >= midIdx; i--) {
+            low = seq.charAt(i);
+            res = SurrogateUtils.isSurrogate(low);
+
+            if (res) {
+                high = seq.charAt(i - 1);
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i--;
+                } else {
+                    return i;
+                }
+            } else {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to check whether a range of a char array contains only UTF-16 surrogate pairs.
+     * This method works the same way as {@link #containsSurrogatePairsOnly(CharSequence)}, but reads the chars
+     * directly from the array, so there is no need to wrap the array in a char sequence.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return <code>true</code> if a range contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsSurrogatePairsOnly(final char[] buf, final int off, final int len) {
+        if (buf == null) {
+            return false;
+        }
+
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanSurrogatePairsOnly(buf, off, len);
+        final boolean res = exit < 0 && len > 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATE_PAIRS_ONLY, off, off + len, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for only UTF-16 surrogate pairs, the same way as
+     * {@link #containsSurrogatePairsOnly(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char in the order of the scan that is not a char of a surrogate pair, where
+     *         the scan exits early, or <code>-1</code> if the scan reads the whole range
+     */
+    static int scanSurrogatePairsOnly(final char[] buf, final int off, final int len) {
+        if (len < 2) {
+            return len == 0 ? -1 : off;
+        }
+
+        char high;
+        char low;
+
+        // Checking for 2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        if (len == 2) {
+            high = buf[off];
+            low = buf[off + 1];
+
+            return SurrogatePairUtils.isSurrogatePair(high, low) ? -1 : off;
+        }
+
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
+
+        boolean res;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = off; i < midIdx; i++) {
+            high = buf[i];
+            res = SurrogateUtils.isSurrogate(high);
+
+            if (res) {
+                low = buf[i + 1];
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i++;
+                } else {
+                    return i;
+                }
+            } else {
+                return i;
+            }
+        }
+
+        for (int i = maxIdx; i >= midIdx; i--) {
+            low = buf[i];
+            res = SurrogateUtils.isSurrogate(low);
+
+            if (res) {
+                high = buf[i - 1];
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i--;
+                } else {
+                    return i;
+                }
+            } else {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains unattached UTF-16 surrogates.
+     * Unattached surrogates here are surrogates who are not a part of the surrogate pair.
+     * This method using loop for a sequence of characters from two sides - first from the beginning to the middle,
+     * then from the end to the middle.
+     * As soon as the first unattached surrogate char is found, the method returns the <code>true</code>.
+     *
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     * A {@link String} stored as Latin-1 bytes by the compact strings of JDK 9+ is answered without a pass over the
+     * chars, but only if the JVM is started with <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>, so the
+     * library can read the string coder. The answer is the same either way.
+     * Long strings, string builders, string buffers and array-backed char buffers are copied in chunks and checked
+     * like char arrays.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.1
+     */
+    public static boolean containsUnattachedSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return cached(ScanMethod.CONTAINS_UNATTACHED_SURROGATES, seq,
+                    ((Utf16Text) seq).containsUnattachedSurrogates());
+        }
+
+        if (seq == null || seq.length() == 0) {
+            return false;
+        }
+
+        return containsUnattachedSurrogates(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to check whether a range of a char sequence contains unattached UTF-16 surrogates.
+     * This method works the same way as {@link #containsUnattachedSurrogates(CharSequence)}, but checks only the
+     * chars in the given range, so there is no need to make a sub sequence of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsUnattachedSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(to - from);
+        final int exit = scanUnattachedSurrogates(seq, from, to);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_UNATTACHED_SURROGATES, from, to, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char sequence for unattached UTF-16 surrogates, the same way as
+     * {@link #containsUnattachedSurrogates(CharSequence, int, int)}.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Index of the first unattached surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    static int scanUnattachedSurrogates(final CharSequence seq, final int from, final int to) {
+        // A Latin-1 string cannot contain surrogates, so the scan would read the whole range without a hit
+
+        if (isLatin1(seq)) {
+            return -1;
+        }
+
+        // Strings, builders and array-backed buffers are read in bulk, see BulkScanner
+
+        if (BulkScanner.supports(seq, to - from, BulkScanner.UNATTACHED_SURROGATES)) {
+            return BulkScanner.scan(seq, from, to, BulkScanner.UNATTACHED_SURROGATES);
+        }
+
+        final int len = to - from;
+
+        boolean res;
+
+        // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        switch (len) {
+            case 0:
+                return -1;
+
+            case 1:
+                final char ch = seq.charAt(from);
+                return SurrogateUtils.isSurrogate(ch) ? from : -1;
+
+            case 2:
+                final char ch0 = seq.charAt(from);
+                final char ch1 = seq.charAt(from + 1);
+
+                res = SurrogatePairUtils.isSurrogatePair(ch0, ch1);
+
+                if (res) {
+                    return -1;
+                } else {
+                    return SurrogateUtils.isSurrogate(ch0) ? from : SurrogateUtils.isSurrogate(ch1) ? from + 1 : -1;
+                }
+
+            default:
+                break;
+        }
+
+        final int maxIdx = to - 1;
+        final int midIdx = from + (len - 1) / 2;
+
+        char high;
+        char low;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = from; i < midIdx; i++) {
+            high = seq.charAt(i);
+            res = SurrogateUtils.isSurrogate(high);
+
+            if (res) {
+                low = seq.charAt(i + 1);
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+
+        for (int i = maxIdx; i >= midIdx; i--) {
+            low = seq.charAt(i);
+            res = SurrogateUtils.isSurrogate(low);
+
+            if (res) {
+                high = seq.charAt(i - 1);
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i--;
+                } else {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to check whether a range of a char array contains unattached UTF-16 surrogates.
+     * This method works the same way as {@link #containsUnattachedSurrogates(CharSequence)}, but reads the chars
+     * directly from the array, so there is no need to wrap the array in a char sequence.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return <code>true</code> if a range contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsUnattachedSurrogates(final char[] buf, final int off, final int len) {
+        if (buf == null) {
+            return false;
+        }
+
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int exit = scanUnattachedSurrogates(buf, off, len);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_UNATTACHED_SURROGATES, off, off + len, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method scans a range of a char array for unattached UTF-16 surrogates, the same way as
+     * {@link #containsUnattachedSurrogates(char[], int, int)}.
+     * The range must be checked by the caller.
+     * The scan is not reported to the scan listener, so {@link BulkScanner} checks its chunks by this method.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first unattached surrogate in the order of the scan, where the scan exits early, or
+     *         <code>-1</code> if there are none
+     */
+    static int scanUnattachedSurrogates(final char[] buf, final int off, final int len) {
+        // Long ranges are checked by SIMD vectors if the JVM supports them, see VectorScanner.
+
+        if (len >= VectorScanner.MIN_LENGTH && VectorScanner.SUPPORTED) {
+            return VectorScanner.scanUnattachedSurrogates(buf, off, len);
+        }
+
+        return scanUnattachedSurrogatesScalar(buf, off, len);
+    }
+
+    /**
+     * This method scans a range of a char array the same way as
+     * {@link #scanUnattachedSurrogates(char[], int, int)}, but without vectors - char by char, so
+     * the Java 8 version of {@link VectorScanner} delegates to it.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return The same as {@link #scanUnattachedSurrogates(char[], int, int)}
+     */
+    static int scanUnattachedSurrogatesScalar(final char[] buf, final int off, final int len) {
+        boolean res;
+
+        // Checking for 1-2 chars will provide a higher speed due to the absence of the need to enter the loop.
+        // It will also avoid possible problems when calculating the middle index.
+
+        switch (len) {
+            case 0:
+                return -1;
+
+            case 1:
+                final char ch = buf[off];
+                return SurrogateUtils.isSurrogate(ch) ? off : -1;
+
+            case 2:
+                final char ch0 = buf[off];
+                final char ch1 = buf[off + 1];
+
+                res = SurrogatePairUtils.isSurrogatePair(ch0, ch1);
+
+                if (res) {
+                    return -1;
+                } else {
+                    return SurrogateUtils.isSurrogate(ch0) ? off : SurrogateUtils.isSurrogate(ch1) ? off + 1 : -1;
+                }
+
+            default:
+                break;
+        }
+
+        final int maxIdx = off + len - 1;
+        final int midIdx = off + (len - 1) / 2;
+
+        char high;
+        char low;
+
+        // Since surrogates are most often found at the beginning or end of a line (or closer to them),
+        // it makes sense to expand the reading of the line after the middle.
+
+        for (int i = off; i < midIdx; i++) {
+            high = buf[i];
+            res = SurrogateUtils.isSurrogate(high);
+
+            if (res) {
+                low = buf[i + 1];
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+
+        for (int i = maxIdx; i >= midIdx; i--) {
+            low = buf[i];
+            res = SurrogateUtils.isSurrogate(low);
+
+            if (res) {
+                high = buf[i - 1];
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i--;
+                } else {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains UTF-16 surrogates, using all threads of the
+     * common fork-join pool for long char sequences.
+     * This method works the same way as {@link #parallelContainsSurrogates(CharSequence, ForkJoinPool, int)} with
+     * the {@link #PARALLEL_THRESHOLD} threshold.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean parallelContainsSurrogates(final CharSequence seq) {
+        return parallelContainsSurrogates(seq, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains UTF-16 surrogates, using a fork-join pool
+     * for long char sequences.
+     * A char sequence shorter than the threshold is checked by {@link #containsSurrogates(CharSequence)} in the
+     * calling thread.
+     * A longer char sequence is split in segments that are checked by the pool threads, and as soon as a surrogate
+     * is found, the segments that are not checked yet are cancelled.
+     * The char sequence must not be changed during the check.
+     *
+     * @param seq Char sequence
+     * @param pool Fork-join pool
+     * @param threshold Minimal length of a char sequence to check it in parallel
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean parallelContainsSurrogates(final CharSequence seq, final ForkJoinPool pool,
+                                                     final int threshold) {
+        if (seq == null || seq.length() < threshold || seq instanceof Utf16Text || isLatin1(seq)) {
+            return containsSurrogates(seq);
+        }
+
+        final int length = seq.length();
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(length);
+        final int segmentLength = ParallelScanner.segmentLength(pool, length);
+        final int exit = ParallelScanner.find(pool, seq, ParallelScanner.SURROGATES, segmentLength);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATES, 0, length, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains only UTF-16 surrogate pairs, using all
+     * threads of the common fork-join pool for long char sequences.
+     * This method works the same way as
+     * {@link #parallelContainsSurrogatePairsOnly(CharSequence, ForkJoinPool, int)} with the
+     * {@link #PARALLEL_THRESHOLD} threshold.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean parallelContainsSurrogatePairsOnly(final CharSequence seq) {
+        return parallelContainsSurrogatePairsOnly(seq, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains only UTF-16 surrogate pairs, using a
+     * fork-join pool for long char sequences.
+     * A char sequence shorter than the threshold is checked by {@link #containsSurrogatePairsOnly(CharSequence)} in
+     * the calling thread.
+     * A longer char sequence is split in segments that are checked by the pool threads, and as soon as a char that
+     * is not part of a surrogate pair is found, the segments that are not checked yet are cancelled.
+     * A surrogate pair split by a segment boundary is checked by the segment of its high surrogate.
+     * The char sequence must not be changed during the check.
+     *
+     * @param seq Char sequence
+     * @param pool Fork-join pool
+     * @param threshold Minimal length of a char sequence to check it in parallel
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean parallelContainsSurrogatePairsOnly(final CharSequence seq, final ForkJoinPool pool,
+                                                             final int threshold) {
+        if (seq == null || seq.length() < threshold || seq.length() < 2 || seq instanceof Utf16Text
+                || isLatin1(seq)) {
+            return containsSurrogatePairsOnly(seq);
+        }
+
+        final int length = seq.length();
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(length);
+        final int segmentLength = ParallelScanner.segmentLength(pool, length);
+        final int exit = ParallelScanner.find(pool, seq, ParallelScanner.NON_PAIRED_CHARS, segmentLength);
+        final boolean res = exit < 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_SURROGATE_PAIRS_ONLY, 0, length, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains unattached UTF-16 surrogates, using all
+     * threads of the common fork-join pool for long char sequences.
+     * This method works the same way as
+     * {@link #parallelContainsUnattachedSurrogates(CharSequence, ForkJoinPool, int)} with the
+     * {@link #PARALLEL_THRESHOLD} threshold.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean parallelContainsUnattachedSurrogates(final CharSequence seq) {
+        return parallelContainsUnattachedSurrogates(seq, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains unattached UTF-16 surrogates, using a
+     * fork-join pool for long char sequences.
+     * A char sequence shorter than the threshold is checked by {@link #containsUnattachedSurrogates(CharSequence)}
+     * in the calling thread.
+     * A longer char sequence is split in segments that are checked by the pool threads, and as soon as an unattached
+     * surrogate is found, the segments that are not checked yet are cancelled.
+     * A surrogate pair split by a segment boundary is checked by the segment of its high surrogate.
+     * The char sequence must not be changed during the check.
+     *
+     * @param seq Char sequence
+     * @param pool Fork-join pool
+     * @param threshold Minimal length of a char sequence to check it in parallel
+     *
+     * @return <code>true</code> if a char sequence contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean parallelContainsUnattachedSurrogates(final CharSequence seq, final ForkJoinPool pool,
+                                                               final int threshold) {
+        if (seq == null || seq.length() < threshold || seq instanceof Utf16Text || isLatin1(seq)) {
+            return containsUnattachedSurrogates(seq);
+        }
+
+        final int length = seq.length();
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(length);
+        final int segmentLength = ParallelScanner.segmentLength(pool, length);
+        final int exit = ParallelScanner.find(pool, seq, ParallelScanner.UNATTACHED_SURROGATES, segmentLength);
+        final boolean res = exit >= 0;
+
+        if (listener != null || event != null) {
+            answered(listener, event, ScanMethod.CONTAINS_UNATTACHED_SURROGATES, 0, length, res, exit);
+        }
+
+        return res;
+    }
+
+    /**
+     * This method can be used to make a profile of UTF-16 surrogates in a char sequence.
+     * Unlike the <code>contains*</code> methods, this method reads the whole char sequence once from the beginning to
+     * the end, and the profile answers all <code>contains*</code> questions (as well as counts and indexes of the
+     * surrogates) without another pass over the chars.
+     * So it is cheaper to make a profile than to ask more than one <code>contains*</code> question for a long char
+     * sequence without surrogates, but a single question can be answered faster by a <code>contains*</code> method.
+     *
+     * @param seq Char sequence
+     *
+     * @return Surrogates profile of a char sequence, the profile of an empty char sequence if it is <code>null</code>
+     *
+     * @see SurrogateProfile
+     *
+     * @since Added in 0.0.2
+     */
+    public static SurrogateProfile profileSurrogates(final CharSequence seq) {
+        if (seq == null) {
+            return SurrogateProfile.EMPTY;
+        }
+
+        return profileSurrogates(seq, 0, seq.length());
+    }
+
+    /**
+     * This method can be used to make a profile of UTF-16 surrogates in a range of a char sequence.
+     * This method works the same way as {@link #profileSurrogates(CharSequence)}, but reads only the chars in the
+     * given range, so there is no need to make a sub sequence of the char sequence.
+     * The indexes of the profile are indexes of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Surrogates profile of a range, the profile of an empty char sequence if it is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see SurrogateProfile
+     *
+     * @since Added in 0.0.2
+     */
+    public static SurrogateProfile profileSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return SurrogateProfile.EMPTY;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        return SurrogateProfile.of(seq, from, to);
+    }
+
+    /**
+     * This method can be used to make a profile of UTF-16 surrogates in a range of a char array.
+     * This method works the same way as {@link #profileSurrogates(CharSequence)}, but reads the chars directly
+     * from the array, so there is no need to wrap the array in a char sequence.
+     * The indexes of the profile are indexes of the char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Surrogates profile of a range, the profile of an empty char sequence if the array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @see SurrogateProfile
+     *
+     * @since Added in 0.0.2
+     */
+    public static SurrogateProfile profileSurrogates(final char[] buf, final int off, final int len) {
+        if (buf == null) {
+            return SurrogateProfile.EMPTY;
+        }
+
+        checkRange(buf, off, len);
+
+        return SurrogateProfile.of(buf, off, len);
+    }
+
+    /**
+     * This method can be used to find the index of the first UTF-16 surrogate (high or low) in a char sequence.
+     *
+     * @param seq Char sequence
+     *
+     * @return Index of the first surrogate or <code>-1</code> if there are no surrogates or a char sequence is
+     *         <code>null</code>
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfSurrogate(final CharSequence seq) {
+        return indexOfSurrogate(seq, 0);
+    }
+
+    /**
+     * This method can be used to find the index of the first UTF-16 surrogate (high or low) in a char sequence,
+     * starting the search at the given index.
+     * The index is treated the same way as by {@link String#indexOf(int, int)} - a negative index is the same as
+     * <code>0</code>, and an index that is not less than the length of a char sequence gives <code>-1</code>.
+     *
+     * @param seq Char sequence
+     * @param fromIndex Index to start the search from
+     *
+     * @return Index of the first surrogate or <code>-1</code> if there are no surrogates or a char sequence is
+     *         <code>null</code>
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfSurrogate(final CharSequence seq, final int fromIndex) {
+        if (seq == null) {
+            return -1;
+        }
+
+        final int len = seq.length();
+
+        char ch;
+        boolean res;
+
+        for (int i = Math.max(fromIndex, 0); i < len; i++) {
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isSurrogate(ch);
+
+            if (res) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to find the index of the first UTF-16 surrogate (high or low) in a range of a char
+     * array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first surrogate in the char array or <code>-1</code> if there are no surrogates in the
+     *         range or the char array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfSurrogate(final char[] buf, final int off, final int len) {
+        if (buf == null) {
+            return -1;
+        }
+
+        checkRange(buf, off, len);
+
+        final int end = off + len;
+
+        char ch;
+        boolean res;
+
+        for (int i = off; i < end; i++) {
+            ch = buf[i];
+            res = SurrogateUtils.isSurrogate(ch);
+
+            if (res) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to find the index of the last UTF-16 surrogate (high or low) in a char sequence.
+     *
+     * @param seq Char sequence
+     *
+     * @return Index of the last surrogate or <code>-1</code> if there are no surrogates or a char sequence is
+     *         <code>null</code>
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int lastIndexOfSurrogate(final CharSequence seq) {
+        if (seq == null) {
+            return -1;
+        }
+
+        return lastIndexOfSurrogate(seq, seq.length() - 1);
+    }
+
+    /**
+     * This method can be used to find the index of the last UTF-16 surrogate (high or low) in a char sequence,
+     * searching backward from the given index.
+     * The index is treated the same way as by {@link String#lastIndexOf(int, int)} - an index that is not less than
+     * the length of a char sequence is the same as the last index, and a negative index gives <code>-1</code>.
+     *
+     * @param seq Char sequence
+     * @param fromIndex Index to start the backward search from
+     *
+     * @return Index of the last surrogate or <code>-1</code> if there are no surrogates or a char sequence is
+     *         <code>null</code>
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int lastIndexOfSurrogate(final CharSequence seq, final int fromIndex) {
+        if (seq == null) {
+            return -1;
+        }
+
+        char ch;
+        boolean res;
+
+        for (int i = Math.min(fromIndex, seq.length() - 1); i >= 0; i--) {
+            ch = seq.charAt(i);
+            res = SurrogateUtils.isSurrogate(ch);
+
+            if (res) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to find the index of the first unattached UTF-16 surrogate in a char sequence.
+     *
+     * @param seq Char sequence
+     *
+     * @return Index of the first unattached surrogate or <code>-1</code> if there are no unattached surrogates or
+     *         a char sequence is <code>null</code>
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfUnattachedSurrogate(final CharSequence seq) {
+        return indexOfUnattachedSurrogate(seq, 0);
+    }
+
+    /**
+     * This method can be used to find the index of the first unattached UTF-16 surrogate in a char sequence,
+     * starting the search at the given index.
+     * Unlike the range methods, a surrogate is judged against the whole char sequence - a low surrogate at the given
+     * index is not unattached if it is preceded by a high surrogate, so all unattached surrogates of a char sequence
+     * can be walked by a single pass:
+     * <pre>{@code
+     * for (int i = indexOfUnattachedSurrogate(seq); i >= 0; i = indexOfUnattachedSurrogate(seq, i + 1)) {
+     *     // ...
+     * }
+     * }</pre>
+     * The index is treated the same way as by {@link String#indexOf(int, int)} - a negative index is the same as
+     * <code>0</code>, and an index that is not less than the length of a char sequence gives <code>-1</code>.
+     *
+     * @param seq Char sequence
+     * @param fromIndex Index to start the search from
+     *
+     * @return Index of the first unattached surrogate or <code>-1</code> if there are no unattached surrogates or
+     *         a char sequence is <code>null</code>
+     *
+     * @see SurrogateUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfUnattachedSurrogate(final CharSequence seq, final int fromIndex) {
+        if (seq == null) {
+            return -1;
+        }
+
+        final int len = seq.length();
+
+        char high;
+        char low;
+        boolean res;
+
+        int i = Math.max(fromIndex, 0);
+
+        // A low surrogate at the start index may be the second half of a pair that begins before the start index.
+        // Further low surrogates of pairs are skipped together with their high surrogates.
+
+        if (i > 0 && i < len) {
+            high = seq.charAt(i - 1);
+            low = seq.charAt(i);
+
+            res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+            if (res) {
+                i++;
+            }
+        }
+
+        while (i < len) {
+            high = seq.charAt(i);
+            res = SurrogateUtils.isSurrogate(high);
+
+            if (res) {
+                if (i + 1 == len) {
+                    return i;
+                }
+
+                low = seq.charAt(i + 1);
+                res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                if (res) {
+                    i += 2;
+                } else {
+                    return i;
+                }
+            } else {
+                i++;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to find the index of the first UTF-16 surrogate pair in a char sequence.
+     *
+     * @param seq Char sequence
+     *
+     * @return Index of the high surrogate of the first surrogate pair or <code>-1</code> if there are no surrogate
+     *         pairs or a char sequence is <code>null</code>
+     *
+     * @see SurrogatePairUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfSurrogatePair(final CharSequence seq) {
+        return indexOfSurrogatePair(seq, 0);
+    }
+
+    /**
+     * This method can be used to find the index of the first UTF-16 surrogate pair in a char sequence, starting the
+     * search at the given index.
+     * Only pairs that begin at the given index or later are found.
+     * The index is treated the same way as by {@link String#indexOf(int, int)} - a negative index is the same as
+     * <code>0</code>, and an index that is not less than the length of a char sequence gives <code>-1</code>.
+     *
+     * @param seq Char sequence
+     * @param fromIndex Index to start the search from
+     *
+     * @return Index of the high surrogate of the first surrogate pair or <code>-1</code> if there are no surrogate
+     *         pairs or a char sequence is <code>null</code>
+     *
+     * @see SurrogatePairUtils
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfSurrogatePair(final CharSequence seq, final int fromIndex) {
+        if (seq == null) {
+            return -1;
+        }
+
+        final int maxIdx = seq.length() - 1;
+
+        char high;
+        char low;
+        boolean res;
+
+        for (int i = Math.max(fromIndex, 0); i < maxIdx; i++) {
+            high = seq.charAt(i);
+            res = SurrogateUtils.isHighSurrogate(high);
+
+            if (res) {
+                low = seq.charAt(i + 1);
+                res = SurrogateUtils.isLowSurrogate(low);
+
+                if (res) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to replace unattached UTF-16 surrogates of a char sequence by the Unicode replacement
+     * char <code>U+FFFD</code>.
+     * This method works the same way as {@link #replaceUnattachedSurrogates(CharSequence, char)}.
+     *
+     * @param seq Char sequence
+     *
+     * @return The same char sequence if it has no unattached surrogates (or is <code>null</code>), otherwise a new
+     *         string with the replaced surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence sanitize(final CharSequence seq) {
+        return replaceUnattachedSurrogates(seq, REPLACEMENT_CHAR);
+    }
+
+    /**
+     * This method can be used to replace unattached UTF-16 surrogates of a char sequence by the Unicode replacement
+     * char <code>U+FFFD</code>, writing the result to a string builder.
+     * This method works the same way as {@link #replaceUnattachedSurrogates(CharSequence, char, StringBuilder)}.
+     *
+     * @param seq Char sequence
+     * @param dst String builder to append the result to, if there are unattached surrogates
+     *
+     * @return The same char sequence if it has no unattached surrogates (or is <code>null</code>), otherwise the
+     *         string builder
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence sanitize(final CharSequence seq, final StringBuilder dst) {
+        return replaceUnattachedSurrogates(seq, REPLACEMENT_CHAR, dst);
+    }
+
+    /**
+     * This method can be used to replace unattached UTF-16 surrogates of a range of a char array by the Unicode
+     * replacement char <code>U+FFFD</code> in place.
+     * This method works the same way as {@link #replaceUnattachedSurrogates(char[], int, int, char)}.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Count of replaced surrogates
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static int sanitize(final char[] buf, final int off, final int len) {
+        return replaceUnattachedSurrogates(buf, off, len, REPLACEMENT_CHAR);
+    }
+
+    /**
+     * This method can be used to replace each unattached UTF-16 surrogate of a char sequence by a replacement char.
+     * If a char sequence has no unattached surrogates, the same instance is returned, so nothing is allocated for
+     * clean char sequences.
+     * Otherwise a new string is made, and the runs of chars between unattached surrogates are copied in bulk.
+     * Use {@link #replaceUnattachedSurrogates(CharSequence, char, StringBuilder)} to reuse a string builder instead.
+     *
+     * @param seq Char sequence
+     * @param replacement Replacement char
+     *
+     * @return The same char sequence if it has no unattached surrogates (or is <code>null</code>), otherwise a new
+     *         string with the replaced surrogates
+     *
+     * @see #indexOfUnattachedSurrogate(CharSequence, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence replaceUnattachedSurrogates(final CharSequence seq, final char replacement) {
+        final ScanListener listener = scanListener;
+        final Object event = seq == null ? null : ScanEvents.begin(seq.length());
+        final int idx = indexOfUnattachedSurrogate(seq);
+
+        if (idx < 0) {
+            repaired(listener, event, seq, idx);
+            return seq;
+        }
+
+        final StringBuilder dst = new StringBuilder(seq.length());
+        replaceUnattachedSurrogates(seq, idx, replacement, dst);
+        repaired(listener, event, seq, idx);
+
+        return dst.toString();
+    }
+
+    /**
+     * This method can be used to replace each unattached UTF-16 surrogate of a char sequence by a replacement char,
+     * writing the result to a string builder.
+     * If a char sequence has no unattached surrogates, the same instance is returned and the string builder is not
+     * changed.
+     * Otherwise the char sequence with replaced surrogates is appended to the string builder (the runs of chars
+     * between unattached surrogates are appended in bulk), and the string builder is returned.
+     *
+     * @param seq Char sequence
+     * @param replacement Replacement char
+     * @param dst String builder to append the result to, if there are unattached surrogates
+     *
+     * @return The same char sequence if it has no unattached surrogates (or is <code>null</code>), otherwise the
+     *         string builder
+     *
+     * @see #indexOfUnattachedSurrogate(CharSequence, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence replaceUnattachedSurrogates(final CharSequence seq, final char replacement,
+                                                           final StringBuilder dst) {
+        final ScanListener listener = scanListener;
+        final Object event = seq == null ? null : ScanEvents.begin(seq.length());
+        final int idx = indexOfUnattachedSurrogate(seq);
+
+        if (idx < 0) {
+            repaired(listener, event, seq, idx);
+            return seq;
+        }
+
+        replaceUnattachedSurrogates(seq, idx, replacement, dst);
+        repaired(listener, event, seq, idx);
+
+        return dst;
+    }
+
+    /**
+     * This method can be used to append a char sequence to an appendable, replacing each unattached UTF-16
+     * surrogate by a replacement char.
+     * The runs of chars between unattached surrogates are appended in bulk, so a clean char sequence is appended by
+     * a single call.
+     *
+     * @param seq Char sequence
+     * @param replacement Replacement char
+     * @param dst Appendable to append the result to
+     *
+     * @return Count of replaced surrogates
+     *
+     * @throws IOException If the appendable fails
+     *
+     * @see #indexOfUnattachedSurrogate(CharSequence, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public static int replaceUnattachedSurrogates(final CharSequence seq, final char replacement,
+                                                  final Appendable dst) throws IOException {
+        if (seq == null) {
+            return 0;
+        }
+
+        final int len = seq.length();
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+        final int first = indexOfUnattachedSurrogate(seq);
+
+        int count = 0;
+        int beg = 0;
+
+        for (int i = first; i >= 0; i = indexOfUnattachedSurrogate(seq, beg)) {
+            dst.append(seq, beg, i).append(replacement);
+
+            beg = i + 1;
+            count++;
+        }
+
+        dst.append(seq, beg, len);
+        repaired(listener, event, seq, first);
+
+        return count;
+    }
+
+    /**
+     * This method can be used to replace each unattached UTF-16 surrogate of a range of a char array by a
+     * replacement char in place.
+     * Surrogate pairs are judged within the range only, the same way as by
+     * {@link #containsUnattachedSurrogates(char[], int, int)}.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param replacement Replacement char
+     *
+     * @return Count of replaced surrogates
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static int replaceUnattachedSurrogates(final char[] buf, final int off, final int len,
+                                                  final char replacement) {
+        if (buf == null) {
+            return 0;
+        }
+
+        checkRange(buf, off, len);
+
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(len);
+
+        final int end = off + len;
+
+        char high;
+        char low;
+        boolean res;
+
+        int count = 0;
+        int first = -1;
+        int i = off;
+
+        while (i < end) {
+            high = buf[i];
+            res = SurrogateUtils.isSurrogate(high);
+
+            if (res) {
+                if (i + 1 < end) {
+                    low = buf[i + 1];
+                    res = SurrogatePairUtils.isSurrogatePair(high, low);
+
+                    if (res) {
+                        i += 2;
+                        continue;
+                    }
+                }
+
+                if (count == 0) {
+                    first = i - off;
+                }
+
+                buf[i] = replacement;
+                count++;
+            }
+
+            i++;
+        }
+
+        if (listener != null || event != null) {
+            scanned(listener, event, ScanMethod.REPLACE_UNATTACHED_SURROGATES, len, first >= 0, first);
+        }
+
+        return count;
+    }
+
+    /**
+     * This method can be used to truncate a char sequence to a maximal count of chars without splitting a surrogate
+     * pair.
+     * If the cut point falls between the chars of a surrogate pair, the high surrogate is cut off too, so the result
+     * may be one char shorter than the maximal count.
+     * Unattached surrogates are kept as they are (see {@link #sanitize(CharSequence)}).
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal count of chars
+     *
+     * @return The same char sequence if it is not longer than the maximal count (or is <code>null</code>),
+     *         otherwise its truncated subsequence
+     *
+     * @throws IllegalArgumentException If the maximal count is negative
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence truncate(final CharSequence seq, final int maxChars) {
+        if (maxChars < 0) {
+            throw new IllegalArgumentException("Max chars is negative: " + maxChars);
+        }
+
+        if (seq == null || seq.length() <= maxChars) {
+            return seq;
+        }
+
+        int end = maxChars;
+
+        if (end > 0 && SurrogatePairUtils.isSurrogatePair(seq.charAt(end - 1), seq.charAt(end))) {
+            end--;
+        }
+
+        return seq.subSequence(0, end);
+    }
+
+    /**
+     * This method can be used to truncate a char sequence to the longest prefix that fits a maximal count of UTF-8
+     * bytes, without splitting a surrogate pair.
+     * The char sequence is not encoded, the UTF-8 length of each char is summed up to the cut point: <code>1</code>
+     * byte for <code>U+0000..U+007F</code>, <code>2</code> bytes for <code>U+0080..U+07FF</code>, <code>4</code>
+     * bytes for a surrogate pair and <code>3</code> bytes for other chars.
+     * An unattached surrogate counts as <code>3</code> bytes (the length of the replacement char
+     * <code>U+FFFD</code>), so the result fits the budget for any way the encoder handles it.
+     * The scan stops as soon as the rest of the char sequence fits the budget even with <code>3</code> bytes per
+     * char, so a char sequence far below the budget is not scanned at all.
+     *
+     * @param seq Char sequence
+     * @param maxBytes Maximal count of UTF-8 bytes
+     *
+     * @return The same char sequence if it fits the maximal count (or is <code>null</code>), otherwise its
+     *         truncated subsequence
+     *
+     * @throws IllegalArgumentException If the maximal count is negative
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence truncateToUtf8Bytes(final CharSequence seq, final int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Max bytes is negative: " + maxBytes);
+        }
+
+        if (seq == null) {
+            return null;
+        }
+
+        final int len = seq.length();
+
+        long rem = maxBytes;
+        int i = 0;
+        int bytes;
+
+        char ch;
+
+        // Each UTF-16 char takes at most 3 UTF-8 bytes, since a surrogate pair of 2 chars takes 4 bytes.
+
+        while ((long) (len - i) * 3 > rem) {
+            ch = seq.charAt(i);
+
+            if (ch < 0x80) {
+                bytes = 1;
+            } else if (ch < 0x800) {
+                bytes = 2;
+            } else if (SurrogateUtils.isHighSurrogate(ch) && i + 1 < len
+                    && SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                bytes = 4;
+            } else {
+                bytes = 3;
+            }
+
+            if (bytes > rem) {
+                return seq.subSequence(0, i);
+            }
+
+            rem -= bytes;
+            i += bytes == 4 ? 2 : 1;
+        }
+
+        return seq;
+    }
+
+    /**
+     * This method can be used to calculate the exact length of a char sequence in UTF-8 without encoding it.
+     * Unattached surrogates are counted by the {@link UnattachedSurrogatePolicy#REPLACE} policy.
+     * This method works the same way as {@link #utf8Length(CharSequence, UnattachedSurrogatePolicy)}.
+     *
+     * @param seq Char sequence
+     *
+     * @return Length in UTF-8 bytes, <code>0</code> if a char sequence is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static long utf8Length(final CharSequence seq) {
+        return utf8Length(seq, UnattachedSurrogatePolicy.REPLACE);
+    }
+
+    /**
+     * This method can be used to calculate the exact length of a char sequence in UTF-8 without encoding it.
+     * A char takes <code>1</code> byte for <code>U+0000..U+007F</code>, <code>2</code> bytes for
+     * <code>U+0080..U+07FF</code> and <code>3</code> bytes for other chars, and a surrogate pair takes
+     * <code>4</code> bytes.
+     * An unattached surrogate takes <code>3</code> bytes by the {@link UnattachedSurrogatePolicy#REPLACE} policy
+     * (the length of the replacement char <code>U+FFFD</code>) and by the {@link UnattachedSurrogatePolicy#PASS}
+     * policy (the length of a surrogate encoded as is, as in WTF-8), <code>0</code> bytes by the
+     * {@link UnattachedSurrogatePolicy#DROP} policy, and is reported by {@link UnattachedSurrogateException} by the
+     * {@link UnattachedSurrogatePolicy#THROW} policy.
+     * Note that {@link String#getBytes(java.nio.charset.Charset)} replaces an unattached surrogate by
+     * <code>'?'</code> of <code>1</code> byte, so its length may be less.
+     * Nothing is allocated, and the result is a <code>long</code>, since the UTF-8 length of a long char sequence
+     * may exceed {@link Integer#MAX_VALUE}.
+     *
+     * @param seq Char sequence
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Length in UTF-8 bytes, <code>0</code> if a char sequence is <code>null</code>
+     *
+     * @throws UnattachedSurrogateException If an unattached surrogate is found by the
+     *                                      {@link UnattachedSurrogatePolicy#THROW} policy
+     *
+     * @since Added in 0.0.2
+     */
+    public static long utf8Length(final CharSequence seq, final UnattachedSurrogatePolicy policy) {
+        return utf8Length(seq, 0, seq == null ? 0 : seq.length(), policy);
+    }
+
+    /**
+     * This method can be used to calculate the exact length of a range of a char sequence in UTF-8 without encoding
+     * it.
+     * This method works the same way as {@link #utf8Length(CharSequence, UnattachedSurrogatePolicy)}, the range is
+     * handled as a standalone char sequence, so a surrogate pair split by a range bound is counted as unattached
+     * surrogates.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Length in UTF-8 bytes, <code>0</code> if a char sequence is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     * @throws UnattachedSurrogateException If an unattached surrogate is found by the
+     *                                      {@link UnattachedSurrogatePolicy#THROW} policy
+     *
+     * @since Added in 0.0.2
+     */
+    public static long utf8Length(final CharSequence seq, final int from, final int to,
+                                  final UnattachedSurrogatePolicy policy) {
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        if (seq == null) {
+            return 0;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        // Each char takes at least one byte, so only the extra bytes of non-ASCII chars are added.
+        // A surrogate is counted as 3 bytes, so the second char of a pair is skipped to make it 4 bytes.
+
+        long bytes = to - from;
+
+        char ch;
+
+        for (int i = from; i < to; i++) {
+            ch = seq.charAt(i);
+            bytes += utf8ExtraLength(ch);
+
+            if (SurrogateUtils.isSurrogate(ch)) {
+                if (SurrogateUtils.isHighSurrogate(ch) && i + 1 < to
+                        && SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                    i++;
+                } else {
+                    bytes += unattachedUtf8Length(i, policy) - 3;
+                }
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * This method can be used to calculate the exact length of a range of a char array in UTF-8 without encoding it.
+     * Unattached surrogates are counted by the {@link UnattachedSurrogatePolicy#REPLACE} policy.
+     * This method works the same way as {@link #utf8Length(char[], int, int, UnattachedSurrogatePolicy)}.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Length in UTF-8 bytes, <code>0</code> if a char array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static long utf8Length(final char[] buf, final int off, final int len) {
+        return utf8Length(buf, off, len, UnattachedSurrogatePolicy.REPLACE);
+    }
+
+    /**
+     * This method can be used to calculate the exact length of a range of a char array in UTF-8 without encoding it.
+     * This method works the same way as {@link #utf8Length(CharSequence, int, int, UnattachedSurrogatePolicy)}, but
+     * reads the chars directly from the array, so there is no need to wrap the array in a char sequence.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Length in UTF-8 bytes, <code>0</code> if a char array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     * @throws UnattachedSurrogateException If an unattached surrogate is found by the
+     *                                      {@link UnattachedSurrogatePolicy#THROW} policy
+     *
+     * @since Added in 0.0.2
+     */
+    public static long utf8Length(final char[] buf, final int off, final int len,
+                                  final UnattachedSurrogatePolicy policy) {
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        if (buf == null) {
+            return 0;
+        }
+
+        checkRange(buf, off, len);
+
+        final int end = off + len;
+
+        // Each char takes at least one byte, so only the extra bytes of non-ASCII chars are added.
+
+        long bytes = len;
+        int i = off;
+
+        boolean surrogates = false;
+        char ch;
+
+        for (; i < end; i++) {
+            ch = buf[i];
+
+            bytes += utf8ExtraLength(ch);
+            surrogates |= SurrogateUtils.isSurrogate(ch);
+        }
+
+        if (!surrogates) {
+            return bytes;
+        }
+
+        // Surrogates are counted as 3 bytes above, so the second pass fixes the length of surrogate pairs and
+        // unattached surrogates, jumping from surrogate to surrogate by the scalar indexOfSurrogate.
+
+        for (int s = indexOfSurrogate(buf, off, len); s >= 0; s = indexOfSurrogate(buf, i, end - i)) {
+            ch = buf[s];
+
+            if (SurrogateUtils.isHighSurrogate(ch) && s + 1 < end && SurrogateUtils.isLowSurrogate(buf[s + 1])) {
+                bytes -= 2;
+                i = s + 2;
+            } else {
+                bytes += unattachedUtf8Length(s, policy) - 3;
+                i = s + 1;
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * This method is used to trim the char sequence for specified target chars.
+     * You can set target characters using constants with the <code>TARGET_*</code> prefix.
+     * Target constants can be combined using a bitwise <code>OR</code> (<code>|</code>).
+     * The method runs from the beginning of the sequence of characters to the first character that does not match the
+     * target characters.
+     * After that, the reading of the sequence of characters unfolds - the characters begin to iterate from the end of
+     * the sequence to the beginning also to the first non-matching character.
+     *
+     * @param seq Char sequence
+     * @param target Target characters bitmask constant
+     *
+     * @return Trimmed char sequence
+     *
+     * @since Added in 0.0.1
+     */
+    public static CharSequence trim(final CharSequence seq, final int target) {
+        if (seq == null || seq.length() == 0) {
+            return seq;
+        }
+
+        return trim(seq, 0, seq.length(), target);
+    }
+
+    /**
+     * This method is used to trim a range of the char sequence for specified target chars.
+     * This method works the same way as {@link #trim(CharSequence, int)}, but trims only the chars in the given
+     * range.
+     * If the range covers the whole char sequence and there is nothing to trim, the same char sequence is returned.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param target Target characters bitmask constant
+     *
+     * @return Trimmed char sequence
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence trim(final CharSequence seq, final int from, final int to, final int target) {
+        return trim(seq, from, to, CharMatcher.ofTarget(target));
+    }
+
+    /**
+     * This method is used to trim a range of the char array for specified target chars.
+     * This method works the same way as {@link #trim(CharSequence, int)}, but reads the chars directly from the
+     * array.
+     * The result is a {@link CharSlice} view of the array, so the chars are not copied and the changes of the array
+     * are visible through the result.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param target Target characters bitmask constant
+     *
+     * @return Trimmed slice of the char array or <code>null</code> if a char array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice trim(final char[] buf, final int off, final int len, final int target) {
+        return trim(buf, off, len, CharMatcher.ofTarget(target));
+    }
+
+    /**
+     * This method is used to trim the char sequence for space, tabulation, line break and return caret chars.
+     * You can set target characters using constants with the <code>TARGET_*</code> prefix.
+     * Target constants can be combined using a bitwise <code>OR</code> (<code>|</code>).
+     * The method runs from the beginning of the sequence of characters to the first character that does not match the
+     * target characters.
+     * After that, the reading of the sequence of characters unfolds - the characters begin to iterate from the end of
+     * the sequence to the beginning also to the first non-matching character.
+     *
+     * @param seq Char sequence
+     *
+     * @return Trimmed char sequence
+     *
+     * @since Added in 0.0.1
+     */
+    public static CharSequence trim(final CharSequence seq) {
+        return trim(seq, DEFAULT_TARGET);
+    }
+
+    /**
+     * This method is used to trim a range of the char sequence for space, tabulation, line break and return caret
+     * chars.
+     * This method works the same way as {@link #trim(CharSequence)}, but trims only the chars in the given range.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Trimmed char sequence
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence trim(final CharSequence seq, final int from, final int to) {
+        return trim(seq, from, to, DEFAULT_TARGET);
+    }
+
+    /**
+     * This method is used to trim a range of the char array for space, tabulation, line break and return caret chars.
+     * This method works the same way as {@link #trim(char[], int, int, int)}.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Trimmed slice of the char array or <code>null</code> if a char array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice trim(final char[] buf, final int off, final int len) {
+        return trim(buf, off, len, DEFAULT_TARGET);
+    }
+
+    /**
+     * This method is used to trim the char sequence for the chars of a matcher.
+     * This method works the same way as {@link #trim(CharSequence, int)}, but removes the chars matched by a
+     * {@link CharMatcher}, for example, {@link CharMatcher#UNICODE_WHITESPACE}.
+     *
+     * @param seq Char sequence
+     * @param matcher Matcher of the chars to remove
+     *
+     * @return Trimmed char sequence
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence trim(final CharSequence seq, final CharMatcher matcher) {
+        if (seq == null || seq.length() == 0) {
+            return seq;
+        }
+
+        return trim(seq, 0, seq.length(), matcher);
+    }
+
+    /**
+     * This method is used to trim a range of the char sequence for the chars of a matcher.
+     * This method works the same way as {@link #trim(CharSequence, int, int, int)}, but removes the chars matched by
+     * a {@link CharMatcher}.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param matcher Matcher of the chars to remove
+     *
+     * @return Trimmed char sequence
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSequence trim(final CharSequence seq, final int from, final int to, final CharMatcher matcher) {
+        if (seq == null) {
+            return null;
+        }
+
+        final long bounds = trimBounds(seq, from, to, matcher);
+        final int begIdx = boundsBegin(bounds);
+        final int endIdx = boundsEnd(bounds);
+
+        if (begIdx == endIdx) {
+            return "";
+        }
+
+        if (begIdx == 0 && endIdx == seq.length()) {
+            return seq;
+        }
+
+        return seq.subSequence(begIdx, endIdx);
+    }
+
+    /**
+     * This method is used to trim a range of the char array for the chars of a matcher.
+     * This method works the same way as {@link #trim(char[], int, int, int)}, but removes the chars matched by a
+     * {@link CharMatcher}.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param matcher Matcher of the chars to remove
+     *
+     * @return Trimmed slice of the char array or <code>null</code> if a char array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice trim(final char[] buf, final int off, final int len, final CharMatcher matcher) {
+        if (buf == null) {
+            return null;
+        }
+
+        final long bounds = trimBounds(buf, off, len, matcher);
+        final int begIdx = boundsBegin(bounds);
+        final int endIdx = boundsEnd(bounds);
+
+        if (begIdx == endIdx) {
+            return CharSlice.EMPTY;
+        }
+
+        return CharSlice.of(buf, begIdx, endIdx - begIdx);
+    }
+
+    /**
+     * This method is used to trim the char sequence for specified target chars without copying the chars.
+     * This method works the same way as {@link #trim(CharSequence, int)}, but the result is a {@link CharSlice} view
+     * of the char sequence, while {@link String#subSequence(int, int)} and
+     * {@link StringBuilder#subSequence(int, int)} copy the chars of the trimmed range.
+     *
+     * @param seq Char sequence
+     * @param target Target characters bitmask constant
+     *
+     * @return Trimmed slice of the char sequence or <code>null</code> if a char sequence is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice trimToSlice(final CharSequence seq, final int target) {
+        return trimToSlice(seq, CharMatcher.ofTarget(target));
+    }
+
+    /**
+     * This method is used to trim the char sequence for space, tabulation, line break and return caret chars without
+     * copying the chars.
+     * This method works the same way as {@link #trimToSlice(CharSequence, int)}.
+     *
+     * @param seq Char sequence
+     *
+     * @return Trimmed slice of the char sequence or <code>null</code> if a char sequence is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice trimToSlice(final CharSequence seq) {
+        return trimToSlice(seq, DEFAULT_TARGET);
+    }
+
+    /**
+     * This method is used to trim the char sequence for the chars of a matcher without copying the chars.
+     * This method works the same way as {@link #trimToSlice(CharSequence, int)}, but removes the chars matched by a
+     * {@link CharMatcher}.
+     *
+     * @param seq Char sequence
+     * @param matcher Matcher of the chars to remove
+     *
+     * @return Trimmed slice of the char sequence or <code>null</code> if a char sequence is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice trimToSlice(final CharSequence seq, final CharMatcher matcher) {
+        if (seq == null) {
+            return null;
+        }
+
+        final long bounds = trimBounds(seq, 0, seq.length(), matcher);
+
+        return CharSlice.of(seq, boundsBegin(bounds), boundsEnd(bounds));
+    }
+
+    /**
+     * This method is used to find the bounds of the trimmed char sequence for specified target chars without making
+     * any objects.
+     * This method checks the same chars as {@link #trim(CharSequence, int)}, the bounds are packed to a
+     * <code>long</code>, use {@link #boundsBegin(long)} and {@link #boundsEnd(long)} to unpack them.
+     * If all chars are trimmed, the begin and end of the bounds are equal.
+     *
+     * @param seq Char sequence
+     * @param target Target characters bitmask constant
+     *
+     * @return Packed bounds of the trimmed char sequence, the bounds of an empty range if a char sequence is
+     *         <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static long trimBounds(final CharSequence seq, final int target) {
+        return trimBounds(seq, CharMatcher.ofTarget(target));
+    }
+
+    /**
+     * This method is used to find the bounds of the trimmed char sequence for the chars of a matcher without making
+     * any objects.
+     * This method works the same way as {@link #trimBounds(CharSequence, int)}, but skips the chars matched by a
+     * {@link CharMatcher}.
+     *
+     * @param seq Char sequence
+     * @param matcher Matcher of the chars to skip
+     *
+     * @return Packed bounds of the trimmed char sequence, the bounds of an empty range if a char sequence is
+     *         <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static long trimBounds(final CharSequence seq, final CharMatcher matcher) {
+        if (seq == null) {
+            return 0;
+        }
+
+        return trimBounds(seq, 0, seq.length(), matcher);
+    }
+
+    /**
+     * This method is used to find the bounds of the trimmed range of the char sequence for the chars of a matcher
+     * without making any objects.
+     * This method works the same way as {@link #trimBounds(CharSequence, CharMatcher)}, but trims only the chars in
+     * the given range, the bounds are indices of the char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param matcher Matcher of the chars to skip
+     *
+     * @return Packed bounds of the trimmed range, the bounds of an empty range if a char sequence is
+     *         <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static long trimBounds(final CharSequence seq, final int from, final int to, final CharMatcher matcher) {
+        if (seq == null) {
+            return 0;
+        }
+
+        checkRange(seq.length(), from, to);
+
+        int begIdx = from;
+        int endIdx = to;
+
+        while (begIdx < endIdx && matcher.matches(seq.charAt(begIdx))) {
+            begIdx++;
+        }
+
+        while (endIdx > begIdx && matcher.matches(seq.charAt(endIdx - 1))) {
+            endIdx--;
+        }
+
+        return packBounds(begIdx, endIdx);
+    }
+
+    /**
+     * This method is used to find the bounds of the trimmed range of the char array for the chars of a matcher
+     * without making any objects.
+     * This method works the same way as {@link #trimBounds(CharSequence, CharMatcher)}, the bounds are indices of the
+     * char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param matcher Matcher of the chars to skip
+     *
+     * @return Packed bounds of the trimmed range, the bounds of an empty range if the char array is
+     *         <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static long trimBounds(final char[] buf, final int off, final int len, final CharMatcher matcher) {
+        if (buf == null) {
+            return 0;
+        }
+
+        checkRange(buf, off, len);
+
+        int begIdx = off;
+        int endIdx = off + len;
+
+        while (begIdx < endIdx && matcher.matches(buf[begIdx])) {
+            begIdx++;
+        }
+
+        while (endIdx > begIdx && matcher.matches(buf[endIdx - 1])) {
+            endIdx--;
+        }
+
+        return packBounds(begIdx, endIdx);
+    }
+
+    /**
+     * This method unpacks the begin index of bounds packed by the <code>trimBounds</code> methods.
+     *
+     * @param bounds Packed bounds
+     *
+     * @return Begin index, inclusive
+     *
+     * @since Added in 0.0.2
+     */
+    public static int boundsBegin(final long bounds) {
+        return (int) (bounds >>> 32);
+    }
+
+    /**
+     * This method unpacks the end index of bounds packed by the <code>trimBounds</code> methods.
+     *
+     * @param bounds Packed bounds
+     *
+     * @return End index, exclusive
+     *
+     * @since Added in 0.0.2
+     */
+    public static int boundsEnd(final long bounds) {
+        return (int) bounds;
+    }
+
+    /**
+     * This method can be used to check whether a char sequence contains any of the chars of a matcher.
+     *
+     * @param seq Char sequence
+     * @param matcher Matcher of the chars to find
+     *
+     * @return <code>true</code> if a char sequence contains a matched char or <code>false</code> if not or a char
+     *         sequence is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsAny(final CharSequence seq, final CharMatcher matcher) {
+        return indexOfAny(seq, matcher, 0) >= 0;
+    }
+
+    /**
+     * This method can be used to check whether a range of a char array contains any of the chars of a matcher.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param matcher Matcher of the chars to find
+     *
+     * @return <code>true</code> if the range contains a matched char or <code>false</code> if not or the char array
+     *         is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsAny(final char[] buf, final int off, final int len, final CharMatcher matcher) {
+        return indexOfAny(buf, off, len, matcher) >= 0;
+    }
+
+    /**
+     * This method can be used to find the index of the first char of a char sequence that is matched by a matcher.
+     *
+     * @param seq Char sequence
+     * @param matcher Matcher of the chars to find
+     *
+     * @return Index of the first matched char or <code>-1</code> if there are no matched chars or a char sequence is
+     *         <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfAny(final CharSequence seq, final CharMatcher matcher) {
+        return indexOfAny(seq, matcher, 0);
+    }
+
+    /**
+     * This method can be used to find the index of the first char of a char sequence that is matched by a matcher,
+     * starting the search at the given index.
+     * The index is treated the same way as by {@link String#indexOf(int, int)}.
+     *
+     * @param seq Char sequence
+     * @param matcher Matcher of the chars to find
+     * @param fromIndex Index to start the search from
+     *
+     * @return Index of the first matched char or <code>-1</code> if there are no matched chars or a char sequence is
+     *         <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfAny(final CharSequence seq, final CharMatcher matcher, final int fromIndex) {
+        if (seq == null) {
+            return -1;
+        }
+
+        final int len = seq.length();
+
+        for (int i = Math.max(fromIndex, 0); i < len; i++) {
+            if (matcher.matches(seq.charAt(i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method can be used to find the index of the first char of a range of a char array that is matched by a
+     * matcher.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param matcher Matcher of the chars to find
+     *
+     * @return Index of the first matched char in the char array or <code>-1</code> if there are no matched chars in
+     *         the range or the char array is <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static int indexOfAny(final char[] buf, final int off, final int len, final CharMatcher matcher) {
+        if (buf == null) {
+            return -1;
+        }
+
+        checkRange(buf, off, len);
+
+        final int end = off + len;
+
+        for (int i = off; i < end; i++) {
+            if (matcher.matches(buf[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method is used to split the char sequence into consecutive chunks of at most the given count of chars
+     * without copying the chars.
+     * Each chunk is a {@link CharSlice} view of the char sequence, the chunks are made lazily, one by one, and a
+     * chunk never ends between the chars of a surrogate pair, so the chunks of a well-formed char sequence never
+     * contain unattached surrogates.
+     * The changes of a mutable char sequence are visible through its chunks, but the chunks already made are not
+     * changed, so a char sequence should not be changed while its chunks are iterated.
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal chunk length in chars
+     *
+     * @return Iterator of the chunks, without chunks if a char sequence is <code>null</code> or empty
+     *
+     * @throws IllegalArgumentException If a maximal chunk length is less than <code>2</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static Iterator<CharSlice> chunks(final CharSequence seq, final int maxChars) {
+        return Spliterators.iterator(ChunkSpliterator.of(seq, maxChars, null));
+    }
+
+    /**
+     * This method is used to split the char sequence into consecutive chunks of at most the given count of chars,
+     * preferring to break after specified target chars.
+     * This method works the same way as {@link #chunks(CharSequence, int)}, but a chunk ends after the last target
+     * char that fits it, and only a chunk without target chars is cut at the maximal length.
+     * You can set target characters using constants with the <code>TARGET_*</code> prefix.
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal chunk length in chars
+     * @param target Target characters bitmask constant
+     *
+     * @return Iterator of the chunks, without chunks if a char sequence is <code>null</code> or empty
+     *
+     * @throws IllegalArgumentException If a maximal chunk length is less than <code>2</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static Iterator<CharSlice> chunks(final CharSequence seq, final int maxChars, final int target) {
+        return chunks(seq, maxChars, CharMatcher.ofTarget(target));
+    }
+
+    /**
+     * This method is used to split the char sequence into consecutive chunks of at most the given count of chars,
+     * preferring to break after the chars of a matcher.
+     * This method works the same way as {@link #chunks(CharSequence, int, int)}, but breaks after the chars matched
+     * by a {@link CharMatcher}, for example, {@link CharMatcher#UNICODE_WHITESPACE}.
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal chunk length in chars
+     * @param matcher Matcher of the chars to break after
+     *
+     * @return Iterator of the chunks, without chunks if a char sequence is <code>null</code> or empty
+     *
+     * @throws IllegalArgumentException If a maximal chunk length is less than <code>2</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static Iterator<CharSlice> chunks(final CharSequence seq, final int maxChars, final CharMatcher matcher) {
+        return Spliterators.iterator(ChunkSpliterator.of(seq, maxChars, matcher));
+    }
+
+    /**
+     * This method is used to split the char sequence into chunks the same way as {@link #chunks(CharSequence, int)},
+     * as a spliterator, for example, for {@link java.util.stream.StreamSupport#stream(Spliterator, boolean)}.
+     * The spliterator is never split, the chunks are made in one forward pass.
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal chunk length in chars
+     *
+     * @return Spliterator of the chunks, without chunks if a char sequence is <code>null</code> or empty
+     *
+     * @throws IllegalArgumentException If a maximal chunk length is less than <code>2</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static Spliterator<CharSlice> chunkSpliterator(final CharSequence seq, final int maxChars) {
+        return ChunkSpliterator.of(seq, maxChars, null);
+    }
+
+    /**
+     * This method is used to split the char sequence into chunks the same way as
+     * {@link #chunks(CharSequence, int, int)}, as a spliterator.
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal chunk length in chars
+     * @param target Target characters bitmask constant
+     *
+     * @return Spliterator of the chunks, without chunks if a char sequence is <code>null</code> or empty
+     *
+     * @throws IllegalArgumentException If a maximal chunk length is less than <code>2</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static Spliterator<CharSlice> chunkSpliterator(final CharSequence seq, final int maxChars,
+                                                          final int target) {
+        return ChunkSpliterator.of(seq, maxChars, CharMatcher.ofTarget(target));
+    }
+
+    /**
+     * This method is used to split the char sequence into chunks the same way as
+     * {@link #chunks(CharSequence, int, CharMatcher)}, as a spliterator.
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal chunk length in chars
+     * @param matcher Matcher of the chars to break after
+     *
+     * @return Spliterator of the chunks, without chunks if a char sequence is <code>null</code> or empty
+     *
+     * @throws IllegalArgumentException If a maximal chunk length is less than <code>2</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static Spliterator<CharSlice> chunkSpliterator(final CharSequence seq, final int maxChars,
+                                                          final CharMatcher matcher) {
+        return ChunkSpliterator.of(seq, maxChars, matcher);
+    }
+
+    /**
+     * This method sets the listener of the scans of the instrumented methods (see {@link ScanMethod}), or turns the
+     * instrumentation off if the listener is <code>null</code>.
+     * The instrumentation is off by default, and while it is off the methods only read a <code>null</code> field.
+     * A listener is given the position where a scan exits early, as reported by the scan itself, so a listener does
+     * not add a pass over the chars.
+     * A {@link Utf16Text} answered by its cached flags is reported with the position <code>-1</code>, and a
+     * <code>parallelContains*</code> call is reported once, as a call of the <code>contains*</code> method of the
+     * same name. The rows of {@link CharSequenceBatchUtils} are not reported.
+     * Large scans also emit JDK Flight Recorder events on Java 17 and later, whether a listener is set or not.
+     *
+     * @param listener Scan listener or <code>null</code>
+     *
+     * @see ScanCounters
+     *
+     * @since Added in 0.0.2
+     */
+    public static void setScanListener(final ScanListener listener) {
+        scanListener = listener;
+    }
+
+    /**
+     * This method returns the listener of the scans of the instrumented methods.
+     *
+     * @return Scan listener or <code>null</code> if the instrumentation is off
+     *
+     * @since Added in 0.0.2
+     */
+    public static ScanListener getScanListener() {
+        return scanListener;
+    }
+
+    /**
+     * This method appends a char sequence with unattached surrogates to a string builder, replacing each unattached
+     * surrogate by a replacement char.
+     *
+     * @param seq Char sequence
+     * @param idx Index of the first unattached surrogate
+     * @param replacement Replacement char
+     * @param dst String builder to append the result to
+     */
+    private static void replaceUnattachedSurrogates(final CharSequence seq, final int idx, final char replacement,
+                                                    final StringBuilder dst) {
+        final int len = seq.length();
+
+        int beg = 0;
+
+        for (int i = idx; i >= 0; i = indexOfUnattachedSurrogate(seq, beg)) {
+            dst.append(seq, beg, i).append(replacement);
+            beg = i + 1;
+        }
+
+        dst.append(seq, beg, len);
+    }
+
+    /**
+     * This method returns the count of UTF-8 bytes of a char over the first one: <code>0</code> for
+     * <code>U+0000..U+007F</code>, <code>1</code> for <code>U+0080..U+07FF</code> and <code>2</code> for other chars
+     * (including surrogates).
+     * The comparisons are compiled to conditional moves or vector compares, so mixed text does not mispredict
+     * branches.
+     *
+     * @param ch Char
+     *
+     * @return Count of extra UTF-8 bytes
+     */
+    private static int utf8ExtraLength(final char ch) {
+        return (ch > 0x7F ? 1 : 0) + (ch > 0x7FF ? 1 : 0);
+    }
+
+    /**
+     * This method returns the UTF-8 length of an unattached surrogate by a policy.
+     *
+     * @param idx Index of the unattached surrogate
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Length in UTF-8 bytes
+     *
+     * @throws UnattachedSurrogateException If the policy is {@link UnattachedSurrogatePolicy#THROW}
+     */
+    private static int unattachedUtf8Length(final int idx, final UnattachedSurrogatePolicy policy) {
+        switch (policy) {
+            case REPLACE:
+            case PASS:
+                return 3;
+
+            case DROP:
+                return 0;
+
+            default:
+                throw new UnattachedSurrogateException(idx);
+        }
+    }
+
+    /**
+     * This method packs the bounds of a range to a <code>long</code>, the begin index takes the high 32 bits and the
+     * end index takes the low 32 bits.
+     *
+     * @param begin Begin index, inclusive
+     * @param end End index, exclusive
+     *
+     * @return Packed bounds
+     */
+    private static long packBounds(final int begin, final int end) {
+        return (long) begin << 32 | end;
+    }
+
+    /**
+     * This method reports a scan to the listener and to the Flight Recorder event, if any of them is set.
+     *
+     * @param listener Scan listener or <code>null</code>
+     * @param event Begun event or <code>null</code>
+     * @param method Instrumented method
+     * @param length Length of the scanned range
+     * @param hit Answer of the method, or whether any surrogate is replaced
+     * @param position Position in the range where the scan exits early, or of the first replaced surrogate, or
+     *                 <code>-1</code>
+     */
+    private static void scanned(final ScanListener listener, final Object event, final ScanMethod method,
+                                final int length, final boolean hit, final int position) {
+        if (event != null) {
+            ScanEvents.commit(event, method, length, hit);
+        }
+
+        if (listener != null) {
+            listener.onScan(method, length, hit, position);
+        }
+    }
+
+    /**
+     * This method reports a scan of a <code>contains*</code> method to the listener and to the Flight Recorder
+     * event.
+     *
+     * @param listener Scan listener or <code>null</code>
+     * @param event Begun event or <code>null</code>
+     * @param method Instrumented method
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param hit Answer of the method
+     * @param exit Index where the scan exits early or <code>-1</code>
+     */
+    private static void answered(final ScanListener listener, final Object event, final ScanMethod method,
+                                 final int from, final int to, final boolean hit, final int exit) {
+        scanned(listener, event, method, to - from, hit, exit < 0 ? -1 : exit - from);
+    }
+
+    /**
+     * This method reports an answer of a <code>contains*</code> method given by the cached flags of a text (see
+     * {@link Utf16Text}) to the listener and to the Flight Recorder event.
+     * The chars are not scanned, so the position is <code>-1</code>.
+     *
+     * @param method Instrumented method
+     * @param text Text
+     * @param hit Answer of the method
+     *
+     * @return Answer of the method
+     */
+    private static boolean cached(final ScanMethod method, final CharSequence text, final boolean hit) {
+        final ScanListener listener = scanListener;
+        final Object event = ScanEvents.begin(text.length());
+
+        if (listener != null || event != null) {
+            scanned(listener, event, method, text.length(), hit, -1);
+        }
+
+        return hit;
+    }
+
+    /**
+     * This method reports a repair of a char sequence to the listener and to the Flight Recorder event.
+     *
+     * @param listener Scan listener or <code>null</code>
+     * @param event Begun event or <code>null</code>
+     * @param seq Repaired char sequence or <code>null</code>
+     * @param first Index of the first unattached surrogate or <code>-1</code>
+     */
+    private static void repaired(final ScanListener listener, final Object event, final CharSequence seq,
+                                 final int first) {
+        if (seq != null && (listener != null || event != null)) {
+            scanned(listener, event, ScanMethod.REPLACE_UNATTACHED_SURROGATES, seq.length(), first >= 0, first);
+        }
+    }
+
+    /**
+     * This method checks whether a char sequence is a string stored in the Latin-1 coding, which cannot contain
+     * UTF-16 surrogates, so all the <code>contains*</code> methods answer <code>false</code> for it.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence is a Latin-1 string or <code>false</code> if not, or if the
+     *         coding cannot be told
+     */
+    private static boolean isLatin1(final CharSequence seq) {
+        return seq instanceof String && CompactStrings.isLatin1((String) seq);
+    }
+
+    /**
+     * This method checks that a range is within the char sequence bounds.
+     *
+     * @param length Char sequence length
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     */
+    private static void checkRange(final int length, final int from, final int to) {
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + from + ", " + to + ") is out of bounds for length " + length);
+        }
+    }
+
+    /**
+     * This method checks that a range is within the char array bounds.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     */
+    private static void checkRange(final char[] buf, final int off, final int len) {
+        if (off < 0 || len < 0 || off > buf.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + off + ", " + off + " + " + len + ") is out of bounds for length " + buf.length);
+        }
     }
 
     /**
@@ -0,0 +1,218 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Immutable char sequence view of a range of a char array or of another char sequence.
+ * A slice does not copy the chars, so making a slice and slicing it again (see {@link #subSequence(int, int)}) takes
+ * a single small object whatever the length of the range is, unlike {@link String#subSequence(int, int)} and
+ * {@link StringBuilder#subSequence(int, int)} that copy the chars.
+ * A slice of a slice refers to the source of the outer slice, so slices are never chained.
+ * The changes of a char array or of a mutable char sequence are visible through its slices, the chars are only copied
+ * by {@link #toString()}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class CharSlice implements CharSequence {
+
+    private static final char[] EMPTY_CHARS = new char[0];
+
+    /**
+     * Empty slice.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final CharSlice EMPTY = new CharSlice(EMPTY_CHARS, null, 0, 0);
+
+    /**
+     * Source char array, <code>null</code> if the source is a char sequence.
+     */
+    private final char[] buf;
+
+    /**
+     * Source char sequence, <code>null</code> if the source is a char array.
+     */
+    private final CharSequence seq;
+
+    private final int from;
+
+    private final int to;
+
+    /**
+     * This method makes a slice of a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Slice of the range
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice of(final char[] buf, final int off, final int len) {
+        if (off < 0 || len < 0 || off > buf.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + off + ", " + off + " + " + len + ") is out of bounds for length " + buf.length);
+        }
+
+        return new CharSlice(buf, null, off, off + len);
+    }
+
+    /**
+     * This method makes a slice of a range of a char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Slice of the range
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice of(final CharSequence seq, final int from, final int to) {
+        checkRange(seq.length(), from, to);
+
+        if (seq instanceof CharSlice) {
+            return ((CharSlice) seq).subSequence(from, to);
+        }
+
+        return new CharSlice(null, seq, from, to);
+    }
+
+    /**
+     * This method makes a slice of a whole char sequence.
+     *
+     * @param seq Char sequence
+     *
+     * @return Slice of the char sequence
+     *
+     * @since Added in 0.0.2
+     */
+    public static CharSlice of(final CharSequence seq) {
+        return of(seq, 0, seq.length());
+    }
+
+    /**
+     * Private constructor, use the static factory methods to make a slice.
+     *
+     * @param buf Source char array or <code>null</code>
+     * @param seq Source char sequence or <code>null</code>
+     * @param from Range begin index in the source, inclusive
+     * @param to Range end index in the source, exclusive
+     */
+    private CharSlice(final char[] buf, final CharSequence seq, final int from, final int to) {
+        this.buf = buf;
+        this.seq = seq;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public int length() {
+        return to - from;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= to - from) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + (to - from));
+        }
+
+        return buf != null ? buf[from + index] : seq.charAt(from + index);
+    }
+
+    /**
+     * This method makes a slice of a range of this slice, the chars are not copied.
+     *
+     * @param start Range begin index, inclusive
+     * @param end Range end index, exclusive
+     *
+     * @return Slice of the range
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the slice bounds
+     *
+     * @since Added in 0.0.2
+     */
+    @Override
+    public CharSlice subSequence(final int start, final int end) {
+        checkRange(to - from, start, end);
+
+        if (start == 0 && end == to - from) {
+            return this;
+        }
+
+        return new CharSlice(buf, seq, from + start, from + end);
+    }
+
+    /**
+     * This method copies the chars of this slice to a char array.
+     *
+     * @param dst Destination char array
+     * @param dstBegin Destination offset
+     *
+     * @throws IndexOutOfBoundsException If the chars do not fit the destination char array
+     *
+     * @since Added in 0.0.2
+     */
+    public void getChars(final char[] dst, final int dstBegin) {
+        final int len = to - from;
+
+        if (dstBegin < 0 || dstBegin > dst.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + dstBegin + ", " + dstBegin + " + " + len + ") is out of bounds for length "
+                            + dst.length);
+        }
+
+        if (buf != null) {
+            System.arraycopy(buf, from, dst, dstBegin, len);
+        } else if (seq instanceof String) {
+            ((String) seq).getChars(from, to, dst, dstBegin);
+        } else {
+            for (int i = from; i < to; i++) {
+                dst[dstBegin + i - from] = seq.charAt(i);
+            }
+        }
+    }
+
+    /**
+     * This method returns the chars of this slice as a string, this is the only method of a slice that copies the
+     * chars.
+     *
+     * @return String of the chars of this slice
+     *
+     * @since Added in 0.0.2
+     */
+    @Override
+    public String toString() {
+        if (buf != null) {
+            return new String(buf, from, to - from);
+        }
+
+        if (seq instanceof String) {
+            return ((String) seq).substring(from, to);
+        }
+
+        return new StringBuilder(to - from).append(seq, from, to).toString();
+    }
+
+    /**
+     * This method checks that a range is within the bounds.
+     *
+     * @param length Length
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the bounds
+     */
+    private static void checkRange(final int length, final int from, final int to) {
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + from + ", " + to + ") is out of bounds for length " + length);
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of the consecutive chunks of a char sequence, used by the <code>chunks</code> methods of
+ * {@link CharSequenceUtils}.
+ * Each chunk is a {@link CharSlice} view of at most the given count of chars, the chars are never copied.
+ * A chunk never ends between the chars of a surrogate pair. If a break matcher is given, a chunk ends after the last
+ * matched char of its window, and only a window without matched chars is cut at its end.
+ * The chunks are made lazily in one forward pass: the search of a break reads the chars from the end of a window
+ * back to the last matched char, and the next search stops where this one started, so each char is read at most once
+ * by the searches.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class ChunkSpliterator implements Spliterator<CharSlice> {
+
+    private final CharSequence seq;
+
+    private final int maxChars;
+
+    /**
+     * Matcher of the chars to break after, <code>null</code> if chunks are only cut by length.
+     */
+    private final CharMatcher matcher;
+
+    private final int length;
+
+    /**
+     * Begin index of the next chunk.
+     */
+    private int pos;
+
+    /**
+     * End index of the last searched window, the chars from the begin of the next chunk to this index are not breaks.
+     */
+    private int searched;
+
+    /**
+     * Private constructor, use {@link #of(CharSequence, int, CharMatcher)} to make a spliterator.
+     *
+     * @param seq Char sequence
+     * @param maxChars Maximal chunk length in chars
+     * @param matcher Matcher of the chars to break after or <code>null</code>
+     */
+    private ChunkSpliterator(final CharSequence seq, final int maxChars, final CharMatcher matcher) {
+        this.seq = seq;
+        this.maxChars = maxChars;
+        this.matcher = matcher;
+        this.length = seq != null ? seq.length() : 0;
+    }
+
+    /**
+     * This method makes a spliterator of the chunks of a char sequence.
+     *
+     * @param seq Char sequence, <code>null</code> has no chunks
+     * @param maxChars Maximal chunk length in chars
+     * @param matcher Matcher of the chars to break after or <code>null</code>
+     *
+     * @return Spliterator of the chunks
+     *
+     * @throws IllegalArgumentException If a maximal chunk length is less than <code>2</code>, so a surrogate pair
+     *         would not fit a chunk
+     *
+     * @since Added in 0.0.2
+     */
+    static ChunkSpliterator of(final CharSequence seq, final int maxChars, final CharMatcher matcher) {
+        if (maxChars < 2) {
+            throw new IllegalArgumentException("Maximal chunk length is less than 2: " + maxChars);
+        }
+
+        return new ChunkSpliterator(seq, maxChars, matcher);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super CharSlice> action) {
+        if (pos >= length) {
+            return false;
+        }
+
+        final int beg = pos;
+        final int end = nextEnd(beg);
+
+        pos = end;
+        action.accept(CharSlice.of(seq, beg, end));
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super CharSlice> action) {
+        int beg = pos;
+        int end;
+
+        while (beg < length) {
+            end = nextEnd(beg);
+            pos = end;
+            action.accept(CharSlice.of(seq, beg, end));
+            beg = end;
+        }
+    }
+
+    /**
+     * This spliterator is not split, the chunks are made in one forward pass.
+     *
+     * @return <code>null</code>
+     */
+    @Override
+    public Spliterator<CharSlice> trySplit() {
+        return null;
+    }
+
+    /**
+     * This method returns the count of the remaining chunks if all of them are cut by length, the actual count is
+     * greater if chunks break after matched chars.
+     *
+     * @return Estimated count of the remaining chunks
+     */
+    @Override
+    public long estimateSize() {
+        return ((long) length - pos + maxChars - 1) / maxChars;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * This method finds the end of the chunk that begins at an index.
+     *
+     * @param beg Begin index of the chunk
+     *
+     * @return End index of the chunk, exclusive
+     */
+    private int nextEnd(final int beg) {
+        if (length - beg <= maxChars) {
+            return length;
+        }
+
+        int end = beg + maxChars;
+
+        // The window has at least two chars, so cutting a pair still leaves a char in the chunk
+
+        if (SurrogatePairUtils.isSurrogatePair(seq.charAt(end - 1), seq.charAt(end))) {
+            end--;
+        }
+
+        if (matcher != null) {
+            final int stop = Math.max(beg, searched);
+            char ch;
+
+            searched = end;
+
+            for (int i = end - 1; i >= stop; i--) {
+                ch = seq.charAt(i);
+
+                // A matched high surrogate is not a break, the pair it starts is never cut
+
+                if (matcher.matches(ch) && !(SurrogateUtils.isHighSurrogate(ch)
+                        && SurrogateUtils.isLowSurrogate(seq.charAt(i + 1)))) {
+                    return i + 1;
+                }
+            }
+        }
+
+        return end;
+    }
+
+}
@@ -0,0 +1,366 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Reusable cursor over the code points of a range of a char sequence or of a char array, walking forwards by
+ * {@link #next()} and backwards by {@link #previous()}.
+ * Code points are returned as primitive <code>int</code> values, and a cursor can be pointed to another range by the
+ * <code>reset</code> methods, so walking any count of texts with a single cursor takes no allocations, unlike
+ * {@link String#codePoints()} that makes a stream, a spliterator and lambdas for each text.
+ * An unattached surrogate is returned as a code point of its own, the same way as
+ * {@link Character#codePointAt(CharSequence, int)} does, and {@link #isUnattached()} tells whether the last returned
+ * code point is an unattached surrogate, so malformed text never makes a cursor throw.
+ * A surrogate pair is only recognized within the range, the chars before and after the range are never read.
+ * A cursor is not thread-safe.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class CodePointCursor {
+
+    /**
+     * Value returned by {@link #next()} at the end of the range and by {@link #previous()} at the beginning of the
+     * range, never a valid code point.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final int DONE = -1;
+
+    /**
+     * Source char array, <code>null</code> if the source is a char sequence.
+     */
+    private char[] buf;
+
+    /**
+     * Source char sequence, <code>null</code> if the source is a char array.
+     */
+    private CharSequence seq;
+
+    private int from;
+
+    private int to;
+
+    private int pos;
+
+    /**
+     * Last returned code point is an unattached surrogate.
+     */
+    private boolean unattached;
+
+    /**
+     * This method makes a cursor at the beginning of a range of a char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Cursor over the range
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CodePointCursor of(final CharSequence seq, final int from, final int to) {
+        return new CodePointCursor().reset(seq, from, to);
+    }
+
+    /**
+     * This method makes a cursor at the beginning of a char sequence.
+     *
+     * @param seq Char sequence
+     *
+     * @return Cursor over the char sequence
+     *
+     * @since Added in 0.0.2
+     */
+    public static CodePointCursor of(final CharSequence seq) {
+        return new CodePointCursor().reset(seq, 0, seq.length());
+    }
+
+    /**
+     * This method makes a cursor at the beginning of a range of a char array, the chars are not copied.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Cursor over the range
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static CodePointCursor of(final char[] buf, final int off, final int len) {
+        return new CodePointCursor().reset(buf, off, len);
+    }
+
+    /**
+     * This method makes a cursor at the beginning of a char array, the chars are not copied.
+     *
+     * @param buf Char array
+     *
+     * @return Cursor over the char array
+     *
+     * @since Added in 0.0.2
+     */
+    public static CodePointCursor of(final char[] buf) {
+        return new CodePointCursor().reset(buf, 0, buf.length);
+    }
+
+    /**
+     * Private constructor, use the static factory methods to make a cursor.
+     */
+    private CodePointCursor() {}
+
+    /**
+     * This method points this cursor to the beginning of a range of a char sequence.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return This cursor
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public CodePointCursor reset(final CharSequence seq, final int from, final int to) {
+        final int length = seq.length();
+
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + from + ", " + to + ") is out of bounds for length " + length);
+        }
+
+        this.buf = null;
+        this.seq = seq;
+        this.from = from;
+        this.to = to;
+        this.pos = from;
+        this.unattached = false;
+
+        return this;
+    }
+
+    /**
+     * This method points this cursor to the beginning of a char sequence.
+     *
+     * @param seq Char sequence
+     *
+     * @return This cursor
+     *
+     * @since Added in 0.0.2
+     */
+    public CodePointCursor reset(final CharSequence seq) {
+        return reset(seq, 0, seq.length());
+    }
+
+    /**
+     * This method points this cursor to the beginning of a range of a char array, the chars are not copied.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return This cursor
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public CodePointCursor reset(final char[] buf, final int off, final int len) {
+        if (off < 0 || len < 0 || off > buf.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + off + ", " + off + " + " + len + ") is out of bounds for length " + buf.length);
+        }
+
+        this.buf = buf;
+        this.seq = null;
+        this.from = off;
+        this.to = off + len;
+        this.pos = off;
+        this.unattached = false;
+
+        return this;
+    }
+
+    /**
+     * This method points this cursor to the beginning of a char array, the chars are not copied.
+     *
+     * @param buf Char array
+     *
+     * @return This cursor
+     *
+     * @since Added in 0.0.2
+     */
+    public CodePointCursor reset(final char[] buf) {
+        return reset(buf, 0, buf.length);
+    }
+
+    /**
+     * This method checks whether there are code points after the position of this cursor.
+     *
+     * @return <code>true</code> if {@link #next()} returns a code point or <code>false</code> if it returns
+     *         {@link #DONE}
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean hasNext() {
+        return pos < to;
+    }
+
+    /**
+     * This method checks whether there are code points before the position of this cursor.
+     *
+     * @return <code>true</code> if {@link #previous()} returns a code point or <code>false</code> if it returns
+     *         {@link #DONE}
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean hasPrevious() {
+        return pos > from;
+    }
+
+    /**
+     * This method returns the code point after the position of this cursor and moves the position past it, by two
+     * chars for a surrogate pair and by one char otherwise.
+     *
+     * @return Code point, an unattached surrogate (see {@link #isUnattached()}) or {@link #DONE} at the end of the
+     *         range
+     *
+     * @since Added in 0.0.2
+     */
+    public int next() {
+        final int idx = pos;
+
+        if (idx >= to) {
+            unattached = false;
+            return DONE;
+        }
+
+        final char ch = charAt(idx);
+
+        if (!SurrogateUtils.isSurrogate(ch)) {
+            pos = idx + 1;
+            unattached = false;
+            return ch;
+        }
+
+        if (idx + 1 < to) {
+            final char low = charAt(idx + 1);
+
+            if (SurrogatePairUtils.isSurrogatePair(ch, low)) {
+                pos = idx + 2;
+                unattached = false;
+                return Character.toCodePoint(ch, low);
+            }
+        }
+
+        pos = idx + 1;
+        unattached = true;
+        return ch;
+    }
+
+    /**
+     * This method returns the code point before the position of this cursor and moves the position back before it,
+     * by two chars for a surrogate pair and by one char otherwise.
+     *
+     * @return Code point, an unattached surrogate (see {@link #isUnattached()}) or {@link #DONE} at the beginning of
+     *         the range
+     *
+     * @since Added in 0.0.2
+     */
+    public int previous() {
+        final int idx = pos;
+
+        if (idx <= from) {
+            unattached = false;
+            return DONE;
+        }
+
+        final char ch = charAt(idx - 1);
+
+        if (!SurrogateUtils.isSurrogate(ch)) {
+            pos = idx - 1;
+            unattached = false;
+            return ch;
+        }
+
+        if (idx - 2 >= from) {
+            final char high = charAt(idx - 2);
+
+            if (SurrogatePairUtils.isSurrogatePair(high, ch)) {
+                pos = idx - 2;
+                unattached = false;
+                return Character.toCodePoint(high, ch);
+            }
+        }
+
+        pos = idx - 1;
+        unattached = true;
+        return ch;
+    }
+
+    /**
+     * This method checks whether the code point last returned by {@link #next()} or {@link #previous()} is an
+     * unattached surrogate.
+     *
+     * @return <code>true</code> if the last returned code point is an unattached surrogate or <code>false</code> if
+     *         it is not, if it is {@link #DONE} or if no code point is returned since the last reset or seek
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean isUnattached() {
+        return unattached;
+    }
+
+    /**
+     * This method returns the position of this cursor, the index of the char after it in the source char sequence or
+     * char array, so the positions of a range of a char array start from the range offset.
+     *
+     * @return Position, from the range begin index to the range end index, inclusive
+     *
+     * @since Added in 0.0.2
+     */
+    public int position() {
+        return pos;
+    }
+
+    /**
+     * This method moves this cursor to a position, the index of a char in the source char sequence or char array.
+     * A position between the chars of a surrogate pair splits the pair, so its chars are then returned as unattached
+     * surrogates by {@link #next()} and {@link #previous()}.
+     *
+     * @param index Position, from the range begin index to the range end index, inclusive
+     *
+     * @return This cursor
+     *
+     * @throws IndexOutOfBoundsException If the position is out of the range
+     *
+     * @since Added in 0.0.2
+     */
+    public CodePointCursor seek(final int index) {
+        if (index < from || index > to) {
+            throw new IndexOutOfBoundsException(
+                    "Position " + index + " is out of range [" + from + ", " + to + "]");
+        }
+
+        pos = index;
+        unattached = false;
+
+        return this;
+    }
+
+    /**
+     * This method returns a char of the source.
+     *
+     * @param index Index in the source
+     *
+     * @return Char
+     */
+    private char charAt(final int index) {
+        return buf != null ? buf[index] : seq.charAt(index);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Detector of the strings stored in the Latin-1 coding, which cannot contain UTF-16 surrogates.
+ * This is the Java 8 version of the class, Java 8 strings are always stored as UTF-16 chars, so {@link #SUPPORTED}
+ * is always <code>false</code> and {@link #isLatin1(String)} never detects a string.
+ * The multi-release JAR contains a Java 9 version of the class, which reads the coder of the compact strings, but
+ * only if the JVM is started with the <code>--add-opens java.base/java.lang=ALL-UNNAMED</code> option.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class CompactStrings {
+
+    /**
+     * Whether the coder of strings can be read on the JVM.
+     *
+     * @since Added in 0.0.2
+     */
+    static final boolean SUPPORTED;
+
+    // The field is assigned in the static block instead of the declaration, otherwise the compiler would inline it to
+    // the callers as a constant, and the Java 9 version of the class would never be asked.
+
+    static {
+        SUPPORTED = false;
+    }
+
+    /**
+     * This method can be used to check whether a string is stored in the Latin-1 coding.
+     *
+     * @param str String
+     *
+     * @return Always <code>false</code>, since Java 8 strings are not compact
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean isLatin1(final String str) {
+        return false;
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private CompactStrings() {}
+
+}
@@ -0,0 +1,180 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fork-join scanner of char sequences, used by the <code>parallelContains*</code> methods of
+ * {@link CharSequenceUtils}.
+ * A char sequence is split in halves down to segments, and each segment is checked by the range scans of
+ * {@link CharSequenceUtils} - the same way as the sequential methods split a char sequence in two halves, but with
+ * N segments.
+ * The segments are not reported to the scan listener, the <code>parallelContains*</code> methods report the whole
+ * char sequence once.
+ * As soon as a segment hits, the segments that are not started yet are cancelled.
+ * A surrogate pair split by a segment boundary belongs to the segment of its high surrogate, so the previous segment
+ * is extended by one char and the next segment is shortened by one char.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class ParallelScanner {
+
+    /**
+     * Segment hits if it contains surrogates.
+     */
+    static final int SURROGATES = 0;
+
+    /**
+     * Segment hits if it contains unattached surrogates.
+     */
+    static final int UNATTACHED_SURROGATES = 1;
+
+    /**
+     * Segment hits if it contains chars that are not parts of surrogate pairs.
+     */
+    static final int NON_PAIRED_CHARS = 2;
+
+    /**
+     * Minimal segment length, shorter segments cost more to schedule than to check.
+     */
+    private static final int MIN_SEGMENT_LENGTH = 1 << 13;
+
+    /**
+     * Count of segments per pool thread, more segments than threads balance the load if the threads are busy.
+     */
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    /**
+     * This method returns the segment length for a char sequence.
+     *
+     * @param pool Fork-join pool
+     * @param length Char sequence length
+     *
+     * @return Segment length
+     *
+     * @since Added in 0.0.2
+     */
+    static int segmentLength(final ForkJoinPool pool, final int length) {
+        final int segments = pool.getParallelism() * SEGMENTS_PER_THREAD;
+        return Math.max(MIN_SEGMENT_LENGTH, length / segments);
+    }
+
+    /**
+     * This method checks whether any segment of a char sequence hits.
+     * Since the segments are checked concurrently, the index is not always the first hit in the char sequence.
+     *
+     * @param pool Fork-join pool
+     * @param seq Char sequence
+     * @param kind Kind of the check, one of {@link #SURROGATES}, {@link #UNATTACHED_SURROGATES} or
+     *             {@link #NON_PAIRED_CHARS}
+     * @param segmentLength Segment length
+     *
+     * @return Index of the char where a segment hits or <code>-1</code> if no segment hits
+     *
+     * @since Added in 0.0.2
+     */
+    static int find(final ForkJoinPool pool, final CharSequence seq, final int kind, final int segmentLength) {
+        final AtomicInteger found = new AtomicInteger(-1);
+        pool.invoke(new SegmentTask(seq, kind, segmentLength, found, 0, seq.length()));
+
+        return found.get();
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private ParallelScanner() {}
+
+    /**
+     * Fork-join task that checks a range of a char sequence, splitting it in halves down to segments.
+     *
+     * @since Added in 0.0.2
+     */
+    private static final class SegmentTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient CharSequence seq;
+
+        private final int kind;
+
+        private final int segmentLength;
+
+        private final AtomicInteger found;
+
+        private final int from;
+
+        private final int to;
+
+        private SegmentTask(final CharSequence seq, final int kind, final int segmentLength,
+                            final AtomicInteger found, final int from, final int to) {
+            this.seq = seq;
+            this.kind = kind;
+            this.segmentLength = segmentLength;
+            this.found = found;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get() >= 0) {
+                return;
+            }
+
+            if (to - from > segmentLength) {
+                final int mid = (from + to) >>> 1;
+
+                invokeAll(new SegmentTask(seq, kind, segmentLength, found, from, mid),
+                        new SegmentTask(seq, kind, segmentLength, found, mid, to));
+            } else {
+                final int exit = hits();
+
+                if (exit >= 0) {
+                    found.compareAndSet(-1, exit);
+                }
+            }
+        }
+
+        /**
+         * This method checks the segment, moving its bounds so that a surrogate pair split by a bound belongs to
+         * the segment of its high surrogate.
+         *
+         * @return Index of the char where the segment hits or <code>-1</code> if it does not
+         */
+        private int hits() {
+            if (kind == SURROGATES) {
+                return CharSequenceUtils.scanSurrogates(seq, from, to);
+            }
+
+            int beg = from;
+            int end = to;
+
+            if (beg > 0 && beg < end && SurrogatePairUtils.isSurrogatePair(seq.charAt(beg - 1), seq.charAt(beg))) {
+                beg++;
+            }
+
+            if (end < seq.length() && beg < end
+                    && SurrogatePairUtils.isSurrogatePair(seq.charAt(end - 1), seq.charAt(end))) {
+                end++;
+            }
+
+            if (beg >= end) {
+                return -1;
+            }
+
+            if (kind == UNATTACHED_SURROGATES) {
+                return CharSequenceUtils.scanUnattachedSurrogates(seq, beg, end);
+            } else {
+                return CharSequenceUtils.scanSurrogatePairsOnly(seq, beg, end);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe scan listener that counts the calls, the scanned chars, the hits and the early exits of each
+ * instrumented method.
+ * The scanned chars are the lengths of the scanned ranges. The <code>contains*</code> methods read fewer chars when
+ * they exit early, and how many fewer depends on where the exit char is, since the ranges are scanned from both ends
+ * - the count of early exits tells how often this happens.
+ * The <code>replace*</code> methods always read the whole range.
+ * The counters are {@link LongAdder} instances, so concurrent scans do not contend for a counter.
+ *
+ * @author Sergey Grigorov
+ *
+ * @see CharSequenceUtils#setScanListener(ScanListener)
+ *
+ * @since Added in 0.0.2
+ */
+public final class ScanCounters implements ScanListener {
+
+    private final LongAdder[] calls = newAdders();
+
+    private final LongAdder[] chars = newAdders();
+
+    private final LongAdder[] hits = newAdders();
+
+    private final LongAdder[] exits = newAdders();
+
+    @Override
+    public void onScan(final ScanMethod method, final int length, final boolean hit, final int position) {
+        final int idx = method.ordinal();
+
+        calls[idx].increment();
+        chars[idx].add(length);
+
+        if (hit) {
+            hits[idx].increment();
+        }
+
+        if (position >= 0 && method != ScanMethod.REPLACE_UNATTACHED_SURROGATES) {
+            exits[idx].increment();
+        }
+    }
+
+    /**
+     * This method returns the count of calls of a method.
+     *
+     * @param method Instrumented method
+     *
+     * @return Count of calls
+     *
+     * @since Added in 0.0.2
+     */
+    public long getCalls(final ScanMethod method) {
+        return calls[method.ordinal()].sum();
+    }
+
+    /**
+     * This method returns the count of chars in the ranges scanned by a method.
+     *
+     * @param method Instrumented method
+     *
+     * @return Count of scanned chars, including the chars not read after early exits
+     *
+     * @since Added in 0.0.2
+     */
+    public long getScannedChars(final ScanMethod method) {
+        return chars[method.ordinal()].sum();
+    }
+
+    /**
+     * This method returns the count of calls of a method that hit.
+     *
+     * @param method Instrumented method
+     *
+     * @return Count of calls with a hit
+     *
+     * @since Added in 0.0.2
+     */
+    public long getHits(final ScanMethod method) {
+        return hits[method.ordinal()].sum();
+    }
+
+    /**
+     * This method returns the count of calls of a method that exit early, before the whole range is read.
+     * A <code>contains*</code> method exits early on a hit, and a <code>contains*Only</code> method on a miss.
+     *
+     * @param method Instrumented method
+     *
+     * @return Count of calls with an early exit, always <code>0</code> for the <code>replace*</code> methods
+     *
+     * @since Added in 0.0.2
+     */
+    public long getEarlyExits(final ScanMethod method) {
+        return exits[method.ordinal()].sum();
+    }
+
+    /**
+     * This method resets all the counters to zero.
+     * The counts of the scans that run concurrently with a reset may be lost.
+     *
+     * @since Added in 0.0.2
+     */
+    public void reset() {
+        for (int i = 0; i < calls.length; i++) {
+            calls[i].reset();
+            chars[i].reset();
+            hits[i].reset();
+            exits[i].reset();
+        }
+    }
+
+    /**
+     * This method makes a counter for each instrumented method.
+     *
+     * @return Counters
+     */
+    private static LongAdder[] newAdders() {
+        final LongAdder[] res = new LongAdder[ScanMethod.values().length];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = new LongAdder();
+        }
+
+        return res;
+    }
+
+}
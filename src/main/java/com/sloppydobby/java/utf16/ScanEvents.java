@@ -0,0 +1,49 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * JDK Flight Recorder events of large scans of {@link CharSequenceUtils}.
+ * This is the Java 8 version of the class which does not support the Flight Recorder, so {@link #begin(int)} always
+ * returns <code>null</code> and the JIT compiler removes the calls.
+ * The multi-release JAR contains a Java 17 version of the class, which emits a
+ * <code>com.sloppydobby.java.utf16.SurrogateScan</code> event for each scan of at least 64K chars while the event is
+ * enabled in a recording.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class ScanEvents {
+
+    /**
+     * This method begins an event of a scan, if the scan is large enough and the event is enabled.
+     *
+     * @param length Length of the range to scan
+     *
+     * @return Always <code>null</code>, since events are not supported
+     *
+     * @since Added in 0.0.2
+     */
+    static Object begin(final int length) {
+        return null;
+    }
+
+    /**
+     * This method ends an event begun by {@link #begin(int)} and commits it.
+     *
+     * @param event Event
+     * @param method Scanning method
+     * @param length Length of the scanned range
+     * @param hit Answer of a <code>contains*</code> method or whether a <code>replace*</code> method repaired any
+     *
+     * @since Added in 0.0.2
+     */
+    static void commit(final Object event, final ScanMethod method, final int length, final boolean hit) {
+        // Events are not supported
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     */
+    private ScanEvents() {}
+
+}
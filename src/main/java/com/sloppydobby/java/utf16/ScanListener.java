@@ -0,0 +1,40 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Listener of the scans of the instrumented methods of {@link CharSequenceUtils} (see {@link ScanMethod}).
+ * A listener is set by {@link CharSequenceUtils#setScanListener(ScanListener)}, and until it is set the methods only
+ * read a <code>null</code> field, so the instrumentation costs nothing when it is off.
+ * A listener is called by the thread of the scan after the scan, so it must be thread-safe and fast, an exception of
+ * a listener is thrown to the caller of the scanning method.
+ *
+ * @author Sergey Grigorov
+ *
+ * @see ScanCounters
+ *
+ * @since Added in 0.0.2
+ */
+@FunctionalInterface
+public interface ScanListener {
+
+    /**
+     * This method is called after each scan of an instrumented method.
+     * The position is relative to the scanned range: for a <code>contains*</code> method it is the index of the char
+     * where the scan exits early, a hit of a <code>contains*</code> check (for example, a surrogate) or a miss of a
+     * <code>contains*Only</code> check (for example, a char that is not a surrogate), and for a
+     * <code>replace*</code> method it is the index of the first replaced surrogate.
+     * The methods scan ranges from both ends, so the char where a scan exits early is not always the first one of
+     * its kind in the range.
+     *
+     * @param method Instrumented method
+     * @param length Length of the scanned range
+     * @param hit Answer of a <code>contains*</code> method, or whether a <code>replace*</code> method replaced any
+     *            surrogate
+     * @param position Position in the range where the scan exits early or of the first replaced surrogate, or
+     *                 <code>-1</code> if the whole range is scanned without a hit or the answer is cached by a
+     *                 {@link Utf16Text}
+     *
+     * @since Added in 0.0.2
+     */
+    void onScan(ScanMethod method, int length, boolean hit, int position);
+
+}
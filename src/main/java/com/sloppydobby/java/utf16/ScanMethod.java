@@ -0,0 +1,86 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Instrumented methods of {@link CharSequenceUtils}, reported to a {@link ScanListener} and by the JDK Flight
+ * Recorder events of large scans.
+ * Each constant stands for the char sequence and char array methods of the same name, including the methods that
+ * check a whole char sequence by the range methods, and the <code>parallelContains*</code> methods of the same name,
+ * which are reported once per call.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public enum ScanMethod {
+
+    /**
+     * The <code>containsSurrogates</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_SURROGATES,
+
+    /**
+     * The <code>containsSurrogatesOnly</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_SURROGATES_ONLY,
+
+    /**
+     * The <code>containsHighSurrogates</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_HIGH_SURROGATES,
+
+    /**
+     * The <code>containsHighSurrogatesOnly</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_HIGH_SURROGATES_ONLY,
+
+    /**
+     * The <code>containsLowSurrogates</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_LOW_SURROGATES,
+
+    /**
+     * The <code>containsLowSurrogatesOnly</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_LOW_SURROGATES_ONLY,
+
+    /**
+     * The <code>containsSurrogatePairs</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_SURROGATE_PAIRS,
+
+    /**
+     * The <code>containsSurrogatePairsOnly</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_SURROGATE_PAIRS_ONLY,
+
+    /**
+     * The <code>containsUnattachedSurrogates</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    CONTAINS_UNATTACHED_SURROGATES,
+
+    /**
+     * The <code>replaceUnattachedSurrogates</code> and <code>sanitize</code> methods.
+     *
+     * @since Added in 0.0.2
+     */
+    REPLACE_UNATTACHED_SURROGATES
+
+}
@@ -0,0 +1,40 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Orders in which a {@link SurrogateScanner} reads the chars of a range looking for the first hit.
+ * All orders give the same answers, they only differ in the count of chars read before the first hit and in the
+ * direction of the memory reads.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public enum ScanOrder {
+
+    /**
+     * The order of the <code>contains*</code> methods of {@link CharSequenceUtils}: first from the beginning to the
+     * middle, then from the end back to the middle.
+     * Good for surrogates near the ends, but the second half is read backwards.
+     *
+     * @since Added in 0.0.2
+     */
+    ENDS_TO_MIDDLE,
+
+    /**
+     * From the beginning to the end.
+     * Good for surrogates near the beginning, for surrogates anywhere in the first half and for text without
+     * surrogates, since the memory is only read forwards.
+     *
+     * @since Added in 0.0.2
+     */
+    FORWARD,
+
+    /**
+     * Blocks taken in turn from the beginning and from the end, each block is read forwards.
+     * Good for surrogates near either end, without reading the memory backwards.
+     *
+     * @since Added in 0.0.2
+     */
+    INTERLEAVED
+
+}
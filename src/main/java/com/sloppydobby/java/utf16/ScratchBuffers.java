@@ -0,0 +1,116 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of scratch char arrays of {@link #LENGTH} chars, which the chars of char sequences are copied to in bulk.
+ * An array is borrowed from a slot by a compare-and-set and returned the same way, so the pool takes no locks and no
+ * thread locals: a thread never waits for an array, a virtual thread is never pinned to its carrier, and the count of
+ * arrays does not grow with the count of virtual threads the way thread-local arrays would.
+ * If the probed slots are empty a new array is made, and a returned array is dropped if the probed slots are full,
+ * so the pool never holds more than a few arrays per processor.
+ * The slots are spread over separate cache lines, so the threads that borrow from different slots do not contend.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class ScratchBuffers {
+
+    /**
+     * Length of a scratch array, in chars.
+     *
+     * @since Added in 0.0.2
+     */
+    static final int LENGTH = 2048;
+
+    /**
+     * Distance between the slots, so that each slot has its own 64-byte cache line with compressed references
+     * (16 references of 4 bytes), and its own pair of cache lines, which the adjacent line prefetcher fetches
+     * together, with uncompressed references (16 references of 8 bytes).
+     */
+    private static final int STRIDE = 16;
+
+    /**
+     * Count of slots a thread probes before it makes or drops an array.
+     */
+    private static final int PROBES = 4;
+
+    private static final int SLOTS = slots();
+
+    private static final AtomicReferenceArray<char[]> POOL = new AtomicReferenceArray<>(SLOTS * STRIDE);
+
+    /**
+     * This method borrows a scratch array, the array must be returned by {@link #release(char[])}.
+     *
+     * @return Scratch array of {@link #LENGTH} chars
+     *
+     * @since Added in 0.0.2
+     */
+    static char[] acquire() {
+        final int start = start();
+
+        char[] buf;
+        int idx;
+
+        for (int i = 0; i < PROBES; i++) {
+            idx = (start + i & SLOTS - 1) * STRIDE;
+            buf = POOL.get(idx);
+
+            if (buf != null && POOL.compareAndSet(idx, buf, null)) {
+                return buf;
+            }
+        }
+
+        return new char[LENGTH];
+    }
+
+    /**
+     * This method returns a borrowed scratch array to the pool.
+     *
+     * @param buf Scratch array
+     *
+     * @since Added in 0.0.2
+     */
+    static void release(final char[] buf) {
+        final int start = start();
+
+        int idx;
+
+        for (int i = 0; i < PROBES; i++) {
+            idx = (start + i & SLOTS - 1) * STRIDE;
+
+            if (POOL.get(idx) == null && POOL.compareAndSet(idx, null, buf)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method returns the first slot a thread probes, different threads start from different slots.
+     *
+     * @return Slot index, not masked
+     */
+    private static int start() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ id >>> 32);
+    }
+
+    /**
+     * This method returns the count of slots, a power of two not less than twice the count of processors.
+     *
+     * @return Count of slots
+     */
+    private static int slots() {
+        final int processors = Math.min(Runtime.getRuntime().availableProcessors(), 1 << 10);
+        return Integer.highestOneBit(2 * processors - 1) << 1;
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private ScratchBuffers() {}
+
+}
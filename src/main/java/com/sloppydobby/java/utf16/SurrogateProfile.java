@@ -0,0 +1,635 @@
+package com.sloppydobby.java.utf16;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Immutable profile of UTF-16 surrogates in a char sequence, made by a single pass over the chars.
+ * A profile contains counts of high, low, paired and unattached surrogates, the indexes of the first and last
+ * surrogate of each kind and the code point count, so every <code>contains*</code> question of
+ * {@link CharSequenceUtils} can be answered by a profile without another pass over the chars.
+ * The indexes are indexes of a char sequence (or char array), not of the profiled range, and are <code>-1</code> if
+ * there is no surrogate of the kind. The indexes of a profile of a byte buffer are counted from its position (see
+ * {@link Utf16BufferUtils#profileSurrogates(java.nio.ByteBuffer, java.nio.ByteOrder)}).
+ * The index of a surrogate pair is the index of its high surrogate.
+ *
+ * @author Sergey Grigorov
+ *
+ * @see CharSequenceUtils#profileSurrogates(CharSequence)
+ *
+ * @since Added in 0.0.2
+ */
+public final class SurrogateProfile {
+
+    /**
+     * Profile of an empty char sequence.
+     */
+    static final SurrogateProfile EMPTY = new SurrogateProfile(new Accumulator(0));
+
+    private final int length;
+
+    private final int highSurrogateCount;
+    private final int lowSurrogateCount;
+    private final int surrogatePairCount;
+    private final int unattachedSurrogateCount;
+
+    private final int firstHighSurrogateIndex;
+    private final int lastHighSurrogateIndex;
+    private final int firstLowSurrogateIndex;
+    private final int lastLowSurrogateIndex;
+    private final int firstSurrogatePairIndex;
+    private final int lastSurrogatePairIndex;
+    private final int firstUnattachedSurrogateIndex;
+    private final int lastUnattachedSurrogateIndex;
+
+    /**
+     * This method makes a profile of a range of a char sequence.
+     * The range must be checked by the caller.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return Surrogates profile of the range
+     *
+     * @since Added in 0.0.2
+     */
+    static SurrogateProfile of(final CharSequence seq, final int from, final int to) {
+        final Accumulator acc = new Accumulator(to - from);
+
+        char high;
+        char low;
+
+        int i = from;
+
+        while (i < to) {
+            high = seq.charAt(i);
+
+            if (SurrogateUtils.isHighSurrogate(high)) {
+                if (i + 1 < to) {
+                    low = seq.charAt(i + 1);
+
+                    if (SurrogateUtils.isLowSurrogate(low)) {
+                        acc.pair(i);
+                        i += 2;
+                        continue;
+                    }
+                }
+
+                acc.high(i, false);
+            } else if (SurrogateUtils.isLowSurrogate(high)) {
+                acc.low(i, false);
+            }
+
+            i++;
+        }
+
+        return new SurrogateProfile(acc);
+    }
+
+    /**
+     * This method makes a profile of a range of a char array.
+     * The range must be checked by the caller.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Surrogates profile of the range
+     *
+     * @since Added in 0.0.2
+     */
+    static SurrogateProfile of(final char[] buf, final int off, final int len) {
+        final Accumulator acc = new Accumulator(len);
+        final int end = off + len;
+
+        char high;
+        char low;
+
+        int i = off;
+
+        while (i < end) {
+            high = buf[i];
+
+            if (SurrogateUtils.isHighSurrogate(high)) {
+                if (i + 1 < end) {
+                    low = buf[i + 1];
+
+                    if (SurrogateUtils.isLowSurrogate(low)) {
+                        acc.pair(i);
+                        i += 2;
+                        continue;
+                    }
+                }
+
+                acc.high(i, false);
+            } else if (SurrogateUtils.isLowSurrogate(high)) {
+                acc.low(i, false);
+            }
+
+            i++;
+        }
+
+        return new SurrogateProfile(acc);
+    }
+
+    /**
+     * This method makes a profile of the chars of a range of a byte buffer.
+     * The range must be checked by the caller.
+     * Words of four chars without surrogates are skipped at once (see {@link SurrogateWordUtils}).
+     * The indexes of the profile are indexes of chars counted from the range begin.
+     *
+     * @param buf Byte buffer
+     * @param off Range offset in bytes
+     * @param len Range length in chars
+     * @param swap Whether the byte order of the text differs from the byte order of the byte buffer
+     *
+     * @return Surrogates profile of the range
+     *
+     * @since Added in 0.0.2
+     */
+    static SurrogateProfile of(final ByteBuffer buf, final int off, final int len, final boolean swap) {
+        final Accumulator acc = new Accumulator(len);
+        final int wordEnd = len - 3;
+
+        char high;
+        char low;
+
+        int i = 0;
+
+        while (i < len) {
+            if (i < wordEnd && !SurrogateWordUtils.hasSurrogate(Utf16BufferUtils.wordAt(buf, off + (i << 1), swap))) {
+                i += 4;
+                continue;
+            }
+
+            high = Utf16BufferUtils.charAt(buf, off + (i << 1), swap);
+
+            if (SurrogateUtils.isHighSurrogate(high)) {
+                if (i + 1 < len) {
+                    low = Utf16BufferUtils.charAt(buf, off + (i << 1) + 2, swap);
+
+                    if (SurrogateUtils.isLowSurrogate(low)) {
+                        acc.pair(i);
+                        i += 2;
+                        continue;
+                    }
+                }
+
+                acc.high(i, false);
+            } else if (SurrogateUtils.isLowSurrogate(high)) {
+                acc.low(i, false);
+            }
+
+            i++;
+        }
+
+        return new SurrogateProfile(acc);
+    }
+
+    /**
+     * Private constructor, use {@link CharSequenceUtils#profileSurrogates(CharSequence)} to make a profile.
+     *
+     * @param acc Accumulated profile values
+     *
+     * @since Added in 0.0.2
+     */
+    private SurrogateProfile(final Accumulator acc) {
+        this.length = acc.length;
+
+        this.highSurrogateCount = acc.highSurrogateCount;
+        this.lowSurrogateCount = acc.lowSurrogateCount;
+        this.surrogatePairCount = acc.surrogatePairCount;
+        this.unattachedSurrogateCount = acc.unattachedSurrogateCount;
+
+        this.firstHighSurrogateIndex = acc.firstHighSurrogateIndex;
+        this.lastHighSurrogateIndex = acc.lastHighSurrogateIndex;
+        this.firstLowSurrogateIndex = acc.firstLowSurrogateIndex;
+        this.lastLowSurrogateIndex = acc.lastLowSurrogateIndex;
+        this.firstSurrogatePairIndex = acc.firstSurrogatePairIndex;
+        this.lastSurrogatePairIndex = acc.lastSurrogatePairIndex;
+        this.firstUnattachedSurrogateIndex = acc.firstUnattachedSurrogateIndex;
+        this.lastUnattachedSurrogateIndex = acc.lastUnattachedSurrogateIndex;
+    }
+
+    /**
+     * This method returns the length of the profiled char sequence (or range).
+     *
+     * @return Length in chars
+     *
+     * @since Added in 0.0.2
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * This method returns the count of code points in the profiled char sequence (or range).
+     * A surrogate pair is counted as one code point, an unattached surrogate is counted as one code point, the same
+     * way as {@link Character#codePointCount(CharSequence, int, int)} does.
+     *
+     * @return Count of code points
+     *
+     * @since Added in 0.0.2
+     */
+    public int getCodePointCount() {
+        return length - surrogatePairCount;
+    }
+
+    /**
+     * This method returns the count of all surrogates, both paired and unattached.
+     *
+     * @return Count of surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getSurrogateCount() {
+        return highSurrogateCount + lowSurrogateCount;
+    }
+
+    /**
+     * This method returns the count of high surrogates, both paired and unattached.
+     *
+     * @return Count of high surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getHighSurrogateCount() {
+        return highSurrogateCount;
+    }
+
+    /**
+     * This method returns the count of low surrogates, both paired and unattached.
+     *
+     * @return Count of low surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getLowSurrogateCount() {
+        return lowSurrogateCount;
+    }
+
+    /**
+     * This method returns the count of surrogate pairs.
+     *
+     * @return Count of surrogate pairs
+     *
+     * @since Added in 0.0.2
+     */
+    public int getSurrogatePairCount() {
+        return surrogatePairCount;
+    }
+
+    /**
+     * This method returns the count of unattached surrogates, both high and low.
+     *
+     * @return Count of unattached surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getUnattachedSurrogateCount() {
+        return unattachedSurrogateCount;
+    }
+
+    /**
+     * This method returns the index of the first high surrogate, paired or unattached.
+     *
+     * @return Index of the first high surrogate or <code>-1</code> if there are no high surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getFirstHighSurrogateIndex() {
+        return firstHighSurrogateIndex;
+    }
+
+    /**
+     * This method returns the index of the last high surrogate, paired or unattached.
+     *
+     * @return Index of the last high surrogate or <code>-1</code> if there are no high surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getLastHighSurrogateIndex() {
+        return lastHighSurrogateIndex;
+    }
+
+    /**
+     * This method returns the index of the first low surrogate, paired or unattached.
+     *
+     * @return Index of the first low surrogate or <code>-1</code> if there are no low surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getFirstLowSurrogateIndex() {
+        return firstLowSurrogateIndex;
+    }
+
+    /**
+     * This method returns the index of the last low surrogate, paired or unattached.
+     *
+     * @return Index of the last low surrogate or <code>-1</code> if there are no low surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getLastLowSurrogateIndex() {
+        return lastLowSurrogateIndex;
+    }
+
+    /**
+     * This method returns the index of the first surrogate pair (the index of its high surrogate).
+     *
+     * @return Index of the first surrogate pair or <code>-1</code> if there are no surrogate pairs
+     *
+     * @since Added in 0.0.2
+     */
+    public int getFirstSurrogatePairIndex() {
+        return firstSurrogatePairIndex;
+    }
+
+    /**
+     * This method returns the index of the last surrogate pair (the index of its high surrogate).
+     *
+     * @return Index of the last surrogate pair or <code>-1</code> if there are no surrogate pairs
+     *
+     * @since Added in 0.0.2
+     */
+    public int getLastSurrogatePairIndex() {
+        return lastSurrogatePairIndex;
+    }
+
+    /**
+     * This method returns the index of the first unattached surrogate, high or low.
+     *
+     * @return Index of the first unattached surrogate or <code>-1</code> if there are no unattached surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getFirstUnattachedSurrogateIndex() {
+        return firstUnattachedSurrogateIndex;
+    }
+
+    /**
+     * This method returns the index of the last unattached surrogate, high or low.
+     *
+     * @return Index of the last unattached surrogate or <code>-1</code> if there are no unattached surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public int getLastUnattachedSurrogateIndex() {
+        return lastUnattachedSurrogateIndex;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsSurrogates(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogates() {
+        return highSurrogateCount + lowSurrogateCount > 0;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsSurrogatesOnly(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatesOnly() {
+        return length > 0 && highSurrogateCount + lowSurrogateCount == length;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsHighSurrogates(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogates() {
+        return highSurrogateCount > 0;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsHighSurrogatesOnly(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogatesOnly() {
+        return length > 0 && highSurrogateCount == length;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsLowSurrogates(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogates() {
+        return lowSurrogateCount > 0;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsLowSurrogatesOnly(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogatesOnly() {
+        return length > 0 && lowSurrogateCount == length;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsSurrogatePairs(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairs() {
+        return surrogatePairCount > 0;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsSurrogatePairsOnly(CharSequence)} for the
+     * profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairsOnly() {
+        return length > 0 && surrogatePairCount * 2 == length;
+    }
+
+    /**
+     * This method gives the same answer as {@link CharSequenceUtils#containsUnattachedSurrogates(CharSequence)} for
+     * the profiled char sequence.
+     *
+     * @return <code>true</code> if a char sequence contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsUnattachedSurrogates() {
+        return unattachedSurrogateCount > 0;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof SurrogateProfile)) {
+            return false;
+        }
+
+        final SurrogateProfile other = (SurrogateProfile) obj;
+
+        return length == other.length
+                && highSurrogateCount == other.highSurrogateCount
+                && lowSurrogateCount == other.lowSurrogateCount
+                && surrogatePairCount == other.surrogatePairCount
+                && unattachedSurrogateCount == other.unattachedSurrogateCount
+                && firstHighSurrogateIndex == other.firstHighSurrogateIndex
+                && lastHighSurrogateIndex == other.lastHighSurrogateIndex
+                && firstLowSurrogateIndex == other.firstLowSurrogateIndex
+                && lastLowSurrogateIndex == other.lastLowSurrogateIndex
+                && firstSurrogatePairIndex == other.firstSurrogatePairIndex
+                && lastSurrogatePairIndex == other.lastSurrogatePairIndex
+                && firstUnattachedSurrogateIndex == other.firstUnattachedSurrogateIndex
+                && lastUnattachedSurrogateIndex == other.lastUnattachedSurrogateIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        int res = length;
+
+        res = 31 * res + highSurrogateCount;
+        res = 31 * res + lowSurrogateCount;
+        res = 31 * res + surrogatePairCount;
+        res = 31 * res + unattachedSurrogateCount;
+        res = 31 * res + firstHighSurrogateIndex;
+        res = 31 * res + lastHighSurrogateIndex;
+        res = 31 * res + firstLowSurrogateIndex;
+        res = 31 * res + lastLowSurrogateIndex;
+        res = 31 * res + firstSurrogatePairIndex;
+        res = 31 * res + lastSurrogatePairIndex;
+        res = 31 * res + firstUnattachedSurrogateIndex;
+        res = 31 * res + lastUnattachedSurrogateIndex;
+
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return "SurrogateProfile{"
+                + "length=" + length
+                + ", highSurrogateCount=" + highSurrogateCount
+                + ", lowSurrogateCount=" + lowSurrogateCount
+                + ", surrogatePairCount=" + surrogatePairCount
+                + ", unattachedSurrogateCount=" + unattachedSurrogateCount
+                + ", firstHighSurrogateIndex=" + firstHighSurrogateIndex
+                + ", lastHighSurrogateIndex=" + lastHighSurrogateIndex
+                + ", firstLowSurrogateIndex=" + firstLowSurrogateIndex
+                + ", lastLowSurrogateIndex=" + lastLowSurrogateIndex
+                + ", firstSurrogatePairIndex=" + firstSurrogatePairIndex
+                + ", lastSurrogatePairIndex=" + lastSurrogatePairIndex
+                + ", firstUnattachedSurrogateIndex=" + firstUnattachedSurrogateIndex
+                + ", lastUnattachedSurrogateIndex=" + lastUnattachedSurrogateIndex
+                + '}';
+    }
+
+    /**
+     * Mutable profile values, accumulated during a pass over the chars.
+     *
+     * @since Added in 0.0.2
+     */
+    private static final class Accumulator {
+
+        private final int length;
+
+        private int highSurrogateCount;
+        private int lowSurrogateCount;
+        private int surrogatePairCount;
+        private int unattachedSurrogateCount;
+
+        private int firstHighSurrogateIndex = -1;
+        private int lastHighSurrogateIndex = -1;
+        private int firstLowSurrogateIndex = -1;
+        private int lastLowSurrogateIndex = -1;
+        private int firstSurrogatePairIndex = -1;
+        private int lastSurrogatePairIndex = -1;
+        private int firstUnattachedSurrogateIndex = -1;
+        private int lastUnattachedSurrogateIndex = -1;
+
+        private Accumulator(final int length) {
+            this.length = length;
+        }
+
+        private void high(final int idx, final boolean paired) {
+            highSurrogateCount++;
+
+            if (firstHighSurrogateIndex < 0) {
+                firstHighSurrogateIndex = idx;
+            }
+
+            lastHighSurrogateIndex = idx;
+
+            if (!paired) {
+                unattached(idx);
+            }
+        }
+
+        private void low(final int idx, final boolean paired) {
+            lowSurrogateCount++;
+
+            if (firstLowSurrogateIndex < 0) {
+                firstLowSurrogateIndex = idx;
+            }
+
+            lastLowSurrogateIndex = idx;
+
+            if (!paired) {
+                unattached(idx);
+            }
+        }
+
+        private void pair(final int idx) {
+            high(idx, true);
+            low(idx + 1, true);
+
+            surrogatePairCount++;
+
+            if (firstSurrogatePairIndex < 0) {
+                firstSurrogatePairIndex = idx;
+            }
+
+            lastSurrogatePairIndex = idx;
+        }
+
+        private void unattached(final int idx) {
+            unattachedSurrogateCount++;
+
+            if (firstUnattachedSurrogateIndex < 0) {
+                firstUnattachedSurrogateIndex = idx;
+            }
+
+            lastUnattachedSurrogateIndex = idx;
+        }
+
+    }
+
+}
@@ -0,0 +1,971 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scanner that checks char sequences for UTF-16 surrogates in a chosen {@link ScanOrder}.
+ * The <code>contains*</code> methods of {@link CharSequenceUtils} always read a range from the beginning to the
+ * middle and then from the end back to the middle, a scanner lets a caller pick the order that suits its text.
+ * A scanner of {@link ScanOrder#ENDS_TO_MIDDLE} simply calls the methods of {@link CharSequenceUtils}.
+ *
+ * An adaptive scanner (see {@link #adaptive()}) starts with {@link ScanOrder#ENDS_TO_MIDDLE} and learns the order
+ * from its own calls: about one call in {@value #SAMPLE_RATE} is sampled, the sample looks for the hits nearest to
+ * the beginning and to the end, and the count of chars that each order would read before a hit is summed.
+ * Each {@value #WINDOW} samples the scanner switches to the order of the least sum, with ties resolved in favour of
+ * the orders that read the memory only forwards, and halves the sums, so the order follows the changes of the text.
+ * A range without hits costs all the orders the same, so text without surrogates ends up with
+ * {@link ScanOrder#FORWARD}.
+ * An adaptive scanner is meant to be kept per call site or per workload, for example, in a static field.
+ *
+ * All scanners are thread-safe.
+ * The statistics of an adaptive scanner are updated without locks, concurrent updates may be lost, which only
+ * delays the learning.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class SurrogateScanner {
+
+    /**
+     * Length of a block of {@link ScanOrder#INTERLEAVED}, in chars.
+     */
+    private static final int BLOCK = 64;
+
+    /**
+     * An adaptive scanner samples one call in this count on average.
+     */
+    private static final int SAMPLE_RATE = 32;
+
+    /**
+     * Ranges shorter than this length are not sampled, all the orders read them at about the same cost.
+     */
+    private static final int MIN_SAMPLE_LENGTH = 2 * BLOCK;
+
+    /**
+     * Count of samples after which an adaptive scanner chooses its order again.
+     */
+    private static final int WINDOW = 16;
+
+    // Kinds of the checks, the odd kinds are the violations of the "only" checks.
+
+    private static final int SURROGATE = 0;
+    private static final int NON_SURROGATE = 1;
+    private static final int HIGH_SURROGATE = 2;
+    private static final int NON_HIGH_SURROGATE = 3;
+    private static final int LOW_SURROGATE = 4;
+    private static final int NON_LOW_SURROGATE = 5;
+    private static final int SURROGATE_PAIR = 6;
+    private static final int NON_SURROGATE_PAIR = 7;
+    private static final int UNATTACHED_SURROGATE = 8;
+
+    private static final SurrogateScanner[] SCANNERS = {
+            new SurrogateScanner(ScanOrder.ENDS_TO_MIDDLE, false),
+            new SurrogateScanner(ScanOrder.FORWARD, false),
+            new SurrogateScanner(ScanOrder.INTERLEAVED, false)
+    };
+
+    private final boolean adaptive;
+
+    /**
+     * Current order, changed only by an adaptive scanner.
+     */
+    private volatile ScanOrder order;
+
+    /**
+     * Sums of the chars each order would read before a hit, indexed by the order ordinal, <code>null</code> if the
+     * scanner is not adaptive.
+     */
+    private final AtomicLongArray costs;
+
+    /**
+     * Count of samples, <code>null</code> if the scanner is not adaptive.
+     */
+    private final AtomicInteger samples;
+
+    /**
+     * This method returns a scanner of a fixed order, the scanners are shared.
+     *
+     * @param order Scan order
+     *
+     * @return Scanner of the order
+     *
+     * @since Added in 0.0.2
+     */
+    public static SurrogateScanner of(final ScanOrder order) {
+        if (order == null) {
+            throw new NullPointerException("Order is null");
+        }
+
+        return SCANNERS[order.ordinal()];
+    }
+
+    /**
+     * This method makes a new adaptive scanner, starting with {@link ScanOrder#ENDS_TO_MIDDLE}.
+     *
+     * @return Adaptive scanner
+     *
+     * @since Added in 0.0.2
+     */
+    public static SurrogateScanner adaptive() {
+        return new SurrogateScanner(ScanOrder.ENDS_TO_MIDDLE, true);
+    }
+
+    /**
+     * Private constructor, use the static factory methods to get a scanner.
+     *
+     * @param order Initial scan order
+     * @param adaptive Whether the scanner learns its order
+     */
+    private SurrogateScanner(final ScanOrder order, final boolean adaptive) {
+        this.order = order;
+        this.adaptive = adaptive;
+        this.costs = adaptive ? new AtomicLongArray(ScanOrder.values().length) : null;
+        this.samples = adaptive ? new AtomicInteger() : null;
+    }
+
+    /**
+     * This method returns the current order of this scanner.
+     *
+     * @return Scan order
+     *
+     * @since Added in 0.0.2
+     */
+    public ScanOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * This method checks whether this scanner learns its order.
+     *
+     * @return <code>true</code> if this scanner is adaptive or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * This method checks whether a char sequence contains UTF-16 surrogates.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsSurrogates();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), SURROGATE);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains UTF-16 surrogates.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsSurrogates(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, SURROGATE);
+    }
+
+    /**
+     * This method checks whether a char sequence contains only UTF-16 surrogates.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogatesOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatesOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsSurrogatesOnly();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), NON_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains only UTF-16 surrogates.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsSurrogatesOnly(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, NON_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a char sequence contains UTF-16 high surrogates.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsHighSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsHighSurrogates();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), HIGH_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains UTF-16 high surrogates.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsHighSurrogates(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, HIGH_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a char sequence contains only UTF-16 high surrogates.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsHighSurrogatesOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogatesOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsHighSurrogatesOnly();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), NON_HIGH_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains only UTF-16 high surrogates.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsHighSurrogatesOnly(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, NON_HIGH_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a char sequence contains UTF-16 low surrogates.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsLowSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsLowSurrogates();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), LOW_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains UTF-16 low surrogates.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsLowSurrogates(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, LOW_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a char sequence contains only UTF-16 low surrogates.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsLowSurrogatesOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogatesOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsLowSurrogatesOnly();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), NON_LOW_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains only UTF-16 low surrogates.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsLowSurrogatesOnly(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogatesOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, NON_LOW_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a char sequence contains UTF-16 surrogate pairs.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogatePairs(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairs(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsSurrogatePairs();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), SURROGATE_PAIR);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains UTF-16 surrogate pairs.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsSurrogatePairs(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairs(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, SURROGATE_PAIR);
+    }
+
+    /**
+     * This method checks whether a char sequence contains only UTF-16 surrogate pairs.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogatePairsOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairsOnly(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsSurrogatePairsOnly();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), NON_SURROGATE_PAIR);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains only UTF-16 surrogate pairs.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsSurrogatePairsOnly(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairsOnly(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, NON_SURROGATE_PAIR);
+    }
+
+    /**
+     * This method checks whether a char sequence contains unattached UTF-16 surrogates.
+     * The chars are read in the order of this scanner.
+     * A {@link Utf16Text} is answered by its cached flags without a pass over the chars.
+     *
+     * @param seq Char sequence
+     *
+     * @return <code>true</code> if a char sequence contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsUnattachedSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsUnattachedSurrogates(final CharSequence seq) {
+        if (seq instanceof Utf16Text) {
+            return ((Utf16Text) seq).containsUnattachedSurrogates();
+        }
+
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, 0, seq.length(), UNATTACHED_SURROGATE);
+    }
+
+    /**
+     * This method checks whether a range of a char sequence contains unattached UTF-16 surrogates.
+     * The chars are read in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if a range contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     *
+     * @see CharSequenceUtils#containsUnattachedSurrogates(CharSequence, int, int)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsUnattachedSurrogates(final CharSequence seq, final int from, final int to) {
+        if (seq == null) {
+            return false;
+        }
+
+        return contains(seq, from, to, UNATTACHED_SURROGATE);
+    }
+
+    /**
+     * This method checks a range in the order of this scanner.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param kind Kind of the check
+     *
+     * @return Answer of the check
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     */
+    private boolean contains(final CharSequence seq, final int from, final int to, final int kind) {
+        checkRange(seq.length(), from, to);
+
+        // A Latin-1 string cannot contain surrogates, so no "contains" or "only" check holds for it.
+
+        if (seq instanceof String && CompactStrings.isLatin1((String) seq)) {
+            return false;
+        }
+
+        final int idx;
+
+        if (adaptive && to - from >= MIN_SAMPLE_LENGTH && ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+            idx = sample(seq, from, to, kind);
+        } else {
+            switch (order) {
+                case FORWARD:
+                    idx = indexOf(seq, from, to, kind, from, to);
+                    break;
+
+                case INTERLEAVED:
+                    idx = indexOfInterleaved(seq, from, to, kind);
+                    break;
+
+                default:
+                    return containsEndsToMiddle(seq, from, to, kind);
+            }
+        }
+
+        // An "only" check holds for a non-empty range without violations.
+
+        return (kind & 1) != 0 ? to > from && idx < 0 : idx >= 0;
+    }
+
+    /**
+     * This method checks a range by the methods of {@link CharSequenceUtils}.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param kind Kind of the check
+     *
+     * @return Answer of the check
+     */
+    private static boolean containsEndsToMiddle(final CharSequence seq, final int from, final int to,
+                                                final int kind) {
+        switch (kind) {
+            case SURROGATE:
+                return CharSequenceUtils.containsSurrogates(seq, from, to);
+
+            case NON_SURROGATE:
+                return CharSequenceUtils.containsSurrogatesOnly(seq, from, to);
+
+            case HIGH_SURROGATE:
+                return CharSequenceUtils.containsHighSurrogates(seq, from, to);
+
+            case NON_HIGH_SURROGATE:
+                return CharSequenceUtils.containsHighSurrogatesOnly(seq, from, to);
+
+            case LOW_SURROGATE:
+                return CharSequenceUtils.containsLowSurrogates(seq, from, to);
+
+            case NON_LOW_SURROGATE:
+                return CharSequenceUtils.containsLowSurrogatesOnly(seq, from, to);
+
+            case SURROGATE_PAIR:
+                return CharSequenceUtils.containsSurrogatePairs(seq, from, to);
+
+            case NON_SURROGATE_PAIR:
+                return CharSequenceUtils.containsSurrogatePairsOnly(seq, from, to);
+
+            case UNATTACHED_SURROGATE:
+                return CharSequenceUtils.containsUnattachedSurrogates(seq, from, to);
+            default:
+                throw new IllegalStateException("Unknown kind " + kind);
+        }
+    }
+
+    /**
+     * This method finds a hit in a range by blocks taken in turn from the beginning and from the end.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param kind Kind of the check
+     *
+     * @return Index of a hit or <code>-1</code>
+     */
+    private static int indexOfInterleaved(final CharSequence seq, final int from, final int to, final int kind) {
+        int front = from;
+        int back = to;
+        int res;
+
+        while (front < back) {
+            final int frontEnd = Math.min(front + BLOCK, back);
+
+            res = indexOf(seq, from, to, kind, front, frontEnd);
+
+            if (res >= 0) {
+                return res;
+            }
+
+            front = frontEnd;
+
+            final int backBegin = Math.max(back - BLOCK, front);
+
+            res = indexOf(seq, from, to, kind, backBegin, back);
+
+            if (res >= 0) {
+                return res;
+            }
+
+            back = backBegin;
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method finds a hit in a range and counts the chars each order would read before a hit.
+     * The blocks are read in turn from both ends until a hit, like {@link ScanOrder#INTERLEAVED} does, and the other
+     * end is only read as far as it may change the choice, so a sample costs a few times as much as the cheapest
+     * order at most, not a whole pass over the range.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param kind Kind of the check
+     *
+     * @return Index of a hit or <code>-1</code>
+     */
+    private int sample(final CharSequence seq, final int from, final int to, final int kind) {
+        final int len = to - from;
+
+        int front = from;
+        int back = to;
+        int res;
+
+        while (front < back) {
+            final int frontEnd = Math.min(front + BLOCK, back);
+
+            res = indexOf(seq, from, to, kind, front, frontEnd);
+
+            if (res >= 0) {
+                // No hits were met from the end, so the chars after the last hit are at least as many as the chars
+                // read from the end, and the forward order wins anyway.
+
+                learn(len, res - from, to - back);
+                return res;
+            }
+
+            front = frontEnd;
+
+            final int backBegin = Math.max(back - BLOCK, front);
+
+            res = indexOf(seq, from, to, kind, backBegin, back);
+
+            if (res >= 0) {
+                int last = res;
+
+                for (int i = indexOf(seq, from, to, kind, res + 1, back); i >= 0;
+                        i = indexOf(seq, from, to, kind, i + 1, back)) {
+                    last = i;
+                }
+
+                // The interleaved order reads less than twice the chars after the last hit plus two blocks, so the
+                // first hit is only looked for that far, a farther hit could not make the forward order win.
+
+                final int tail = to - 1 - last;
+                final int limit = (int) Math.min(backBegin, from + 2L * tail + 2 * BLOCK);
+                final int first = front < limit ? indexOf(seq, from, to, kind, front, limit) : -1;
+
+                learn(len, (first >= 0 ? first : Math.max(front, limit)) - from, tail);
+                return res;
+            }
+
+            back = backBegin;
+        }
+
+        // All the orders read the whole range without hits, the sums are kept even.
+
+        learn(len, len - 1, len - 1);
+        return -1;
+    }
+
+    /**
+     * This method adds the counts of chars each order would read before a hit to the sums, and chooses the order
+     * once a window of samples is complete.
+     *
+     * @param len Range length
+     * @param head Count of chars before the first hit, or a lower bound of it
+     * @param tail Count of chars after the last hit, or a lower bound of it
+     */
+    private void learn(final int len, final int head, final int tail) {
+        final int mid = (len - 1) / 2;
+
+        // No order reads more than the whole range.
+
+        final long endsToMiddle = Math.min(head < mid ? head + 1 : (long) mid + tail + 1, len);
+        final long forward = Math.min(head + 1, len);
+        final long front = (long) (head / BLOCK) * 2 * BLOCK + head % BLOCK + 1;
+        final long back = (long) (tail / BLOCK * 2 + 1) * BLOCK + BLOCK - tail % BLOCK;
+        final long interleaved = Math.min(Math.min(front, back), len);
+
+        costs.addAndGet(ScanOrder.ENDS_TO_MIDDLE.ordinal(), endsToMiddle);
+        costs.addAndGet(ScanOrder.FORWARD.ordinal(), forward);
+        costs.addAndGet(ScanOrder.INTERLEAVED.ordinal(), interleaved);
+
+        if (samples.incrementAndGet() % WINDOW != 0) {
+            return;
+        }
+
+        ScanOrder best = ScanOrder.FORWARD;
+        long min = costs.get(best.ordinal());
+
+        for (final ScanOrder candidate : new ScanOrder[] { ScanOrder.INTERLEAVED, ScanOrder.ENDS_TO_MIDDLE }) {
+            final long cost = costs.get(candidate.ordinal());
+
+            if (cost < min) {
+                best = candidate;
+                min = cost;
+            }
+        }
+
+        order = best;
+
+        for (int i = 0; i < costs.length(); i++) {
+            costs.set(i, costs.get(i) / 2);
+        }
+    }
+
+    /**
+     * This method finds the first hit in a part of a range, reading the part forwards.
+     * The chars out of the part, but within the range, are read to check the pairs at the part bounds.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param kind Kind of the check
+     * @param lo Part begin index, inclusive
+     * @param hi Part end index, exclusive
+     *
+     * @return Index of the first hit in the part or <code>-1</code>
+     */
+    private static int indexOf(final CharSequence seq, final int from, final int to, final int kind, final int lo,
+                               final int hi) {
+        // Each kind has its own loop, so the kind is not checked for each char.
+
+        switch (kind) {
+            case SURROGATE:
+                for (int i = lo; i < hi; i++) {
+                    if (SurrogateUtils.isSurrogate(seq.charAt(i))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case NON_SURROGATE:
+                for (int i = lo; i < hi; i++) {
+                    if (!SurrogateUtils.isSurrogate(seq.charAt(i))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case HIGH_SURROGATE:
+                for (int i = lo; i < hi; i++) {
+                    if (SurrogateUtils.isHighSurrogate(seq.charAt(i))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case NON_HIGH_SURROGATE:
+                for (int i = lo; i < hi; i++) {
+                    if (!SurrogateUtils.isHighSurrogate(seq.charAt(i))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case LOW_SURROGATE:
+                for (int i = lo; i < hi; i++) {
+                    if (SurrogateUtils.isLowSurrogate(seq.charAt(i))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case NON_LOW_SURROGATE:
+                for (int i = lo; i < hi; i++) {
+                    if (!SurrogateUtils.isLowSurrogate(seq.charAt(i))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case SURROGATE_PAIR:
+                for (int i = lo; i < hi; i++) {
+                    if (SurrogateUtils.isHighSurrogate(seq.charAt(i)) && i + 1 < to
+                            && SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case NON_SURROGATE_PAIR:
+                // A range of pairs only has a pair at each even offset, so only the even offsets are checked.
+
+                for (int i = lo + (lo - from & 1); i < hi; i += 2) {
+                    if (!SurrogateUtils.isHighSurrogate(seq.charAt(i)) || i + 1 >= to
+                            || !SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                        return i;
+                    }
+                }
+
+                return -1;
+
+            case UNATTACHED_SURROGATE:
+                // A high surrogate is unattached without a low surrogate after it, a low surrogate is unattached
+                // without a high surrogate before it, so each char is checked by its neighbours only.
+
+                char ch;
+
+                for (int i = lo; i < hi; i++) {
+                    ch = seq.charAt(i);
+
+                    if (SurrogateUtils.isHighSurrogate(ch)) {
+                        if (i + 1 >= to || !SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                            return i;
+                        }
+                    } else if (SurrogateUtils.isLowSurrogate(ch)) {
+                        if (i == from || !SurrogateUtils.isHighSurrogate(seq.charAt(i - 1))) {
+                            return i;
+                        }
+                    }
+                }
+
+                return -1;
+
+            default:
+                throw new IllegalStateException("Unknown kind " + kind);
+        }
+    }
+
+    /**
+     * This method checks that a range is within the bounds.
+     *
+     * @param length Length
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the bounds
+     */
+    private static void checkRange(final int length, final int from, final int to) {
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + from + ", " + to + ") is out of bounds for length " + length);
+        }
+    }
+
+}
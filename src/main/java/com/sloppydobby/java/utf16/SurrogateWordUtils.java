@@ -0,0 +1,145 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * UTF-16 surrogates utils class for 64-bit words of four chars (SWAR - SIMD within a register).
+ * Each char of a word takes its own 16-bit lane, so a few bitwise operations check all four chars at once.
+ * The order of chars in a word does not matter for the checks, so words can be read in any byte order.
+ * The checks are used by the scans of byte buffers, which read words by {@link java.nio.ByteBuffer#getLong(int)}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class SurrogateWordUtils {
+
+    /**
+     * Mask of the high bits <code>11011</code> that are common for all surrogates, repeated in each lane.
+     */
+    private static final long SURROGATE_MASK = 0xF800F800F800F800L;
+
+    /**
+     * Mask of the high bits <code>110110</code> and <code>110111</code> that distinguish high and low surrogates,
+     * repeated in each lane.
+     */
+    private static final long HIGH_LOW_SURROGATE_MASK = 0xFC00FC00FC00FC00L;
+
+    /**
+     * Minimal surrogate (and high surrogate) in each lane.
+     */
+    private static final long MIN_HIGH_SURROGATES = 0xD800D800D800D800L;
+
+    /**
+     * Minimal low surrogate in each lane.
+     */
+    private static final long MIN_LOW_SURROGATES = 0xDC00DC00DC00DC00L;
+
+    /**
+     * Lowest bit of each lane.
+     */
+    private static final long LANE_LOW_BITS = 0x0001000100010001L;
+
+    /**
+     * Highest bit of each lane.
+     */
+    private static final long LANE_HIGH_BITS = 0x8000800080008000L;
+
+    /**
+     * This method can be used to check whether a word contains UTF-16 surrogates.
+     *
+     * @param word Word of four chars
+     *
+     * @return <code>true</code> if any lane of a word is a surrogate or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean hasSurrogate(final long word) {
+        return hasZeroLane((word & SURROGATE_MASK) ^ MIN_HIGH_SURROGATES);
+    }
+
+    /**
+     * This method can be used to check whether a word contains UTF-16 high surrogates.
+     *
+     * @param word Word of four chars
+     *
+     * @return <code>true</code> if any lane of a word is a high surrogate or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean hasHighSurrogate(final long word) {
+        return hasZeroLane((word & HIGH_LOW_SURROGATE_MASK) ^ MIN_HIGH_SURROGATES);
+    }
+
+    /**
+     * This method can be used to check whether a word contains UTF-16 low surrogates.
+     *
+     * @param word Word of four chars
+     *
+     * @return <code>true</code> if any lane of a word is a low surrogate or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean hasLowSurrogate(final long word) {
+        return hasZeroLane((word & HIGH_LOW_SURROGATE_MASK) ^ MIN_LOW_SURROGATES);
+    }
+
+    /**
+     * This method can be used to check whether a word contains only UTF-16 surrogates.
+     *
+     * @param word Word of four chars
+     *
+     * @return <code>true</code> if each lane of a word is a surrogate or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean isSurrogatesOnly(final long word) {
+        return (word & SURROGATE_MASK) == MIN_HIGH_SURROGATES;
+    }
+
+    /**
+     * This method can be used to check whether a word contains only UTF-16 high surrogates.
+     *
+     * @param word Word of four chars
+     *
+     * @return <code>true</code> if each lane of a word is a high surrogate or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean isHighSurrogatesOnly(final long word) {
+        return (word & HIGH_LOW_SURROGATE_MASK) == MIN_HIGH_SURROGATES;
+    }
+
+    /**
+     * This method can be used to check whether a word contains only UTF-16 low surrogates.
+     *
+     * @param word Word of four chars
+     *
+     * @return <code>true</code> if each lane of a word is a low surrogate or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean isLowSurrogatesOnly(final long word) {
+        return (word & HIGH_LOW_SURROGATE_MASK) == MIN_LOW_SURROGATES;
+    }
+
+    /**
+     * This method checks whether any lane of a word is zero.
+     * Subtracting one from a zero lane borrows its highest bit, while masked lanes have only a few highest bits set,
+     * so a non-zero lane either keeps its highest bit clear or has it set before the subtraction.
+     * A borrow can spread only from a zero lane to the upper lanes, so it can not produce a false result.
+     *
+     * @param word Masked word
+     *
+     * @return <code>true</code> if any lane is zero or <code>false</code> if not
+     */
+    private static boolean hasZeroLane(final long word) {
+        return ((word - LANE_LOW_BITS) & ~word & LANE_HIGH_BITS) != 0;
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private SurrogateWordUtils() {}
+
+}
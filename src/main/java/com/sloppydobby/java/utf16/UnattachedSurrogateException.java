@@ -0,0 +1,43 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Unchecked exception that reports an unattached UTF-16 surrogate found by the
+ * {@link UnattachedSurrogatePolicy#THROW} policy in a char sequence that is handled in memory.
+ * Streams report unattached surrogates by {@link java.nio.charset.MalformedInputException} instead, since they
+ * throw I/O exceptions anyway.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public class UnattachedSurrogateException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    /**
+     * Constructor of an exception.
+     *
+     * @param index Index of the unattached surrogate
+     *
+     * @since Added in 0.0.2
+     */
+    public UnattachedSurrogateException(final int index) {
+        super("Unattached surrogate at index " + index);
+        this.index = index;
+    }
+
+    /**
+     * This method returns the index of the unattached surrogate, an index of a char sequence (or char array), not of
+     * the handled range.
+     *
+     * @return Index of the unattached surrogate
+     *
+     * @since Added in 0.0.2
+     */
+    public int getIndex() {
+        return index;
+    }
+
+}
@@ -0,0 +1,308 @@
+package com.sloppydobby.java.utf16;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.MalformedInputException;
+
+/**
+ * Reader filter that handles unattached UTF-16 surrogates of a char stream by an {@link UnattachedSurrogatePolicy},
+ * following the same rules as {@link CharSequenceUtils#replaceUnattachedSurrogates(CharSequence, char)}.
+ * Chars are read from the underlying reader in bulk, straight into the caller buffer, and the runs of chars between
+ * surrogates are moved only if the {@link UnattachedSurrogatePolicy#DROP} policy has dropped a surrogate before them.
+ * A high surrogate at the end of a read block is held back until the next block shows whether it is followed by a
+ * low surrogate, so surrogate pairs split by block boundaries are not broken.
+ * With the {@link UnattachedSurrogatePolicy#THROW} policy an unattached surrogate is reported by
+ * {@link MalformedInputException}.
+ * The filter does not support <code>mark</code> and <code>reset</code>.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public class UnattachedSurrogateFilterReader extends FilterReader {
+
+    /**
+     * No char marker for {@link #pending} and {@link #carried}.
+     */
+    private static final int NONE = -1;
+
+    private final UnattachedSurrogatePolicy policy;
+
+    /**
+     * Buffer for reads of less than two chars, since a held back high surrogate may need a room for its pair.
+     */
+    private final char[] spare = new char[2];
+
+    /**
+     * High surrogate at the end of the last read block, which is not passed to the caller yet.
+     */
+    private int pending = NONE;
+
+    /**
+     * Checked char of {@link #spare} that did not fit the caller buffer.
+     */
+    private int carried = NONE;
+
+    /**
+     * Constructor of a filter with the {@link UnattachedSurrogatePolicy#REPLACE} policy.
+     *
+     * @param in Underlying reader
+     *
+     * @since Added in 0.0.2
+     */
+    public UnattachedSurrogateFilterReader(final Reader in) {
+        this(in, UnattachedSurrogatePolicy.REPLACE);
+    }
+
+    /**
+     * Constructor of a filter.
+     *
+     * @param in Underlying reader
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public UnattachedSurrogateFilterReader(final Reader in, final UnattachedSurrogatePolicy policy) {
+        super(in);
+
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        this.policy = policy;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int n = read(spare, 0, 1);
+        return n < 0 ? -1 : spare[0];
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds for "
+                    + "length " + cbuf.length);
+        }
+
+        synchronized (lock) {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (carried != NONE) {
+                cbuf[off] = (char) carried;
+                carried = NONE;
+
+                return 1;
+            }
+
+            if (len == 1) {
+                return readSingle(cbuf, off);
+            }
+
+            int head;
+            int n;
+
+            while (true) {
+                head = 0;
+
+                if (pending != NONE) {
+                    cbuf[off] = (char) pending;
+                    pending = NONE;
+
+                    head = 1;
+                }
+
+                n = in.read(cbuf, off + head, len - head);
+
+                if (n < 0) {
+                    if (head == 0) {
+                        return -1;
+                    }
+
+                    // The held back high surrogate is the last char of the stream.
+
+                    n = filter(cbuf, off, off + 1, true);
+                    return n == 0 ? -1 : n;
+                }
+
+                n = filter(cbuf, off, off + head + n, false);
+
+                // Nothing may be left if all the chars were dropped or a single high surrogate is held back.
+
+                if (n > 0) {
+                    return n;
+                }
+            }
+        }
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n < 0) {
+            throw new IllegalArgumentException("skip value is negative");
+        }
+
+        final char[] buf = new char[(int) Math.min(n, 8192)];
+
+        long rem = n;
+        int count;
+
+        while (rem > 0) {
+            count = read(buf, 0, (int) Math.min(rem, buf.length));
+
+            if (count < 0) {
+                break;
+            }
+
+            rem -= count;
+        }
+
+        return n - rem;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        synchronized (lock) {
+            return carried != NONE || in.ready();
+        }
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(final int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    /**
+     * This method reads a single char through the spare buffer, carrying the second checked char, if any, to the
+     * next read.
+     *
+     * @param cbuf Destination buffer
+     * @param off Offset at which to store the char
+     *
+     * @return <code>1</code> or <code>-1</code> if the end of the stream has been reached
+     *
+     * @throws IOException If an I/O error occurs or an unattached surrogate is found by the
+     *                     {@link UnattachedSurrogatePolicy#THROW} policy
+     */
+    private int readSingle(final char[] cbuf, final int off) throws IOException {
+        final int n = read(spare, 0, spare.length);
+
+        if (n < 0) {
+            return -1;
+        }
+
+        cbuf[off] = spare[0];
+
+        if (n > 1) {
+            carried = spare[1];
+        }
+
+        return 1;
+    }
+
+    /**
+     * This method handles the surrogates of a block in place, moving the remaining chars to the beginning of the
+     * block.
+     * A high surrogate at the end of the block is held back as {@link #pending}, unless it is the end of the stream.
+     *
+     * @param cbuf Buffer
+     * @param off Block begin index, inclusive
+     * @param end Block end index, exclusive
+     * @param eof Whether the block is the end of the stream
+     *
+     * @return Count of the remaining chars
+     *
+     * @throws MalformedInputException If an unattached surrogate is found by the
+     *                                 {@link UnattachedSurrogatePolicy#THROW} policy
+     */
+    private int filter(final char[] cbuf, final int off, final int end, final boolean eof)
+            throws MalformedInputException {
+        int r = off;
+        int w = off;
+        int s;
+
+        char high;
+        char low;
+        boolean res;
+
+        while (r < end) {
+            s = CharSequenceUtils.indexOfSurrogate(cbuf, r, end - r);
+
+            if (s < 0) {
+                s = end;
+            }
+
+            if (w != r) {
+                System.arraycopy(cbuf, r, cbuf, w, s - r);
+            }
+
+            w += s - r;
+            r = s;
+
+            if (r == end) {
+                break;
+            }
+
+            high = cbuf[r];
+            res = SurrogateUtils.isHighSurrogate(high);
+
+            if (res) {
+                if (r + 1 == end) {
+                    if (!eof) {
+                        pending = high;
+                        break;
+                    }
+                } else {
+                    low = cbuf[r + 1];
+                    res = SurrogateUtils.isLowSurrogate(low);
+
+                    if (res) {
+                        cbuf[w] = high;
+                        cbuf[w + 1] = low;
+
+                        w += 2;
+                        r += 2;
+
+                        continue;
+                    }
+                }
+            }
+
+            switch (policy) {
+                case REPLACE:
+                    cbuf[w] = CharSequenceUtils.REPLACEMENT_CHAR;
+                    w++;
+                    break;
+
+                case PASS:
+                    cbuf[w] = high;
+                    w++;
+                    break;
+
+                case DROP:
+                    break;
+
+                default:
+                    throw new MalformedInputException(1);
+            }
+
+            r++;
+        }
+
+        return w - off;
+    }
+
+}
@@ -0,0 +1,252 @@
+package com.sloppydobby.java.utf16;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.MalformedInputException;
+
+/**
+ * Writer filter that handles unattached UTF-16 surrogates of a char stream by an {@link UnattachedSurrogatePolicy},
+ * following the same rules as {@link CharSequenceUtils#replaceUnattachedSurrogates(CharSequence, char)}.
+ * The runs of chars between unattached surrogates are written to the underlying writer in bulk, so a block without
+ * unattached surrogates is written by a single call.
+ * A high surrogate at the end of a written block is held back until the next block shows whether it is followed by
+ * a low surrogate, so surrogate pairs split by block boundaries are not broken.
+ * A held back high surrogate is not written by {@link #flush()}, and it is handled as an unattached surrogate by
+ * {@link #close()}.
+ * With the {@link UnattachedSurrogatePolicy#THROW} policy an unattached surrogate is reported by
+ * {@link MalformedInputException}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public class UnattachedSurrogateFilterWriter extends FilterWriter {
+
+    /**
+     * No char marker for {@link #pending}.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Size of the buffer that strings are copied to.
+     */
+    private static final int STRING_BUFFER_SIZE = 1024;
+
+    private final UnattachedSurrogatePolicy policy;
+
+    /**
+     * Buffer for a held back high surrogate with its pair and for single chars.
+     */
+    private final char[] spare = new char[2];
+
+    /**
+     * Buffer for strings, allocated on the first string write.
+     */
+    private char[] stringBuffer;
+
+    /**
+     * High surrogate at the end of the last written block, which is not written to the underlying writer yet.
+     */
+    private int pending = NONE;
+
+    /**
+     * Constructor of a filter with the {@link UnattachedSurrogatePolicy#REPLACE} policy.
+     *
+     * @param out Underlying writer
+     *
+     * @since Added in 0.0.2
+     */
+    public UnattachedSurrogateFilterWriter(final Writer out) {
+        this(out, UnattachedSurrogatePolicy.REPLACE);
+    }
+
+    /**
+     * Constructor of a filter.
+     *
+     * @param out Underlying writer
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @since Added in 0.0.2
+     */
+    public UnattachedSurrogateFilterWriter(final Writer out, final UnattachedSurrogatePolicy policy) {
+        super(out);
+
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        this.policy = policy;
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        synchronized (lock) {
+            spare[0] = (char) c;
+            write(spare, 0, 1);
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds for "
+                    + "length " + cbuf.length);
+        }
+
+        synchronized (lock) {
+            if (len == 0) {
+                return;
+            }
+
+            final int end = off + len;
+
+            int beg = off;
+
+            if (pending != NONE) {
+                final char high = (char) pending;
+                final char low = cbuf[off];
+
+                pending = NONE;
+
+                if (SurrogateUtils.isLowSurrogate(low)) {
+                    spare[0] = high;
+                    spare[1] = low;
+
+                    out.write(spare, 0, 2);
+                    beg++;
+                } else {
+                    unattached(high);
+                }
+            }
+
+            filter(cbuf, beg, end);
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || len > str.length() - off) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds for "
+                    + "length " + str.length());
+        }
+
+        synchronized (lock) {
+            if (stringBuffer == null) {
+                stringBuffer = new char[STRING_BUFFER_SIZE];
+            }
+
+            final int end = off + len;
+
+            int n;
+
+            for (int i = off; i < end; i += n) {
+                n = Math.min(end - i, stringBuffer.length);
+
+                str.getChars(i, i + n, stringBuffer, 0);
+                write(stringBuffer, 0, n);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            try {
+                if (pending != NONE) {
+                    final char high = (char) pending;
+
+                    pending = NONE;
+                    unattached(high);
+                }
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * This method writes a block to the underlying writer, handling its unattached surrogates.
+     * A high surrogate at the end of the block is held back as {@link #pending}.
+     *
+     * @param cbuf Buffer
+     * @param off Block begin index, inclusive
+     * @param end Block end index, exclusive
+     *
+     * @throws IOException If an I/O error occurs or an unattached surrogate is found by the
+     *                     {@link UnattachedSurrogatePolicy#THROW} policy
+     */
+    private void filter(final char[] cbuf, final int off, final int end) throws IOException {
+        int beg = off;
+        int i = off;
+        int s;
+
+        char high;
+        char low;
+        boolean res;
+
+        // Runs of chars without unattached surrogates (including surrogate pairs) are written at once.
+
+        while (i < end) {
+            s = CharSequenceUtils.indexOfSurrogate(cbuf, i, end - i);
+
+            if (s < 0) {
+                break;
+            }
+
+            high = cbuf[s];
+            res = SurrogateUtils.isHighSurrogate(high);
+
+            if (res) {
+                if (s + 1 == end) {
+                    out.write(cbuf, beg, s - beg);
+                    pending = high;
+
+                    return;
+                }
+
+                low = cbuf[s + 1];
+                res = SurrogateUtils.isLowSurrogate(low);
+
+                if (res) {
+                    i = s + 2;
+                    continue;
+                }
+            }
+
+            out.write(cbuf, beg, s - beg);
+            unattached(high);
+
+            beg = s + 1;
+            i = s + 1;
+        }
+
+        out.write(cbuf, beg, end - beg);
+    }
+
+    /**
+     * This method handles an unattached surrogate by the policy.
+     *
+     * @param ch Unattached surrogate
+     *
+     * @throws IOException If an I/O error occurs or the policy is {@link UnattachedSurrogatePolicy#THROW}
+     */
+    private void unattached(final char ch) throws IOException {
+        switch (policy) {
+            case REPLACE:
+                out.write(CharSequenceUtils.REPLACEMENT_CHAR);
+                break;
+
+            case PASS:
+                out.write(ch);
+                break;
+
+            case DROP:
+                break;
+
+            default:
+                throw new MalformedInputException(1);
+        }
+    }
+
+}
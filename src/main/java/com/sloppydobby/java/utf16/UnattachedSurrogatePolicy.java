@@ -0,0 +1,43 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * Policy of handling unattached UTF-16 surrogates, that is surrogates which are not part of a surrogate pair.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public enum UnattachedSurrogatePolicy {
+
+    /**
+     * Unattached surrogate is replaced by the Unicode replacement char <code>U+FFFD</code>.
+     *
+     * @see CharSequenceUtils#REPLACEMENT_CHAR
+     *
+     * @since Added in 0.0.2
+     */
+    REPLACE,
+
+    /**
+     * Unattached surrogate is dropped.
+     *
+     * @since Added in 0.0.2
+     */
+    DROP,
+
+    /**
+     * Unattached surrogate is reported by an exception.
+     *
+     * @since Added in 0.0.2
+     */
+    THROW,
+
+    /**
+     * Unattached surrogate is kept as is, and encoded to UTF-8 by the generalized UTF-8 rules of WTF-8 - as a
+     * 3-byte sequence of its own value.
+     *
+     * @since Added in 0.0.2
+     */
+    PASS
+
+}
@@ -0,0 +1,236 @@
+package com.sloppydobby.java.utf16;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * UTF-16 utils for byte buffers of text encoded in UTF-16LE or UTF-16BE.
+ * The bytes are checked in place, heap and direct byte buffers alike, without decoding them to chars or strings:
+ * words of eight bytes (four chars) without surrogates are skipped at once (see {@link SurrogateWordUtils}), and only
+ * the words with surrogates are read char by char.
+ * The remaining bytes of a byte buffer are checked, from its position to its limit, and neither the position nor the
+ * byte order of a byte buffer is changed - the byte order of the text is given separately, and the chars are swapped
+ * if it differs from the byte order of the byte buffer.
+ * The bytes are handled by the same rules as the <code>contains*</code> methods of {@link CharSequenceUtils}, and all
+ * indexes are indexes of chars (UTF-16 code units) counted from the position - the byte offset of a char is the
+ * position plus its index multiplied by two.
+ * A byte order mark is not handled specially, it is just a char that is not a surrogate.
+ * A memory segment can be checked through its byte buffer view, which does not copy the bytes either.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class Utf16BufferUtils {
+
+    /**
+     * This method can be used to check whether the remaining bytes of a byte buffer contain UTF-16 surrogates.
+     *
+     * @param buf Byte buffer
+     * @param order Text byte order, {@link ByteOrder#LITTLE_ENDIAN} for UTF-16LE or {@link ByteOrder#BIG_ENDIAN} for
+     *              UTF-16BE
+     *
+     * @return <code>true</code> if the bytes contain UTF-16 surrogates or <code>false</code> if not or a byte buffer
+     *         is <code>null</code>
+     *
+     * @throws NullPointerException If a byte order is <code>null</code>
+     * @throws IllegalArgumentException If the count of the remaining bytes is odd
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsSurrogates(final ByteBuffer buf, final ByteOrder order) {
+        if (buf == null) {
+            return false;
+        }
+
+        final int beg = buf.position();
+        final int end = beg + checkLength(buf.remaining());
+        final int wordEnd = end - 7;
+        final boolean swap = swap(buf, order);
+
+        int i = beg;
+
+        while (i < wordEnd) {
+            if (SurrogateWordUtils.hasSurrogate(wordAt(buf, i, swap))) {
+                return true;
+            }
+
+            i += 8;
+        }
+
+        while (i < end) {
+            if (SurrogateUtils.isSurrogate(charAt(buf, i, swap))) {
+                return true;
+            }
+
+            i += 2;
+        }
+
+        return false;
+    }
+
+    /**
+     * This method can be used to check whether the remaining bytes of a byte buffer contain unattached UTF-16
+     * surrogates.
+     * A surrogate pair split by the position or the limit is handled as unattached surrogates, the bytes out of the
+     * remaining range are never read.
+     *
+     * @param buf Byte buffer
+     * @param order Text byte order, {@link ByteOrder#LITTLE_ENDIAN} for UTF-16LE or {@link ByteOrder#BIG_ENDIAN} for
+     *              UTF-16BE
+     *
+     * @return <code>true</code> if the bytes contain unattached UTF-16 surrogates or <code>false</code> if not or a
+     *         byte buffer is <code>null</code>
+     *
+     * @throws NullPointerException If a byte order is <code>null</code>
+     * @throws IllegalArgumentException If the count of the remaining bytes is odd
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsUnattachedSurrogates(final ByteBuffer buf, final ByteOrder order) {
+        if (buf == null) {
+            return false;
+        }
+
+        final int beg = buf.position();
+        final int end = beg + checkLength(buf.remaining());
+        final int wordEnd = end - 7;
+        final boolean swap = swap(buf, order);
+
+        int i = beg;
+        char ch;
+
+        while (i < end) {
+            if (i < wordEnd && !SurrogateWordUtils.hasSurrogate(wordAt(buf, i, swap))) {
+                i += 8;
+                continue;
+            }
+
+            ch = charAt(buf, i, swap);
+
+            // The pairs are skipped as a whole, so any low surrogate met on its own is not preceded by a high one
+
+            if (SurrogateUtils.isHighSurrogate(ch)) {
+                if (i + 2 == end || !SurrogateUtils.isLowSurrogate(charAt(buf, i + 2, swap))) {
+                    return true;
+                }
+
+                i += 4;
+                continue;
+            }
+
+            if (SurrogateUtils.isLowSurrogate(ch)) {
+                return true;
+            }
+
+            i += 2;
+        }
+
+        return false;
+    }
+
+    /**
+     * This method can be used to make a profile of UTF-16 surrogates in the remaining bytes of a byte buffer by a
+     * single pass, with the counts of high, low, paired and unattached surrogates.
+     * This method works the same way as {@link CharSequenceUtils#profileSurrogates(CharSequence)}, the indexes of the
+     * profile are indexes of chars counted from the position of the byte buffer.
+     *
+     * @param buf Byte buffer
+     * @param order Text byte order, {@link ByteOrder#LITTLE_ENDIAN} for UTF-16LE or {@link ByteOrder#BIG_ENDIAN} for
+     *              UTF-16BE
+     *
+     * @return Surrogates profile of the bytes, the profile of an empty char sequence if a byte buffer is
+     *         <code>null</code>
+     *
+     * @throws NullPointerException If a byte order is <code>null</code>
+     * @throws IllegalArgumentException If the count of the remaining bytes is odd
+     *
+     * @see SurrogateProfile
+     *
+     * @since Added in 0.0.2
+     */
+    public static SurrogateProfile profileSurrogates(final ByteBuffer buf, final ByteOrder order) {
+        if (buf == null) {
+            return SurrogateProfile.EMPTY;
+        }
+
+        return SurrogateProfile.of(buf, buf.position(), checkLength(buf.remaining()) >> 1, swap(buf, order));
+    }
+
+    /**
+     * This method reads a word of four chars of a byte buffer.
+     * Swapping all eight bytes also reverses the order of the chars in the word, which does not matter for the checks
+     * of all lanes at once.
+     *
+     * @param buf Byte buffer
+     * @param idx Byte index
+     * @param swap Whether the byte order of the text differs from the byte order of the byte buffer
+     *
+     * @return Word of four chars
+     *
+     * @since Added in 0.0.2
+     */
+    static long wordAt(final ByteBuffer buf, final int idx, final boolean swap) {
+        final long word = buf.getLong(idx);
+        return swap ? Long.reverseBytes(word) : word;
+    }
+
+    /**
+     * This method reads a char of a byte buffer.
+     *
+     * @param buf Byte buffer
+     * @param idx Byte index
+     * @param swap Whether the byte order of the text differs from the byte order of the byte buffer
+     *
+     * @return Char
+     *
+     * @since Added in 0.0.2
+     */
+    static char charAt(final ByteBuffer buf, final int idx, final boolean swap) {
+        final char ch = buf.getChar(idx);
+        return swap ? Character.reverseBytes(ch) : ch;
+    }
+
+    /**
+     * This method checks whether the byte order of the text differs from the byte order of a byte buffer.
+     *
+     * @param buf Byte buffer
+     * @param order Text byte order
+     *
+     * @return <code>true</code> if the chars of a byte buffer must be swapped or <code>false</code> if not
+     *
+     * @throws NullPointerException If a byte order is <code>null</code>
+     */
+    private static boolean swap(final ByteBuffer buf, final ByteOrder order) {
+        if (order == null) {
+            throw new NullPointerException("Byte order is null");
+        }
+
+        return buf.order() != order;
+    }
+
+    /**
+     * This method checks that a count of bytes makes whole chars.
+     *
+     * @param len Count of bytes
+     *
+     * @return Count of bytes
+     *
+     * @throws IllegalArgumentException If the count of bytes is odd
+     */
+    private static int checkLength(final int len) {
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("Odd count of UTF-16 bytes: " + len);
+        }
+
+        return len;
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private Utf16BufferUtils() {}
+
+}
@@ -0,0 +1,357 @@
+package com.sloppydobby.java.utf16;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * UTF-16 utils for files encoded in UTF-16LE or UTF-16BE.
+ * Files are never copied to the heap - a file is split into chunks, each chunk is mapped by
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)} with one char of its neighbours and the chunks are scanned
+ * in parallel by the common fork-join pool.
+ * Words of four chars without surrogates are skipped at once (see {@link SurrogateWordUtils}).
+ * The files are handled by the same rules as the <code>*UnattachedSurrogates</code> methods of
+ * {@link CharSequenceUtils}, and all indexes are indexes of chars (UTF-16 code units) - the byte offset of a char is
+ * its index multiplied by two.
+ * A byte order mark is not handled specially, it is just a char that is not a surrogate.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class Utf16FileUtils {
+
+    /**
+     * Default chunk length in chars, 64 MB of a file.
+     */
+    private static final int CHUNK_LENGTH = 1 << 25;
+
+    /**
+     * Count of chars scanned between checks whether the result is already known.
+     */
+    private static final int CANCEL_CHECK_LENGTH = 1 << 16;
+
+    /**
+     * This method can be used to check whether a UTF-16 file contains unattached surrogates.
+     * As soon as the first unattached surrogate is found, the scanning of other chunks is cancelled.
+     *
+     * @param path File path
+     * @param order File byte order, {@link ByteOrder#LITTLE_ENDIAN} for UTF-16LE or {@link ByteOrder#BIG_ENDIAN} for
+     *              UTF-16BE
+     *
+     * @return <code>true</code> if a file contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws MalformedInputException If a file size is odd
+     *
+     * @since Added in 0.0.2
+     */
+    public static boolean containsUnattachedSurrogates(final Path path, final ByteOrder order) throws IOException {
+        return scan(path, order, FileChannel.MapMode.READ_ONLY, true, CHUNK_LENGTH).length > 0;
+    }
+
+    /**
+     * This method can be used to find the indexes of all unattached surrogates of a UTF-16 file.
+     *
+     * @param path File path
+     * @param order File byte order, {@link ByteOrder#LITTLE_ENDIAN} for UTF-16LE or {@link ByteOrder#BIG_ENDIAN} for
+     *              UTF-16BE
+     *
+     * @return Ascending char indexes of unattached surrogates, empty if there are no unattached surrogates
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws MalformedInputException If a file size is odd
+     *
+     * @since Added in 0.0.2
+     */
+    public static long[] indexesOfUnattachedSurrogates(final Path path, final ByteOrder order) throws IOException {
+        return scan(path, order, FileChannel.MapMode.READ_ONLY, false, CHUNK_LENGTH);
+    }
+
+    /**
+     * This method can be used to replace all unattached surrogates of a UTF-16 file by the Unicode replacement char
+     * <code>U+FFFD</code> in place.
+     * Both an unattached surrogate and the replacement char are a single UTF-16 code unit, so the file size and the
+     * offsets of other chars are not changed.
+     *
+     * @param path File path
+     * @param order File byte order, {@link ByteOrder#LITTLE_ENDIAN} for UTF-16LE or {@link ByteOrder#BIG_ENDIAN} for
+     *              UTF-16BE
+     *
+     * @return Ascending char indexes of the replaced surrogates, empty if there are no unattached surrogates
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws MalformedInputException If a file size is odd
+     *
+     * @since Added in 0.0.2
+     */
+    public static long[] sanitize(final Path path, final ByteOrder order) throws IOException {
+        return scan(path, order, FileChannel.MapMode.READ_WRITE, false, CHUNK_LENGTH);
+    }
+
+    /**
+     * This method scans a file by chunks in parallel.
+     *
+     * @param path File path
+     * @param order File byte order
+     * @param mode Map mode, {@link FileChannel.MapMode#READ_WRITE} to replace unattached surrogates
+     * @param first Whether to stop at the first unattached surrogate
+     * @param chunkLength Chunk length in chars
+     *
+     * @return Ascending char indexes of unattached surrogates
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws MalformedInputException If a file size is odd
+     *
+     * @since Added in 0.0.2
+     */
+    static long[] scan(final Path path, final ByteOrder order, final FileChannel.MapMode mode, final boolean first,
+                       final int chunkLength) throws IOException {
+        final boolean write = mode == FileChannel.MapMode.READ_WRITE;
+
+        try (FileChannel channel = write
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if ((size & 1) != 0) {
+                throw new MalformedInputException(1);
+            }
+
+            final FileScan scan = new FileScan(channel, order, mode, first, size >>> 1, chunkLength);
+
+            try {
+                ForkJoinPool.commonPool().invoke(new ChunkTask(scan, 0, scan.results.length));
+            } catch (final UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return scan.indexes();
+        }
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private Utf16FileUtils() {}
+
+    /**
+     * State of a file scan shared by the chunk tasks.
+     *
+     * @since Added in 0.0.2
+     */
+    private static final class FileScan {
+
+        private final FileChannel channel;
+
+        private final ByteOrder order;
+
+        private final FileChannel.MapMode mode;
+
+        private final boolean first;
+
+        /**
+         * File length in chars.
+         */
+        private final long length;
+
+        private final int chunkLength;
+
+        /**
+         * Whether an unattached surrogate is found, checked by the tasks only if they stop at the first one.
+         */
+        private final AtomicBoolean found = new AtomicBoolean();
+
+        /**
+         * Indexes of unattached surrogates by chunks.
+         */
+        private final long[][] results;
+
+        private FileScan(final FileChannel channel, final ByteOrder order, final FileChannel.MapMode mode,
+                         final boolean first, final long length, final int chunkLength) {
+            this.channel = channel;
+            this.order = order;
+            this.mode = mode;
+            this.first = first;
+            this.length = length;
+            this.chunkLength = chunkLength;
+
+            final long chunks = (length + chunkLength - 1) / chunkLength;
+
+            if (chunks > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many chunks: " + chunks);
+            }
+
+            this.results = new long[(int) chunks][];
+        }
+
+        /**
+         * This method scans a chunk, replacing unattached surrogates if the map mode allows writing.
+         * A chunk is mapped with the last char of the previous chunk and the first char of the next chunk, since
+         * a surrogate is unattached if it is a high surrogate not followed by a low surrogate or a low surrogate not
+         * preceded by a high surrogate.
+         * A replacement never changes the decision about a neighbour char, so the chunks can be repaired
+         * concurrently.
+         *
+         * @param chunk Chunk number
+         *
+         * @throws IOException If an I/O error occurs
+         */
+        private void scan(final int chunk) throws IOException {
+            final long beg = (long) chunk * chunkLength;
+            final long end = Math.min(length, beg + chunkLength);
+
+            final long mapBeg = Math.max(0, beg - 1);
+            final long mapEnd = Math.min(length, end + 1);
+
+            final MappedByteBuffer buf = channel.map(mode, mapBeg << 1, (mapEnd - mapBeg) << 1);
+            buf.order(order);
+
+            final int from = (int) (beg - mapBeg);
+            final int to = (int) (end - mapBeg);
+            final int max = (int) (mapEnd - mapBeg);
+
+            long[] res = new long[0];
+            int count = 0;
+
+            boolean modified = false;
+
+            int checkEnd = from;
+            int i = from;
+
+            char ch;
+            boolean unattached;
+
+            while (i < to) {
+                if (first && i >= checkEnd) {
+                    if (found.get()) {
+                        return;
+                    }
+
+                    checkEnd = i + CANCEL_CHECK_LENGTH;
+                }
+
+                if (i + 4 <= to && !SurrogateWordUtils.hasSurrogate(buf.getLong(i << 1))) {
+                    i += 4;
+                    continue;
+                }
+
+                ch = buf.getChar(i << 1);
+
+                if (!SurrogateUtils.isSurrogate(ch)) {
+                    i++;
+                    continue;
+                }
+
+                if (SurrogateUtils.isHighSurrogate(ch)) {
+                    unattached = i + 1 == max || !SurrogateUtils.isLowSurrogate(buf.getChar((i + 1) << 1));
+                } else {
+                    unattached = i == 0 || !SurrogateUtils.isHighSurrogate(buf.getChar((i - 1) << 1));
+                }
+
+                if (unattached) {
+                    if (count == res.length) {
+                        res = Arrays.copyOf(res, Math.max(8, count * 2));
+                    }
+
+                    res[count] = mapBeg + i;
+                    count++;
+
+                    if (first) {
+                        found.set(true);
+                        break;
+                    }
+
+                    if (mode == FileChannel.MapMode.READ_WRITE) {
+                        buf.putChar(i << 1, CharSequenceUtils.REPLACEMENT_CHAR);
+                        modified = true;
+                    }
+                }
+
+                i++;
+            }
+
+            if (modified) {
+                buf.force();
+            }
+
+            results[chunk] = Arrays.copyOf(res, count);
+        }
+
+        /**
+         * This method joins the indexes of all chunks.
+         *
+         * @return Ascending char indexes of unattached surrogates
+         */
+        private long[] indexes() {
+            int count = 0;
+
+            for (final long[] res : results) {
+                count += res == null ? 0 : res.length;
+            }
+
+            final long[] indexes = new long[count];
+
+            int i = 0;
+
+            for (final long[] res : results) {
+                if (res != null) {
+                    System.arraycopy(res, 0, indexes, i, res.length);
+                    i += res.length;
+                }
+            }
+
+            return indexes;
+        }
+
+    }
+
+    /**
+     * Fork-join task that scans a range of chunks, splitting it in halves down to single chunks.
+     *
+     * @since Added in 0.0.2
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileScan scan;
+
+        private final int lo;
+
+        private final int hi;
+
+        private ChunkTask(final FileScan scan, final int lo, final int hi) {
+            this.scan = scan;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(new ChunkTask(scan, lo, mid), new ChunkTask(scan, mid, hi));
+            } else if (hi > lo) {
+                try {
+                    scan.scan(lo);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,472 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.Arrays;
+
+/**
+ * Index of a char sequence that converts offsets between UTF-16 char indexes, code point indexes and UTF-8 byte
+ * offsets.
+ * The index is made by a single pass over a char sequence and stores checkpoints every <code>interval</code> chars,
+ * so a conversion reads at most <code>interval</code> chars from the nearest checkpoint (found by binary search for
+ * conversions to char indexes), and the memory overhead is 12 bytes per checkpoint.
+ * Surrogate pairs are detected the same way as by {@link SurrogatePairUtils#isSurrogatePair(char, char)}, and an
+ * unattached surrogate is a single code point of 3 UTF-8 bytes (as the replacement char <code>U+FFFD</code>).
+ * If a char sequence has no surrogates, code point indexes are char indexes, and if it is ASCII only, UTF-8 offsets
+ * are char indexes too, so no checkpoints are stored and the conversions do not read the chars.
+ * A char index between the chars of a surrogate pair is converted the same way as by
+ * {@link Character#codePointCount(CharSequence, int, int)} - the high surrogate is counted as a whole code point.
+ * The char sequence must not be changed after the index is made.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class Utf16OffsetIndex {
+
+    /**
+     * Default interval between checkpoints in chars.
+     *
+     * @since Added in 0.0.2
+     */
+    public static final int DEFAULT_INTERVAL = 128;
+
+    private final CharSequence seq;
+
+    private final int interval;
+
+    private final int length;
+
+    private final int codePointCount;
+
+    private final long utf8Length;
+
+    /**
+     * Code point indexes of the checkpoints, <code>null</code> if there are no surrogates.
+     * The count of surrogate pairs before a checkpoint is its char index minus its code point index, so it is not
+     * stored.
+     */
+    private final int[] codePointIndexes;
+
+    /**
+     * UTF-8 offsets of the checkpoints, <code>null</code> if a char sequence is ASCII only.
+     */
+    private final long[] utf8Offsets;
+
+    /**
+     * This method makes an index of a char sequence with the {@link #DEFAULT_INTERVAL} interval.
+     *
+     * @param seq Char sequence
+     *
+     * @return Offset index
+     *
+     * @throws NullPointerException If a char sequence is <code>null</code>
+     *
+     * @since Added in 0.0.2
+     */
+    public static Utf16OffsetIndex of(final CharSequence seq) {
+        return of(seq, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * This method makes an index of a char sequence.
+     * A shorter interval makes conversions faster, a longer interval makes the index smaller.
+     *
+     * @param seq Char sequence
+     * @param interval Interval between checkpoints in chars
+     *
+     * @return Offset index
+     *
+     * @throws NullPointerException If a char sequence is <code>null</code>
+     * @throws IllegalArgumentException If an interval is not positive
+     *
+     * @since Added in 0.0.2
+     */
+    public static Utf16OffsetIndex of(final CharSequence seq, final int interval) {
+        if (seq == null) {
+            throw new NullPointerException("seq");
+        }
+
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval is not positive: " + interval);
+        }
+
+        return new Utf16OffsetIndex(seq, interval);
+    }
+
+    /**
+     * Private constructor, use {@link #of(CharSequence, int)} to make an index.
+     *
+     * @param seq Char sequence
+     * @param interval Interval between checkpoints in chars
+     *
+     * @since Added in 0.0.2
+     */
+    private Utf16OffsetIndex(final CharSequence seq, final int interval) {
+        this.seq = seq;
+        this.interval = interval;
+        this.length = seq.length();
+
+        final int checkpoints = length / interval + 1;
+
+        int[] codePointIndexes = null;
+        long[] utf8Offsets = null;
+
+        int pairs = 0;
+        long utf8 = 0;
+
+        char ch;
+
+        for (int i = 0; i < length; i++) {
+            ch = seq.charAt(i);
+
+            // Checkpoints are allocated lazily, when the first non-ASCII char or surrogate is found.
+
+            if (ch >= 0x80 && utf8Offsets == null) {
+                utf8Offsets = new long[checkpoints];
+
+                for (int k = 0; k <= i / interval; k++) {
+                    utf8Offsets[k] = (long) k * interval;
+                }
+            }
+
+            if (SurrogateUtils.isSurrogate(ch) && codePointIndexes == null) {
+                codePointIndexes = new int[checkpoints];
+
+                for (int k = 0; k <= i / interval; k++) {
+                    codePointIndexes[k] = k * interval;
+                }
+            }
+
+            if (i % interval == 0) {
+                if (codePointIndexes != null) {
+                    codePointIndexes[i / interval] = i - pairs;
+                }
+
+                if (utf8Offsets != null) {
+                    utf8Offsets[i / interval] = utf8;
+                }
+            }
+
+            if (SurrogateUtils.isLowSurrogate(ch) && i > 0 && SurrogateUtils.isHighSurrogate(seq.charAt(i - 1))) {
+                pairs++;
+            }
+
+            utf8 += utf8Weight(i, ch);
+        }
+
+        if (length % interval == 0) {
+            if (codePointIndexes != null) {
+                codePointIndexes[length / interval] = length - pairs;
+            }
+
+            if (utf8Offsets != null) {
+                utf8Offsets[length / interval] = utf8;
+            }
+        }
+
+        this.codePointCount = length - pairs;
+        this.utf8Length = utf8;
+        this.codePointIndexes = codePointIndexes;
+        this.utf8Offsets = utf8Offsets;
+    }
+
+    /**
+     * This method returns the length of the indexed char sequence.
+     *
+     * @return Length in chars
+     *
+     * @since Added in 0.0.2
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * This method returns the count of code points of the indexed char sequence.
+     *
+     * @return Count of code points
+     *
+     * @since Added in 0.0.2
+     */
+    public int getCodePointCount() {
+        return codePointCount;
+    }
+
+    /**
+     * This method returns the length of the indexed char sequence in UTF-8.
+     *
+     * @return Length in UTF-8 bytes
+     *
+     * @since Added in 0.0.2
+     */
+    public long getUtf8Length() {
+        return utf8Length;
+    }
+
+    /**
+     * This method converts a char index to a code point index, the same way as
+     * {@link Character#codePointCount(CharSequence, int, int)} from <code>0</code> does.
+     *
+     * @param charIndex Char index from <code>0</code> to the length
+     *
+     * @return Code point index
+     *
+     * @throws IndexOutOfBoundsException If a char index is out of bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public int charToCodePoint(final int charIndex) {
+        checkIndex(charIndex, length);
+
+        if (codePointIndexes == null) {
+            return charIndex;
+        }
+
+        final int k = charIndex / interval;
+
+        int pairs = k * interval - codePointIndexes[k];
+
+        for (int i = k * interval; i < charIndex; i++) {
+            if (SurrogateUtils.isLowSurrogate(seq.charAt(i)) && i > 0
+                    && SurrogateUtils.isHighSurrogate(seq.charAt(i - 1))) {
+                pairs++;
+            }
+        }
+
+        return charIndex - pairs;
+    }
+
+    /**
+     * This method converts a code point index to a char index, the same way as
+     * {@link Character#offsetByCodePoints(CharSequence, int, int)} from <code>0</code> does.
+     *
+     * @param codePointIndex Code point index from <code>0</code> to the code point count
+     *
+     * @return Char index
+     *
+     * @throws IndexOutOfBoundsException If a code point index is out of bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public int codePointToChar(final int codePointIndex) {
+        checkIndex(codePointIndex, codePointCount);
+
+        if (codePointIndexes == null) {
+            return codePointIndex;
+        }
+
+        final int k = floor(codePointIndexes, codePointIndex);
+
+        int i = k * interval;
+        int cp = codePointIndexes[k];
+
+        // The high surrogate of a pair split by the checkpoint is already counted as a whole code point.
+
+        if (i > 0 && i < length && SurrogatePairUtils.isSurrogatePair(seq.charAt(i - 1), seq.charAt(i))) {
+            i++;
+        }
+
+        while (cp < codePointIndex) {
+            i += isPairAt(i) ? 2 : 1;
+            cp++;
+        }
+
+        return i;
+    }
+
+    /**
+     * This method converts a char index to a UTF-8 offset.
+     * A char index between the chars of a surrogate pair is converted to the offset after the pair.
+     *
+     * @param charIndex Char index from <code>0</code> to the length
+     *
+     * @return UTF-8 offset
+     *
+     * @throws IndexOutOfBoundsException If a char index is out of bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public long charToUtf8(final int charIndex) {
+        checkIndex(charIndex, length);
+
+        if (utf8Offsets == null) {
+            return charIndex;
+        }
+
+        final int k = charIndex / interval;
+
+        long utf8 = utf8Offsets[k];
+
+        for (int i = k * interval; i < charIndex; i++) {
+            utf8 += utf8Weight(i, seq.charAt(i));
+        }
+
+        return utf8;
+    }
+
+    /**
+     * This method converts a UTF-8 offset to a char index.
+     * A UTF-8 offset inside the encoding of a code point is converted to the index of the first char of the code
+     * point.
+     *
+     * @param utf8Offset UTF-8 offset from <code>0</code> to the UTF-8 length
+     *
+     * @return Char index
+     *
+     * @throws IndexOutOfBoundsException If a UTF-8 offset is out of bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public int utf8ToChar(final long utf8Offset) {
+        if (utf8Offset < 0 || utf8Offset > utf8Length) {
+            throw new IndexOutOfBoundsException("Index " + utf8Offset + " out of bounds for length " + utf8Length);
+        }
+
+        if (utf8Offsets == null) {
+            return (int) utf8Offset;
+        }
+
+        final int k = floor(utf8Offsets, utf8Offset);
+
+        int i = k * interval;
+        long utf8 = utf8Offsets[k];
+
+        // The bytes of a pair split by the checkpoint are already counted by its high surrogate.
+
+        if (i > 0 && i < length && SurrogatePairUtils.isSurrogatePair(seq.charAt(i - 1), seq.charAt(i))) {
+            i++;
+        }
+
+        int weight;
+        boolean pair;
+
+        while (i < length) {
+            pair = isPairAt(i);
+            weight = pair ? 4 : utf8Weight(i, seq.charAt(i));
+
+            if (utf8 + weight > utf8Offset) {
+                break;
+            }
+
+            utf8 += weight;
+            i += pair ? 2 : 1;
+        }
+
+        return i;
+    }
+
+    /**
+     * This method converts a code point index to a UTF-8 offset.
+     *
+     * @param codePointIndex Code point index from <code>0</code> to the code point count
+     *
+     * @return UTF-8 offset
+     *
+     * @throws IndexOutOfBoundsException If a code point index is out of bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public long codePointToUtf8(final int codePointIndex) {
+        return charToUtf8(codePointToChar(codePointIndex));
+    }
+
+    /**
+     * This method converts a UTF-8 offset to a code point index.
+     * A UTF-8 offset inside the encoding of a code point is converted to the index of the code point.
+     *
+     * @param utf8Offset UTF-8 offset from <code>0</code> to the UTF-8 length
+     *
+     * @return Code point index
+     *
+     * @throws IndexOutOfBoundsException If a UTF-8 offset is out of bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public int utf8ToCodePoint(final long utf8Offset) {
+        return charToCodePoint(utf8ToChar(utf8Offset));
+    }
+
+    /**
+     * This method returns the count of UTF-8 bytes that a char adds to the offset.
+     * The high surrogate of a pair adds all 4 bytes of the pair, and its low surrogate adds nothing.
+     *
+     * @param idx Char index
+     * @param ch Char at the index
+     *
+     * @return Count of UTF-8 bytes
+     */
+    private int utf8Weight(final int idx, final char ch) {
+        if (ch < 0x80) {
+            return 1;
+        }
+
+        if (ch < 0x800) {
+            return 2;
+        }
+
+        if (SurrogateUtils.isHighSurrogate(ch)) {
+            return isPairAt(idx) ? 4 : 3;
+        }
+
+        if (SurrogateUtils.isLowSurrogate(ch) && idx > 0 && SurrogateUtils.isHighSurrogate(seq.charAt(idx - 1))) {
+            return 0;
+        }
+
+        return 3;
+    }
+
+    /**
+     * This method checks whether a surrogate pair begins at an index.
+     *
+     * @param idx Char index
+     *
+     * @return <code>true</code> if a surrogate pair begins at the index or <code>false</code> if not
+     */
+    private boolean isPairAt(final int idx) {
+        return idx + 1 < length && SurrogatePairUtils.isSurrogatePair(seq.charAt(idx), seq.charAt(idx + 1));
+    }
+
+    /**
+     * This method finds the last checkpoint with a value not greater than a key.
+     *
+     * @param values Non-decreasing checkpoint values
+     * @param key Key
+     *
+     * @return Checkpoint number
+     */
+    private static int floor(final int[] values, final int key) {
+        final int k = Arrays.binarySearch(values, key);
+
+        // Equal values are possible only for the interval of one char, if the checkpoints are split by a low
+        // surrogate of a pair, so the conversions from any of them are the same.
+
+        return k < 0 ? -k - 2 : k;
+    }
+
+    /**
+     * This method finds the last checkpoint with a value not greater than a key.
+     *
+     * @param values Non-decreasing checkpoint values
+     * @param key Key
+     *
+     * @return Checkpoint number
+     */
+    private static int floor(final long[] values, final long key) {
+        final int k = Arrays.binarySearch(values, key);
+        return k < 0 ? -k - 2 : k;
+    }
+
+    /**
+     * This method checks an index from <code>0</code> to a length, both inclusive.
+     *
+     * @param idx Index
+     * @param length Length
+     *
+     * @throws IndexOutOfBoundsException If an index is out of bounds
+     */
+    private static void checkIndex(final int idx, final int length) {
+        if (idx < 0 || idx > length) {
+            throw new IndexOutOfBoundsException("Index " + idx + " out of bounds for length " + length);
+        }
+    }
+
+}
@@ -0,0 +1,392 @@
+package com.sloppydobby.java.utf16;
+
+import java.util.Arrays;
+
+/**
+ * Immutable UTF-16 text that remembers the surrogates it contains.
+ * On the first <code>contains*</code> question a text is classified by a single pass over the chars (see
+ * {@link SurrogateProfile}), and the answers to all the questions are cached in a packed <code>int</code> field, the
+ * same way as {@link String#hashCode()} caches the hash, so any later question costs a single field read.
+ * The <code>contains*</code> methods of {@link CharSequenceUtils} recognize a text and answer by its cached flags, so
+ * a text can be passed through the layers that check it again and again.
+ * A text made of a char array keeps a copy of the chars, so the changes of the array are not visible through the
+ * text.
+ * The cache is not synchronized, several threads may classify the same text at once, but they all cache the same
+ * flags.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class Utf16Text implements CharSequence {
+
+    /**
+     * Flags are computed, so the flags of any classified text are not zero.
+     */
+    private static final int CLASSIFIED = 1;
+
+    private static final int SURROGATES = 1 << 1;
+    private static final int SURROGATES_ONLY = 1 << 2;
+    private static final int HIGH_SURROGATES = 1 << 3;
+    private static final int HIGH_SURROGATES_ONLY = 1 << 4;
+    private static final int LOW_SURROGATES = 1 << 5;
+    private static final int LOW_SURROGATES_ONLY = 1 << 6;
+    private static final int SURROGATE_PAIRS = 1 << 7;
+    private static final int SURROGATE_PAIRS_ONLY = 1 << 8;
+    private static final int UNATTACHED_SURROGATES = 1 << 9;
+
+    /**
+     * Chars of a text made of a string, <code>null</code> if a text is made of a char array.
+     */
+    private final String str;
+
+    /**
+     * Chars of a text made of a char array, <code>null</code> if a text is made of a string.
+     */
+    private final char[] buf;
+
+    /**
+     * Cached surrogate flags, <code>0</code> until the text is classified.
+     */
+    private int flags;
+
+    /**
+     * Cached hash, <code>0</code> until the hash is computed.
+     */
+    private int hash;
+
+    /**
+     * This method makes a text of a string, the string is not copied.
+     *
+     * @param str String
+     *
+     * @return Text of the string
+     *
+     * @since Added in 0.0.2
+     */
+    public static Utf16Text of(final String str) {
+        if (str == null) {
+            throw new NullPointerException("String is null");
+        }
+
+        return new Utf16Text(str, null);
+    }
+
+    /**
+     * This method makes a text of a range of a char array, the chars are copied.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Text of the chars of the range
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the char array bounds
+     *
+     * @since Added in 0.0.2
+     */
+    public static Utf16Text of(final char[] buf, final int off, final int len) {
+        if (off < 0 || len < 0 || off > buf.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + off + ", " + off + " + " + len + ") is out of bounds for length " + buf.length);
+        }
+
+        return new Utf16Text(null, Arrays.copyOfRange(buf, off, off + len));
+    }
+
+    /**
+     * This method makes a text of a char array, the chars are copied.
+     *
+     * @param buf Char array
+     *
+     * @return Text of the chars
+     *
+     * @since Added in 0.0.2
+     */
+    public static Utf16Text of(final char[] buf) {
+        return of(buf, 0, buf.length);
+    }
+
+    /**
+     * Private constructor, use the static factory methods to make a text.
+     *
+     * @param str String or <code>null</code>
+     * @param buf Char array or <code>null</code>
+     */
+    private Utf16Text(final String str, final char[] buf) {
+        this.str = str;
+        this.buf = buf;
+    }
+
+    @Override
+    public int length() {
+        return buf != null ? buf.length : str.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return buf != null ? buf[index] : str.charAt(index);
+    }
+
+    /**
+     * This method makes a text of a range of this text.
+     * The flags of this text are not inherited, a range is classified by its own first question.
+     *
+     * @param start Range begin index, inclusive
+     * @param end Range end index, exclusive
+     *
+     * @return Text of the range
+     *
+     * @throws IndexOutOfBoundsException If the range is out of the text bounds
+     *
+     * @since Added in 0.0.2
+     */
+    @Override
+    public Utf16Text subSequence(final int start, final int end) {
+        final int len = length();
+
+        if (start < 0 || start > end || end > len) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + start + ", " + end + ") is out of bounds for length " + len);
+        }
+
+        if (start == 0 && end == len) {
+            return this;
+        }
+
+        return buf != null ? of(buf, start, end - start) : new Utf16Text(str.substring(start, end), null);
+    }
+
+    @Override
+    public String toString() {
+        return buf != null ? new String(buf) : str;
+    }
+
+    /**
+     * This method checks whether this text contains UTF-16 surrogates.
+     *
+     * @return <code>true</code> if a text contains UTF-16 surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogates() {
+        return (flags() & SURROGATES) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains only UTF-16 surrogates.
+     *
+     * @return <code>true</code> if a text contains only UTF-16 surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogatesOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatesOnly() {
+        return (flags() & SURROGATES_ONLY) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains UTF-16 high surrogates.
+     *
+     * @return <code>true</code> if a text contains UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsHighSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogates() {
+        return (flags() & HIGH_SURROGATES) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains only UTF-16 high surrogates.
+     *
+     * @return <code>true</code> if a text contains only UTF-16 high surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsHighSurrogatesOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsHighSurrogatesOnly() {
+        return (flags() & HIGH_SURROGATES_ONLY) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains UTF-16 low surrogates.
+     *
+     * @return <code>true</code> if a text contains UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsLowSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogates() {
+        return (flags() & LOW_SURROGATES) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains only UTF-16 low surrogates.
+     *
+     * @return <code>true</code> if a text contains only UTF-16 low surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsLowSurrogatesOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsLowSurrogatesOnly() {
+        return (flags() & LOW_SURROGATES_ONLY) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains UTF-16 surrogate pairs.
+     *
+     * @return <code>true</code> if a text contains UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogatePairs(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairs() {
+        return (flags() & SURROGATE_PAIRS) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains only UTF-16 surrogate pairs.
+     *
+     * @return <code>true</code> if a text contains only UTF-16 surrogate pairs or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsSurrogatePairsOnly(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsSurrogatePairsOnly() {
+        return (flags() & SURROGATE_PAIRS_ONLY) != 0;
+    }
+
+    /**
+     * This method checks whether this text contains unattached UTF-16 surrogates.
+     *
+     * @return <code>true</code> if a text contains unattached UTF-16 surrogates or <code>false</code> if not
+     *
+     * @see CharSequenceUtils#containsUnattachedSurrogates(CharSequence)
+     *
+     * @since Added in 0.0.2
+     */
+    public boolean containsUnattachedSurrogates() {
+        return (flags() & UNATTACHED_SURROGATES) != 0;
+    }
+
+    /**
+     * This method compares this text with another object, a text is only equal to a text of the same chars.
+     *
+     * @param obj Object
+     *
+     * @return <code>true</code> if an object is a text of the same chars or <code>false</code> if not
+     *
+     * @since Added in 0.0.2
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof Utf16Text)) {
+            return false;
+        }
+
+        final Utf16Text other = (Utf16Text) obj;
+        final int len = length();
+
+        if (len != other.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < len; i++) {
+            if (charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * This method returns the hash of this text, the same as the hash of {@link #toString()}.
+     *
+     * @return Hash of the text
+     *
+     * @since Added in 0.0.2
+     */
+    @Override
+    public int hashCode() {
+        int res = hash;
+
+        if (res == 0) {
+            if (buf != null) {
+                for (final char ch : buf) {
+                    res = 31 * res + ch;
+                }
+            } else {
+                res = str.hashCode();
+            }
+
+            hash = res;
+        }
+
+        return res;
+    }
+
+    /**
+     * This method returns the cached flags, classifying the text on the first call.
+     *
+     * @return Surrogate flags
+     */
+    private int flags() {
+        int res = flags;
+
+        if (res == 0 && str != null && CompactStrings.isLatin1(str)) {
+            // A Latin-1 string cannot contain surrogates, so none of the flags is set
+
+            res = CLASSIFIED;
+            flags = res;
+        }
+
+        if (res == 0) {
+            final SurrogateProfile profile = buf != null
+                    ? SurrogateProfile.of(buf, 0, buf.length)
+                    : SurrogateProfile.of(str, 0, str.length());
+
+            res = CLASSIFIED
+                    | flag(profile.containsSurrogates(), SURROGATES)
+                    | flag(profile.containsSurrogatesOnly(), SURROGATES_ONLY)
+                    | flag(profile.containsHighSurrogates(), HIGH_SURROGATES)
+                    | flag(profile.containsHighSurrogatesOnly(), HIGH_SURROGATES_ONLY)
+                    | flag(profile.containsLowSurrogates(), LOW_SURROGATES)
+                    | flag(profile.containsLowSurrogatesOnly(), LOW_SURROGATES_ONLY)
+                    | flag(profile.containsSurrogatePairs(), SURROGATE_PAIRS)
+                    | flag(profile.containsSurrogatePairsOnly(), SURROGATE_PAIRS_ONLY)
+                    | flag(profile.containsUnattachedSurrogates(), UNATTACHED_SURROGATES);
+
+            flags = res;
+        }
+
+        return res;
+    }
+
+    /**
+     * This method returns a flag if a condition holds.
+     *
+     * @param condition Condition
+     * @param flag Flag
+     *
+     * @return Flag or <code>0</code>
+     */
+    private static int flag(final boolean condition, final int flag) {
+        return condition ? flag : 0;
+    }
+
+}
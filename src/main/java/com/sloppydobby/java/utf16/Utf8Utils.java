@@ -0,0 +1,466 @@
+package com.sloppydobby.java.utf16;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 utils for encoding char sequences straight into byte arrays and byte buffers, without a
+ * {@link java.nio.charset.CharsetEncoder} and without intermediate arrays.
+ * Runs of ASCII chars are copied by a tight loop, and the bytes are written to the backing array of a heap byte
+ * buffer directly.
+ * Unattached surrogates (see {@link CharSequenceUtils#containsUnattachedSurrogates(CharSequence)}) are handled by an
+ * {@link UnattachedSurrogatePolicy} instead of being silently replaced by <code>'?'</code>, as
+ * {@link String#getBytes(java.nio.charset.Charset)} does:
+ * <ul>
+ *     <li>{@link UnattachedSurrogatePolicy#REPLACE} - encoded as the replacement char <code>U+FFFD</code></li>
+ *     <li>{@link UnattachedSurrogatePolicy#PASS} - encoded as is by the WTF-8 rules</li>
+ *     <li>{@link UnattachedSurrogatePolicy#DROP} - not encoded</li>
+ *     <li>{@link UnattachedSurrogatePolicy#THROW} - reported by {@link UnattachedSurrogateException}</li>
+ * </ul>
+ * The encoded length is the same as {@link CharSequenceUtils#utf8Length(CharSequence, UnattachedSurrogatePolicy)}.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+public final class Utf8Utils {
+
+    /**
+     * Result of {@link #unattached(char, UnattachedSurrogatePolicy)} for a dropped surrogate.
+     */
+    private static final int DROPPED = -1;
+
+    /**
+     * Result of {@link #unattached(char, UnattachedSurrogatePolicy)} for a surrogate that must be reported.
+     */
+    private static final int FAILED = -2;
+
+    /**
+     * This method can be used to encode a char sequence into a byte array in UTF-8.
+     * The byte array must have room for the whole encoded char sequence, which can be checked by
+     * {@link CharSequenceUtils#utf8Length(CharSequence, UnattachedSurrogatePolicy)}, otherwise nothing is written.
+     * If an unattached surrogate is found by the {@link UnattachedSurrogatePolicy#THROW} policy, the chars before it
+     * may be already written.
+     *
+     * @param seq Char sequence
+     * @param dst Byte array
+     * @param off Offset of the first byte to write
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Count of written bytes
+     *
+     * @throws NullPointerException If a char sequence, a byte array or a policy is <code>null</code>
+     * @throws IndexOutOfBoundsException If the offset is out of the byte array bounds or the byte array has no room
+     *                                   for the encoded char sequence
+     * @throws UnattachedSurrogateException If an unattached surrogate is found by the
+     *                                      {@link UnattachedSurrogatePolicy#THROW} policy
+     *
+     * @since Added in 0.0.2
+     */
+    public static int encode(final CharSequence seq, final byte[] dst, final int off,
+                             final UnattachedSurrogatePolicy policy) {
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        if (off < 0 || off > dst.length) {
+            throw new IndexOutOfBoundsException("Offset " + off + " is out of bounds for length " + dst.length);
+        }
+
+        final int len = seq.length();
+        final int room = dst.length - off;
+
+        // Each char takes at most 3 bytes, so the exact length is calculated only if the room may be too small.
+
+        if ((long) len * 3 > room) {
+            final long bytes = CharSequenceUtils.utf8Length(seq, policy);
+
+            if (bytes > room) {
+                throw new IndexOutOfBoundsException("Encoded length " + bytes + " is out of bounds for the room "
+                        + room);
+            }
+        }
+
+        final long res = encode(seq, 0, len, dst, off, dst.length, policy);
+
+        if (index(res) < len) {
+            throw new UnattachedSurrogateException(index(res));
+        }
+
+        return position(res) - off;
+    }
+
+    /**
+     * This method can be used to encode a char sequence into a byte buffer in UTF-8.
+     * This method works the same way as
+     * {@link #encode(CharSequence, int, int, ByteBuffer, UnattachedSurrogatePolicy)} for the whole char sequence.
+     *
+     * @param seq Char sequence
+     * @param dst Byte buffer
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Index of the first char that is not encoded, the length of the char sequence if all the chars are
+     *         encoded
+     *
+     * @throws NullPointerException If a char sequence, a byte buffer or a policy is <code>null</code>
+     * @throws java.nio.ReadOnlyBufferException If a byte buffer is read-only
+     * @throws UnattachedSurrogateException If an unattached surrogate is found by the
+     *                                      {@link UnattachedSurrogatePolicy#THROW} policy
+     *
+     * @since Added in 0.0.2
+     */
+    public static int encode(final CharSequence seq, final ByteBuffer dst, final UnattachedSurrogatePolicy policy) {
+        return encode(seq, 0, seq.length(), dst, policy);
+    }
+
+    /**
+     * This method can be used to encode a range of a char sequence into a byte buffer in UTF-8, from its position up
+     * to its limit.
+     * The chars are encoded while their bytes fit the remaining room of the byte buffer, a code point (including a
+     * surrogate pair) is never split, and the position of the byte buffer is moved past the written bytes.
+     * If the byte buffer gets full, the returned index can be used to resume the encoding with another (or drained)
+     * byte buffer, so a surrogate pair that does not fit the room is encoded as a whole by the next call.
+     * The range is handled as a standalone char sequence, so a surrogate pair split by a range bound is handled as
+     * unattached surrogates - use the returned index as the range begin to resume.
+     * If an unattached surrogate is found by the {@link UnattachedSurrogatePolicy#THROW} policy, the chars before it
+     * are already written and the position of the byte buffer is moved past them.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param dst Byte buffer
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Index of the first char that is not encoded, the range end index if all the chars are encoded
+     *
+     * @throws NullPointerException If a char sequence, a byte buffer or a policy is <code>null</code>
+     * @throws IndexOutOfBoundsException If the range is out of the char sequence bounds
+     * @throws java.nio.ReadOnlyBufferException If a byte buffer is read-only
+     * @throws UnattachedSurrogateException If an unattached surrogate is found by the
+     *                                      {@link UnattachedSurrogatePolicy#THROW} policy
+     *
+     * @since Added in 0.0.2
+     */
+    public static int encode(final CharSequence seq, final int from, final int to, final ByteBuffer dst,
+                             final UnattachedSurrogatePolicy policy) {
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        final int length = seq.length();
+
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + from + ", " + to + ") is out of bounds for length " + length);
+        }
+
+        final long res;
+
+        if (dst.hasArray()) {
+            final int arrayOff = dst.arrayOffset();
+
+            res = encode(seq, from, to, dst.array(), arrayOff + dst.position(), arrayOff + dst.limit(), policy);
+            dst.position(position(res) - arrayOff);
+        } else {
+            res = encodeDirect(seq, from, to, dst, policy);
+            dst.position(position(res));
+        }
+
+        final int idx = index(res);
+
+        // The encoding stops either if the byte buffer is full or at an unattached surrogate by the THROW policy.
+
+        if (idx < to && policy == UnattachedSurrogatePolicy.THROW && isUnattachedSurrogate(seq, idx, to)) {
+            throw new UnattachedSurrogateException(idx);
+        }
+
+        return idx;
+    }
+
+    /**
+     * This method encodes a range of a char sequence into a range of a byte array, while the bytes fit the range.
+     * The encoding stops at an unattached surrogate by the {@link UnattachedSurrogatePolicy#THROW} policy, so the
+     * caller can report it after the written bytes are accounted.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param dst Byte array
+     * @param pos Index of the first byte to write
+     * @param limit Byte array range end index, exclusive
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Index of the first char that is not encoded and the index of the first byte that is not written,
+     *         packed by {@link #pack(int, int)}
+     */
+    private static long encode(final CharSequence seq, final int from, final int to, final byte[] dst,
+                               final int pos, final int limit, final UnattachedSurrogatePolicy policy) {
+        int i = from;
+        int p = pos;
+        int end;
+
+        char ch;
+        int cp;
+
+        while (i < to) {
+            ch = seq.charAt(i);
+
+            // ASCII chars are copied by a loop with a single bound, until the first non-ASCII char.
+
+            if (ch < 0x80) {
+                end = i + Math.min(to - i, limit - p);
+
+                if (i == end) {
+                    break;
+                }
+
+                do {
+                    dst[p++] = (byte) ch;
+                    i++;
+                } while (i < end && (ch = seq.charAt(i)) < 0x80);
+
+                continue;
+            }
+
+            if (ch < 0x800) {
+                if (limit - p < 2) {
+                    break;
+                }
+
+                dst[p++] = (byte) (0xC0 | ch >>> 6);
+                dst[p++] = (byte) (0x80 | ch & 0x3F);
+                i++;
+
+                continue;
+            }
+
+            if (!SurrogateUtils.isSurrogate(ch)) {
+                cp = ch;
+            } else if (SurrogateUtils.isHighSurrogate(ch) && i + 1 < to
+                    && SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                if (limit - p < 4) {
+                    break;
+                }
+
+                cp = Character.toCodePoint(ch, seq.charAt(i + 1));
+
+                dst[p++] = (byte) (0xF0 | cp >>> 18);
+                dst[p++] = (byte) (0x80 | cp >>> 12 & 0x3F);
+                dst[p++] = (byte) (0x80 | cp >>> 6 & 0x3F);
+                dst[p++] = (byte) (0x80 | cp & 0x3F);
+                i += 2;
+
+                continue;
+            } else {
+                cp = unattached(ch, policy);
+
+                if (cp == FAILED) {
+                    break;
+                }
+
+                if (cp == DROPPED) {
+                    i++;
+                    continue;
+                }
+            }
+
+            if (limit - p < 3) {
+                break;
+            }
+
+            dst[p++] = (byte) (0xE0 | cp >>> 12);
+            dst[p++] = (byte) (0x80 | cp >>> 6 & 0x3F);
+            dst[p++] = (byte) (0x80 | cp & 0x3F);
+            i++;
+        }
+
+        return pack(i, p);
+    }
+
+    /**
+     * This method encodes a range of a char sequence into a byte buffer without a backing array, while the bytes
+     * fit the remaining room of the byte buffer.
+     * This method works the same way as {@link #encode(CharSequence, int, int, byte[], int, int,
+     * UnattachedSurrogatePolicy)}, but puts the bytes by absolute indexes, so the position of the byte buffer is not
+     * moved.
+     *
+     * @param seq Char sequence
+     * @param from Range begin index, inclusive
+     * @param to Range end index, exclusive
+     * @param dst Byte buffer
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Index of the first char that is not encoded and the new position of the byte buffer, packed by
+     *         {@link #pack(int, int)}
+     */
+    private static long encodeDirect(final CharSequence seq, final int from, final int to, final ByteBuffer dst,
+                                     final UnattachedSurrogatePolicy policy) {
+        final int limit = dst.limit();
+
+        int i = from;
+        int p = dst.position();
+        int end;
+
+        char ch;
+        int cp;
+
+        while (i < to) {
+            ch = seq.charAt(i);
+
+            if (ch < 0x80) {
+                end = i + Math.min(to - i, limit - p);
+
+                if (i == end) {
+                    break;
+                }
+
+                do {
+                    dst.put(p++, (byte) ch);
+                    i++;
+                } while (i < end && (ch = seq.charAt(i)) < 0x80);
+
+                continue;
+            }
+
+            if (ch < 0x800) {
+                if (limit - p < 2) {
+                    break;
+                }
+
+                dst.put(p++, (byte) (0xC0 | ch >>> 6));
+                dst.put(p++, (byte) (0x80 | ch & 0x3F));
+                i++;
+
+                continue;
+            }
+
+            if (!SurrogateUtils.isSurrogate(ch)) {
+                cp = ch;
+            } else if (SurrogateUtils.isHighSurrogate(ch) && i + 1 < to
+                    && SurrogateUtils.isLowSurrogate(seq.charAt(i + 1))) {
+                if (limit - p < 4) {
+                    break;
+                }
+
+                cp = Character.toCodePoint(ch, seq.charAt(i + 1));
+
+                dst.put(p++, (byte) (0xF0 | cp >>> 18));
+                dst.put(p++, (byte) (0x80 | cp >>> 12 & 0x3F));
+                dst.put(p++, (byte) (0x80 | cp >>> 6 & 0x3F));
+                dst.put(p++, (byte) (0x80 | cp & 0x3F));
+                i += 2;
+
+                continue;
+            } else {
+                cp = unattached(ch, policy);
+
+                if (cp == FAILED) {
+                    break;
+                }
+
+                if (cp == DROPPED) {
+                    i++;
+                    continue;
+                }
+            }
+
+            if (limit - p < 3) {
+                break;
+            }
+
+            dst.put(p++, (byte) (0xE0 | cp >>> 12));
+            dst.put(p++, (byte) (0x80 | cp >>> 6 & 0x3F));
+            dst.put(p++, (byte) (0x80 | cp & 0x3F));
+            i++;
+        }
+
+        return pack(i, p);
+    }
+
+    /**
+     * This method handles an unattached surrogate by a policy.
+     *
+     * @param ch Unattached surrogate
+     * @param policy Policy of handling unattached surrogates
+     *
+     * @return Code point to encode, {@link #DROPPED} if the surrogate is dropped or {@link #FAILED} if it must be
+     *         reported
+     */
+    private static int unattached(final char ch, final UnattachedSurrogatePolicy policy) {
+        switch (policy) {
+            case REPLACE:
+                return CharSequenceUtils.REPLACEMENT_CHAR;
+
+            case PASS:
+                return ch;
+
+            case DROP:
+                return DROPPED;
+
+            default:
+                return FAILED;
+        }
+    }
+
+    /**
+     * This method checks whether a char of a range of a char sequence is an unattached surrogate.
+     *
+     * @param seq Char sequence
+     * @param idx Char index
+     * @param to Range end index, exclusive
+     *
+     * @return <code>true</code> if the char is an unattached surrogate or <code>false</code> if not
+     */
+    private static boolean isUnattachedSurrogate(final CharSequence seq, final int idx, final int to) {
+        final char ch = seq.charAt(idx);
+
+        if (SurrogateUtils.isHighSurrogate(ch)) {
+            return idx + 1 == to || !SurrogateUtils.isLowSurrogate(seq.charAt(idx + 1));
+        }
+
+        // The encoding never stops between the chars of a pair, so a low surrogate at the stop index is unattached.
+
+        return SurrogateUtils.isLowSurrogate(ch);
+    }
+
+    /**
+     * This method packs a char index and a byte index to a single <code>long</code>.
+     *
+     * @param idx Char index
+     * @param pos Byte index
+     *
+     * @return Packed indexes
+     */
+    private static long pack(final int idx, final int pos) {
+        return (long) idx << 32 | pos & 0xFFFFFFFFL;
+    }
+
+    /**
+     * This method unpacks a char index packed by {@link #pack(int, int)}.
+     *
+     * @param packed Packed indexes
+     *
+     * @return Char index
+     */
+    private static int index(final long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    /**
+     * This method unpacks a byte index packed by {@link #pack(int, int)}.
+     *
+     * @param packed Packed indexes
+     *
+     * @return Byte index
+     */
+    private static int position(final long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private Utf8Utils() {}
+
+}
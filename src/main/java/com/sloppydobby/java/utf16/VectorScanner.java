@@ -0,0 +1,155 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * SIMD surrogates scanner for char arrays.
+ * This is the Java 8 version of the class which does not support SIMD, so {@link #SUPPORTED} is always
+ * <code>false</code> and callers should use the scalar checks.
+ * The methods are still correct, they check the chars by the scalar checks of {@link CharSequenceUtils}.
+ * The multi-release JAR contains a Java 17 version of the class, which uses the Vector API if the
+ * <code>jdk.incubator.vector</code> module is available at runtime.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class VectorScanner {
+
+    /**
+     * Whether the SIMD scanner is supported by the JVM.
+     *
+     * @since Added in 0.0.2
+     */
+    static final boolean SUPPORTED;
+
+    /**
+     * Minimal length of a char array range that is worth checking by vectors.
+     *
+     * @since Added in 0.0.2
+     */
+    static final int MIN_LENGTH;
+
+    // The fields are assigned in the static block instead of the declarations, otherwise the compiler would inline
+    // them to the callers as constants, and the Java 17 version of the class would never be asked.
+
+    static {
+        SUPPORTED = false;
+        MIN_LENGTH = Integer.MAX_VALUE;
+    }
+
+    /**
+     * This method finds a UTF-16 surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first UTF-16 surrogate in the order of the scan or <code>-1</code> if there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanSurrogates(final char[] buf, final int off, final int len) {
+        return CharSequenceUtils.scanSurrogatesScalar(buf, off, len);
+    }
+
+    /**
+     * This method finds the first char of a range of a char array that is not a surrogate.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char that is not a surrogate in the order of the scan or <code>-1</code> if
+     *         there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return CharSequenceUtils.scanSurrogatesOnlyScalar(buf, off, len);
+    }
+
+    /**
+     * This method finds a UTF-16 high surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first UTF-16 high surrogate in the order of the scan or <code>-1</code> if there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanHighSurrogates(final char[] buf, final int off, final int len) {
+        return CharSequenceUtils.scanHighSurrogatesScalar(buf, off, len);
+    }
+
+    /**
+     * This method finds the first char of a range of a char array that is not a high surrogate.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char that is not a high surrogate in the order of the scan or <code>-1</code> if
+     *         there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanHighSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return CharSequenceUtils.scanHighSurrogatesOnlyScalar(buf, off, len);
+    }
+
+    /**
+     * This method finds a UTF-16 low surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first UTF-16 low surrogate in the order of the scan or <code>-1</code> if there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanLowSurrogates(final char[] buf, final int off, final int len) {
+        return CharSequenceUtils.scanLowSurrogatesScalar(buf, off, len);
+    }
+
+    /**
+     * This method finds the first char of a range of a char array that is not a low surrogate.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char that is not a low surrogate in the order of the scan or <code>-1</code> if
+     *         there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanLowSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return CharSequenceUtils.scanLowSurrogatesOnlyScalar(buf, off, len);
+    }
+
+    /**
+     * This method finds an unattached UTF-16 surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first unattached UTF-16 surrogate in the order of the scan or <code>-1</code> if there
+     *         are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanUnattachedSurrogates(final char[] buf, final int off, final int len) {
+        return CharSequenceUtils.scanUnattachedSurrogatesScalar(buf, off, len);
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private VectorScanner() {}
+
+}
@@ -0,0 +1,106 @@
+package com.sloppydobby.java.utf16;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events of large scans of {@link CharSequenceUtils}.
+ * This is the Java 17 version of the class, which emits a <code>com.sloppydobby.java.utf16.SurrogateScan</code>
+ * event for each scan of at least {@link #MIN_LENGTH} chars while the event is enabled in a recording.
+ * An event has the duration of the scan, the scanning method, the length of the range and the outcome, and the
+ * stack trace of the caller, so the callers that pass huge inputs can be found in a recording.
+ * Shorter scans only compare the length, so they cost nothing even while recording.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class ScanEvents {
+
+    /**
+     * Minimal length of a scanned range to emit an event, 64K chars.
+     */
+    static final int MIN_LENGTH = 1 << 16;
+
+    /**
+     * This method begins an event of a scan, if the scan is large enough and the event is enabled.
+     *
+     * @param length Length of the range to scan
+     *
+     * @return Begun event or <code>null</code> if no event is recorded
+     *
+     * @since Added in 0.0.2
+     */
+    static Object begin(final int length) {
+        if (length < MIN_LENGTH) {
+            return null;
+        }
+
+        final SurrogateScanEvent event = new SurrogateScanEvent();
+
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * This method ends an event begun by {@link #begin(int)} and commits it, if it passes the duration threshold of
+     * the recording.
+     *
+     * @param event Event
+     * @param method Scanning method
+     * @param length Length of the scanned range
+     * @param hit Answer of a <code>contains*</code> method or whether a <code>replace*</code> method repaired any
+     *
+     * @since Added in 0.0.2
+     */
+    static void commit(final Object event, final ScanMethod method, final int length, final boolean hit) {
+        final SurrogateScanEvent scan = (SurrogateScanEvent) event;
+
+        scan.end();
+
+        if (scan.shouldCommit()) {
+            scan.method = method.name();
+            scan.length = length;
+            scan.hit = hit;
+            scan.commit();
+        }
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     */
+    private ScanEvents() {}
+
+    /**
+     * Flight Recorder event of a large scan.
+     *
+     * @since Added in 0.0.2
+     */
+    @Name("com.sloppydobby.java.utf16.SurrogateScan")
+    @Label("Surrogate Scan")
+    @Category({ "Java Application", "UTF-16" })
+    @Description("Scan of a large char sequence or char array for UTF-16 surrogates")
+    static final class SurrogateScanEvent extends Event {
+
+        @Label("Method")
+        String method;
+
+        @Label("Length")
+        @Description("Length of the scanned range in chars")
+        int length;
+
+        @Label("Hit")
+        @Description("Answer of a contains method or whether a replace method repaired any surrogate")
+        boolean hit;
+
+    }
+
+}
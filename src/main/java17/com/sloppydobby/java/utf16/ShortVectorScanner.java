@@ -0,0 +1,245 @@
+package com.sloppydobby.java.utf16;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD surrogates scanner for char arrays, based on the Vector API.
+ * The chars are loaded as <code>short</code> lanes of the preferred vector species (8 to 32 chars per vector,
+ * depending on the CPU), and each lane is tested by the same high bits as in {@link SurrogateUtils}.
+ * The vectors are read in the same order as the chars of the scalar checks - from the beginning to the middle, then
+ * from the end to the middle, so a surrogate near either end of a long range is found after a few vectors.
+ * Only {@link VectorScanner} can refer to this class, since the class can not be linked without the
+ * <code>jdk.incubator.vector</code> module.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class ShortVectorScanner {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    /**
+     * Mask of the high bits <code>11011</code> that are common for all surrogates.
+     */
+    private static final int SURROGATE_MASK = 0xF800;
+
+    /**
+     * Mask of the high bits <code>110110</code> and <code>110111</code> that distinguish high and low surrogates.
+     */
+    private static final int HIGH_LOW_SURROGATE_MASK = 0xFC00;
+
+    /**
+     * Minimal surrogate (and high surrogate).
+     */
+    private static final int MIN_HIGH_SURROGATE = 0xD800;
+
+    /**
+     * Minimal low surrogate.
+     */
+    private static final int MIN_LOW_SURROGATE = 0xDC00;
+
+    /**
+     * This method returns the minimal length of a char array range that is worth checking by vectors.
+     * Species narrower than 8 lanes are not worth it at all.
+     *
+     * @return Minimal range length or <code>0</code> if vectors should not be used
+     *
+     * @since Added in 0.0.2
+     */
+    static int minLength() {
+        final int lanes = SPECIES.length();
+        return lanes < 8 ? 0 : lanes * 2;
+    }
+
+    static int scanSurrogates(final char[] buf, final int off, final int len) {
+        return scan(buf, off, len, SURROGATE_MASK, MIN_HIGH_SURROGATE, VectorOperators.EQ);
+    }
+
+    static int scanSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return scan(buf, off, len, SURROGATE_MASK, MIN_HIGH_SURROGATE, VectorOperators.NE);
+    }
+
+    static int scanHighSurrogates(final char[] buf, final int off, final int len) {
+        return scan(buf, off, len, HIGH_LOW_SURROGATE_MASK, MIN_HIGH_SURROGATE, VectorOperators.EQ);
+    }
+
+    static int scanHighSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return scan(buf, off, len, HIGH_LOW_SURROGATE_MASK, MIN_HIGH_SURROGATE, VectorOperators.NE);
+    }
+
+    static int scanLowSurrogates(final char[] buf, final int off, final int len) {
+        return scan(buf, off, len, HIGH_LOW_SURROGATE_MASK, MIN_LOW_SURROGATE, VectorOperators.EQ);
+    }
+
+    static int scanLowSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return scan(buf, off, len, HIGH_LOW_SURROGATE_MASK, MIN_LOW_SURROGATE, VectorOperators.NE);
+    }
+
+    /**
+     * This method finds an unattached UTF-16 surrogate in a range of a char array.
+     * Vectors without surrogates are skipped at once, and the chars of a vector with surrogates are checked one by
+     * one from its first surrogate lane.
+     * A surrogate is checked against its neighbours only, so the vectors can be read from both ends of a range.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first unattached surrogate in the order of the scan or <code>-1</code> if there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanUnattachedSurrogates(final char[] buf, final int off, final int len) {
+        final int lanes = SPECIES.length();
+        final int end = off + len;
+        final int blocks = len / lanes;
+        final int midIdx = off + (blocks >>> 1) * lanes;
+        final int tailIdx = end - (blocks - (blocks >>> 1)) * lanes;
+
+        VectorMask<Short> mask;
+        int exit;
+
+        for (int i = off; i < midIdx; i += lanes) {
+            mask = surrogateLanes(buf, i);
+            exit = mask.anyTrue() ? scanUnattachedSurrogates(buf, off, end, i + mask.firstTrue(), i + lanes) : -1;
+
+            if (exit >= 0) {
+                return exit;
+            }
+        }
+
+        for (int i = end - lanes; i >= tailIdx; i -= lanes) {
+            mask = surrogateLanes(buf, i);
+            exit = mask.anyTrue() ? scanUnattachedSurrogates(buf, off, end, i + mask.firstTrue(), i + lanes) : -1;
+
+            if (exit >= 0) {
+                return exit;
+            }
+        }
+
+        // Less than a vector of chars is left between the halves.
+
+        return scanUnattachedSurrogates(buf, off, end, midIdx, tailIdx);
+    }
+
+    /**
+     * This method loads a vector of chars and finds its surrogate lanes.
+     *
+     * @param buf Char array
+     * @param idx Index of the 1st char
+     *
+     * @return Mask of the surrogate lanes
+     */
+    private static VectorMask<Short> surrogateLanes(final char[] buf, final int idx) {
+        final ShortVector vector = ShortVector.fromCharArray(SPECIES, buf, idx);
+        return vector.and((short) SURROGATE_MASK).compare(VectorOperators.EQ, (short) MIN_HIGH_SURROGATE);
+    }
+
+    /**
+     * This method finds the first unattached UTF-16 surrogate of a part of a range of a char array.
+     * A high surrogate is unattached if it is not followed by a low surrogate within the range, and a low surrogate
+     * is unattached if it is not preceded by a high surrogate within the range, so the chars around the part are read
+     * if they are in the range.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param end Range end index, exclusive
+     * @param from Part begin index, inclusive
+     * @param to Part end index, exclusive
+     *
+     * @return Index of the first unattached surrogate of the part or <code>-1</code> if there are none
+     */
+    private static int scanUnattachedSurrogates(final char[] buf, final int off, final int end, final int from,
+                                                final int to) {
+        char ch;
+        boolean res;
+
+        int i = from;
+
+        while (i < to) {
+            ch = buf[i];
+
+            if (SurrogateUtils.isHighSurrogate(ch)) {
+                res = i + 1 == end || !SurrogateUtils.isLowSurrogate(buf[i + 1]);
+
+                if (res) {
+                    return i;
+                }
+
+                i += 2;
+                continue;
+            }
+
+            res = SurrogateUtils.isLowSurrogate(ch) && (i == off || !SurrogateUtils.isHighSurrogate(buf[i - 1]));
+
+            if (res) {
+                return i;
+            }
+
+            i++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method finds the first char of a range in the given relation to the pattern after masking.
+     * The vectors are read from the beginning to the middle, then from the end to the middle, and the chars left
+     * between the halves are checked one by one, so the first char in the order of the scan is the first lane of a
+     * head vector or the last lane of a tail vector.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     * @param mask Mask of the char high bits
+     * @param pattern Pattern of the masked chars
+     * @param test Relation of a masked char to the pattern, {@link VectorOperators#EQ} or {@link VectorOperators#NE}
+     *
+     * @return Index of the first char in the relation in the order of the scan or <code>-1</code> if there are none
+     */
+    private static int scan(final char[] buf, final int off, final int len, final int mask, final int pattern,
+                            final VectorOperators.Comparison test) {
+        final int lanes = SPECIES.length();
+        final int end = off + len;
+        final int blocks = len / lanes;
+        final int midIdx = off + (blocks >>> 1) * lanes;
+        final int tailIdx = end - (blocks - (blocks >>> 1)) * lanes;
+        final boolean equal = test == VectorOperators.EQ;
+
+        ShortVector vector;
+        VectorMask<Short> res;
+
+        for (int i = off; i < midIdx; i += lanes) {
+            vector = ShortVector.fromCharArray(SPECIES, buf, i);
+            res = vector.and((short) mask).compare(test, (short) pattern);
+
+            if (res.anyTrue()) {
+                return i + res.firstTrue();
+            }
+        }
+
+        for (int i = end - lanes; i >= tailIdx; i -= lanes) {
+            vector = ShortVector.fromCharArray(SPECIES, buf, i);
+            res = vector.and((short) mask).compare(test, (short) pattern);
+
+            if (res.anyTrue()) {
+                return i + res.lastTrue();
+            }
+        }
+
+        // Less than a vector of chars is left between the halves.
+
+        for (int i = midIdx; i < tailIdx; i++) {
+            if (((buf[i] & mask) == pattern) == equal) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
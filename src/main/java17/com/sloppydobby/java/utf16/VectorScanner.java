@@ -0,0 +1,165 @@
+package com.sloppydobby.java.utf16;
+
+/**
+ * SIMD surrogates scanner for char arrays.
+ * This is the Java 17 version of the class, which uses the Vector API (see {@link ShortVectorScanner}) if the
+ * <code>jdk.incubator.vector</code> module is available at runtime, for example if the JVM is started with the
+ * <code>--add-modules jdk.incubator.vector</code> option.
+ * Otherwise {@link #SUPPORTED} is <code>false</code> and callers should use the scalar checks.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class VectorScanner {
+
+    /**
+     * Whether the SIMD scanner is supported by the JVM.
+     *
+     * @since Added in 0.0.2
+     */
+    static final boolean SUPPORTED;
+
+    /**
+     * Minimal length of a char array range that is worth checking by vectors.
+     *
+     * @since Added in 0.0.2
+     */
+    static final int MIN_LENGTH;
+
+    static {
+        boolean supported;
+        int minLength;
+
+        // Vector API classes are loaded only by ShortVectorScanner, so the linkage fails there if the incubator
+        // module is not resolved.
+
+        try {
+            minLength = ShortVectorScanner.minLength();
+            supported = minLength > 0;
+        } catch (final LinkageError e) {
+            minLength = 0;
+            supported = false;
+        }
+
+        SUPPORTED = supported;
+        MIN_LENGTH = supported ? minLength : Integer.MAX_VALUE;
+    }
+
+    /**
+     * This method finds a UTF-16 surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first UTF-16 surrogate in the order of the scan or <code>-1</code> if there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanSurrogates(final char[] buf, final int off, final int len) {
+        return ShortVectorScanner.scanSurrogates(buf, off, len);
+    }
+
+    /**
+     * This method finds the first char of a range of a char array that is not a surrogate.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char that is not a surrogate in the order of the scan or <code>-1</code> if
+     *         there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return ShortVectorScanner.scanSurrogatesOnly(buf, off, len);
+    }
+
+    /**
+     * This method finds a UTF-16 high surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first UTF-16 high surrogate in the order of the scan or <code>-1</code> if there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanHighSurrogates(final char[] buf, final int off, final int len) {
+        return ShortVectorScanner.scanHighSurrogates(buf, off, len);
+    }
+
+    /**
+     * This method finds the first char of a range of a char array that is not a high surrogate.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char that is not a high surrogate in the order of the scan or <code>-1</code> if
+     *         there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanHighSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return ShortVectorScanner.scanHighSurrogatesOnly(buf, off, len);
+    }
+
+    /**
+     * This method finds a UTF-16 low surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first UTF-16 low surrogate in the order of the scan or <code>-1</code> if there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanLowSurrogates(final char[] buf, final int off, final int len) {
+        return ShortVectorScanner.scanLowSurrogates(buf, off, len);
+    }
+
+    /**
+     * This method finds the first char of a range of a char array that is not a low surrogate.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first char that is not a low surrogate in the order of the scan or <code>-1</code> if
+     *         there are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanLowSurrogatesOnly(final char[] buf, final int off, final int len) {
+        return ShortVectorScanner.scanLowSurrogatesOnly(buf, off, len);
+    }
+
+    /**
+     * This method finds an unattached UTF-16 surrogate in a range of a char array.
+     *
+     * @param buf Char array
+     * @param off Range offset
+     * @param len Range length
+     *
+     * @return Index of the first unattached UTF-16 surrogate in the order of the scan or <code>-1</code> if there
+     *         are none
+     *
+     * @since Added in 0.0.2
+     */
+    static int scanUnattachedSurrogates(final char[] buf, final int off, final int len) {
+        return ShortVectorScanner.scanUnattachedSurrogates(buf, off, len);
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private VectorScanner() {}
+
+}
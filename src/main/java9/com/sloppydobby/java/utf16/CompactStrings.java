@@ -0,0 +1,82 @@
+package com.sloppydobby.java.utf16;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Detector of the strings stored in the Latin-1 coding, which cannot contain UTF-16 surrogates.
+ * This is the Java 9 version of the class. Since JDK 9 a string whose chars all fit a byte is stored as Latin-1
+ * bytes (see JEP 254 "Compact Strings"), and its <code>coder</code> field tells so.
+ * Reading the field is opt-in: it is read by a {@link VarHandle} of a private lookup (see
+ * {@link MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)}), which the JVM only allows if the
+ * <code>java.lang</code> package is opened to this library, and it is not opened by default - the JVM must be
+ * started with the <code>--add-opens java.base/java.lang=ALL-UNNAMED</code> option.
+ * Without the option, and on JVMs with compact strings disabled, {@link #SUPPORTED} is <code>false</code> and
+ * {@link #isLatin1(String)} never detects a string, so the callers scan the chars as usual.
+ *
+ * @author Sergey Grigorov
+ *
+ * @since Added in 0.0.2
+ */
+final class CompactStrings {
+
+    /**
+     * Whether the coder of strings can be read on the JVM.
+     *
+     * @since Added in 0.0.2
+     */
+    static final boolean SUPPORTED;
+
+    /**
+     * Value of the <code>coder</code> field of Latin-1 strings.
+     */
+    private static final byte LATIN1 = 0;
+
+    /**
+     * Handle of the <code>coder</code> field, <code>null</code> if the field cannot be read.
+     */
+    private static final VarHandle CODER;
+
+    static {
+        VarHandle coder;
+
+        try {
+            coder = MethodHandles.privateLookupIn(String.class, MethodHandles.lookup())
+                    .findVarHandle(String.class, "coder", byte.class);
+
+            // The field is internal, so its meaning is checked on strings of known coding before it is trusted
+
+            if ((byte) coder.get("a") != LATIN1 || (byte) coder.get("\u0416") == LATIN1) {
+                coder = null;
+            }
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            // java.lang is not opened to this library, or the JVM has no such field
+            coder = null;
+        }
+
+        CODER = coder;
+        SUPPORTED = coder != null;
+    }
+
+    /**
+     * This method can be used to check whether a string is stored in the Latin-1 coding.
+     *
+     * @param str String
+     *
+     * @return <code>true</code> if a string is stored in the Latin-1 coding or <code>false</code> if not, or if the
+     *         coder cannot be read
+     *
+     * @since Added in 0.0.2
+     */
+    static boolean isLatin1(final String str) {
+        return CODER != null && (byte) CODER.get(str) == LATIN1;
+    }
+
+    /**
+     * Private constructor to prevent utilities class instantiation.
+     *
+     * @since Added in 0.0.2
+     */
+    private CompactStrings() {}
+
+}
@@ -0,0 +1,160 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class CharMatcherTests {
+
+    private final char[] whitespace = {
+            '\t', '\n', '\u000B', '\f', '\r', ' ', '\u0085', '\u00A0', '\u1680', '\u2000', '\u2001', '\u2002',
+            '\u2003', '\u2004', '\u2005', '\u2006', '\u2007', '\u2008', '\u2009', '\u200A', '\u2028', '\u2029',
+            '\u202F', '\u205F', '\u3000'
+    };
+
+    @Test
+    public void testOfTarget() {
+        for (int target = 0; target < 32; target++) {
+            final CharMatcher matcher = CharMatcher.ofTarget(target);
+
+            Assert.assertSame(matcher, CharMatcher.ofTarget(target));
+
+            for (int ch = Character.MIN_VALUE; ch <= Character.MAX_VALUE; ch++) {
+                final boolean expected = ((target & CharSequenceUtils.TARGET_SPACE_CHAR) != 0 && ch == ' ')
+                        || ((target & CharSequenceUtils.TARGET_TAB_CHAR) != 0 && ch == '\t')
+                        || ((target & CharSequenceUtils.TARGET_LINE_BREAK_CHAR) != 0 && ch == '\n')
+                        || ((target & CharSequenceUtils.TARGET_RETURN_CARET_CHAR) != 0 && ch == '\r')
+                        || ((target & CharSequenceUtils.TARGET_SURROGATE_CHAR) != 0
+                            && Character.isSurrogate((char) ch));
+
+                if (matcher.matches((char) ch) != expected) {
+                    Assert.fail("Target " + target + " must " + (expected ? "" : "not ") + "match char " + ch);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnicodeWhitespace() {
+        final String expected = new String(whitespace);
+
+        for (int ch = Character.MIN_VALUE; ch <= Character.MAX_VALUE; ch++) {
+            Assert.assertEquals("Char " + ch, expected.indexOf(ch) >= 0,
+                    CharMatcher.UNICODE_WHITESPACE.matches((char) ch));
+        }
+    }
+
+    @Test
+    public void testCombinations() {
+        final Random random = new Random(15);
+
+        for (int n = 0; n < 100; n++) {
+            final char[] chars = new char[random.nextInt(8)];
+
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) (random.nextBoolean() ? random.nextInt(0x100) : random.nextInt(0x10000));
+            }
+
+            final char first = (char) random.nextInt(0x10000);
+            final char last = (char) Math.min(first + random.nextInt(0x200), Character.MAX_VALUE);
+
+            final String set = new String(chars);
+            final CharMatcher any = CharMatcher.anyOf(chars);
+            final CharMatcher range = CharMatcher.inRange(first, last);
+            final CharMatcher or = any.or(range);
+            final CharMatcher negated = or.negate();
+
+            Assert.assertEquals(any, CharMatcher.anyOf(set));
+            Assert.assertEquals(any.hashCode(), CharMatcher.anyOf(set).hashCode());
+            Assert.assertEquals(or, range.or(any));
+            Assert.assertEquals(or.hashCode(), range.or(any).hashCode());
+            Assert.assertEquals(or, negated.negate());
+
+            for (int ch = Character.MIN_VALUE; ch <= Character.MAX_VALUE; ch++) {
+                final boolean inSet = set.indexOf(ch) >= 0;
+                final boolean inRange = ch >= first && ch <= last;
+
+                if (any.matches((char) ch) != inSet || range.matches((char) ch) != inRange
+                        || or.matches((char) ch) != (inSet || inRange)
+                        || negated.matches((char) ch) == (inSet || inRange)) {
+                    Assert.fail("Char " + ch + " of set " + toCodes(set) + " and range [" + (int) first + ", "
+                            + (int) last + "]");
+                }
+            }
+        }
+
+        Assert.assertFalse(CharMatcher.anyOf().matches('\0'));
+        Assert.assertTrue(CharMatcher.anyOf().negate().matches('\0'));
+        Assert.assertTrue(CharMatcher.inRange('a', 'a').matches('a'));
+
+        try {
+            CharMatcher.inRange('b', 'a');
+            Assert.fail("Empty range must not be accepted");
+        } catch (final IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void testAnyOfCodePoints() {
+        final CharMatcher matcher = CharMatcher.anyOfCodePoints('a', 0x3000, 0xD800, 0xFFFF);
+
+        Assert.assertEquals(CharMatcher.anyOf('a', '\u3000', '\uD800', '\uFFFF'), matcher);
+        Assert.assertEquals(CharMatcher.anyOf(), CharMatcher.anyOfCodePoints());
+
+        for (final int codePoint : new int[] { 0x10000, 0x1F600, Character.MAX_CODE_POINT + 1, -1 }) {
+            try {
+                CharMatcher.anyOfCodePoints('a', codePoint);
+                Assert.fail("Code point " + codePoint + " must not be accepted");
+            } catch (final IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testPairSplitAtBound() {
+        final CharMatcher high = CharMatcher.inRange('\uD800', '\uDBFF');
+        final char[] buf = "a\uD83D\uDE00b".toCharArray();
+
+        // A range that begins at the low surrogate of a pair does not see its high surrogate
+
+        Assert.assertFalse(CharSequenceUtils.containsAny(buf, 2, 2, high));
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfAny(buf, 2, 2, high));
+        Assert.assertEquals(1, CharSequenceUtils.indexOfAny(buf, 0, 2, high));
+        Assert.assertEquals("\uDE00b", CharSequenceUtils.trim(buf, 2, 2, high).toString());
+    }
+
+    @Test
+    public void testEmptyRange() {
+        final char[] buf = " a ".toCharArray();
+
+        Assert.assertFalse(CharSequenceUtils.containsAny(buf, 1, 0, CharMatcher.UNICODE_WHITESPACE));
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfAny(buf, 1, 0, CharMatcher.UNICODE_WHITESPACE));
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfAny(" a ", CharMatcher.UNICODE_WHITESPACE, 3));
+        Assert.assertEquals("", CharSequenceUtils.trim(" a ", 1, 1, CharMatcher.UNICODE_WHITESPACE).toString());
+    }
+
+    @Test
+    public void testLoneHighSurrogateAtEnd() {
+        final String seq = " a\uD800";
+
+        // A lone high surrogate is not whitespace, so it stops the trim from the end
+
+        Assert.assertEquals("a\uD800", CharSequenceUtils.trim(seq, CharMatcher.UNICODE_WHITESPACE).toString());
+        Assert.assertEquals(2, CharSequenceUtils.indexOfAny(seq, CharMatcher.ofTarget(
+                CharSequenceUtils.TARGET_SURROGATE_CHAR)));
+        Assert.assertEquals("a", CharSequenceUtils.trim(seq, CharSequenceUtils.TARGET_SPACE_CHAR
+                | CharSequenceUtils.TARGET_SURROGATE_CHAR).toString());
+    }
+
+    private String toCodes(final String set) {
+        final StringBuilder builder = new StringBuilder("[");
+
+        for (int i = 0; i < set.length(); i++) {
+            builder.append(i == 0 ? "" : ", ").append((int) set.charAt(i));
+        }
+
+        return builder.append(']').toString();
+    }
+
+}
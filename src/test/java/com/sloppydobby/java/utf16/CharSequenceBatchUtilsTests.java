@@ -0,0 +1,166 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public final class CharSequenceBatchUtilsTests {
+
+    private final char[] chars = { 'a', ' ', '\u0430', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @Test
+    public void testBatches() {
+        final Random random = new Random(17);
+
+        for (final int rows : new int[] { 0, 1, 63, 64, 65, 1000 }) {
+            final CharSequence[] seqs = newBatch(random, rows);
+
+            final BitSet surrogates = new BitSet();
+            final BitSet unattached = new BitSet();
+
+            for (int i = 0; i < rows; i++) {
+                surrogates.set(i, CharSequenceUtils.containsSurrogates(seqs[i]));
+                unattached.set(i, CharSequenceUtils.containsUnattachedSurrogates(seqs[i]));
+            }
+
+            final List<CharSequence> list = new LinkedList<>(Arrays.asList(seqs));
+
+            Assert.assertEquals(surrogates, CharSequenceBatchUtils.containsSurrogates(seqs));
+            Assert.assertEquals(surrogates, CharSequenceBatchUtils.containsSurrogates(list));
+            Assert.assertEquals(unattached, CharSequenceBatchUtils.containsUnattachedSurrogates(seqs));
+            Assert.assertEquals(unattached, CharSequenceBatchUtils.containsUnattachedSurrogates(list));
+            Assert.assertEquals(surrogates, CharSequenceBatchUtils.parallelContainsSurrogates(seqs));
+            Assert.assertEquals(unattached, CharSequenceBatchUtils.parallelContainsUnattachedSurrogates(seqs));
+        }
+
+        Assert.assertTrue(CharSequenceBatchUtils.containsSurrogates((CharSequence[]) null).isEmpty());
+        Assert.assertTrue(CharSequenceBatchUtils.containsUnattachedSurrogates((List<CharSequence>) null).isEmpty());
+    }
+
+    @Test
+    public void testParallelBatches() {
+        final Random random = new Random(17);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (final int rows : new int[] { 1, 1024, 1025, 5000, 20000 }) {
+                final CharSequence[] seqs = newBatch(random, rows);
+                final List<CharSequence> list = Arrays.asList(seqs);
+
+                final BitSet surrogates = CharSequenceBatchUtils.containsSurrogates(seqs);
+                final BitSet unattached = CharSequenceBatchUtils.containsUnattachedSurrogates(seqs);
+
+                Assert.assertEquals(surrogates, CharSequenceBatchUtils.parallelContainsSurrogates(seqs, pool, 0));
+                Assert.assertEquals(surrogates, CharSequenceBatchUtils.parallelContainsSurrogates(list, pool, 0));
+                Assert.assertEquals(unattached,
+                        CharSequenceBatchUtils.parallelContainsUnattachedSurrogates(seqs, pool, 0));
+                Assert.assertEquals(unattached,
+                        CharSequenceBatchUtils.parallelContainsUnattachedSurrogates(list, pool, 0));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchesAreNotReported() {
+        final StringBuilder longRow = new StringBuilder();
+
+        for (int i = 0; i < 1000; i++) {
+            longRow.append('\u0430');
+        }
+
+        longRow.setCharAt(700, '\uDC00');
+
+        // Short and long rows of each type, a Latin-1 string and a lone high surrogate at the end of a row
+
+        final CharSequence[] seqs = {
+                "abc", "a\uD800", longRow.toString(), new StringBuilder("\u0430\uD800\uDC00"),
+                new StringBuilder(longRow), new StringBuffer("\u0430\uDC00"), new StringBuffer(longRow),
+                CharBuffer.wrap("a\uD800\uDC00".toCharArray()), CharBuffer.wrap(longRow.toString().toCharArray()),
+                CharBuffer.wrap("\uD800\uDC00\uD800"), null
+        };
+
+        final BitSet surrogates = new BitSet();
+        surrogates.set(1, 10);
+
+        final BitSet unattached = new BitSet();
+        unattached.set(1, 3);
+        unattached.set(4, 7);
+        unattached.set(8, 10);
+
+        final List<ScanMethod> scans = new ArrayList<>();
+
+        CharSequenceUtils.setScanListener((method, length, hit, position) -> scans.add(method));
+
+        try {
+            Assert.assertEquals(surrogates, CharSequenceBatchUtils.containsSurrogates(seqs));
+            Assert.assertEquals(unattached, CharSequenceBatchUtils.containsUnattachedSurrogates(seqs));
+            Assert.assertEquals(surrogates,
+                    CharSequenceBatchUtils.parallelContainsSurrogates(seqs, ForkJoinPool.commonPool(), 0));
+            Assert.assertEquals(unattached,
+                    CharSequenceBatchUtils.parallelContainsUnattachedSurrogates(seqs, ForkJoinPool.commonPool(), 0));
+            Assert.assertTrue(scans.isEmpty());
+        } finally {
+            CharSequenceUtils.setScanListener(null);
+        }
+    }
+
+    private CharSequence[] newBatch(final Random random, final int rows) {
+        final CharSequence[] seqs = new CharSequence[rows];
+
+        for (int i = 0; i < rows; i++) {
+            final char[] buf = new char[random.nextInt(8)];
+
+            for (int j = 0; j < buf.length; j++) {
+                buf[j] = random.nextInt(4) == 0 ? chars[random.nextInt(chars.length)] : 'a';
+            }
+
+            switch (random.nextInt(7)) {
+                case 0:
+                    seqs[i] = new String(buf);
+                    break;
+
+                case 1:
+                    seqs[i] = new StringBuilder().append(buf);
+                    break;
+
+                case 2:
+                    // Array-backed buffer with an offset and a position
+                    final char[] padded = new char[buf.length + 4];
+                    System.arraycopy(buf, 0, padded, 2, buf.length);
+                    final CharBuffer slice = CharBuffer.wrap(padded, 1, buf.length + 2).slice();
+                    slice.position(1).limit(buf.length + 1);
+                    seqs[i] = slice;
+                    break;
+
+                case 3:
+                    seqs[i] = CharBuffer.wrap(new String(buf));
+                    break;
+
+                case 4:
+                    seqs[i] = CharSlice.of(buf, 0, buf.length);
+                    break;
+
+                case 5:
+                    seqs[i] = new StringBuffer().append(buf);
+                    break;
+
+                default:
+                    seqs[i] = null;
+                    break;
+            }
+        }
+
+        return seqs;
+    }
+
+}
@@ -3,7 +3,17 @@ package com.sloppydobby.java.utf16;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.stream.StreamSupport;
 
 public final class CharSequenceUtilsTests {
 
@@ -352,6 +362,790 @@ public final class CharSequenceUtilsTests {
         Assert.assertEquals(assertionError, expected, res);
     }
 
+    @Test
+    public void testContainsRanges() {
+        testRanges(CharSequenceUtils::containsSurrogates, CharSequenceUtils::containsSurrogates,
+                CharSequenceUtils::containsSurrogates);
+        testRanges(CharSequenceUtils::containsSurrogatesOnly, CharSequenceUtils::containsSurrogatesOnly,
+                CharSequenceUtils::containsSurrogatesOnly);
+        testRanges(CharSequenceUtils::containsHighSurrogates, CharSequenceUtils::containsHighSurrogates,
+                CharSequenceUtils::containsHighSurrogates);
+        testRanges(CharSequenceUtils::containsHighSurrogatesOnly, CharSequenceUtils::containsHighSurrogatesOnly,
+                CharSequenceUtils::containsHighSurrogatesOnly);
+        testRanges(CharSequenceUtils::containsLowSurrogates, CharSequenceUtils::containsLowSurrogates,
+                CharSequenceUtils::containsLowSurrogates);
+        testRanges(CharSequenceUtils::containsLowSurrogatesOnly, CharSequenceUtils::containsLowSurrogatesOnly,
+                CharSequenceUtils::containsLowSurrogatesOnly);
+        testRanges(CharSequenceUtils::containsSurrogatePairs, CharSequenceUtils::containsSurrogatePairs,
+                CharSequenceUtils::containsSurrogatePairs);
+        testRanges(CharSequenceUtils::containsSurrogatePairsOnly, CharSequenceUtils::containsSurrogatePairsOnly,
+                CharSequenceUtils::containsSurrogatePairsOnly);
+        testRanges(CharSequenceUtils::containsUnattachedSurrogates, CharSequenceUtils::containsUnattachedSurrogates,
+                CharSequenceUtils::containsUnattachedSurrogates);
+    }
+
+    @Test
+    public void testContainsLongRanges() {
+        final char[] alphabet = { 'a', ' ', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+        final Random random = new Random(16);
+
+        for (int n = 0; n < 20000; n++) {
+            final char[] buf = new char[random.nextInt(160)];
+
+            // Most sequences are dense with one kind of chars to reach long hit-free runs and the vector branches.
+
+            final int kinds = 1 + random.nextInt(alphabet.length);
+            final int rare = random.nextInt(4) == 0 ? random.nextInt(buf.length + 1) : -1;
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            if (rare >= 0 && rare < buf.length) {
+                buf[rare] = alphabet[random.nextInt(alphabet.length)];
+            }
+
+            final int off = buf.length == 0 ? 0 : random.nextInt(Math.min(buf.length, 5));
+            final int rest = buf.length - off;
+            final int len = rest - (rest == 0 ? 0 : random.nextInt(Math.min(rest, 5)));
+
+            testLongRange(buf, off, len);
+        }
+    }
+
+    @Test
+    public void testContainsBulk() {
+        final char[] alphabet = { 'a', '\u0416', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+        final Random random = new Random(22);
+
+        for (int n = 0; n < 2000; n++) {
+            final char[] buf = new char[random.nextInt(3 * ScratchBuffers.LENGTH)];
+
+            // Dense sequences reach the "only" answers, sparse ones put single surrogates around the chunk bounds.
+
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            // The chunks are read from both ends, so their bounds are counted from the beginning and from the end
+
+            for (int i = random.nextInt(3); i > 0 && buf.length > 0; i--) {
+                final int chunk = ScratchBuffers.LENGTH * (1 + random.nextInt(2));
+                final int bound = random.nextBoolean() ? chunk : buf.length - chunk;
+                final int idx = Math.max(0, Math.min(buf.length - 1, bound - 6 + random.nextInt(12)));
+
+                buf[idx] = alphabet[random.nextInt(alphabet.length)];
+            }
+
+            final int from = buf.length == 0 ? 0 : random.nextInt(Math.min(buf.length, 5));
+            final int to = buf.length - random.nextInt(Math.min(buf.length - from, 5) + 1);
+            final int len = to - from;
+
+            final char[] wrapped = new char[buf.length + 3];
+            System.arraycopy(buf, 0, wrapped, 3, buf.length);
+
+            final CharSequence[] seqs = {
+                    new String(buf),
+                    new StringBuilder().append(buf),
+                    new StringBuffer().append(buf),
+                    CharBuffer.wrap(wrapped, 3, buf.length).slice(),
+                    CharBuffer.wrap(wrapped, 3, buf.length)
+            };
+
+            for (final CharSequence seq : seqs) {
+                final String message = seq.getClass().getSimpleName() + " [" + from + ", " + to + ")";
+
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogates(buf, from, len),
+                        CharSequenceUtils.containsSurrogates(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatesOnly(buf, from, len),
+                        CharSequenceUtils.containsSurrogatesOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsHighSurrogates(buf, from, len),
+                        CharSequenceUtils.containsHighSurrogates(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsHighSurrogatesOnly(buf, from, len),
+                        CharSequenceUtils.containsHighSurrogatesOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsLowSurrogates(buf, from, len),
+                        CharSequenceUtils.containsLowSurrogates(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsLowSurrogatesOnly(buf, from, len),
+                        CharSequenceUtils.containsLowSurrogatesOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatePairs(buf, from, len),
+                        CharSequenceUtils.containsSurrogatePairs(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatePairsOnly(buf, from, len),
+                        CharSequenceUtils.containsSurrogatePairsOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsUnattachedSurrogates(buf, from, len),
+                        CharSequenceUtils.containsUnattachedSurrogates(seq, from, to));
+            }
+        }
+    }
+
+    @Test
+    public void testContainsBulkOrder() {
+        final char[] buf = new char[4 * ScratchBuffers.LENGTH];
+        final List<Integer> positions = new ArrayList<>();
+
+        Arrays.fill(buf, 'a');
+
+        // A surrogate in the last chunk is found before a surrogate in the second chunk
+
+        buf[ScratchBuffers.LENGTH + 10] = '\uDC00';
+        buf[buf.length - 1] = '\uD800';
+
+        CharSequenceUtils.setScanListener((method, length, hit, position) -> positions.add(position));
+
+        try {
+            Assert.assertTrue(CharSequenceUtils.containsSurrogates(new StringBuilder().append(buf)));
+            Assert.assertFalse(CharSequenceUtils.containsSurrogatesOnly(new StringBuilder().append(buf)));
+        } finally {
+            CharSequenceUtils.setScanListener(null);
+        }
+
+        Assert.assertEquals(Arrays.asList(buf.length - 1, 0), positions);
+    }
+
+    @Test
+    public void testProfileSurrogates() {
+        Assert.assertEquals(0, CharSequenceUtils.profileSurrogates(null).getLength());
+        Assert.assertFalse(CharSequenceUtils.profileSurrogates(null).containsSurrogates());
+
+        testRanges(CharSequenceUtils::containsSurrogates,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsSurrogates(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsSurrogates());
+        testRanges(CharSequenceUtils::containsSurrogatesOnly,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsSurrogatesOnly(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsSurrogatesOnly());
+        testRanges(CharSequenceUtils::containsHighSurrogates,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsHighSurrogates(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsHighSurrogates());
+        testRanges(CharSequenceUtils::containsHighSurrogatesOnly,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsHighSurrogatesOnly(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsHighSurrogatesOnly());
+        testRanges(CharSequenceUtils::containsLowSurrogates,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsLowSurrogates(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsLowSurrogates());
+        testRanges(CharSequenceUtils::containsLowSurrogatesOnly,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsLowSurrogatesOnly(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsLowSurrogatesOnly());
+        testRanges(CharSequenceUtils::containsSurrogatePairs,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsSurrogatePairs(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsSurrogatePairs());
+        testRanges(CharSequenceUtils::containsSurrogatePairsOnly,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsSurrogatePairsOnly(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsSurrogatePairsOnly());
+        testRanges(CharSequenceUtils::containsUnattachedSurrogates,
+                (seq, from, to) -> CharSequenceUtils.profileSurrogates(seq, from, to).containsUnattachedSurrogates(),
+                (buf, off, len) -> CharSequenceUtils.profileSurrogates(buf, off, len).containsUnattachedSurrogates());
+
+        final char[] alphabet = { 'a', ' ', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+        final Random random = new Random(5);
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] buf = new char[random.nextInt(160)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final int off = buf.length == 0 ? 0 : random.nextInt(Math.min(buf.length, 5));
+            final int rest = buf.length - off;
+            final int len = rest - (rest == 0 ? 0 : random.nextInt(Math.min(rest, 5)));
+
+            testProfile(buf, off, len);
+        }
+    }
+
+    @Test
+    public void testIndexOf() {
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfSurrogate(null));
+        Assert.assertEquals(-1, CharSequenceUtils.lastIndexOfSurrogate(null));
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfUnattachedSurrogate(null));
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfSurrogatePair(null));
+
+        final char[] buf = new char[4];
+
+        final int total = chars.length * chars.length * chars.length * chars.length;
+
+        for (int n = 0; n < total; n++) {
+            int rem = n;
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = chars[rem % chars.length];
+                rem /= chars.length;
+            }
+
+            for (int len = 0; len <= buf.length; len++) {
+                final CharSequence seq = new String(buf, 0, len);
+
+                for (int from = -1; from <= len + 1; from++) {
+                    int surrogate = -1;
+                    int lastSurrogate = -1;
+                    int unattached = -1;
+                    int pair = -1;
+
+                    for (int i = Math.max(from, 0); i < len && surrogate < 0; i++) {
+                        surrogate = Character.isSurrogate(buf[i]) ? i : -1;
+                    }
+
+                    for (int i = Math.min(from, len - 1); i >= 0 && lastSurrogate < 0; i--) {
+                        lastSurrogate = Character.isSurrogate(buf[i]) ? i : -1;
+                    }
+
+                    for (int i = Math.max(from, 0); i < len && unattached < 0; i++) {
+                        final boolean pairBeg = i + 1 < len && Character.isSurrogatePair(buf[i], buf[i + 1]);
+                        final boolean pairEnd = i > 0 && Character.isSurrogatePair(buf[i - 1], buf[i]);
+
+                        unattached = Character.isSurrogate(buf[i]) && !pairBeg && !pairEnd ? i : -1;
+                    }
+
+                    for (int i = Math.max(from, 0); i + 1 < len && pair < 0; i++) {
+                        pair = Character.isSurrogatePair(buf[i], buf[i + 1]) ? i : -1;
+                    }
+
+                    final String error = "Index of '" + seq + "' from index " + from + " test failed";
+
+                    Assert.assertEquals(error, surrogate, CharSequenceUtils.indexOfSurrogate(seq, from));
+                    Assert.assertEquals(error, lastSurrogate, CharSequenceUtils.lastIndexOfSurrogate(seq, from));
+                    Assert.assertEquals(error, unattached, CharSequenceUtils.indexOfUnattachedSurrogate(seq, from));
+                    Assert.assertEquals(error, pair, CharSequenceUtils.indexOfSurrogatePair(seq, from));
+
+                    if (from >= 0 && from <= len) {
+                        final int result = CharSequenceUtils.indexOfSurrogate(buf, from, len - from);
+                        Assert.assertEquals(error, surrogate, result);
+                    }
+
+                    if (from == 0) {
+                        Assert.assertEquals(error, surrogate, CharSequenceUtils.indexOfSurrogate(seq));
+                        Assert.assertEquals(error, unattached, CharSequenceUtils.indexOfUnattachedSurrogate(seq));
+                        Assert.assertEquals(error, pair, CharSequenceUtils.indexOfSurrogatePair(seq));
+                    }
+
+                    if (from == len - 1) {
+                        Assert.assertEquals(error, lastSurrogate, CharSequenceUtils.lastIndexOfSurrogate(seq));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReplaceUnattachedSurrogates() throws IOException {
+        Assert.assertNull(CharSequenceUtils.sanitize(null));
+        Assert.assertEquals(0, CharSequenceUtils.sanitize(null, 0, 0));
+
+        final char[] buf = new char[4];
+
+        final int total = chars.length * chars.length * chars.length * chars.length;
+
+        for (int n = 0; n < total; n++) {
+            int rem = n;
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = chars[rem % chars.length];
+                rem /= chars.length;
+            }
+
+            final CharSequence seq = new String(buf);
+
+            for (int from = 0; from <= buf.length; from++) {
+                for (int to = from; to <= buf.length; to++) {
+                    testReplace(seq.subSequence(from, to).toString());
+
+                    final char[] copy = buf.clone();
+                    final char[] expected = buf.clone();
+                    final int count = replaceBruteForce(expected, from, to, '?');
+
+                    Assert.assertEquals(count, CharSequenceUtils.replaceUnattachedSurrogates(copy, from, to - from,
+                            '?'));
+                    Assert.assertEquals(new String(expected), new String(copy));
+                }
+            }
+        }
+
+        final char[] alphabet = { 'a', ' ', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+        final Random random = new Random(7);
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] arr = new char[random.nextInt(160)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            testReplace(new String(arr));
+
+            final int off = arr.length == 0 ? 0 : random.nextInt(Math.min(arr.length, 5));
+            final int len = arr.length - off;
+            final char[] expected = arr.clone();
+            final int count = replaceBruteForce(expected, off, off + len, CharSequenceUtils.REPLACEMENT_CHAR);
+
+            Assert.assertEquals(count, CharSequenceUtils.sanitize(arr, off, len));
+            Assert.assertEquals(new String(expected), new String(arr));
+        }
+    }
+
+    @Test
+    public void testParallelContains() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            final char[] alphabet = { 'a', ' ', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+            final Random random = new Random(10);
+
+            for (int n = 0; n < 2000; n++) {
+                final char[] buf = new char[random.nextInt(64)];
+                final int kinds = 1 + random.nextInt(alphabet.length);
+
+                for (int i = 0; i < buf.length; i++) {
+                    buf[i] = alphabet[random.nextInt(kinds)];
+                }
+
+                final CharSequence seq = new String(buf);
+
+                final boolean surrogates = CharSequenceUtils.containsSurrogates(seq);
+                final boolean pairsOnly = CharSequenceUtils.containsSurrogatePairsOnly(seq);
+                final boolean unattached = CharSequenceUtils.containsUnattachedSurrogates(seq);
+
+                final String error = getAssertionError(seq, unattached, !unattached);
+
+                Assert.assertEquals(error, surrogates, CharSequenceUtils.parallelContainsSurrogates(seq, pool, 0));
+                Assert.assertEquals(error, pairsOnly, CharSequenceUtils.parallelContainsSurrogatePairsOnly(seq, pool,
+                        0));
+                Assert.assertEquals(error, unattached, CharSequenceUtils.parallelContainsUnattachedSurrogates(seq,
+                        pool, 0));
+
+                for (int segmentLength = 1; segmentLength < 8; segmentLength++) {
+                    final String segments = error + " (segments of " + segmentLength + ")";
+                    final int hit = ParallelScanner.find(pool, seq, ParallelScanner.SURROGATES, segmentLength);
+
+                    Assert.assertEquals(segments, surrogates, hit >= 0);
+                    Assert.assertTrue(segments, hit < 0 || SurrogateUtils.isSurrogate(seq.charAt(hit)));
+                    Assert.assertEquals(segments, pairsOnly || buf.length == 0,
+                            ParallelScanner.find(pool, seq, ParallelScanner.NON_PAIRED_CHARS, segmentLength) < 0);
+                    Assert.assertEquals(segments, unattached, ParallelScanner.find(pool, seq,
+                            ParallelScanner.UNATTACHED_SURROGATES, segmentLength) >= 0);
+                }
+            }
+
+            // Halves of 50001 pairs split a pair, so the boundary char is checked by both neighbouring segments.
+
+            final StringBuilder pairs = new StringBuilder();
+
+            for (int i = 0; i < 50001; i++) {
+                pairs.append('\uD800').append('\uDC00');
+            }
+
+            Assert.assertTrue(CharSequenceUtils.parallelContainsSurrogatePairsOnly(pairs, pool, 0));
+            Assert.assertFalse(CharSequenceUtils.parallelContainsUnattachedSurrogates(pairs, pool, 0));
+
+            pairs.setCharAt(70001, 'a');
+
+            Assert.assertFalse(CharSequenceUtils.parallelContainsSurrogatePairsOnly(pairs, pool, 0));
+            Assert.assertTrue(CharSequenceUtils.parallelContainsUnattachedSurrogates(pairs, pool, 0));
+            Assert.assertTrue(CharSequenceUtils.parallelContainsUnattachedSurrogates(pairs));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTruncate() {
+        Assert.assertNull(CharSequenceUtils.truncate(null, 0));
+        Assert.assertNull(CharSequenceUtils.truncateToUtf8Bytes(null, 0));
+
+        final char[] alphabet = { 'a', '\u00E9', '\u4E2D', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+        final Random random = new Random(12);
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] arr = new char[random.nextInt(40)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final String seq = new String(arr);
+
+            for (int max = 0; max <= arr.length + 1; max++) {
+                int end = Math.min(max, arr.length);
+
+                if (end > 0 && end < arr.length && SurrogatePairUtils.isSurrogatePair(arr[end - 1], arr[end])) {
+                    end--;
+                }
+
+                final CharSequence res = CharSequenceUtils.truncate(seq, max);
+
+                Assert.assertEquals(seq.substring(0, end), res.toString());
+                Assert.assertEquals(max >= arr.length, res == seq);
+            }
+
+            for (int max = 0; max <= arr.length * 3 + 1; max++) {
+                final int end = truncateToUtf8BytesBruteForce(seq, max);
+                final CharSequence res = CharSequenceUtils.truncateToUtf8Bytes(seq, max);
+
+                Assert.assertEquals(seq.substring(0, end), res.toString());
+
+                if (end < arr.length) {
+                    Assert.assertNotSame(seq, res);
+                }
+            }
+
+            Assert.assertSame(seq, CharSequenceUtils.truncateToUtf8Bytes(seq, arr.length * 3));
+        }
+
+        try {
+            CharSequenceUtils.truncate("test", -1);
+            Assert.fail("Negative max chars should be illegal");
+        } catch (final IllegalArgumentException e) {
+            // Expected
+        }
+
+        try {
+            CharSequenceUtils.truncateToUtf8Bytes("test", -1);
+            Assert.fail("Negative max bytes should be illegal");
+        } catch (final IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testUtf8Length() {
+        Assert.assertEquals(0, CharSequenceUtils.utf8Length(null));
+        Assert.assertEquals(0, CharSequenceUtils.utf8Length(null, 0, 0));
+
+        final char[] alphabet = {
+                'a', '\u007F', '\u0080', '\u07FF', '\u0800', '\u4E2D', '\uFFFD',
+                '\uD800', '\uDBFF', '\uDC00', '\uDFFF'
+        };
+        final Random random = new Random(13);
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] arr = new char[random.nextInt(100)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final int off = arr.length == 0 ? 0 : random.nextInt(Math.min(arr.length, 5));
+            final int len = arr.length - off - random.nextInt(Math.min(arr.length - off, 5) + 1);
+            final String seq = new String(arr, off, len);
+            final String error = "Char sequence '" + seq + "' test failed";
+
+            final long replaced = CharSequenceUtils.sanitize(seq).toString().getBytes(StandardCharsets.UTF_8).length;
+            final long dropped = CharSequenceUtils.replaceUnattachedSurrogates(seq, '\uFFFF').toString()
+                    .replace("\uFFFF", "").getBytes(StandardCharsets.UTF_8).length;
+
+            Assert.assertEquals(error, replaced, CharSequenceUtils.utf8Length(seq));
+            Assert.assertEquals(error, replaced, CharSequenceUtils.utf8Length(arr, off, len));
+            Assert.assertEquals(error, replaced, CharSequenceUtils.utf8Length(new String(arr), off, off + len,
+                    UnattachedSurrogatePolicy.REPLACE));
+            Assert.assertEquals(error, dropped, CharSequenceUtils.utf8Length(seq, UnattachedSurrogatePolicy.DROP));
+            Assert.assertEquals(error, dropped, CharSequenceUtils.utf8Length(arr, off, len,
+                    UnattachedSurrogatePolicy.DROP));
+
+            final int idx = CharSequenceUtils.indexOfUnattachedSurrogate(seq);
+
+            try {
+                Assert.assertEquals(error, replaced, CharSequenceUtils.utf8Length(seq,
+                        UnattachedSurrogatePolicy.THROW));
+                Assert.assertEquals(error, -1, idx);
+            } catch (final UnattachedSurrogateException e) {
+                Assert.assertEquals(error, idx, e.getIndex());
+            }
+
+            try {
+                Assert.assertEquals(error, replaced, CharSequenceUtils.utf8Length(arr, off, len,
+                        UnattachedSurrogatePolicy.THROW));
+                Assert.assertEquals(error, -1, idx);
+            } catch (final UnattachedSurrogateException e) {
+                Assert.assertEquals(error, off + idx, e.getIndex());
+            }
+        }
+    }
+
+    @Test
+    public void testContainsRangesOutOfBounds() {
+        final String seq = "test";
+        final char[] buf = seq.toCharArray();
+
+        try {
+            CharSequenceUtils.containsSurrogates(seq, 2, 5);
+            Assert.fail("Range [2, 5) of '" + seq + "' should be out of bounds");
+        } catch (final IndexOutOfBoundsException e) {
+            // Expected
+        }
+
+        try {
+            CharSequenceUtils.containsSurrogates(seq, 3, 2);
+            Assert.fail("Range [3, 2) of '" + seq + "' should be out of bounds");
+        } catch (final IndexOutOfBoundsException e) {
+            // Expected
+        }
+
+        try {
+            CharSequenceUtils.containsSurrogates(buf, -1, 2);
+            Assert.fail("Range [-1, 1) of '" + seq + "' should be out of bounds");
+        } catch (final IndexOutOfBoundsException e) {
+            // Expected
+        }
+
+        try {
+            CharSequenceUtils.containsSurrogates(buf, 3, 2);
+            Assert.fail("Range [3, 5) of '" + seq + "' should be out of bounds");
+        } catch (final IndexOutOfBoundsException e) {
+            // Expected
+        }
+
+        Assert.assertFalse(CharSequenceUtils.containsSurrogates((CharSequence) null, 2, 5));
+        Assert.assertFalse(CharSequenceUtils.containsSurrogates((char[]) null, 2, 5));
+    }
+
+    @Test
+    public void testTrimRanges() {
+        final int target = CharSequenceUtils.TARGET_SPACE_CHAR | CharSequenceUtils.TARGET_SURROGATE_CHAR;
+
+        final String[] seqs = { "", " ", "a", " a", "a ", " a ", "  ", "ab", " ab ", "\uD800a\uDC00", " a b " };
+
+        CharSequence expected;
+        CharSequence result;
+
+        String assertionError;
+
+        for (final String seq : seqs) {
+            for (int from = 0; from <= seq.length(); from++) {
+                for (int to = from; to <= seq.length(); to++) {
+                    expected = trimBruteForce(seq.subSequence(from, to), target);
+
+                    result = CharSequenceUtils.trim(seq, from, to, target);
+                    assertionError = getAssertionError(seq.subSequence(from, to), expected, result);
+                    Assert.assertEquals(assertionError, expected.toString(), result.toString());
+
+                    result = CharSequenceUtils.trim(seq.toCharArray(), from, to - from, target);
+                    assertionError = getAssertionError(seq.subSequence(from, to), expected, result);
+                    Assert.assertEquals(assertionError, expected.toString(), result.toString());
+                }
+            }
+
+            result = CharSequenceUtils.trim(seq, target);
+            expected = trimBruteForce(seq, target);
+            assertionError = getAssertionError(seq, expected, result);
+            Assert.assertEquals(assertionError, expected.toString(), result.toString());
+        }
+
+        final String seq = "test";
+        Assert.assertSame(seq, CharSequenceUtils.trim(seq, 0, seq.length()));
+    }
+
+    @Test
+    public void testTrimMatcher() {
+        final CharMatcher matcher = CharMatcher.UNICODE_WHITESPACE;
+        final String ws = "\u00A0\u2003\u3000 \t";
+        final String[] seqs = { "", "a", ws + "a b" + ws, "\u3000\u3000", " \u2028a\u0085", "\u200Ba\u200B" };
+
+        CharSequence result;
+
+        for (final String seq : seqs) {
+            final String expected = trimBruteForce(seq);
+
+            for (int from = 0; from <= seq.length(); from++) {
+                for (int to = from; to <= seq.length(); to++) {
+                    final String sub = seq.substring(from, to);
+
+                    result = CharSequenceUtils.trim(seq, from, to, matcher);
+                    Assert.assertEquals(trimBruteForce(sub), result.toString());
+
+                    result = CharSequenceUtils.trim(seq.toCharArray(), from, to - from, matcher);
+                    Assert.assertEquals(trimBruteForce(sub), result.toString());
+                }
+            }
+
+            result = CharSequenceUtils.trim(seq, matcher);
+            Assert.assertEquals(expected, result.toString());
+        }
+
+        Assert.assertNull(CharSequenceUtils.trim((CharSequence) null, CharMatcher.UNICODE_WHITESPACE));
+        Assert.assertNull(CharSequenceUtils.trim((char[]) null, 0, 0, CharMatcher.UNICODE_WHITESPACE));
+
+        // A trimmed char array is a slice view of the array
+
+        final char[] buf = " ab ".toCharArray();
+        final CharSlice slice = CharSequenceUtils.trim(buf, 0, buf.length);
+
+        buf[1] = 'c';
+
+        Assert.assertEquals("cb", slice.toString());
+        Assert.assertSame(CharSlice.EMPTY, CharSequenceUtils.trim(buf, 0, 1));
+    }
+
+    @Test
+    public void testTrimBounds() {
+        final int target = CharSequenceUtils.TARGET_SPACE_CHAR | CharSequenceUtils.TARGET_SURROGATE_CHAR;
+        final CharMatcher matcher = CharMatcher.ofTarget(target);
+
+        final String[] seqs = { "", " ", "a", " a", "a ", " a ", "  ", "ab", " ab ", "\uD800a\uDC00", " a b " };
+
+        for (final String seq : seqs) {
+            for (int from = 0; from <= seq.length(); from++) {
+                for (int to = from; to <= seq.length(); to++) {
+                    final String expected = trimBruteForce(seq.subSequence(from, to), target).toString();
+
+                    long bounds = CharSequenceUtils.trimBounds(seq, from, to, matcher);
+                    Assert.assertEquals(expected, seq.substring(CharSequenceUtils.boundsBegin(bounds),
+                            CharSequenceUtils.boundsEnd(bounds)));
+
+                    bounds = CharSequenceUtils.trimBounds(seq.toCharArray(), from, to - from, matcher);
+                    Assert.assertEquals(expected, seq.substring(CharSequenceUtils.boundsBegin(bounds),
+                            CharSequenceUtils.boundsEnd(bounds)));
+                }
+            }
+
+            final String expected = trimBruteForce(seq, target).toString();
+
+            final long bounds = CharSequenceUtils.trimBounds(seq, target);
+            final int beg = CharSequenceUtils.boundsBegin(bounds);
+            final int end = CharSequenceUtils.boundsEnd(bounds);
+            Assert.assertEquals(expected, seq.substring(beg, end));
+
+            if (!expected.isEmpty()) {
+                Assert.assertEquals(seq.indexOf(expected), beg);
+            }
+
+            Assert.assertEquals(expected, CharSequenceUtils.trimToSlice(seq, target).toString());
+            Assert.assertEquals(expected, CharSequenceUtils.trimToSlice(new StringBuilder(seq), matcher).toString());
+        }
+
+        Assert.assertEquals("a", CharSequenceUtils.trimToSlice(" \t\na\r").toString());
+        Assert.assertNull(CharSequenceUtils.trimToSlice(null));
+        Assert.assertEquals(0, CharSequenceUtils.trimBounds(null, target));
+        Assert.assertEquals(0, CharSequenceUtils.trimBounds((char[]) null, 0, 0, matcher));
+    }
+
+    @Test
+    public void testIndexOfAny() {
+        final Random random = new Random(15);
+        final CharMatcher matcher = CharMatcher.anyOf(",;").or(CharMatcher.inRange('\uD800', '\uDFFF'));
+        final char[] alphabet = { 'a', 'b', ',', ';', '\uD800', '\uDC00', '\u0430' };
+
+        for (int n = 0; n < 1000; n++) {
+            final char[] buf = new char[random.nextInt(32)];
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = random.nextInt(4) == 0 ? alphabet[random.nextInt(alphabet.length)] : 'x';
+            }
+
+            final String seq = new String(buf);
+            final int off = buf.length == 0 ? 0 : random.nextInt(buf.length);
+            final int len = random.nextInt(buf.length - off + 1);
+
+            int expected = -1;
+
+            for (int i = off; i < off + len && expected < 0; i++) {
+                if (",;".indexOf(buf[i]) >= 0 || Character.isSurrogate(buf[i])) {
+                    expected = i;
+                }
+            }
+
+            Assert.assertEquals(seq, expected, CharSequenceUtils.indexOfAny(buf, off, len, matcher));
+            Assert.assertEquals(seq, expected >= 0, CharSequenceUtils.containsAny(buf, off, len, matcher));
+
+            if (off + len == buf.length) {
+                Assert.assertEquals(seq, expected, CharSequenceUtils.indexOfAny(seq, matcher, off));
+            }
+
+            if (off == 0 && len == buf.length) {
+                Assert.assertEquals(seq, expected, CharSequenceUtils.indexOfAny(seq, matcher));
+                Assert.assertEquals(seq, expected >= 0, CharSequenceUtils.containsAny(seq, matcher));
+            }
+        }
+
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfAny((CharSequence) null, matcher));
+        Assert.assertEquals(-1, CharSequenceUtils.indexOfAny(",", matcher, 1));
+        Assert.assertEquals(0, CharSequenceUtils.indexOfAny(",", matcher, -1));
+        Assert.assertFalse(CharSequenceUtils.containsAny((char[]) null, 0, 0, matcher));
+
+        try {
+            CharSequenceUtils.indexOfAny(new char[2], 1, 2, matcher);
+            Assert.fail("Range out of bounds must not be accepted");
+        } catch (final IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    @Test
+    public void testChunks() {
+        final Random random = new Random(24);
+        final CharMatcher matcher = CharMatcher.ofTarget(CharSequenceUtils.TARGET_SPACE_CHAR
+                | CharSequenceUtils.TARGET_SURROGATE_CHAR);
+        final char[] alphabet = { 'a', ' ', '\n', '\uD800', '\uDBFF', '\uDC00', '\uDFFF', '\u0430' };
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] buf = new char[random.nextInt(64)];
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = random.nextInt(3) == 0 ? alphabet[random.nextInt(alphabet.length)] : 'x';
+            }
+
+            final String seq = new String(buf);
+            final int maxChars = 2 + random.nextInt(12);
+            final String message = seq + " by " + maxChars;
+
+            testChunks(message, seq, maxChars, null, CharSequenceUtils.chunks(seq, maxChars));
+            testChunks(message, seq, maxChars, matcher, CharSequenceUtils.chunks(new StringBuilder(seq), maxChars,
+                    matcher));
+
+            final StringBuilder joined = new StringBuilder();
+
+            StreamSupport.stream(CharSequenceUtils.chunkSpliterator(seq, maxChars,
+                    CharSequenceUtils.TARGET_SPACE_CHAR), false).forEach(joined::append);
+
+            Assert.assertEquals(message, seq, joined.toString());
+        }
+
+        Assert.assertFalse(CharSequenceUtils.chunks(null, 4).hasNext());
+        Assert.assertFalse(CharSequenceUtils.chunks("", 4).hasNext());
+        Assert.assertEquals(3, CharSequenceUtils.chunkSpliterator("abcdefghi", 4).estimateSize());
+
+        try {
+            CharSequenceUtils.chunks("ab", 1);
+            Assert.fail("Chunk length less than 2 must not be accepted");
+        } catch (final IllegalArgumentException ignored) {
+        }
+    }
+
+    private static void testChunks(final String message, final String seq, final int maxChars,
+                                   final CharMatcher matcher, final Iterator<CharSlice> chunks) {
+        int beg = 0;
+        int end;
+
+        while (beg < seq.length()) {
+            // Reference split, the search of a break always goes back to the begin of a chunk
+
+            end = Math.min(seq.length(), beg + maxChars);
+
+            if (end < seq.length() && Character.isSurrogatePair(seq.charAt(end - 1), seq.charAt(end))) {
+                end--;
+            }
+
+            if (matcher != null && end < seq.length()) {
+                for (int i = end - 1; i >= beg; i--) {
+                    if (matcher.matches(seq.charAt(i))
+                            && !Character.isSurrogatePair(seq.charAt(i), seq.charAt(i + 1))) {
+                        end = i + 1;
+                        break;
+                    }
+                }
+            }
+
+            Assert.assertTrue(message, chunks.hasNext());
+            Assert.assertEquals(message, seq.substring(beg, end), chunks.next().toString());
+
+            beg = end;
+        }
+
+        Assert.assertFalse(message, chunks.hasNext());
+    }
+
     private void test(final CharSequence seq, final boolean expected, final Function<CharSequence, Boolean> target) {
         final boolean result = target.apply(seq);
 
@@ -361,6 +1155,265 @@ public final class CharSequenceUtilsTests {
         }
     }
 
+    private void testRanges(final Function<CharSequence, Boolean> whole, final RangeTarget range,
+                            final ArrayTarget array) {
+        final char[] buf = new char[4];
+
+        final int total = chars.length * chars.length * chars.length * chars.length;
+
+        for (int n = 0; n < total; n++) {
+            int rem = n;
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = chars[rem % chars.length];
+                rem /= chars.length;
+            }
+
+            final CharSequence seq = new String(buf);
+
+            for (int from = 0; from <= buf.length; from++) {
+                for (int to = from; to <= buf.length; to++) {
+                    final CharSequence sub = seq.subSequence(from, to);
+                    final boolean expected = whole.apply(sub);
+
+                    if (range.apply(seq, from, to) != expected || array.apply(buf, from, to - from) != expected) {
+                        final String error = getAssertionError(sub, expected, !expected);
+                        Assert.fail(error + " (range [" + from + ", " + to + ") of the sequence)");
+                    }
+                }
+            }
+        }
+    }
+
+    private void testLongRange(final char[] buf, final int off, final int len) {
+        final CharSequence seq = new String(buf);
+        final int to = off + len;
+
+        boolean surrogate = false;
+        boolean surrogatesOnly = len > 0;
+        boolean high = false;
+        boolean highOnly = len > 0;
+        boolean low = false;
+        boolean lowOnly = len > 0;
+        boolean pair = false;
+        boolean unattached = false;
+
+        for (int i = off; i < to; i++) {
+            surrogate |= Character.isSurrogate(buf[i]);
+            surrogatesOnly &= Character.isSurrogate(buf[i]);
+            high |= Character.isHighSurrogate(buf[i]);
+            highOnly &= Character.isHighSurrogate(buf[i]);
+            low |= Character.isLowSurrogate(buf[i]);
+            lowOnly &= Character.isLowSurrogate(buf[i]);
+        }
+
+        for (int i = off; i < to; i++) {
+            if (i + 1 < to && Character.isSurrogatePair(buf[i], buf[i + 1])) {
+                pair = true;
+                i++;
+            } else if (Character.isSurrogate(buf[i])) {
+                unattached = true;
+            }
+        }
+
+        final boolean pairsOnly = surrogatesOnly && !unattached;
+
+        final CharSequence sub = seq.subSequence(off, to);
+
+        testLongRange(sub, surrogate, CharSequenceUtils.containsSurrogates(seq, off, to),
+                CharSequenceUtils.containsSurrogates(buf, off, len));
+        testLongRange(sub, surrogatesOnly, CharSequenceUtils.containsSurrogatesOnly(seq, off, to),
+                CharSequenceUtils.containsSurrogatesOnly(buf, off, len));
+        testLongRange(sub, high, CharSequenceUtils.containsHighSurrogates(seq, off, to),
+                CharSequenceUtils.containsHighSurrogates(buf, off, len));
+        testLongRange(sub, highOnly, CharSequenceUtils.containsHighSurrogatesOnly(seq, off, to),
+                CharSequenceUtils.containsHighSurrogatesOnly(buf, off, len));
+        testLongRange(sub, low, CharSequenceUtils.containsLowSurrogates(seq, off, to),
+                CharSequenceUtils.containsLowSurrogates(buf, off, len));
+        testLongRange(sub, lowOnly, CharSequenceUtils.containsLowSurrogatesOnly(seq, off, to),
+                CharSequenceUtils.containsLowSurrogatesOnly(buf, off, len));
+        testLongRange(sub, pair, CharSequenceUtils.containsSurrogatePairs(seq, off, to),
+                CharSequenceUtils.containsSurrogatePairs(buf, off, len));
+        testLongRange(sub, pairsOnly, CharSequenceUtils.containsSurrogatePairsOnly(seq, off, to),
+                CharSequenceUtils.containsSurrogatePairsOnly(buf, off, len));
+        testLongRange(sub, unattached, CharSequenceUtils.containsUnattachedSurrogates(seq, off, to),
+                CharSequenceUtils.containsUnattachedSurrogates(buf, off, len));
+    }
+
+    private void testProfile(final char[] buf, final int off, final int len) {
+        final CharSequence seq = new String(buf);
+        final int to = off + len;
+
+        final int[] counts = new int[4];
+        final int[] first = { -1, -1, -1, -1 };
+        final int[] last = { -1, -1, -1, -1 };
+
+        // Kinds are high surrogates, low surrogates, surrogate pairs and unattached surrogates.
+
+        for (int i = off; i < to; i++) {
+            final boolean pairBeg = i + 1 < to && Character.isSurrogatePair(buf[i], buf[i + 1]);
+            final boolean pairEnd = i > off && Character.isSurrogatePair(buf[i - 1], buf[i]);
+
+            final boolean[] kinds = {
+                    Character.isHighSurrogate(buf[i]),
+                    Character.isLowSurrogate(buf[i]),
+                    pairBeg,
+                    Character.isSurrogate(buf[i]) && !pairBeg && !pairEnd
+            };
+
+            for (int k = 0; k < kinds.length; k++) {
+                if (kinds[k]) {
+                    counts[k]++;
+                    first[k] = first[k] < 0 ? i : first[k];
+                    last[k] = i;
+                }
+            }
+        }
+
+        final SurrogateProfile expected = CharSequenceUtils.profileSurrogates(seq, off, to);
+        final SurrogateProfile result = CharSequenceUtils.profileSurrogates(buf, off, len);
+
+        final String error = "Profile of range [" + off + ", " + to + ") of '" + seq + "' test failed, given "
+                + result;
+
+        Assert.assertEquals(error, expected, result);
+        Assert.assertEquals(error, len, result.getLength());
+        Assert.assertEquals(error, Character.codePointCount(seq, off, to), result.getCodePointCount());
+        Assert.assertEquals(error, counts[0] + counts[1], result.getSurrogateCount());
+        Assert.assertEquals(error, counts[0], result.getHighSurrogateCount());
+        Assert.assertEquals(error, counts[1], result.getLowSurrogateCount());
+        Assert.assertEquals(error, counts[2], result.getSurrogatePairCount());
+        Assert.assertEquals(error, counts[3], result.getUnattachedSurrogateCount());
+        Assert.assertEquals(error, first[0], result.getFirstHighSurrogateIndex());
+        Assert.assertEquals(error, last[0], result.getLastHighSurrogateIndex());
+        Assert.assertEquals(error, first[1], result.getFirstLowSurrogateIndex());
+        Assert.assertEquals(error, last[1], result.getLastLowSurrogateIndex());
+        Assert.assertEquals(error, first[2], result.getFirstSurrogatePairIndex());
+        Assert.assertEquals(error, last[2], result.getLastSurrogatePairIndex());
+        Assert.assertEquals(error, first[3], result.getFirstUnattachedSurrogateIndex());
+        Assert.assertEquals(error, last[3], result.getLastUnattachedSurrogateIndex());
+
+        final int surrogate = first[0] < 0 || first[1] < 0
+                ? Math.max(first[0], first[1])
+                : Math.min(first[0], first[1]);
+        Assert.assertEquals(error, surrogate, CharSequenceUtils.indexOfSurrogate(buf, off, len));
+    }
+
+    private void testReplace(final String seq) throws IOException {
+        final char[] expectedChars = seq.toCharArray();
+        final int count = replaceBruteForce(expectedChars, 0, expectedChars.length, '?');
+        final String expected = new String(expectedChars);
+
+        final CharSequence result = CharSequenceUtils.replaceUnattachedSurrogates(seq, '?');
+        final StringBuilder dst = new StringBuilder("x");
+        final CharSequence dstResult = CharSequenceUtils.replaceUnattachedSurrogates(seq, '?', dst);
+        final StringBuilder appendable = new StringBuilder("x");
+        final int appendableCount = CharSequenceUtils.replaceUnattachedSurrogates(seq, '?', (Appendable) appendable);
+
+        final String error = "Replace of '" + seq + "' test failed";
+
+        Assert.assertEquals(error, expected, result.toString());
+        Assert.assertEquals(error, count, appendableCount);
+        Assert.assertEquals(error, "x" + expected, appendable.toString());
+
+        if (count == 0) {
+            Assert.assertSame(error, seq, result);
+            Assert.assertSame(error, seq, dstResult);
+            Assert.assertEquals(error, "x", dst.toString());
+        } else {
+            Assert.assertSame(error, dst, dstResult);
+            Assert.assertEquals(error, "x" + expected, dst.toString());
+        }
+
+        final CharSequence sanitized = CharSequenceUtils.sanitize(seq);
+        Assert.assertEquals(error, expected.replace('?', CharSequenceUtils.REPLACEMENT_CHAR), sanitized.toString());
+    }
+
+    private int replaceBruteForce(final char[] buf, final int from, final int to, final char replacement) {
+        int count = 0;
+
+        for (int i = from; i < to; i++) {
+            if (i + 1 < to && Character.isSurrogatePair(buf[i], buf[i + 1])) {
+                i++;
+            } else if (Character.isSurrogate(buf[i])) {
+                buf[i] = replacement;
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private int truncateToUtf8BytesBruteForce(final String seq, final int maxBytes) {
+        int bytes = 0;
+        int cp;
+
+        for (int i = 0; i < seq.length(); i += Character.charCount(cp)) {
+            cp = seq.codePointAt(i);
+            bytes += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+
+            if (bytes > maxBytes) {
+                return i;
+            }
+        }
+
+        return seq.length();
+    }
+
+    private void testLongRange(final CharSequence seq, final boolean expected, final boolean seqResult,
+                               final boolean bufResult) {
+        if (expected != seqResult) {
+            final String error = getAssertionError(seq, expected, seqResult);
+            Assert.fail(error);
+        }
+
+        if (expected != bufResult) {
+            final String error = getAssertionError(seq, expected, bufResult);
+            Assert.fail(error + " (char array)");
+        }
+    }
+
+    private CharSequence trimBruteForce(final CharSequence seq, final int target) {
+        int beg = 0;
+        int end = seq.length();
+
+        while (beg < end && isTrimTarget(seq.charAt(beg), target)) {
+            beg++;
+        }
+
+        while (end > beg && isTrimTarget(seq.charAt(end - 1), target)) {
+            end--;
+        }
+
+        return seq.subSequence(beg, end);
+    }
+
+    private String trimBruteForce(final String seq) {
+        final String ws = "\t\n\u000B\f\r \u0085\u00A0\u1680\u2000\u2001\u2002\u2003\u2004\u2005\u2006\u2007"
+                + "\u2008\u2009\u200A\u2028\u2029\u202F\u205F\u3000";
+
+        int beg = 0;
+        int end = seq.length();
+
+        while (beg < end && ws.indexOf(seq.charAt(beg)) >= 0) {
+            beg++;
+        }
+
+        while (end > beg && ws.indexOf(seq.charAt(end - 1)) >= 0) {
+            end--;
+        }
+
+        return seq.substring(beg, end);
+    }
+
+    private boolean isTrimTarget(final char ch, final int target) {
+        return ((target & CharSequenceUtils.TARGET_SPACE_CHAR) != 0 && ch == ' ')
+                || ((target & CharSequenceUtils.TARGET_TAB_CHAR) != 0 && ch == '\t')
+                || ((target & CharSequenceUtils.TARGET_LINE_BREAK_CHAR) != 0 && ch == '\n')
+                || ((target & CharSequenceUtils.TARGET_RETURN_CARET_CHAR) != 0 && ch == '\r')
+                || ((target & CharSequenceUtils.TARGET_SURROGATE_CHAR) != 0 && Character.isSurrogate(ch));
+    }
+
     private CharSequence getCharSequenceOf(char... chars) {
         return new String(chars);
     }
@@ -455,4 +1508,18 @@ public final class CharSequenceUtilsTests {
         return "Char sequence '" + seqRep + "' test failed, expected " + expectedRep + ", given " + resultRep;
     }
 
+    @FunctionalInterface
+    private interface RangeTarget {
+
+        boolean apply(CharSequence seq, int from, int to);
+
+    }
+
+    @FunctionalInterface
+    private interface ArrayTarget {
+
+        boolean apply(char[] buf, int off, int len);
+
+    }
+
 }
@@ -0,0 +1,140 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+
+public final class CharSliceTests {
+
+    @Test
+    public void testSlices() {
+        final Random random = new Random(16);
+
+        for (int n = 0; n < 1000; n++) {
+            final char[] buf = new char[random.nextInt(16)];
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = (char) random.nextInt(0x10000);
+            }
+
+            final String str = new String(buf);
+            final int from = random.nextInt(buf.length + 1);
+            final int to = from + random.nextInt(buf.length - from + 1);
+            final String expected = str.substring(from, to);
+
+            final CharSlice[] slices = {
+                    CharSlice.of(buf, from, to - from),
+                    CharSlice.of(str, from, to),
+                    CharSlice.of(new StringBuilder(str), from, to),
+                    CharSlice.of(CharBuffer.wrap(buf), from, to),
+                    CharSlice.of(CharSlice.of(str), from, to)
+            };
+
+            for (final CharSlice slice : slices) {
+                testSlice(expected, slice);
+
+                final int start = random.nextInt(slice.length() + 1);
+                final int end = start + random.nextInt(slice.length() - start + 1);
+                testSlice(expected.substring(start, end), slice.subSequence(start, end));
+            }
+        }
+
+        final CharSlice slice = CharSlice.of("test");
+        Assert.assertSame(slice, slice.subSequence(0, 4));
+        Assert.assertEquals(0, CharSlice.EMPTY.length());
+        Assert.assertEquals("", CharSlice.EMPTY.toString());
+    }
+
+    @Test
+    public void testSharedChars() {
+        final char[] buf = "test".toCharArray();
+        final StringBuilder builder = new StringBuilder("test");
+
+        final CharSlice bufSlice = CharSlice.of(buf, 1, 2);
+        final CharSlice builderSlice = CharSlice.of(builder, 1, 3);
+
+        buf[1] = 'a';
+        builder.setCharAt(2, 'b');
+
+        Assert.assertEquals("as", bufSlice.toString());
+        Assert.assertEquals("eb", builderSlice.toString());
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        final CharSlice slice = CharSlice.of("test", 1, 3);
+
+        final Runnable[] calls = {
+                () -> CharSlice.of("test", -1, 2),
+                () -> CharSlice.of("test", 3, 2),
+                () -> CharSlice.of("test", 0, 5),
+                () -> CharSlice.of(new char[4], 2, 3),
+                () -> CharSlice.of(new char[4], -1, 1),
+                () -> slice.charAt(-1),
+                () -> slice.charAt(2),
+                () -> slice.subSequence(1, 3),
+                () -> slice.getChars(new char[3], 2)
+        };
+
+        for (int i = 0; i < calls.length; i++) {
+            try {
+                calls[i].run();
+                Assert.fail("Call " + i + " must throw IndexOutOfBoundsException");
+            } catch (final IndexOutOfBoundsException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testPairSplitAtBound() {
+        final String str = "a\uD83D\uDE00b";
+
+        // A slice keeps the chars of its range, a pair split by a bound leaves unattached surrogates
+
+        final CharSlice head = CharSlice.of(str, 0, 2);
+        final CharSlice tail = CharSlice.of(str.toCharArray(), 2, 2);
+
+        Assert.assertEquals("a\uD83D", head.toString());
+        Assert.assertEquals("\uDE00b", tail.toString());
+        Assert.assertTrue(CharSequenceUtils.containsUnattachedSurrogates(head));
+        Assert.assertTrue(CharSequenceUtils.containsUnattachedSurrogates(tail));
+        Assert.assertFalse(CharSequenceUtils.containsUnattachedSurrogates(CharSlice.of(str, 1, 3)));
+    }
+
+    @Test
+    public void testEmptyRange() {
+        final CharSlice slice = CharSlice.of("test", 2, 2);
+
+        Assert.assertEquals(0, slice.length());
+        Assert.assertEquals("", slice.toString());
+        Assert.assertEquals(0, CharSlice.of(new char[4], 4, 0).length());
+        Assert.assertEquals(0, CharSlice.of("test").subSequence(1, 1).length());
+    }
+
+    @Test
+    public void testLoneHighSurrogateAtEnd() {
+        final CharSlice slice = CharSlice.of("ab\uD800".toCharArray(), 1, 2);
+
+        Assert.assertEquals('\uD800', slice.charAt(1));
+        Assert.assertTrue(CharSequenceUtils.containsUnattachedSurrogates(slice));
+        Assert.assertTrue(CharSequenceUtils.containsHighSurrogates(slice));
+        Assert.assertFalse(CharSequenceUtils.containsLowSurrogates(slice));
+    }
+
+    private void testSlice(final String expected, final CharSlice slice) {
+        Assert.assertEquals(expected.length(), slice.length());
+
+        for (int i = 0; i < expected.length(); i++) {
+            Assert.assertEquals(expected.charAt(i), slice.charAt(i));
+        }
+
+        Assert.assertEquals(expected, slice.toString());
+
+        final char[] dst = new char[expected.length() + 2];
+        slice.getChars(dst, 1);
+        Assert.assertEquals(expected, new String(dst, 1, expected.length()));
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public final class CodePointCursorTests {
+
+    private final char[] chars = { 'a', '\u0416', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @Test
+    public void testWalk() {
+        final Random random = new Random(23);
+        final CodePointCursor seqCursor = CodePointCursor.of("");
+        final CodePointCursor bufCursor = CodePointCursor.of(new char[0]);
+
+        for (int n = 0; n < 10000; n++) {
+            final char[] buf = new char[random.nextInt(16)];
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = chars[random.nextInt(chars.length)];
+            }
+
+            final String str = new String(buf);
+            final int from = random.nextInt(buf.length + 1);
+            final int to = from + random.nextInt(buf.length - from + 1);
+            final String message = Arrays.toString(buf) + " [" + from + ", " + to + ")";
+
+            // The code points of a substring are the code points of the range, pairs are not taken across the bounds
+
+            final int[] expected = str.substring(from, to).codePoints().toArray();
+
+            testWalk(message, expected, seqCursor.reset(new StringBuilder(str), from, to), from, to);
+            testWalk(message, expected, bufCursor.reset(buf, from, to - from), from, to);
+            testWalk(message, expected, CodePointCursor.of(str, from, to), from, to);
+        }
+    }
+
+    private static void testWalk(final String message, final int[] expected, final CodePointCursor cursor,
+            final int from, final int to) {
+        int idx = from;
+
+        for (final int cp : expected) {
+            Assert.assertTrue(message, cursor.hasNext());
+            Assert.assertEquals(message, idx, cursor.position());
+            Assert.assertEquals(message, cp, cursor.next());
+            Assert.assertEquals(message, Character.isSurrogate((char) cp) && cp < 0x10000, cursor.isUnattached());
+
+            idx += Character.charCount(cp);
+        }
+
+        Assert.assertEquals(message, to, cursor.position());
+        Assert.assertFalse(message, cursor.hasNext());
+        Assert.assertEquals(message, CodePointCursor.DONE, cursor.next());
+        Assert.assertFalse(message, cursor.isUnattached());
+
+        for (int i = expected.length - 1; i >= 0; i--) {
+            Assert.assertTrue(message, cursor.hasPrevious());
+            Assert.assertEquals(message, expected[i], cursor.previous());
+            Assert.assertEquals(message, Character.isSurrogate((char) expected[i]) && expected[i] < 0x10000,
+                    cursor.isUnattached());
+
+            idx -= Character.charCount(expected[i]);
+            Assert.assertEquals(message, idx, cursor.position());
+        }
+
+        Assert.assertFalse(message, cursor.hasPrevious());
+        Assert.assertEquals(message, CodePointCursor.DONE, cursor.previous());
+        Assert.assertEquals(message, from, cursor.position());
+    }
+
+    @Test
+    public void testSeek() {
+        final CodePointCursor cursor = CodePointCursor.of("a\uD83D\uDE00b");
+
+        // A position inside a pair splits it
+
+        Assert.assertEquals('\uDE00', cursor.seek(2).next());
+        Assert.assertTrue(cursor.isUnattached());
+        Assert.assertEquals('b', cursor.next());
+        Assert.assertFalse(cursor.isUnattached());
+
+        Assert.assertEquals('\uD83D', cursor.seek(2).previous());
+        Assert.assertTrue(cursor.isUnattached());
+        Assert.assertEquals(1, cursor.position());
+
+        Assert.assertEquals(0x1F600, cursor.seek(3).previous());
+        Assert.assertFalse(cursor.isUnattached());
+        Assert.assertEquals(1, cursor.position());
+
+        final CodePointCursor range = CodePointCursor.of("ab\uD83D\uDE00".toCharArray(), 1, 2);
+
+        Assert.assertEquals(1, range.position());
+        Assert.assertEquals('b', range.next());
+        Assert.assertEquals('\uD83D', range.next());
+        Assert.assertTrue(range.isUnattached());
+        Assert.assertEquals(3, range.position());
+    }
+
+    @Test
+    public void testPairSplitAtBound() {
+        final CodePointCursor cursor = CodePointCursor.of("a\uD83D\uDE00b", 2, 4);
+
+        // A range that begins at the low surrogate of a pair does not read its high surrogate
+
+        Assert.assertEquals('\uDE00', cursor.next());
+        Assert.assertTrue(cursor.isUnattached());
+        Assert.assertEquals('b', cursor.next());
+        Assert.assertFalse(cursor.hasNext());
+        Assert.assertEquals('b', cursor.previous());
+        Assert.assertEquals('\uDE00', cursor.previous());
+        Assert.assertFalse(cursor.hasPrevious());
+        Assert.assertEquals(2, cursor.position());
+    }
+
+    @Test
+    public void testEmptyRange() {
+        final CodePointCursor cursor = CodePointCursor.of("test".toCharArray(), 2, 0);
+
+        Assert.assertFalse(cursor.hasNext());
+        Assert.assertFalse(cursor.hasPrevious());
+        Assert.assertEquals(CodePointCursor.DONE, cursor.next());
+        Assert.assertEquals(CodePointCursor.DONE, cursor.previous());
+        Assert.assertEquals(2, cursor.position());
+    }
+
+    @Test
+    public void testLoneHighSurrogateAtEnd() {
+        final CodePointCursor cursor = CodePointCursor.of("a\uD800");
+
+        Assert.assertEquals('a', cursor.next());
+        Assert.assertEquals('\uD800', cursor.next());
+        Assert.assertTrue(cursor.isUnattached());
+        Assert.assertEquals(2, cursor.position());
+        Assert.assertEquals('\uD800', cursor.previous());
+        Assert.assertTrue(cursor.isUnattached());
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        final CodePointCursor cursor = CodePointCursor.of("test", 1, 3);
+
+        final Runnable[] calls = {
+                () -> CodePointCursor.of("test", -1, 2),
+                () -> CodePointCursor.of("test", 3, 2),
+                () -> CodePointCursor.of("test", 0, 5),
+                () -> CodePointCursor.of(new char[4], 2, 3),
+                () -> CodePointCursor.of(new char[4], -1, 1),
+                () -> cursor.seek(0),
+                () -> cursor.seek(4)
+        };
+
+        for (final Runnable call : calls) {
+            try {
+                call.run();
+                Assert.fail("No exception for a range out of bounds");
+            } catch (final IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+
+        Assert.assertEquals(3, cursor.seek(3).position());
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class CompactStringsTests {
+
+    @After
+    public void tearDown() {
+        CharSequenceUtils.setScanListener(null);
+    }
+
+    @Test
+    public void testSupported() {
+        // The versioned test run opens java.lang, so the Java 9 version of the class must read the coder there
+
+        final String location = CompactStrings.class.getProtectionDomain().getCodeSource().getLocation().toString();
+
+        if (location.contains("/META-INF/versions/9")) {
+            Assert.assertTrue(CompactStrings.SUPPORTED);
+        }
+
+        Assert.assertEquals(CompactStrings.SUPPORTED, CompactStrings.isLatin1("abc"));
+        Assert.assertEquals(CompactStrings.SUPPORTED, CompactStrings.isLatin1("caf\u00E9"));
+        Assert.assertEquals(CompactStrings.SUPPORTED, CompactStrings.isLatin1(""));
+        Assert.assertFalse(CompactStrings.isLatin1("\u0416"));
+        Assert.assertFalse(CompactStrings.isLatin1("a\uD83D\uDE00"));
+        Assert.assertFalse(CompactStrings.isLatin1("\uDC00"));
+    }
+
+    @Test
+    public void testLatin1() {
+        final Random random = new Random(21);
+        final List<String> scans = new ArrayList<>();
+
+        CharSequenceUtils.setScanListener((method, length, hit, position) ->
+                scans.add(method + " " + length + " " + hit + " " + position));
+
+        for (int n = 0; n < 10000; n++) {
+            final char[] buf = new char[random.nextInt(64)];
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = (char) random.nextInt(256);
+            }
+
+            final String str = new String(buf);
+            final String builder = new StringBuilder(str).toString();
+
+            Assert.assertEquals(CompactStrings.SUPPORTED, CompactStrings.isLatin1(str));
+            Assert.assertEquals(CompactStrings.SUPPORTED, CompactStrings.isLatin1(builder));
+
+            // Latin-1 strings answer all the questions without a scan, the answers must not change
+
+            Assert.assertFalse(CharSequenceUtils.containsSurrogates(str));
+            Assert.assertFalse(CharSequenceUtils.containsSurrogatesOnly(str));
+            Assert.assertFalse(CharSequenceUtils.containsHighSurrogates(str));
+            Assert.assertFalse(CharSequenceUtils.containsHighSurrogatesOnly(str));
+            Assert.assertFalse(CharSequenceUtils.containsLowSurrogates(str));
+            Assert.assertFalse(CharSequenceUtils.containsLowSurrogatesOnly(str));
+            Assert.assertFalse(CharSequenceUtils.containsSurrogatePairs(str));
+            Assert.assertFalse(CharSequenceUtils.containsSurrogatePairsOnly(str));
+            Assert.assertFalse(CharSequenceUtils.containsUnattachedSurrogates(str));
+            Assert.assertFalse(CharSequenceUtils.parallelContainsUnattachedSurrogates(str));
+            Assert.assertFalse(Utf16Text.of(str).containsSurrogates());
+            Assert.assertFalse(SurrogateScanner.of(ScanOrder.FORWARD).containsSurrogates(str));
+
+            // The scans answered by the coder are reported the same way as the scans of the chars
+
+            final List<String> expected = new ArrayList<>(scans);
+
+            scans.clear();
+
+            final StringBuilder chars = new StringBuilder(str);
+
+            CharSequenceUtils.containsSurrogates(chars);
+            CharSequenceUtils.containsSurrogatesOnly(chars);
+            CharSequenceUtils.containsHighSurrogates(chars);
+            CharSequenceUtils.containsHighSurrogatesOnly(chars);
+            CharSequenceUtils.containsLowSurrogates(chars);
+            CharSequenceUtils.containsLowSurrogatesOnly(chars);
+            CharSequenceUtils.containsSurrogatePairs(chars);
+            CharSequenceUtils.containsSurrogatePairsOnly(chars);
+            CharSequenceUtils.containsUnattachedSurrogates(chars);
+            CharSequenceUtils.containsUnattachedSurrogates(chars);
+
+            Assert.assertEquals(expected, scans);
+
+            scans.clear();
+        }
+    }
+
+}
@@ -0,0 +1,361 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public final class ScanCountersTests {
+
+    private final char[] chars = { 'a', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @After
+    public void tearDown() {
+        CharSequenceUtils.setScanListener(null);
+    }
+
+    @Test
+    public void testPositions() throws IOException {
+        final Random random = new Random(19);
+        final List<int[]> scans = new ArrayList<>();
+
+        CharSequenceUtils.setScanListener((method, length, hit, position) ->
+                scans.add(new int[] { method.ordinal(), length, hit ? 1 : 0, position }));
+
+        for (int n = 0; n < 1000; n++) {
+            final char[] buf = new char[2 + random.nextInt(24)];
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = random.nextInt(8) == 0 ? chars[random.nextInt(chars.length)] : 'a';
+            }
+
+            final String seq = new String(buf);
+            final StringBuilder builder = new StringBuilder(seq);
+            final int from = random.nextInt(2);
+            final int to = buf.length - random.nextInt(2);
+            final String range = seq.substring(from, to);
+            final int unattached = firstUnattachedSurrogateBruteForce(range);
+
+            for (final ScanMethod method : ScanMethod.values()) {
+                if (method == ScanMethod.REPLACE_UNATTACHED_SURROGATES) {
+                    continue;
+                }
+
+                scans.clear();
+
+                final boolean expected = containsBruteForce(method, range);
+
+                // A string without surrogates may be answered by its coder, it must be reported the same way
+
+                Assert.assertEquals(expected, contains(method, seq, from, to));
+                Assert.assertEquals(expected, contains(method, builder, from, to));
+                Assert.assertEquals(expected, contains(method, buf, from, to - from));
+                Assert.assertEquals(3, scans.size());
+
+                for (int i = 0; i < 3; i++) {
+                    checkExit(method + " scan " + i + " of range [" + from + ", " + to + ")", method, range,
+                            expected, scans.get(i));
+                }
+            }
+
+            scans.clear();
+
+            CharSequenceUtils.sanitize(range);
+            CharSequenceUtils.sanitize(range, new StringBuilder());
+            CharSequenceUtils.replaceUnattachedSurrogates(range, '?', (Appendable) new StringBuilder());
+            CharSequenceUtils.sanitize(buf.clone(), from, to - from);
+
+            final int[] expected = {
+                    ScanMethod.REPLACE_UNATTACHED_SURROGATES.ordinal(), range.length(), unattached >= 0 ? 1 : 0,
+                    unattached
+            };
+
+            Assert.assertEquals(4, scans.size());
+
+            for (int i = 0; i < 4; i++) {
+                Assert.assertArrayEquals("Repair " + i + " of range [" + from + ", " + to + ")", expected,
+                        scans.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCounters() {
+        final ScanCounters counters = new ScanCounters();
+
+        CharSequenceUtils.setScanListener(counters);
+        Assert.assertSame(counters, CharSequenceUtils.getScanListener());
+
+        CharSequenceUtils.containsSurrogates(new StringBuilder("abcd"));
+        CharSequenceUtils.containsSurrogates("ab\uD800d");
+        CharSequenceUtils.containsUnattachedSurrogates("a\uD800\uDC00d");
+        CharSequenceUtils.containsUnattachedSurrogates("a\uDC00");
+        CharSequenceUtils.containsSurrogatesOnly(new StringBuilder("\uD800a"));
+        CharSequenceUtils.containsSurrogatePairs(new char[] { '\uD800', '\uDC00' }, 0, 2);
+        CharSequenceUtils.sanitize("\uDC00bc");
+
+        // Whole sequences are checked by the range methods, so they are counted once
+        Assert.assertEquals(2, counters.getCalls(ScanMethod.CONTAINS_SURROGATES));
+        Assert.assertEquals(4 + 4, counters.getScannedChars(ScanMethod.CONTAINS_SURROGATES));
+        Assert.assertEquals(1, counters.getHits(ScanMethod.CONTAINS_SURROGATES));
+        Assert.assertEquals(1, counters.getEarlyExits(ScanMethod.CONTAINS_SURROGATES));
+
+        Assert.assertEquals(2, counters.getCalls(ScanMethod.CONTAINS_UNATTACHED_SURROGATES));
+        Assert.assertEquals(4 + 2, counters.getScannedChars(ScanMethod.CONTAINS_UNATTACHED_SURROGATES));
+        Assert.assertEquals(1, counters.getHits(ScanMethod.CONTAINS_UNATTACHED_SURROGATES));
+        Assert.assertEquals(1, counters.getEarlyExits(ScanMethod.CONTAINS_UNATTACHED_SURROGATES));
+
+        // An "only" check exits early on a miss
+        Assert.assertEquals(1, counters.getCalls(ScanMethod.CONTAINS_SURROGATES_ONLY));
+        Assert.assertEquals(2, counters.getScannedChars(ScanMethod.CONTAINS_SURROGATES_ONLY));
+        Assert.assertEquals(0, counters.getHits(ScanMethod.CONTAINS_SURROGATES_ONLY));
+        Assert.assertEquals(1, counters.getEarlyExits(ScanMethod.CONTAINS_SURROGATES_ONLY));
+
+        Assert.assertEquals(1, counters.getCalls(ScanMethod.CONTAINS_SURROGATE_PAIRS));
+        Assert.assertEquals(1, counters.getHits(ScanMethod.CONTAINS_SURROGATE_PAIRS));
+
+        Assert.assertEquals(1, counters.getCalls(ScanMethod.REPLACE_UNATTACHED_SURROGATES));
+        Assert.assertEquals(3, counters.getScannedChars(ScanMethod.REPLACE_UNATTACHED_SURROGATES));
+        Assert.assertEquals(1, counters.getHits(ScanMethod.REPLACE_UNATTACHED_SURROGATES));
+        Assert.assertEquals(0, counters.getEarlyExits(ScanMethod.REPLACE_UNATTACHED_SURROGATES));
+
+        // Latin-1 strings are counted the same whether they are answered by the coder of strings or scanned
+
+        CharSequenceUtils.containsSurrogates("abcd");
+        CharSequenceUtils.containsSurrogatesOnly("abcd");
+        Assert.assertEquals(3, counters.getCalls(ScanMethod.CONTAINS_SURROGATES));
+        Assert.assertEquals(4 + 4 + 4, counters.getScannedChars(ScanMethod.CONTAINS_SURROGATES));
+        Assert.assertEquals(1, counters.getEarlyExits(ScanMethod.CONTAINS_SURROGATES));
+        Assert.assertEquals(2, counters.getCalls(ScanMethod.CONTAINS_SURROGATES_ONLY));
+        Assert.assertEquals(2, counters.getEarlyExits(ScanMethod.CONTAINS_SURROGATES_ONLY));
+
+        CharSequenceUtils.setScanListener(null);
+        CharSequenceUtils.containsSurrogates(new StringBuilder("abcd"));
+        Assert.assertEquals(3, counters.getCalls(ScanMethod.CONTAINS_SURROGATES));
+
+        counters.reset();
+
+        for (final ScanMethod method : ScanMethod.values()) {
+            Assert.assertEquals(0, counters.getCalls(method));
+            Assert.assertEquals(0, counters.getScannedChars(method));
+            Assert.assertEquals(0, counters.getHits(method));
+            Assert.assertEquals(0, counters.getEarlyExits(method));
+        }
+    }
+
+    @Test
+    public void testParallelAndCachedScans() {
+        final List<int[]> scans = new ArrayList<>();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        CharSequenceUtils.setScanListener((method, length, hit, position) ->
+                scans.add(new int[] { method.ordinal(), length, hit ? 1 : 0, position }));
+
+        try {
+            final StringBuilder builder = new StringBuilder();
+
+            for (int i = 0; i < 1 << 18; i++) {
+                builder.append('a');
+            }
+
+            builder.setCharAt(200000, '\uD800');
+
+            // The segments are not reported, a parallel call is reported once with the position of its hit
+
+            Assert.assertTrue(CharSequenceUtils.parallelContainsSurrogates(builder, pool, 1 << 14));
+            Assert.assertTrue(CharSequenceUtils.parallelContainsUnattachedSurrogates(builder, pool, 1 << 14));
+            Assert.assertFalse(CharSequenceUtils.parallelContainsSurrogatePairsOnly(builder, pool, 1 << 14));
+            Assert.assertEquals(3, scans.size());
+            Assert.assertArrayEquals(new int[] { ScanMethod.CONTAINS_SURROGATES.ordinal(), 1 << 18, 1, 200000 },
+                    scans.get(0));
+            Assert.assertArrayEquals(
+                    new int[] { ScanMethod.CONTAINS_UNATTACHED_SURROGATES.ordinal(), 1 << 18, 1, 200000 },
+                    scans.get(1));
+            Assert.assertEquals(ScanMethod.CONTAINS_SURROGATE_PAIRS_ONLY.ordinal(), scans.get(2)[0]);
+            Assert.assertEquals(0, scans.get(2)[2]);
+            Assert.assertTrue(scans.get(2)[3] >= 0);
+
+            scans.clear();
+            builder.setCharAt(200000, 'a');
+
+            Assert.assertFalse(CharSequenceUtils.parallelContainsSurrogates(builder, pool, 1 << 14));
+            Assert.assertEquals(1, scans.size());
+            Assert.assertArrayEquals(new int[] { ScanMethod.CONTAINS_SURROGATES.ordinal(), 1 << 18, 0, -1 },
+                    scans.get(0));
+        } finally {
+            pool.shutdown();
+        }
+
+        // A text answers by its cached flags, which is reported without a position
+
+        scans.clear();
+
+        final Utf16Text text = Utf16Text.of("a\uD800b");
+
+        Assert.assertTrue(CharSequenceUtils.containsSurrogates(text));
+        Assert.assertFalse(CharSequenceUtils.containsSurrogatesOnly(text));
+        Assert.assertEquals(2, scans.size());
+        Assert.assertArrayEquals(new int[] { ScanMethod.CONTAINS_SURROGATES.ordinal(), 3, 1, -1 }, scans.get(0));
+        Assert.assertArrayEquals(new int[] { ScanMethod.CONTAINS_SURROGATES_ONLY.ordinal(), 3, 0, -1 }, scans.get(1));
+    }
+
+    private static boolean contains(final ScanMethod method, final CharSequence seq, final int from, final int to) {
+        switch (method) {
+            case CONTAINS_SURROGATES:
+                return CharSequenceUtils.containsSurrogates(seq, from, to);
+            case CONTAINS_SURROGATES_ONLY:
+                return CharSequenceUtils.containsSurrogatesOnly(seq, from, to);
+            case CONTAINS_HIGH_SURROGATES:
+                return CharSequenceUtils.containsHighSurrogates(seq, from, to);
+            case CONTAINS_HIGH_SURROGATES_ONLY:
+                return CharSequenceUtils.containsHighSurrogatesOnly(seq, from, to);
+            case CONTAINS_LOW_SURROGATES:
+                return CharSequenceUtils.containsLowSurrogates(seq, from, to);
+            case CONTAINS_LOW_SURROGATES_ONLY:
+                return CharSequenceUtils.containsLowSurrogatesOnly(seq, from, to);
+            case CONTAINS_SURROGATE_PAIRS:
+                return CharSequenceUtils.containsSurrogatePairs(seq, from, to);
+            case CONTAINS_SURROGATE_PAIRS_ONLY:
+                return CharSequenceUtils.containsSurrogatePairsOnly(seq, from, to);
+            default:
+                return CharSequenceUtils.containsUnattachedSurrogates(seq, from, to);
+        }
+    }
+
+    private static boolean contains(final ScanMethod method, final char[] buf, final int off, final int len) {
+        switch (method) {
+            case CONTAINS_SURROGATES:
+                return CharSequenceUtils.containsSurrogates(buf, off, len);
+            case CONTAINS_SURROGATES_ONLY:
+                return CharSequenceUtils.containsSurrogatesOnly(buf, off, len);
+            case CONTAINS_HIGH_SURROGATES:
+                return CharSequenceUtils.containsHighSurrogates(buf, off, len);
+            case CONTAINS_HIGH_SURROGATES_ONLY:
+                return CharSequenceUtils.containsHighSurrogatesOnly(buf, off, len);
+            case CONTAINS_LOW_SURROGATES:
+                return CharSequenceUtils.containsLowSurrogates(buf, off, len);
+            case CONTAINS_LOW_SURROGATES_ONLY:
+                return CharSequenceUtils.containsLowSurrogatesOnly(buf, off, len);
+            case CONTAINS_SURROGATE_PAIRS:
+                return CharSequenceUtils.containsSurrogatePairs(buf, off, len);
+            case CONTAINS_SURROGATE_PAIRS_ONLY:
+                return CharSequenceUtils.containsSurrogatePairsOnly(buf, off, len);
+            default:
+                return CharSequenceUtils.containsUnattachedSurrogates(buf, off, len);
+        }
+    }
+
+    // A "contains" check exits early on a hit, and an "only" check exits early on a char that is not one of its chars
+
+    private void checkExit(final String message, final ScanMethod method, final String range, final boolean expected,
+                           final int[] scan) {
+        final boolean only = method.name().endsWith("_ONLY");
+        final int position = scan[3];
+
+        Assert.assertEquals(message, method.ordinal(), scan[0]);
+        Assert.assertEquals(message, range.length(), scan[1]);
+        Assert.assertEquals(message, expected ? 1 : 0, scan[2]);
+        Assert.assertEquals(message, only ? !expected && !range.isEmpty() : expected, position >= 0);
+
+        if (position < 0) {
+            return;
+        }
+
+        Assert.assertTrue(message, position < range.length());
+
+        final char ch = range.charAt(position);
+
+        switch (method) {
+            case CONTAINS_SURROGATES:
+            case CONTAINS_SURROGATES_ONLY:
+                Assert.assertNotEquals(message, only, Character.isSurrogate(ch));
+                break;
+            case CONTAINS_HIGH_SURROGATES:
+            case CONTAINS_HIGH_SURROGATES_ONLY:
+                Assert.assertNotEquals(message, only, Character.isHighSurrogate(ch));
+                break;
+            case CONTAINS_LOW_SURROGATES:
+            case CONTAINS_LOW_SURROGATES_ONLY:
+                Assert.assertNotEquals(message, only, Character.isLowSurrogate(ch));
+                break;
+            case CONTAINS_SURROGATE_PAIRS:
+                Assert.assertTrue(message, position + 1 < range.length()
+                        && Character.isSurrogatePair(ch, range.charAt(position + 1)));
+                break;
+            case CONTAINS_UNATTACHED_SURROGATES:
+                Assert.assertTrue(message, isUnattachedBruteForce(range, position));
+                break;
+            default:
+                // The miss of a pairs-only check may be a char of a pair that is cut by the scan order
+                break;
+        }
+    }
+
+    private boolean containsBruteForce(final ScanMethod method, final String seq) {
+        int count = 0;
+
+        for (int i = 0; i < seq.length(); i++) {
+            final char ch = seq.charAt(i);
+            final boolean res;
+
+            switch (method) {
+                case CONTAINS_SURROGATES:
+                case CONTAINS_SURROGATES_ONLY:
+                    res = Character.isSurrogate(ch);
+                    break;
+                case CONTAINS_HIGH_SURROGATES:
+                case CONTAINS_HIGH_SURROGATES_ONLY:
+                    res = Character.isHighSurrogate(ch);
+                    break;
+                case CONTAINS_LOW_SURROGATES:
+                case CONTAINS_LOW_SURROGATES_ONLY:
+                    res = Character.isLowSurrogate(ch);
+                    break;
+                case CONTAINS_SURROGATE_PAIRS:
+                case CONTAINS_SURROGATE_PAIRS_ONLY:
+                    res = Character.isSurrogate(ch) && !isUnattachedBruteForce(seq, i);
+                    break;
+                default:
+                    res = isUnattachedBruteForce(seq, i);
+                    break;
+            }
+
+            if (res) {
+                count++;
+            }
+        }
+
+        return method.name().endsWith("_ONLY") ? count == seq.length() && count > 0 : count > 0;
+    }
+
+    private boolean isUnattachedBruteForce(final String seq, final int idx) {
+        final char ch = seq.charAt(idx);
+
+        if (Character.isHighSurrogate(ch)) {
+            return idx + 1 == seq.length() || !Character.isLowSurrogate(seq.charAt(idx + 1));
+        }
+
+        return Character.isLowSurrogate(ch) && (idx == 0 || !Character.isHighSurrogate(seq.charAt(idx - 1)));
+    }
+
+    private int firstUnattachedSurrogateBruteForce(final String seq) {
+        for (int i = 0; i < seq.length(); i++) {
+            final char ch = seq.charAt(i);
+
+            if (Character.isHighSurrogate(ch) && i + 1 < seq.length()
+                    && Character.isLowSurrogate(seq.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(ch)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
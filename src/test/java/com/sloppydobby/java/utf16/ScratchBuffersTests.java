@@ -0,0 +1,71 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class ScratchBuffersTests {
+
+    @Test
+    public void testReuse() {
+        final char[] buf = ScratchBuffers.acquire();
+
+        Assert.assertEquals(ScratchBuffers.LENGTH, buf.length);
+
+        ScratchBuffers.release(buf);
+
+        // The same thread probes the same slots, so it gets the returned array back
+
+        Assert.assertSame(buf, ScratchBuffers.acquire());
+
+        // A borrowed array is not lent twice
+
+        Assert.assertNotSame(buf, ScratchBuffers.acquire());
+    }
+
+    @Test
+    public void testConcurrency() throws Exception {
+        final int threads = 16;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                final char mark = (char) ('A' + t);
+
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < 20000; n++) {
+                        final char[] buf = ScratchBuffers.acquire();
+
+                        // An array lent to two threads at once would be overwritten by the other thread
+
+                        for (int i = 0; i < 64; i++) {
+                            buf[i] = mark;
+                        }
+
+                        Thread.yield();
+
+                        for (int i = 0; i < 64; i++) {
+                            Assert.assertEquals(mark, buf[i]);
+                        }
+
+                        ScratchBuffers.release(buf);
+                    }
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
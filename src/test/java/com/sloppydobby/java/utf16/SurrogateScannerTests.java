@@ -0,0 +1,151 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public final class SurrogateScannerTests {
+
+    private final char[] chars = { 'a', '\u0416', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @Test
+    public void testOrders() {
+        final Random random = new Random(20);
+
+        final SurrogateScanner[] scanners = {
+                SurrogateScanner.of(ScanOrder.ENDS_TO_MIDDLE),
+                SurrogateScanner.of(ScanOrder.FORWARD),
+                SurrogateScanner.of(ScanOrder.INTERLEAVED),
+                SurrogateScanner.adaptive()
+        };
+
+        for (int n = 0; n < 20000; n++) {
+            final char[] buf = new char[random.nextInt(n % 10 == 0 ? 400 : 12)];
+
+            // Mostly one kind of chars, so the "only" checks also hold now and then
+
+            final int kind = random.nextInt(4);
+
+            for (int i = 0; i < buf.length; i++) {
+                if (kind == 0) {
+                    buf[i] = chars[random.nextInt(chars.length)];
+                } else if (kind == 1) {
+                    buf[i] = chars[2 + random.nextInt(4)];
+                } else if (kind == 2) {
+                    buf[i] = i % 2 == 0 ? chars[2 + random.nextInt(2)] : chars[4 + random.nextInt(2)];
+                } else {
+                    buf[i] = random.nextInt(64) == 0 ? chars[random.nextInt(chars.length)] : chars[random.nextInt(2)];
+                }
+            }
+
+            final String seq = new String(buf);
+            final int from = buf.length == 0 ? 0 : random.nextInt(Math.min(buf.length, 3));
+            final int to = buf.length - random.nextInt(Math.min(buf.length - from, 3) + 1);
+
+            for (final SurrogateScanner scanner : scanners) {
+                final String message = scanner.getOrder() + " " + Arrays.toString(buf)
+                        + " [" + from + ", " + to + ")";
+
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogates(seq),
+                        scanner.containsSurrogates(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatesOnly(seq),
+                        scanner.containsSurrogatesOnly(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsHighSurrogates(seq),
+                        scanner.containsHighSurrogates(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsHighSurrogatesOnly(seq),
+                        scanner.containsHighSurrogatesOnly(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsLowSurrogates(seq),
+                        scanner.containsLowSurrogates(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsLowSurrogatesOnly(seq),
+                        scanner.containsLowSurrogatesOnly(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatePairs(seq),
+                        scanner.containsSurrogatePairs(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatePairsOnly(seq),
+                        scanner.containsSurrogatePairsOnly(seq));
+                Assert.assertEquals(message, CharSequenceUtils.containsUnattachedSurrogates(seq),
+                        scanner.containsUnattachedSurrogates(seq));
+
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogates(seq, from, to),
+                        scanner.containsSurrogates(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatesOnly(seq, from, to),
+                        scanner.containsSurrogatesOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsHighSurrogates(seq, from, to),
+                        scanner.containsHighSurrogates(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsHighSurrogatesOnly(seq, from, to),
+                        scanner.containsHighSurrogatesOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsLowSurrogates(seq, from, to),
+                        scanner.containsLowSurrogates(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsLowSurrogatesOnly(seq, from, to),
+                        scanner.containsLowSurrogatesOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatePairs(seq, from, to),
+                        scanner.containsSurrogatePairs(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsSurrogatePairsOnly(seq, from, to),
+                        scanner.containsSurrogatePairsOnly(seq, from, to));
+                Assert.assertEquals(message, CharSequenceUtils.containsUnattachedSurrogates(seq, from, to),
+                        scanner.containsUnattachedSurrogates(seq, from, to));
+            }
+        }
+    }
+
+    @Test
+    public void testAdaptive() {
+        final SurrogateScanner scanner = SurrogateScanner.adaptive();
+
+        Assert.assertTrue(scanner.isAdaptive());
+        Assert.assertFalse(SurrogateScanner.of(ScanOrder.FORWARD).isAdaptive());
+        Assert.assertEquals(ScanOrder.ENDS_TO_MIDDLE, scanner.getOrder());
+
+        final char[] buf = new char[4096];
+        Arrays.fill(buf, 'a');
+
+        // Surrogates just after the middle are reached first by the forward order
+
+        buf[2100] = '\uDC00';
+        final String middle = new String(buf);
+
+        for (int i = 0; i < 20000; i++) {
+            Assert.assertTrue(scanner.containsUnattachedSurrogates(middle));
+        }
+
+        Assert.assertEquals(ScanOrder.FORWARD, scanner.getOrder());
+
+        // Surrogates near the end are reached first by the interleaved order, the scanner follows the change
+
+        buf[2100] = 'a';
+        buf[4000] = '\uDC00';
+        final String end = new String(buf);
+
+        for (int i = 0; i < 20000; i++) {
+            Assert.assertTrue(scanner.containsUnattachedSurrogates(end));
+        }
+
+        Assert.assertEquals(ScanOrder.INTERLEAVED, scanner.getOrder());
+    }
+
+    @Test
+    public void testArguments() {
+        final SurrogateScanner scanner = SurrogateScanner.of(ScanOrder.INTERLEAVED);
+
+        Assert.assertSame(scanner, SurrogateScanner.of(ScanOrder.INTERLEAVED));
+        Assert.assertNotSame(SurrogateScanner.adaptive(), SurrogateScanner.adaptive());
+        Assert.assertFalse(scanner.containsSurrogates(null));
+        Assert.assertFalse(scanner.containsSurrogatesOnly(null, 0, 0));
+
+        try {
+            SurrogateScanner.of(null);
+            Assert.fail("No exception for a null order");
+        } catch (final NullPointerException e) {
+            // expected
+        }
+
+        try {
+            scanner.containsSurrogates("abc", 2, 4);
+            Assert.fail("No exception for a range out of bounds");
+        } catch (final IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class SurrogateWordUtilsTests {
+
+    private final char[] chars = { ' ', '\t', '\n', '\r', '\u7FFF', '\u8000', '\uD7FF', '\uD800', '\uDBFF', '\uDC00',
+            '\uDFFF', '\uE000', '\uFFFF' };
+
+    @Test
+    public void testWordPredicates() {
+        final char[] buf = new char[4];
+
+        final int total = chars.length * chars.length * chars.length * chars.length;
+
+        for (int n = 0; n < total; n++) {
+            int rem = n;
+
+            boolean surrogate = false;
+            boolean surrogatesOnly = true;
+            boolean high = false;
+            boolean highOnly = true;
+            boolean low = false;
+            boolean lowOnly = true;
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = chars[rem % chars.length];
+                rem /= chars.length;
+
+                surrogate |= Character.isSurrogate(buf[i]);
+                surrogatesOnly &= Character.isSurrogate(buf[i]);
+                high |= Character.isHighSurrogate(buf[i]);
+                highOnly &= Character.isHighSurrogate(buf[i]);
+                low |= Character.isLowSurrogate(buf[i]);
+                lowOnly &= Character.isLowSurrogate(buf[i]);
+            }
+
+            final long word = buf[0] | (long) buf[1] << 16 | (long) buf[2] << 32 | (long) buf[3] << 48;
+
+            test(buf, "hasSurrogate", surrogate, SurrogateWordUtils.hasSurrogate(word));
+            test(buf, "isSurrogatesOnly", surrogatesOnly, SurrogateWordUtils.isSurrogatesOnly(word));
+            test(buf, "hasHighSurrogate", high, SurrogateWordUtils.hasHighSurrogate(word));
+            test(buf, "isHighSurrogatesOnly", highOnly, SurrogateWordUtils.isHighSurrogatesOnly(word));
+            test(buf, "hasLowSurrogate", low, SurrogateWordUtils.hasLowSurrogate(word));
+            test(buf, "isLowSurrogatesOnly", lowOnly, SurrogateWordUtils.isLowSurrogatesOnly(word));
+        }
+    }
+
+    private void test(final char[] buf, final String method, final boolean expected, final boolean result) {
+        if (expected != result) {
+            final StringBuilder rep = new StringBuilder();
+
+            for (int i = 0; i < buf.length; i++) {
+                if (i > 0) {
+                    rep.append(' ');
+                }
+
+                rep.append(String.format("U+%04x", (int) buf[i]));
+            }
+
+            Assert.fail("Word '" + rep + "' " + method + " test failed, expected " + expected + ", given " + result);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.MalformedInputException;
+import java.util.Random;
+
+public final class UnattachedSurrogateFilterReaderTests {
+
+    private final char[] alphabet = { 'a', ' ', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @Test
+    public void testRead() throws IOException {
+        final Random random = new Random(8);
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] buf = new char[random.nextInt(64)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final String seq = new String(buf);
+            final long seed = random.nextLong();
+
+            for (final UnattachedSurrogatePolicy policy : UnattachedSurrogatePolicy.values()) {
+                final String expected = filterBruteForce(seq, policy);
+
+                String result;
+
+                try {
+                    result = readAll(seq, policy, new Random(seed));
+                } catch (final MalformedInputException e) {
+                    result = null;
+                }
+
+                Assert.assertEquals("Read of '" + seq + "' by policy " + policy + " test failed", expected, result);
+            }
+        }
+    }
+
+    @Test
+    public void testSkip() throws IOException {
+        final Reader reader = new UnattachedSurrogateFilterReader(new StringReader("a\uDC00b\uD800\uDC00c"),
+                UnattachedSurrogatePolicy.DROP);
+
+        Assert.assertEquals(2, reader.skip(2));
+        Assert.assertEquals('\uD800', reader.read());
+        Assert.assertEquals('\uDC00', reader.read());
+        Assert.assertEquals(1, reader.skip(5));
+        Assert.assertEquals(-1, reader.read());
+        Assert.assertFalse(reader.markSupported());
+    }
+
+    private String readAll(final String seq, final UnattachedSurrogatePolicy policy, final Random random)
+            throws IOException {
+        final Reader reader = new UnattachedSurrogateFilterReader(new ChunkedReader(seq, random), policy);
+        final StringBuilder res = new StringBuilder();
+        final char[] buf = new char[12];
+
+        while (true) {
+            final int off = random.nextInt(3);
+            final int len = random.nextInt(buf.length - off);
+
+            if (len == 0) {
+                final int ch = reader.read();
+
+                if (ch < 0) {
+                    break;
+                }
+
+                res.append((char) ch);
+            } else {
+                final int count = reader.read(buf, off, len);
+
+                if (count < 0) {
+                    break;
+                }
+
+                Assert.assertTrue(count > 0);
+                res.append(buf, off, count);
+            }
+        }
+
+        return res.toString();
+    }
+
+    static String filterBruteForce(final String seq, final UnattachedSurrogatePolicy policy) {
+        final StringBuilder res = new StringBuilder();
+
+        for (int i = 0; i < seq.length(); i++) {
+            final char ch = seq.charAt(i);
+
+            if (i + 1 < seq.length() && Character.isSurrogatePair(ch, seq.charAt(i + 1))) {
+                res.append(ch).append(seq.charAt(i + 1));
+                i++;
+            } else if (!Character.isSurrogate(ch) || policy == UnattachedSurrogatePolicy.PASS) {
+                res.append(ch);
+            } else if (policy == UnattachedSurrogatePolicy.REPLACE) {
+                res.append('\uFFFD');
+            } else if (policy == UnattachedSurrogatePolicy.THROW) {
+                return null;
+            }
+        }
+
+        return res.toString();
+    }
+
+    /**
+     * Reader that returns at most a few chars per read, to split surrogate pairs by read boundaries.
+     */
+    private static final class ChunkedReader extends Reader {
+
+        private final String seq;
+
+        private final Random random;
+
+        private int pos;
+
+        private ChunkedReader(final String seq, final Random random) {
+            this.seq = seq;
+            this.random = random;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) {
+            if (pos == seq.length()) {
+                return -1;
+            }
+
+            final int n = Math.min(Math.min(len, 1 + random.nextInt(5)), seq.length() - pos);
+
+            seq.getChars(pos, pos + n, cbuf, off);
+            pos += n;
+
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.MalformedInputException;
+import java.util.Random;
+
+public final class UnattachedSurrogateFilterWriterTests {
+
+    private final char[] alphabet = { 'a', ' ', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @Test
+    public void testWrite() throws IOException {
+        final Random random = new Random(8);
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] buf = new char[random.nextInt(64)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final String seq = new String(buf);
+            final long seed = random.nextLong();
+
+            for (final UnattachedSurrogatePolicy policy : UnattachedSurrogatePolicy.values()) {
+                final String expected = UnattachedSurrogateFilterReaderTests.filterBruteForce(seq, policy);
+
+                String result;
+
+                try {
+                    result = writeAll(seq, policy, new Random(seed));
+                } catch (final MalformedInputException e) {
+                    result = null;
+                }
+
+                Assert.assertEquals("Write of '" + seq + "' by policy " + policy + " test failed", expected, result);
+            }
+        }
+    }
+
+    @Test
+    public void testFlushHoldsHighSurrogate() throws IOException {
+        final StringWriter dst = new StringWriter();
+        final Writer writer = new UnattachedSurrogateFilterWriter(dst);
+
+        writer.write("a\uD800");
+        writer.flush();
+
+        Assert.assertEquals("a", dst.toString());
+
+        writer.write('\uDC00');
+        writer.write('\uD800');
+        writer.close();
+
+        Assert.assertEquals("a\uD800\uDC00\uFFFD", dst.toString());
+    }
+
+    private String writeAll(final String seq, final UnattachedSurrogatePolicy policy, final Random random)
+            throws IOException {
+        final StringWriter dst = new StringWriter();
+        final Writer writer = new UnattachedSurrogateFilterWriter(dst, policy);
+
+        int pos = 0;
+
+        while (pos < seq.length()) {
+            final int len = Math.min(random.nextInt(6), seq.length() - pos);
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    final char[] buf = new char[len + 2];
+                    seq.getChars(pos, pos + len, buf, 1);
+
+                    writer.write(buf, 1, len);
+                    break;
+
+                case 1:
+                    writer.write(seq, pos, len);
+                    break;
+
+                default:
+                    if (len > 0) {
+                        writer.write(seq.charAt(pos));
+                        pos++;
+                    }
+
+                    continue;
+            }
+
+            pos += len;
+        }
+
+        writer.close();
+
+        return dst.toString();
+    }
+
+}
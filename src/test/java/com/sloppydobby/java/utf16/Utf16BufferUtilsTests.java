@@ -0,0 +1,105 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+public final class Utf16BufferUtilsTests {
+
+    private final char[] alphabet = { 'a', '\u0416', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    private final ByteOrder[] orders = { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN };
+
+    @Test
+    public void testBuffers() {
+        final Random random = new Random(25);
+
+        for (int n = 0; n < 5000; n++) {
+            final char[] buf = new char[random.nextInt(40)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = random.nextInt(4) == 0 ? alphabet[random.nextInt(kinds)] : 'a';
+            }
+
+            // The chars out of the remaining range must not be read, so they are surrogates that would change the
+            // answers
+
+            final int head = random.nextInt(3);
+            final int tail = random.nextInt(3);
+            final String seq = new String(buf);
+            final SurrogateProfile expected = CharSequenceUtils.profileSurrogates(seq);
+
+            for (final ByteOrder order : orders) {
+                for (final boolean direct : new boolean[] { false, true }) {
+                    final ByteBuffer bytes = encode(buf, head, tail, order, direct);
+
+                    for (final ByteOrder bufferOrder : orders) {
+                        bytes.order(bufferOrder);
+
+                        final String message = seq + " (" + order + " in " + bufferOrder
+                                + (direct ? ", direct" : ", heap") + ")";
+
+                        Assert.assertEquals(message, CharSequenceUtils.containsSurrogates(seq),
+                                Utf16BufferUtils.containsSurrogates(bytes, order));
+                        Assert.assertEquals(message, CharSequenceUtils.containsUnattachedSurrogates(seq),
+                                Utf16BufferUtils.containsUnattachedSurrogates(bytes, order));
+                        Assert.assertEquals(message, expected, Utf16BufferUtils.profileSurrogates(bytes, order));
+
+                        Assert.assertEquals(message, head * 2, bytes.position());
+                        Assert.assertEquals(message, (head + buf.length) * 2, bytes.limit());
+                        Assert.assertEquals(message, bufferOrder, bytes.order());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testArguments() {
+        Assert.assertFalse(Utf16BufferUtils.containsSurrogates(null, ByteOrder.LITTLE_ENDIAN));
+        Assert.assertFalse(Utf16BufferUtils.containsUnattachedSurrogates(null, ByteOrder.LITTLE_ENDIAN));
+        Assert.assertEquals(0, Utf16BufferUtils.profileSurrogates(null, ByteOrder.LITTLE_ENDIAN).getLength());
+
+        final ByteBuffer odd = ByteBuffer.allocate(3);
+
+        try {
+            Utf16BufferUtils.containsUnattachedSurrogates(odd, ByteOrder.BIG_ENDIAN);
+            Assert.fail("Odd count of bytes must not be accepted");
+        } catch (final IllegalArgumentException ignored) {
+        }
+
+        try {
+            Utf16BufferUtils.containsSurrogates(ByteBuffer.allocate(2), null);
+            Assert.fail("Null byte order must not be accepted");
+        } catch (final NullPointerException ignored) {
+        }
+    }
+
+    private static ByteBuffer encode(final char[] buf, final int head, final int tail, final ByteOrder order,
+                                     final boolean direct) {
+        final int size = (head + buf.length + tail) * 2;
+        final ByteBuffer bytes = (direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size)).order(order);
+
+        for (int i = 0; i < head; i++) {
+            bytes.putChar('\uDC00');
+        }
+
+        for (final char ch : buf) {
+            bytes.putChar(ch);
+        }
+
+        for (int i = 0; i < tail; i++) {
+            bytes.putChar('\uD800');
+        }
+
+        bytes.position(head * 2);
+        bytes.limit((head + buf.length) * 2);
+
+        return bytes;
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public final class Utf16FileUtilsTests {
+
+    private final char[] alphabet = { 'a', ' ', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    private final ByteOrder[] orders = { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testScan() throws IOException {
+        final Random random = new Random(9);
+        final Path path = folder.newFile().toPath();
+
+        for (int n = 0; n < 50; n++) {
+            final char[] buf = new char[random.nextInt(64)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final long[] expected = indexesBruteForce(buf);
+            final char[] repaired = buf.clone();
+
+            for (final long idx : expected) {
+                repaired[(int) idx] = CharSequenceUtils.REPLACEMENT_CHAR;
+            }
+
+            for (final ByteOrder order : orders) {
+                for (final int chunkLength : new int[] { 5, 16, 1 << 25 }) {
+                    final String error = "Scan of '" + new String(buf) + "' (" + order + ", chunks of "
+                            + chunkLength + ") test failed";
+
+                    write(path, buf, order);
+
+                    final long[] first = Utf16FileUtils.scan(path, order, FileChannel.MapMode.READ_ONLY, true,
+                            chunkLength);
+                    final long[] all = Utf16FileUtils.scan(path, order, FileChannel.MapMode.READ_ONLY, false,
+                            chunkLength);
+
+                    Assert.assertEquals(error, expected.length > 0, first.length > 0);
+                    Assert.assertArrayEquals(error, expected, all);
+
+                    final long[] replaced = Utf16FileUtils.scan(path, order, FileChannel.MapMode.READ_WRITE, false,
+                            chunkLength);
+
+                    Assert.assertArrayEquals(error, expected, replaced);
+                    Assert.assertArrayEquals(error, repaired, read(path, order));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPublicMethods() throws IOException {
+        final Path path = folder.newFile().toPath();
+        final char[] buf = "a\uDC00b\uD800\uDC00c\uD800".toCharArray();
+
+        write(path, buf, ByteOrder.BIG_ENDIAN);
+
+        Assert.assertTrue(Utf16FileUtils.containsUnattachedSurrogates(path, ByteOrder.BIG_ENDIAN));
+        Assert.assertArrayEquals(new long[] { 1, 6 }, Utf16FileUtils.indexesOfUnattachedSurrogates(path,
+                ByteOrder.BIG_ENDIAN));
+        Assert.assertArrayEquals(new long[] { 1, 6 }, Utf16FileUtils.sanitize(path, ByteOrder.BIG_ENDIAN));
+        Assert.assertFalse(Utf16FileUtils.containsUnattachedSurrogates(path, ByteOrder.BIG_ENDIAN));
+        Assert.assertEquals("a\uFFFDb\uD800\uDC00c\uFFFD", new String(read(path, ByteOrder.BIG_ENDIAN)));
+
+        Files.write(path, new byte[3]);
+
+        try {
+            Utf16FileUtils.containsUnattachedSurrogates(path, ByteOrder.BIG_ENDIAN);
+            Assert.fail("File of odd size should be malformed");
+        } catch (final MalformedInputException e) {
+            // Expected
+        }
+    }
+
+    private long[] indexesBruteForce(final char[] buf) {
+        long[] res = new long[0];
+
+        for (int i = 0; i < buf.length; i++) {
+            if (i + 1 < buf.length && Character.isSurrogatePair(buf[i], buf[i + 1])) {
+                i++;
+            } else if (Character.isSurrogate(buf[i])) {
+                res = Arrays.copyOf(res, res.length + 1);
+                res[res.length - 1] = i;
+            }
+        }
+
+        return res;
+    }
+
+    private void write(final Path path, final char[] buf, final ByteOrder order) throws IOException {
+        final ByteBuffer bytes = ByteBuffer.allocate(buf.length * 2).order(order);
+        bytes.asCharBuffer().put(buf);
+
+        Files.write(path, bytes.array());
+    }
+
+    private char[] read(final Path path, final ByteOrder order) throws IOException {
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path)).order(order);
+        final char[] buf = new char[bytes.remaining() / 2];
+
+        bytes.asCharBuffer().get(buf);
+
+        return buf;
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class Utf16OffsetIndexTests {
+
+    private final char[] alphabet = { 'a', '\u00E9', '\u4E2D', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    private final int[] intervals = { 1, 2, 3, 7, Utf16OffsetIndex.DEFAULT_INTERVAL };
+
+    @Test
+    public void testConversions() {
+        final Random random = new Random(11);
+
+        for (int n = 0; n < 2000; n++) {
+            final char[] buf = new char[random.nextInt(300)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final String seq = new String(buf);
+            final long[] utf8 = utf8OffsetsBruteForce(seq);
+
+            for (final int interval : intervals) {
+                final Utf16OffsetIndex index = Utf16OffsetIndex.of(seq, interval);
+                final String error = "Index of '" + seq + "' with interval " + interval + " test failed";
+
+                Assert.assertEquals(error, seq.length(), index.getLength());
+                Assert.assertEquals(error, seq.codePointCount(0, seq.length()), index.getCodePointCount());
+                Assert.assertEquals(error, utf8[seq.length()], index.getUtf8Length());
+
+                for (int i = 0; i <= seq.length(); i++) {
+                    Assert.assertEquals(error, seq.codePointCount(0, i), index.charToCodePoint(i));
+                    Assert.assertEquals(error, utf8[i], index.charToUtf8(i));
+                }
+
+                for (int cp = 0; cp <= index.getCodePointCount(); cp++) {
+                    final int expected = seq.offsetByCodePoints(0, cp);
+
+                    Assert.assertEquals(error, expected, index.codePointToChar(cp));
+                    Assert.assertEquals(error, utf8[expected], index.codePointToUtf8(cp));
+                }
+
+                for (long off = 0; off <= index.getUtf8Length(); off++) {
+                    int expected = seq.length();
+
+                    while (utf8[expected] > off) {
+                        expected--;
+                    }
+
+                    Assert.assertEquals(error, expected, index.utf8ToChar(off));
+                    Assert.assertEquals(error, seq.codePointCount(0, expected), index.utf8ToCodePoint(off));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        final Utf16OffsetIndex index = Utf16OffsetIndex.of("a\uD800\uDC00");
+
+        for (final Runnable target : new Runnable[] {
+                () -> index.charToCodePoint(-1),
+                () -> index.charToCodePoint(4),
+                () -> index.codePointToChar(3),
+                () -> index.charToUtf8(4),
+                () -> index.utf8ToChar(6)
+        }) {
+            try {
+                target.run();
+                Assert.fail("Index should be out of bounds");
+            } catch (final IndexOutOfBoundsException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void testPairSplitAtCheckpoint() {
+        // The checkpoint at the char 3 is between the chars of the pair
+
+        final Utf16OffsetIndex index = Utf16OffsetIndex.of("ab\uD83D\uDE00c", 3);
+
+        Assert.assertEquals(4, index.getCodePointCount());
+        Assert.assertEquals(3, index.charToCodePoint(3));
+        Assert.assertEquals(3, index.charToCodePoint(4));
+        Assert.assertEquals(4, index.codePointToChar(3));
+        Assert.assertEquals(6, index.charToUtf8(3));
+        Assert.assertEquals(2, index.utf8ToChar(5));
+        Assert.assertEquals(4, index.utf8ToChar(6));
+    }
+
+    @Test
+    public void testEmptySequence() {
+        final Utf16OffsetIndex index = Utf16OffsetIndex.of("");
+
+        Assert.assertEquals(0, index.getLength());
+        Assert.assertEquals(0, index.getCodePointCount());
+        Assert.assertEquals(0, index.getUtf8Length());
+        Assert.assertEquals(0, index.charToCodePoint(0));
+        Assert.assertEquals(0, index.codePointToChar(0));
+        Assert.assertEquals(0, index.utf8ToChar(0));
+    }
+
+    @Test
+    public void testLoneHighSurrogateAtEnd() {
+        final Utf16OffsetIndex index = Utf16OffsetIndex.of("a\uD800", 1);
+
+        // An unattached surrogate is a single code point of 3 UTF-8 bytes
+
+        Assert.assertEquals(2, index.getCodePointCount());
+        Assert.assertEquals(4, index.getUtf8Length());
+        Assert.assertEquals(2, index.charToCodePoint(2));
+        Assert.assertEquals(1, index.codePointToChar(1));
+        Assert.assertEquals(1, index.utf8ToChar(3));
+        Assert.assertEquals(2, index.utf8ToChar(4));
+    }
+
+    /**
+     * UTF-8 offsets of all char indexes, counting the bytes of every code point that begins before the index.
+     */
+    private long[] utf8OffsetsBruteForce(final String seq) {
+        final long[] res = new long[seq.length() + 1];
+
+        int cp;
+        int bytes;
+
+        for (int i = 0; i < seq.length(); i += Character.charCount(cp)) {
+            cp = seq.codePointAt(i);
+            bytes = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+
+            for (int j = i + 1; j <= seq.length(); j++) {
+                res[j] += bytes;
+            }
+        }
+
+        return res;
+    }
+
+}
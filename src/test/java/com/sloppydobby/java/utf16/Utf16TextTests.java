@@ -0,0 +1,135 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+public final class Utf16TextTests {
+
+    private final char[] chars = { 'a', '\u0430', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @Test
+    public void testCachedFlags() {
+        final Random random = new Random(18);
+
+        for (int n = 0; n < 10000; n++) {
+            final char[] buf = new char[random.nextInt(6)];
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = chars[random.nextInt(chars.length)];
+            }
+
+            final String str = new String(buf);
+
+            for (final Utf16Text text : new Utf16Text[] { Utf16Text.of(str), Utf16Text.of(buf) }) {
+                // The questions are asked twice, the second answer is cached
+                for (int k = 0; k < 2; k++) {
+                    test(str, text, CharSequenceUtils::containsSurrogates, Utf16Text::containsSurrogates);
+                    test(str, text, CharSequenceUtils::containsSurrogatesOnly, Utf16Text::containsSurrogatesOnly);
+                    test(str, text, CharSequenceUtils::containsHighSurrogates, Utf16Text::containsHighSurrogates);
+                    test(str, text, CharSequenceUtils::containsHighSurrogatesOnly,
+                            Utf16Text::containsHighSurrogatesOnly);
+                    test(str, text, CharSequenceUtils::containsLowSurrogates, Utf16Text::containsLowSurrogates);
+                    test(str, text, CharSequenceUtils::containsLowSurrogatesOnly,
+                            Utf16Text::containsLowSurrogatesOnly);
+                    test(str, text, CharSequenceUtils::containsSurrogatePairs, Utf16Text::containsSurrogatePairs);
+                    test(str, text, CharSequenceUtils::containsSurrogatePairsOnly,
+                            Utf16Text::containsSurrogatePairsOnly);
+                    test(str, text, CharSequenceUtils::containsUnattachedSurrogates,
+                            Utf16Text::containsUnattachedSurrogates);
+                }
+
+                Assert.assertEquals(CharSequenceUtils.containsUnattachedSurrogates(str),
+                        CharSequenceUtils.parallelContainsUnattachedSurrogates(text, ForkJoinPool.commonPool(), 0));
+                Assert.assertEquals(CharSequenceUtils.containsSurrogatePairsOnly(str),
+                        CharSequenceUtils.parallelContainsSurrogatePairsOnly(text, ForkJoinPool.commonPool(), 0));
+            }
+        }
+    }
+
+    @Test
+    public void testText() {
+        final char[] buf = "te\uD800st".toCharArray();
+
+        final Utf16Text text = Utf16Text.of(buf);
+        final Utf16Text range = Utf16Text.of(buf, 1, 3);
+
+        buf[2] = 'x';
+
+        Assert.assertEquals("te\uD800st", text.toString());
+        Assert.assertEquals("e\uD800s", range.toString());
+        Assert.assertTrue(text.containsUnattachedSurrogates());
+        Assert.assertEquals(Utf16Text.of("te\uD800st"), text);
+        Assert.assertEquals("te\uD800st".hashCode(), text.hashCode());
+        Assert.assertEquals(text.hashCode(), Utf16Text.of("te\uD800st").hashCode());
+        Assert.assertNotEquals(Utf16Text.of("test"), text);
+        Assert.assertNotEquals("te\uD800st", text);
+
+        Assert.assertSame(text, text.subSequence(0, 5));
+        Assert.assertEquals(range, text.subSequence(1, 4));
+        Assert.assertEquals(Utf16Text.of("st"), Utf16Text.of("te\uD800st").subSequence(3, 5));
+        Assert.assertFalse(text.subSequence(3, 5).containsSurrogates());
+
+        try {
+            text.subSequence(3, 6);
+            Assert.fail("Range out of bounds must not be accepted");
+        } catch (final IndexOutOfBoundsException ignored) {
+        }
+
+        try {
+            Utf16Text.of(buf, 3, 3);
+            Assert.fail("Range out of bounds must not be accepted");
+        } catch (final IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    @Test
+    public void testPairSplitAtBound() {
+        final Utf16Text text = Utf16Text.of("a\uD83D\uDE00b");
+
+        // A sub-text that splits a pair has its own flags
+
+        Assert.assertTrue(text.containsSurrogatePairs());
+        Assert.assertFalse(text.containsUnattachedSurrogates());
+        Assert.assertTrue(text.subSequence(0, 2).containsUnattachedSurrogates());
+        Assert.assertFalse(text.subSequence(0, 2).containsHighSurrogatesOnly());
+        Assert.assertTrue(text.subSequence(2, 4).containsUnattachedSurrogates());
+        Assert.assertTrue(text.subSequence(1, 3).containsSurrogatePairsOnly());
+    }
+
+    @Test
+    public void testEmptyRange() {
+        final Utf16Text text = Utf16Text.of("te\uD800st".toCharArray(), 2, 0);
+
+        Assert.assertEquals(0, text.length());
+        Assert.assertFalse(text.containsSurrogates());
+        Assert.assertFalse(text.containsSurrogatesOnly());
+        Assert.assertFalse(text.containsSurrogatePairsOnly());
+        Assert.assertFalse(text.containsUnattachedSurrogates());
+        Assert.assertEquals(Utf16Text.of(""), text);
+    }
+
+    @Test
+    public void testLoneHighSurrogateAtEnd() {
+        final Utf16Text text = Utf16Text.of("ab\uD800");
+
+        Assert.assertTrue(text.containsHighSurrogates());
+        Assert.assertFalse(text.containsLowSurrogates());
+        Assert.assertFalse(text.containsSurrogatePairs());
+        Assert.assertTrue(text.containsUnattachedSurrogates());
+        Assert.assertTrue(text.subSequence(2, 3).containsHighSurrogatesOnly());
+    }
+
+    private void test(final String str, final Utf16Text text, final Predicate<CharSequence> method,
+                      final Predicate<Utf16Text> cached) {
+        final boolean expected = method.test(str);
+
+        if (method.test(text) != expected || cached.test(text) != expected) {
+            Assert.fail("Text " + CharSequenceUtils.replaceUnattachedSurrogates(str, '?') + " must give " + expected);
+        }
+    }
+
+}
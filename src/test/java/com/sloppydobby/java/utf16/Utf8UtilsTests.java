@@ -0,0 +1,179 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public final class Utf8UtilsTests {
+
+    private final char[] alphabet = {
+            'a', '\u007F', '\u0080', '\u07FF', '\u0800', '\u4E2D', '\uFFFD', '\uD800', '\uDBFF', '\uDC00', '\uDFFF'
+    };
+
+    @Test
+    public void testEncode() {
+        final Random random = new Random(14);
+
+        for (int n = 0; n < 3000; n++) {
+            final char[] arr = new char[random.nextInt(60)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = alphabet[random.nextInt(kinds)];
+            }
+
+            final String seq = new String(arr);
+
+            for (final UnattachedSurrogatePolicy policy : UnattachedSurrogatePolicy.values()) {
+                final String error = "Encoding of '" + seq + "' by policy " + policy + " test failed";
+                final byte[] expected = encodeBruteForce(seq, policy);
+                final int idx = CharSequenceUtils.indexOfUnattachedSurrogate(seq);
+
+                if (expected == null) {
+                    testThrow(seq, idx, error);
+                    continue;
+                }
+
+                Assert.assertEquals(error, expected.length, CharSequenceUtils.utf8Length(seq, policy));
+
+                final byte[] dst = new byte[expected.length + 3];
+
+                Assert.assertEquals(error, expected.length, Utf8Utils.encode(seq, dst, 2, policy));
+                Assert.assertArrayEquals(error, expected, Arrays.copyOfRange(dst, 2, 2 + expected.length));
+
+                if (expected.length > 0) {
+                    final byte[] small = new byte[expected.length - 1];
+
+                    try {
+                        Utf8Utils.encode(seq, small, 0, policy);
+                        Assert.fail(error + " (array should be too small)");
+                    } catch (final IndexOutOfBoundsException e) {
+                        Assert.assertArrayEquals(error, new byte[small.length], small);
+                    }
+                }
+
+                final int capacity = 4 + random.nextInt(6);
+
+                final ByteBuffer heap = ByteBuffer.allocate(capacity + 2);
+                heap.position(2);
+
+                // Slice of a heap buffer has a non-zero array offset.
+
+                Assert.assertArrayEquals(error, expected, encodeChunked(seq, heap.slice(), policy));
+                Assert.assertArrayEquals(error, expected, encodeChunked(seq, ByteBuffer.allocateDirect(capacity),
+                        policy));
+            }
+
+            final byte[] replaced = CharSequenceUtils.sanitize(seq).toString().getBytes(StandardCharsets.UTF_8);
+            Assert.assertArrayEquals(replaced, encodeBruteForce(seq, UnattachedSurrogatePolicy.REPLACE));
+        }
+    }
+
+    @Test
+    public void testEncodeResume() {
+        final String seq = "ab\uD83D\uDE00c";
+
+        for (final ByteBuffer dst : new ByteBuffer[] { ByteBuffer.allocate(5), ByteBuffer.allocateDirect(5) }) {
+            Assert.assertEquals(2, Utf8Utils.encode(seq, dst, UnattachedSurrogatePolicy.THROW));
+            Assert.assertEquals(2, dst.position());
+
+            // The pair does not fit the three remaining bytes, so it is not split.
+
+            Assert.assertEquals(2, Utf8Utils.encode(seq, 2, seq.length(), dst, UnattachedSurrogatePolicy.THROW));
+            Assert.assertEquals(2, dst.position());
+
+            dst.clear();
+
+            Assert.assertEquals(5, Utf8Utils.encode(seq, 2, seq.length(), dst, UnattachedSurrogatePolicy.THROW));
+            Assert.assertEquals(5, dst.position());
+        }
+    }
+
+    private void testThrow(final String seq, final int idx, final String error) {
+        final byte[] expected = encodeBruteForce(seq.substring(0, idx), UnattachedSurrogatePolicy.THROW);
+
+        for (final ByteBuffer dst : new ByteBuffer[] {
+                ByteBuffer.allocate(seq.length() * 3), ByteBuffer.allocateDirect(seq.length() * 3)
+        }) {
+            try {
+                Utf8Utils.encode(seq, dst, UnattachedSurrogatePolicy.THROW);
+                Assert.fail(error);
+            } catch (final UnattachedSurrogateException e) {
+                Assert.assertEquals(error, idx, e.getIndex());
+                Assert.assertEquals(error, expected.length, dst.position());
+            }
+        }
+
+        try {
+            Utf8Utils.encode(seq, new byte[seq.length() * 3], 0, UnattachedSurrogatePolicy.THROW);
+            Assert.fail(error);
+        } catch (final UnattachedSurrogateException e) {
+            Assert.assertEquals(error, idx, e.getIndex());
+        }
+    }
+
+    /**
+     * Encodes a char sequence into a small byte buffer, draining it every time it gets full.
+     */
+    private byte[] encodeChunked(final String seq, final ByteBuffer dst, final UnattachedSurrogatePolicy policy) {
+        final ByteArrayOutputStream res = new ByteArrayOutputStream();
+
+        int idx = 0;
+
+        do {
+            dst.clear();
+            idx = Utf8Utils.encode(seq, idx, seq.length(), dst, policy);
+            dst.flip();
+
+            while (dst.hasRemaining()) {
+                res.write(dst.get());
+            }
+        } while (idx < seq.length());
+
+        return res.toByteArray();
+    }
+
+    private byte[] encodeBruteForce(final String seq, final UnattachedSurrogatePolicy policy) {
+        final ByteArrayOutputStream res = new ByteArrayOutputStream();
+
+        int cp;
+
+        for (int i = 0; i < seq.length(); i += Character.charCount(cp)) {
+            cp = seq.codePointAt(i);
+
+            if (Character.isSurrogate((char) cp) && cp < 0x10000) {
+                if (policy == UnattachedSurrogatePolicy.THROW) {
+                    return null;
+                } else if (policy == UnattachedSurrogatePolicy.DROP) {
+                    continue;
+                } else if (policy == UnattachedSurrogatePolicy.REPLACE) {
+                    cp = 0xFFFD;
+                }
+            }
+
+            if (cp < 0x80) {
+                res.write(cp);
+            } else if (cp < 0x800) {
+                res.write(0xC0 | cp >> 6);
+                res.write(0x80 | cp & 0x3F);
+            } else if (cp < 0x10000) {
+                res.write(0xE0 | cp >> 12);
+                res.write(0x80 | cp >> 6 & 0x3F);
+                res.write(0x80 | cp & 0x3F);
+            } else {
+                res.write(0xF0 | cp >> 18);
+                res.write(0x80 | cp >> 12 & 0x3F);
+                res.write(0x80 | cp >> 6 & 0x3F);
+                res.write(0x80 | cp & 0x3F);
+            }
+        }
+
+        return res.toByteArray();
+    }
+
+}
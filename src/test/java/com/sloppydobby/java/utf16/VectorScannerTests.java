@@ -0,0 +1,60 @@
+package com.sloppydobby.java.utf16;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class VectorScannerTests {
+
+    private final char[] alphabet = { 'a', '\u0416', '\uD800', '\uDBFF', '\uDC00', '\uDFFF' };
+
+    @Test
+    public void testRanges() {
+        final Random random = new Random(4);
+
+        for (int n = 0; n < 20000; n++) {
+            final char[] buf = new char[random.nextInt(200)];
+            final int kinds = 1 + random.nextInt(alphabet.length);
+            final int rate = 1 + random.nextInt(64);
+
+            // Surrogates are rare in most arrays, so a range is scanned through many vectors before a hit
+
+            for (int i = 0; i < buf.length; i++) {
+                buf[i] = random.nextInt(rate) == 0 ? alphabet[random.nextInt(kinds)] : 'a';
+            }
+
+            final int off = random.nextInt(buf.length + 1);
+            final int len = random.nextInt(buf.length - off + 1);
+            final String seq = new String(buf, off, len);
+
+            Assert.assertEquals(seq, CharSequenceUtils.containsSurrogates(seq),
+                    any(VectorScanner.scanSurrogates(buf, off, len), off, len));
+            Assert.assertEquals(seq, CharSequenceUtils.containsSurrogatesOnly(seq),
+                    only(VectorScanner.scanSurrogatesOnly(buf, off, len), off, len));
+            Assert.assertEquals(seq, CharSequenceUtils.containsHighSurrogates(seq),
+                    any(VectorScanner.scanHighSurrogates(buf, off, len), off, len));
+            Assert.assertEquals(seq, CharSequenceUtils.containsHighSurrogatesOnly(seq),
+                    only(VectorScanner.scanHighSurrogatesOnly(buf, off, len), off, len));
+            Assert.assertEquals(seq, CharSequenceUtils.containsLowSurrogates(seq),
+                    any(VectorScanner.scanLowSurrogates(buf, off, len), off, len));
+            Assert.assertEquals(seq, CharSequenceUtils.containsLowSurrogatesOnly(seq),
+                    only(VectorScanner.scanLowSurrogatesOnly(buf, off, len), off, len));
+            Assert.assertEquals(seq, CharSequenceUtils.containsUnattachedSurrogates(seq),
+                    any(VectorScanner.scanUnattachedSurrogates(buf, off, len), off, len));
+        }
+    }
+
+    // The exit index of a scan must be in the range, a "contains" check exits on a hit, an "only" check on a miss
+
+    private static boolean any(final int exit, final int off, final int len) {
+        Assert.assertTrue(exit == -1 || exit >= off && exit < off + len);
+        return exit >= 0;
+    }
+
+    private static boolean only(final int exit, final int off, final int len) {
+        Assert.assertTrue(exit == -1 || exit >= off && exit < off + len);
+        return exit < 0 && len > 0;
+    }
+
+}